@@ -0,0 +1,175 @@
+package io.github.finoid.maven.plugins.codequality;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import io.github.finoid.maven.plugins.codequality.fixtures.SyntheticReactorGenerator;
+import io.github.finoid.maven.plugins.codequality.step.StepType;
+import org.apache.maven.it.VerificationException;
+import org.apache.maven.it.Verifier;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.EnumSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.stream.Collectors;
+
+/**
+ * Builds synthetic reactors of a growing number of modules and records, per reactor, the wall time of the build and of each step, the
+ * violations per second of each step and the peak resident set size of the Maven JVM. A wall time per module which grows along with the
+ * reactor exposes superlinear behavior.
+ * <p>
+ * Unlike the JMH benchmarks, the builds execute the plugin installed in the local repository:
+ * {@code mvn install -DskipTests && mvn -Pbenchmark test-compile exec:exec@reactor-scaling [-Dreactor.modules=10,50,100,500]}.
+ */
+public final class ReactorScalingBenchmark {
+    private static final Set<String> STEP_STAGES = Arrays.stream(StepType.values())
+        .map(Enum::name)
+        .collect(Collectors.toCollection(() -> new LinkedHashSet<>(List.of("FUSED_ANALYSIS"))));
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper()
+        .enable(SerializationFeature.INDENT_OUTPUT);
+
+    private ReactorScalingBenchmark() {
+    }
+
+    public static void main(final String[] args) throws IOException, VerificationException {
+        final List<Integer> moduleCounts = integersOf(System.getProperty("reactor.modules", "10,50,100,500"));
+        final int filesPerModule = Integer.getInteger("reactor.filesPerModule", 10);
+        final int violationsPerFile = Integer.getInteger("reactor.violationsPerFile", 2);
+        final Path workDirectory = Paths.get(System.getProperty("reactor.directory", "target/reactor-scaling"));
+
+        final List<Map<String, Object>> results = new ArrayList<>();
+
+        for (final int modules : moduleCounts) {
+            final Path projectDirectory = SyntheticReactorGenerator.syntheticReactorGenerator()
+                .withModules(modules)
+                .withFilesPerModule(filesPerModule)
+                .withViolationsPerFile(violationsPerFile)
+                .generate(workDirectory.resolve("modules-" + modules));
+
+            results.add(build(projectDirectory, modules));
+        }
+
+        final Path resultFile = workDirectory.resolve("reactor-scaling.json");
+
+        Files.createDirectories(workDirectory);
+        OBJECT_MAPPER.writeValue(resultFile.toFile(), Map.of("reactors", results));
+
+        System.out.println(OBJECT_MAPPER.writeValueAsString(results));
+        System.out.println("Written to " + resultFile.toAbsolutePath());
+    }
+
+    private static Map<String, Object> build(final Path projectDirectory, final int modules) throws IOException, VerificationException {
+        final Verifier verifier = new Verifier(projectDirectory.toAbsolutePath().toString());
+        verifier.setAutoclean(true);
+        verifier.setForkJvm(true);
+        verifier.addCliOption("-Dcq.metrics=true");
+
+        final long start = System.nanoTime();
+
+        try {
+            verifier.executeGoal("compile");
+        } catch (final VerificationException e) {
+            // The injected violations may fail the build, the metrics are reported regardless
+        } finally {
+            verifier.resetStreams();
+        }
+
+        final long wallNanos = System.nanoTime() - start;
+
+        final JsonNode metrics = OBJECT_MAPPER.readTree(projectDirectory.resolve("target/code-quality-metrics.json").toFile());
+        final Map<String, Long> violationsByTool = violationsByTool(projectDirectory.resolve("target/gitlab-violations.json"));
+
+        final Map<String, Object> result = new LinkedHashMap<>();
+        result.put("modules", modules);
+        result.put("wallMillis", wallNanos / 1_000_000);
+        result.put("wallMillisPerModule", wallNanos / 1_000_000.0 / modules);
+        result.put("peakResidentSetBytes", metrics.path("peakResidentSetBytes").asLong(-1));
+        result.put("steps", steps(metrics, violationsByTool));
+
+        return result;
+    }
+
+    /**
+     * Sums the wall time of each step over all modules and relates it to the violations reported by the tool of the step.
+     */
+    private static Map<String, Map<String, Object>> steps(final JsonNode metrics, final Map<String, Long> violationsByTool) {
+        final Map<String, Long> wallNanosByStep = new TreeMap<>();
+
+        for (final JsonNode stage : metrics.path("stages")) {
+            final String name = stage.path("stage").asText();
+
+            if (STEP_STAGES.contains(name)) {
+                wallNanosByStep.merge(name, stage.path("wallNanos").asLong(), Long::sum);
+            }
+        }
+
+        final Map<String, Map<String, Object>> steps = new LinkedHashMap<>();
+
+        wallNanosByStep.forEach((step, wallNanos) -> {
+            final long violations = violationsOf(step, violationsByTool);
+
+            final Map<String, Object> result = new LinkedHashMap<>();
+            result.put("wallMillis", wallNanos / 1_000_000);
+            result.put("violations", violations);
+            result.put("violationsPerSecond", wallNanos == 0 ? 0 : violations / (wallNanos / 1_000_000_000.0));
+
+            steps.put(step, result);
+        });
+
+        return steps;
+    }
+
+    private static long violationsOf(final String step, final Map<String, Long> violationsByTool) {
+        // The fused analysis reports the violations of both compiler based tools
+        final Set<StepType> stepTypes = "FUSED_ANALYSIS".equals(step)
+            ? EnumSet.of(StepType.ERROR_PRONE, StepType.CHECKER_FRAMEWORK)
+            : EnumSet.of(StepType.valueOf(step));
+
+        return stepTypes.stream()
+            .mapToLong(it -> violationsByTool.getOrDefault(toolOf(it), 0L))
+            .sum();
+    }
+
+    private static String toolOf(final StepType stepType) {
+        return stepType.name().replace("_", "").toLowerCase();
+    }
+
+    /**
+     * Counts the reported violations by tool, which prefixes the description of each GitLab violation.
+     */
+    private static Map<String, Long> violationsByTool(final Path gitLabViolations) throws IOException {
+        if (!Files.exists(gitLabViolations)) {
+            return Map.of();
+        }
+
+        final Map<String, Long> violationsByTool = new TreeMap<>();
+
+        for (final JsonNode violation : OBJECT_MAPPER.readTree(gitLabViolations.toFile())) {
+            final String description = violation.path("description").asText();
+            final int separator = description.indexOf(':');
+
+            if (separator > 0) {
+                violationsByTool.merge(description.substring(0, separator).replace(" ", "").toLowerCase(), 1L, Long::sum);
+            }
+        }
+
+        return violationsByTool;
+    }
+
+    private static List<Integer> integersOf(final String commaSeparated) {
+        return Arrays.stream(commaSeparated.split(","))
+            .map(String::trim)
+            .map(Integer::valueOf)
+            .toList();
+    }
+}
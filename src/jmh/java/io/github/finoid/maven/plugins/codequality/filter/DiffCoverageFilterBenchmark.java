@@ -0,0 +1,76 @@
+package io.github.finoid.maven.plugins.codequality.filter;
+
+import io.github.finoid.maven.plugins.codequality.fixtures.BenchmarkFixtures;
+import io.github.finoid.maven.plugins.codequality.report.Violation;
+import io.github.finoid.maven.plugins.codequality.report.ViolationSink;
+import org.apache.maven.plugin.logging.Log;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.nio.file.Paths;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class DiffCoverageFilterBenchmark {
+    private static final int VIOLATIONS = 10_000;
+
+    @Param({"1", "50"})
+    public int rangesPerFile;
+
+    private List<Violation> violations;
+    private ChangedLines changedLines;
+    private Log log;
+    private DiffCoverageFilter unit;
+
+    @Setup
+    public void setup() {
+        violations = BenchmarkFixtures.violationsOf(VIOLATIONS);
+
+        // Every other file has changed, spread over ranges of two lines
+        final Map<String, List<ChangedLines.LineRange>> rangesByPath = new HashMap<>();
+        for (int i = 0; i < violations.size(); i += 2) {
+            rangesByPath.put(violations.get(i).getRelativePath(), IntStream.range(0, rangesPerFile)
+                .mapToObj(it -> new ChangedLines.LineRange(it * 4 + 1, it * 4 + 2))
+                .toList());
+        }
+
+        changedLines = new ChangedLines("benchmark", Paths.get("").toAbsolutePath(), rangesByPath, rangesByPath.keySet());
+        log = BenchmarkFixtures.discardingLog();
+        unit = new DiffCoverageFilter();
+    }
+
+    @Benchmark
+    public void contains(final Blackhole blackhole) {
+        for (final Violation violation : violations) {
+            blackhole.consume(changedLines.contains(violation));
+        }
+    }
+
+    @Benchmark
+    public void filterByDiffCoverage(final Blackhole blackhole) {
+        final ViolationSink sink = unit.filterByDiffCoverage(blackhole::consume, changedLines, log);
+
+        violations.forEach(sink::accept);
+
+        sink.complete();
+    }
+}
@@ -0,0 +1,128 @@
+package io.github.finoid.maven.plugins.codequality.fixtures;
+
+import io.github.finoid.maven.plugins.codequality.report.Violation;
+import lombok.experimental.UtilityClass;
+import org.apache.maven.execution.DefaultMavenExecutionRequest;
+import org.apache.maven.execution.DefaultMavenExecutionResult;
+import org.apache.maven.execution.MavenSession;
+import org.apache.maven.monitor.logging.DefaultLog;
+import org.apache.maven.plugin.logging.Log;
+import org.apache.maven.project.MavenProject;
+import org.codehaus.plexus.logging.Logger;
+import org.codehaus.plexus.logging.console.ConsoleLogger;
+import org.eclipse.aether.DefaultRepositorySystemSession;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Random;
+import java.util.stream.IntStream;
+
+/**
+ * Fixtures shared by the benchmarks. The Maven session is a real one rather than a mock, such that the stubbing doesn't distort the
+ * measurements.
+ */
+@UtilityClass
+public class BenchmarkFixtures {
+    private static final int BYTES_PER_MEGABYTE = 1024 * 1024;
+
+    /**
+     * Creates a session of a single module located within the provided directory, which is the current project of the calling thread.
+     * The current project is thread local, hence the session is to be created by the benchmark thread, i.e. within a thread scoped
+     * state.
+     *
+     * @param basedir the base directory of the module
+     * @return the session
+     */
+    @SuppressWarnings("deprecation")
+    public static MavenSession sessionOf(final Path basedir) {
+        final MavenProject project = new MavenProject();
+        project.setFile(basedir.resolve("pom.xml").toFile());
+        project.getBuild().setDirectory(basedir.resolve("target").toString());
+
+        final MavenSession session = new MavenSession(null, new DefaultRepositorySystemSession(), new DefaultMavenExecutionRequest(),
+            new DefaultMavenExecutionResult());
+        session.setProjects(List.of(project));
+        session.setCurrentProject(project);
+
+        return session;
+    }
+
+    /**
+     * Returns a logger which discards every message, whereas the messages are still rendered by the callers.
+     *
+     * @return the logger
+     */
+    public static Log discardingLog() {
+        return new DefaultLog(new ConsoleLogger(Logger.LEVEL_DISABLED, "benchmark"));
+    }
+
+    /**
+     * Repeats the provided log template, with the project root substituted, until it spans at least the provided number of megabytes.
+     *
+     * @param templateResourceName the resource name of the log template
+     * @param projectRoot          the project root substituted into the template
+     * @param megabytes            the minimum size of the log
+     * @return the log
+     */
+    public static byte[] logOf(final String templateResourceName, final Path projectRoot, final int megabytes) {
+        final String content = TemplateResourceUtils.template(ResourceUtils.tryInputStreamFrom(templateResourceName), projectRoot.toString())
+            + System.lineSeparator();
+
+        final StringBuilder log = new StringBuilder(megabytes * BYTES_PER_MEGABYTE + content.length());
+        while (log.length() < megabytes * BYTES_PER_MEGABYTE) {
+            log.append(content);
+        }
+
+        return log.toString().getBytes();
+    }
+
+    /**
+     * Writes the provided log template, with the project root substituted, repeatedly to the provided file until it spans at least the
+     * provided number of megabytes. Unlike {@link #logOf(String, Path, int)}, the log is never held in memory, hence may exceed the heap.
+     *
+     * @param templateResourceName the resource name of the log template
+     * @param projectRoot          the project root substituted into the template
+     * @param megabytes            the minimum size of the log
+     * @param file                 the file to write the log to
+     * @return the size of the log in bytes
+     * @throws IOException if the log couldn't be written
+     */
+    public static long writeLogOf(final String templateResourceName, final Path projectRoot, final int megabytes, final Path file)
+        throws IOException {
+        final byte[] content = (TemplateResourceUtils.template(ResourceUtils.tryInputStreamFrom(templateResourceName), projectRoot.toString())
+            + System.lineSeparator()).getBytes(StandardCharsets.UTF_8);
+
+        final long size = (long) megabytes * BYTES_PER_MEGABYTE;
+        long written = 0;
+
+        Files.createDirectories(file.toAbsolutePath().getParent());
+
+        try (final OutputStream outputStream = new BufferedOutputStream(Files.newOutputStream(file), 1 << 20)) {
+            while (written < size) {
+                outputStream.write(content);
+                written += content.length;
+            }
+        }
+
+        return written;
+    }
+
+    /**
+     * Creates the provided number of violations, deterministically.
+     *
+     * @param count the number of violations
+     * @return the violations
+     */
+    public static List<Violation> violationsOf(final int count) {
+        final Random random = new Random(1);
+
+        return IntStream.range(0, count)
+            .mapToObj(it -> ViolationFaker.violation(random).create())
+            .toList();
+    }
+}
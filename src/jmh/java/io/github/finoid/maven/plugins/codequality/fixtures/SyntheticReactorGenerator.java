@@ -0,0 +1,226 @@
+package io.github.finoid.maven.plugins.codequality.fixtures;
+
+import io.github.finoid.maven.plugins.codequality.util.Precondition;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+/**
+ * Generates a multi-module Maven project which executes the plugin within every module, to be built by the {@code maven-verifier}.
+ * <p>
+ * Each module depends on its predecessor, hence the compile classpath grows with the reactor, and consists of source files which contain
+ * the configured number of injected violations: a misindented statement, reported by Checkstyle, and a string comparison by reference,
+ * reported by ErrorProne.
+ */
+public class SyntheticReactorGenerator {
+    private static final String GROUP_ID = "io.github.finoid.synthetic";
+    private static final String VERSION = "1.0";
+
+    int modules = 10;
+    int filesPerModule = 10;
+    int violationsPerFile = 2;
+    boolean isChained = true;
+    String pluginVersion = "main";
+
+    /**
+     * Writes the project to the given directory.
+     *
+     * @param directory the root directory of the project
+     * @return the root directory of the project
+     * @throws IOException if the project couldn't be written
+     */
+    public Path generate(final Path directory) throws IOException {
+        Precondition.nonNull(directory, "Directory shouldn't be null");
+
+        Files.createDirectories(directory);
+        Files.writeString(directory.resolve("pom.xml"), rootPom(), StandardCharsets.UTF_8);
+
+        for (int module = 0; module < modules; module++) {
+            final Path moduleDirectory = directory.resolve(moduleName(module));
+            final Path sourceDirectory = moduleDirectory.resolve("src/main/java/io/github/finoid/synthetic/" + packageName(module));
+
+            Files.createDirectories(sourceDirectory);
+            Files.writeString(moduleDirectory.resolve("pom.xml"), modulePom(module), StandardCharsets.UTF_8);
+
+            for (int file = 0; file < filesPerModule; file++) {
+                Files.writeString(sourceDirectory.resolve(className(file) + ".java"), sourceFile(module, file), StandardCharsets.UTF_8);
+            }
+        }
+
+        return directory;
+    }
+
+    /**
+     * Returns the number of violations the project is expected to report.
+     */
+    public long expectedViolations() {
+        return (long) modules * filesPerModule * violationsPerFile;
+    }
+
+    public SyntheticReactorGenerator withModules(final int modules) {
+        this.modules = modules;
+
+        return this;
+    }
+
+    public SyntheticReactorGenerator withFilesPerModule(final int filesPerModule) {
+        this.filesPerModule = filesPerModule;
+
+        return this;
+    }
+
+    public SyntheticReactorGenerator withViolationsPerFile(final int violationsPerFile) {
+        this.violationsPerFile = violationsPerFile;
+
+        return this;
+    }
+
+    public SyntheticReactorGenerator withIsChained(final boolean isChained) {
+        this.isChained = isChained;
+
+        return this;
+    }
+
+    public SyntheticReactorGenerator withPluginVersion(final String pluginVersion) {
+        this.pluginVersion = pluginVersion;
+
+        return this;
+    }
+
+    public static SyntheticReactorGenerator syntheticReactorGenerator() {
+        return new SyntheticReactorGenerator();
+    }
+
+    private String rootPom() {
+        final String moduleElements = IntStream.range(0, modules)
+            .mapToObj(it -> "        <module>" + moduleName(it) + "</module>")
+            .collect(Collectors.joining(System.lineSeparator()));
+
+        return """
+            <?xml version="1.0" encoding="UTF-8"?>
+            <project>
+                <modelVersion>4.0.0</modelVersion>
+                <groupId>%1$s</groupId>
+                <artifactId>synthetic-reactor</artifactId>
+                <version>%2$s</version>
+                <packaging>pom</packaging>
+
+                <modules>
+            %3$s
+                </modules>
+
+                <properties>
+                    <maven.compiler.release>17</maven.compiler.release>
+                    <project.build.sourceEncoding>UTF-8</project.build.sourceEncoding>
+                </properties>
+
+                <build>
+                    <pluginManagement>
+                        <plugins>
+                            <plugin>
+                                <groupId>io.github.finoid</groupId>
+                                <artifactId>codequality-maven-plugin</artifactId>
+                                <version>%4$s</version>
+                                <executions>
+                                    <execution>
+                                        <id>code-quality</id>
+                                        <phase>compile</phase>
+                                        <goals>
+                                            <goal>code-quality</goal>
+                                        </goals>
+                                    </execution>
+                                </executions>
+                            </plugin>
+                        </plugins>
+                    </pluginManagement>
+                </build>
+            </project>
+            """.formatted(GROUP_ID, VERSION, moduleElements, pluginVersion);
+    }
+
+    private String modulePom(final int module) {
+        final String dependencies = isChained && module > 0
+            ? """
+                <dependencies>
+                    <dependency>
+                        <groupId>%s</groupId>
+                        <artifactId>%s</artifactId>
+                        <version>%s</version>
+                    </dependency>
+                </dependencies>
+            """.formatted(GROUP_ID, moduleName(module - 1), VERSION)
+            : "";
+
+        return """
+            <?xml version="1.0" encoding="UTF-8"?>
+            <project>
+                <modelVersion>4.0.0</modelVersion>
+
+                <parent>
+                    <groupId>%1$s</groupId>
+                    <artifactId>synthetic-reactor</artifactId>
+                    <version>%2$s</version>
+                </parent>
+
+                <artifactId>%3$s</artifactId>
+                <packaging>jar</packaging>
+            %4$s
+                <build>
+                    <plugins>
+                        <plugin>
+                            <groupId>io.github.finoid</groupId>
+                            <artifactId>codequality-maven-plugin</artifactId>
+                        </plugin>
+                    </plugins>
+                </build>
+            </project>
+            """.formatted(GROUP_ID, VERSION, moduleName(module), dependencies);
+    }
+
+    private String sourceFile(final int module, final int file) {
+        // Alternates between the injected violations, each method contributing exactly one
+        final String methods = IntStream.range(0, violationsPerFile)
+            .mapToObj(it -> it % 2 == 0 ? misindentedMethod(it) : referenceEqualityMethod(it))
+            .collect(Collectors.joining(System.lineSeparator()));
+
+        return """
+            package io.github.finoid.synthetic.%1$s;
+
+            public class %2$s {
+            %3$s
+            }
+            """.formatted(packageName(module), className(file), methods);
+    }
+
+    private static String misindentedMethod(final int index) {
+        return """
+                public int method%1$d(final int value) {
+                        return value + %1$d;
+                }
+            """.formatted(index);
+    }
+
+    private static String referenceEqualityMethod(final int index) {
+        return """
+                public boolean method%1$d(final String value) {
+                    return value == "%1$d";
+                }
+            """.formatted(index);
+    }
+
+    private static String moduleName(final int module) {
+        return "module-" + module;
+    }
+
+    private static String packageName(final int module) {
+        return "module" + module;
+    }
+
+    private static String className(final int file) {
+        return "SyntheticClass" + file;
+    }
+}
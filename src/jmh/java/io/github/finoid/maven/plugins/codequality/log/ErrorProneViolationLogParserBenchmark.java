@@ -0,0 +1,49 @@
+package io.github.finoid.maven.plugins.codequality.log;
+
+import io.github.finoid.maven.plugins.codequality.fixtures.BenchmarkFixtures;
+import io.github.finoid.maven.plugins.codequality.report.Violation;
+import io.github.finoid.maven.plugins.codequality.step.ViolationConverter;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.ByteArrayInputStream;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ErrorProneViolationLogParserBenchmark {
+    @Param({"1", "8"})
+    public int logMegabytes;
+
+    private byte[] log;
+    private ErrorProneViolationLogParser unit;
+
+    @Setup
+    public void setup() {
+        final Path projectRoot = Paths.get("").toAbsolutePath();
+
+        log = BenchmarkFixtures.logOf("files/errorprone-logs.template.txt", projectRoot, logMegabytes);
+        unit = new ErrorProneViolationLogParser(new ViolationConverter(BenchmarkFixtures.sessionOf(projectRoot)));
+    }
+
+    @Benchmark
+    public List<Violation> parse() {
+        return unit.parse(new ByteArrayInputStream(log));
+    }
+}
@@ -0,0 +1,93 @@
+package io.github.finoid.maven.plugins.codequality.log;
+
+import io.github.finoid.maven.plugins.codequality.fixtures.BenchmarkFixtures;
+import io.github.finoid.maven.plugins.codequality.report.CheckerFrameworkViolationLogParser;
+import io.github.finoid.maven.plugins.codequality.report.ViolationLogParser;
+import io.github.finoid.maven.plugins.codequality.step.ViolationConverter;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Parses compiler logs of 1 GB, streamed from a file as the steps do. The violations are counted rather than collected, such that the
+ * heap doesn't bound the size of the log. Besides the time per log, the throughput is reported in megabytes and violations per second.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 1)
+@Measurement(iterations = 3)
+@Fork(value = 1, jvmArgsAppend = "-Xmx512m")
+public class LogFileParserBenchmark {
+    private static final double BYTES_PER_MEGABYTE = 1024 * 1024;
+
+    @Param({"1024"})
+    public int logMegabytes;
+
+    @Param({"errorprone", "checkerframework"})
+    public String tool;
+
+    private Path logFile;
+    private long logBytes;
+    private ViolationLogParser unit;
+
+    @Setup(Level.Trial)
+    public void setup() throws IOException {
+        final Path projectRoot = Paths.get("").toAbsolutePath();
+        final ViolationConverter violationConverter = new ViolationConverter(BenchmarkFixtures.sessionOf(projectRoot));
+
+        logFile = projectRoot.resolve("target/jmh-logs/" + tool + "-" + logMegabytes + "mb.txt");
+        logBytes = BenchmarkFixtures.writeLogOf("files/" + tool + "-logs.template.txt", projectRoot, logMegabytes, logFile);
+        unit = "errorprone".equals(tool)
+            ? new ErrorProneViolationLogParser(violationConverter)
+            : new CheckerFrameworkViolationLogParser(violationConverter);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        Files.deleteIfExists(logFile);
+    }
+
+    @Benchmark
+    public void parse(final Throughput throughput) {
+        final long[] violations = new long[1];
+
+        unit.parse(logFile, violation -> violations[0]++);
+
+        throughput.megabytes += logBytes / BYTES_PER_MEGABYTE;
+        throughput.violations += violations[0];
+    }
+
+    /**
+     * The counters reported as rates, i.e. per second of the measured time.
+     */
+    @AuxCounters(AuxCounters.Type.OPERATIONS)
+    @State(Scope.Thread)
+    public static class Throughput {
+        public double megabytes;
+        public long violations;
+
+        @Setup(Level.Iteration)
+        public void reset() {
+            megabytes = 0;
+            violations = 0;
+        }
+    }
+}
@@ -0,0 +1,50 @@
+package io.github.finoid.maven.plugins.codequality.report;
+
+import io.github.finoid.maven.plugins.codequality.fixtures.BenchmarkFixtures;
+import org.apache.maven.plugin.logging.Log;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ConsoleTableViolationReporterBenchmark {
+    @Param({"10", "1000"})
+    public int violationCount;
+
+    private List<Violation> violations;
+    private Log log;
+    private ConsoleTableViolationReporter unit;
+
+    @Setup
+    public void setup() {
+        violations = BenchmarkFixtures.violationsOf(violationCount);
+        // The table is rendered regardless of the log level
+        log = BenchmarkFixtures.discardingLog();
+        unit = new ConsoleTableViolationReporter();
+    }
+
+    @Benchmark
+    public void render() {
+        final ViolationSink sink = unit.open(log, PermissiveType.NON_PERMISSIVE);
+
+        violations.forEach(sink::accept);
+
+        sink.complete();
+    }
+}
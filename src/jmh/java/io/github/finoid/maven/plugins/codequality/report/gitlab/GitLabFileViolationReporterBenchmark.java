@@ -0,0 +1,68 @@
+package io.github.finoid.maven.plugins.codequality.report.gitlab;
+
+import io.github.finoid.maven.plugins.codequality.fixtures.BenchmarkFixtures;
+import io.github.finoid.maven.plugins.codequality.report.PermissiveType;
+import io.github.finoid.maven.plugins.codequality.report.Violation;
+import io.github.finoid.maven.plugins.codequality.report.ViolationSink;
+import io.github.finoid.maven.plugins.codequality.storage.SessionRepository;
+import org.apache.maven.execution.MavenSession;
+import org.apache.maven.plugin.logging.Log;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class GitLabFileViolationReporterBenchmark {
+    @Param({"10", "10000"})
+    public int violationCount;
+
+    private Path basedir;
+    private List<Violation> violations;
+    private Log log;
+    private GitLabFileViolationReporter unit;
+
+    @Setup(Level.Trial)
+    public void setupTrial() throws IOException {
+        basedir = Files.createTempDirectory("gitlab-benchmark");
+        violations = BenchmarkFixtures.violationsOf(violationCount);
+        log = BenchmarkFixtures.discardingLog();
+    }
+
+    @Setup(Level.Invocation)
+    public void setupInvocation() {
+        // The report writer is held by the session and closed once completed, hence every invocation writes within a new session
+        final MavenSession session = BenchmarkFixtures.sessionOf(basedir);
+
+        unit = new GitLabFileViolationReporter(session, new SessionRepository(session));
+    }
+
+    @Benchmark
+    public void serialize() {
+        final ViolationSink sink = unit.open(log, PermissiveType.NON_PERMISSIVE);
+
+        violations.forEach(sink::accept);
+
+        sink.complete();
+        unit.complete(log);
+    }
+}
@@ -0,0 +1,66 @@
+package io.github.finoid.maven.plugins.codequality.step;
+
+import io.github.finoid.maven.plugins.codequality.fixtures.ProjectStepResultsFaker;
+import io.github.finoid.maven.plugins.codequality.fixtures.StepResultFaker;
+import io.github.finoid.maven.plugins.codequality.fixtures.ViolationFaker;
+import io.github.finoid.maven.plugins.codequality.report.Severity;
+import io.github.finoid.maven.plugins.codequality.report.Violation;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class StepResultsBenchmark {
+    private static final int MODULES = 50;
+    private static final int STEPS = 3;
+
+    @Param({"10", "1000"})
+    public int violationsPerStep;
+
+    private StepResults unit;
+
+    @Setup
+    public void setup() {
+        final Random random = new Random(1);
+
+        unit = StepResults.ofResults(IntStream.range(0, MODULES)
+            .mapToObj(module -> ProjectStepResultsFaker.projectStepResults(random)
+                .withStepResults(IntStream.range(0, STEPS)
+                    .mapToObj(step -> StepResultFaker.stepResultFaker(random)
+                        .withViolations(IntStream.range(0, violationsPerStep)
+                            .mapToObj(it -> ViolationFaker.violation(random).create())
+                            .toList())
+                        .create())
+                    .toList())
+                .create())
+            .toList());
+    }
+
+    @Benchmark
+    public List<Violation> getViolations() {
+        return unit.getViolations(Severity.MINOR);
+    }
+
+    @Benchmark
+    public List<Violation> getNonPermissiveViolations() {
+        return unit.getNonPermissiveViolations(Severity.MINOR);
+    }
+}
@@ -0,0 +1,56 @@
+package io.github.finoid.maven.plugins.codequality.step;
+
+import com.puppycrawl.tools.checkstyle.api.AuditEvent;
+import io.github.finoid.maven.plugins.codequality.fixtures.AuditEventFaker;
+import io.github.finoid.maven.plugins.codequality.fixtures.BenchmarkFixtures;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ViolationConverterBenchmark {
+    private static final int AUDIT_EVENTS = 1_000;
+
+    private List<AuditEvent> auditEvents;
+    private ViolationConverter unit;
+
+    @Setup
+    public void setup() {
+        final Path projectRoot = Paths.get("").toAbsolutePath();
+        final Random random = new Random(1);
+
+        auditEvents = IntStream.range(0, AUDIT_EVENTS)
+            .mapToObj(it -> AuditEventFaker.auditEvent(random)
+                .withFileName(projectRoot + "/src/main/java/io/github/finoid/File" + it + ".java")
+                .create())
+            .toList();
+        unit = new ViolationConverter(BenchmarkFixtures.sessionOf(projectRoot));
+    }
+
+    @Benchmark
+    public void ofAuditEvent(final Blackhole blackhole) {
+        for (final AuditEvent auditEvent : auditEvents) {
+            blackhole.consume(unit.ofAuditEvent(auditEvent));
+        }
+    }
+}
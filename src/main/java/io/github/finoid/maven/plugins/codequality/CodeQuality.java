@@ -1,25 +1,17 @@
 package io.github.finoid.maven.plugins.codequality;
 
 import io.github.finoid.maven.plugins.codequality.configuration.CodeQualityConfiguration;
-import io.github.finoid.maven.plugins.codequality.configuration.Configuration;
-import io.github.finoid.maven.plugins.codequality.exceptions.SeverityThresholdException;
-import io.github.finoid.maven.plugins.codequality.exceptions.StepExecutionException;
-import io.github.finoid.maven.plugins.codequality.filter.Violations;
-import io.github.finoid.maven.plugins.codequality.filter.ViolationsFilterService;
-import io.github.finoid.maven.plugins.codequality.filter.ViolationsFilterService.Context;
-import io.github.finoid.maven.plugins.codequality.handlers.CleanHandler;
-import io.github.finoid.maven.plugins.codequality.report.Severity;
-import io.github.finoid.maven.plugins.codequality.report.ViolationReporter;
+import io.github.finoid.maven.plugins.codequality.metrics.StageMetrics;
+import io.github.finoid.maven.plugins.codequality.step.AnalysisPlanner;
 import io.github.finoid.maven.plugins.codequality.step.CheckerFrameworkStep;
 import io.github.finoid.maven.plugins.codequality.step.CheckstyleStep;
 import io.github.finoid.maven.plugins.codequality.step.ErrorProneStep;
+import io.github.finoid.maven.plugins.codequality.step.ModulePlan;
 import io.github.finoid.maven.plugins.codequality.step.ProjectStepResults;
-import io.github.finoid.maven.plugins.codequality.step.Step;
+import io.github.finoid.maven.plugins.codequality.step.StepExecution;
+import io.github.finoid.maven.plugins.codequality.step.StepExecutor;
 import io.github.finoid.maven.plugins.codequality.step.StepResult;
-import io.github.finoid.maven.plugins.codequality.step.StepResults;
-import io.github.finoid.maven.plugins.codequality.storage.StepResultsRepository;
 import io.github.finoid.maven.plugins.codequality.util.Precondition;
-import io.github.finoid.maven.plugins.codequality.util.ProjectUtils;
 import org.apache.maven.execution.MavenSession;
 import org.apache.maven.plugin.AbstractMojo;
 import org.apache.maven.plugin.MojoExecutionException;
@@ -29,19 +21,18 @@ import org.apache.maven.plugins.annotations.Parameter;
 import org.apache.maven.plugins.annotations.ResolutionScope;
 
 import javax.inject.Inject;
-import java.util.Collections;
 import java.util.List;
 
-@Mojo(name = "code-quality", defaultPhase = LifecyclePhase.VERIFY, requiresDependencyResolution = ResolutionScope.COMPILE)
+@Mojo(name = "code-quality", defaultPhase = LifecyclePhase.VERIFY, requiresDependencyResolution = ResolutionScope.COMPILE, threadSafe = true)
 public class CodeQuality extends AbstractMojo {
     private final CheckstyleStep checkstyleStep;
     private final ErrorProneStep errorProneStep;
     private final CheckerFrameworkStep checkerFrameworkStep;
-    private final CleanHandler cleanHandler;
+    private final StepExecutor stepExecutor;
     private final MavenSession mavenSession;
-    private final StepResultsRepository stepResultsRepository;
-    private final List<ViolationReporter> violationReporters;
-    private final ViolationsFilterService filterService;
+    private final ReactorAggregator reactorAggregator;
+    private final AnalysisPlanner analysisPlanner;
+    private final StageMetrics stageMetrics;
 
     @Parameter(alias = "codeQuality")
     private CodeQualityConfiguration codeQualityConfiguration;
@@ -51,21 +42,21 @@ public class CodeQuality extends AbstractMojo {
         final CheckstyleStep checkstyleStep,
         final ErrorProneStep errorProneStep,
         final CheckerFrameworkStep checkerFrameworkStep,
-        final CleanHandler cleanHandler,
+        final StepExecutor stepExecutor,
         final MavenSession mavenSession,
-        final StepResultsRepository stepResultsRepository,
-        final List<ViolationReporter> violationReporters,
-        final ViolationsFilterService filterService,
+        final ReactorAggregator reactorAggregator,
+        final AnalysisPlanner analysisPlanner,
+        final StageMetrics stageMetrics,
         final CodeQualityConfiguration codeQualityConfiguration
     ) {
         this.checkstyleStep = Precondition.nonNull(checkstyleStep, "CheckstyleStep shouldn't be null");
         this.errorProneStep = Precondition.nonNull(errorProneStep, "ErrorProneStep shouldn't be null");
         this.checkerFrameworkStep = Precondition.nonNull(checkerFrameworkStep, "CheckerFrameworkStep shouldn't be null");
-        this.cleanHandler = Precondition.nonNull(cleanHandler, "CleanHandler shouldn't be null");
+        this.stepExecutor = Precondition.nonNull(stepExecutor, "StepExecutor shouldn't be null");
         this.mavenSession = Precondition.nonNull(mavenSession, "MavenSession shouldn't be null");
-        this.stepResultsRepository = Precondition.nonNull(stepResultsRepository, "StepResultsRepository shouldn't be null");
-        this.violationReporters = Precondition.nonNull(violationReporters, "ViolationResultLogOutput shouldn't be null");
-        this.filterService = Precondition.nonNull(filterService, "ViolationsFilterService shouldn't be null");
+        this.reactorAggregator = Precondition.nonNull(reactorAggregator, "ReactorAggregator shouldn't be null");
+        this.analysisPlanner = Precondition.nonNull(analysisPlanner, "AnalysisPlanner shouldn't be null");
+        this.stageMetrics = Precondition.nonNull(stageMetrics, "StageMetrics shouldn't be null");
         this.codeQualityConfiguration = Precondition.nonNull(codeQualityConfiguration, "CodeQualityConfiguration shouldn't be null");
     }
 
@@ -77,72 +68,41 @@ public class CodeQuality extends AbstractMojo {
             return;
         }
 
-        try {
-            executeSteps();
-
-            // Hack to detect execution of the last module
-            if (ProjectUtils.isLastModule(mavenSession)) {
-                final StepResults stepResults = stepResultsRepository.getAll();
-                final Violations violations =
-                    new Violations(stepResults.getViolations(Severity.MINOR, true), stepResults.getNonPermissiveViolations(Severity.MINOR));
-
-                final Violations filteredViolations = filterService.filter(violations, new Context(getLog(), codeQualityConfiguration.getViolationFilters()));
+        // The outcome of all modules is aggregated once the session ends, after every module has completed, including the skipped modules
+        reactorAggregator.register(mavenSession, getLog());
+        stageMetrics.enable(codeQualityConfiguration);
 
-                violationReporting(filteredViolations);
-            }
-        } catch (final Exception e) {
-            throw new MojoExecutionException(String.format("Failed during execution. Cause: %s", e.getMessage()), e);
-        }
-    }
-
-    private ProjectStepResults executeSteps() {
-        final ProjectStepResults projectStepResults = ProjectStepResults.ofResults(
-            mavenSession.getCurrentProject().getName(),
-            executeStep(checkstyleStep, codeQualityConfiguration, codeQualityConfiguration.getCheckstyle()),
-            executeStep(errorProneStep, codeQualityConfiguration, codeQualityConfiguration.getErrorProne()),
-            executeStep(checkerFrameworkStep, codeQualityConfiguration, codeQualityConfiguration.getCheckerFramework())
+        final List<StepExecution<?>> executions = List.of(
+            StepExecution.of(checkstyleStep, codeQualityConfiguration.getCheckstyle()),
+            StepExecution.of(errorProneStep, codeQualityConfiguration.getErrorProne()),
+            StepExecution.of(checkerFrameworkStep, codeQualityConfiguration.getCheckerFramework())
         );
 
-        stepResultsRepository.store(projectStepResults);
+        final ModulePlan modulePlan = analysisPlanner.planOf(executions, codeQualityConfiguration, getLog());
 
-        return projectStepResults;
-    }
-
-    private <T extends Configuration> StepResult executeStep(final Step<T> step, final CodeQualityConfiguration codeQualityConfiguration,
-                                                             final T configuration) {
-        try {
-            if (!step.isEnabled(configuration)) {
-                getLog().info(String.format("Step %s analyzer is disabled. Skipping...", step.type()));
+        if (codeQualityConfiguration.isDryRun()) {
+            getLog().info("Dry run, skipping the analysis of " + modulePlan.module());
 
-                return StepResult.create(step.type(), configuration.isPermissive(), Collections.emptyList());
-            }
-
-            final Step.PrerequisiteResult prerequisiteResult = step.hasPrerequisites(configuration);
-            if (!prerequisiteResult.hasAllPrerequisites()) {
-                getLog().info(String.format("Step %s is missing prerequisites to run. Cause: %s. Skipping...", step.type(), prerequisiteResult.cause()));
-
-                return StepResult.create(step.type(), configuration.isPermissive(), Collections.emptyList());
-            }
+            return;
+        }
 
-            cleanHandler.handle(step, getLog());
+        if (modulePlan.isSkipped()) {
+            getLog().info(String.format("Skipping the analysis of %s. Cause: %s", modulePlan.module(), modulePlan.skipReason()));
 
-            getLog().info(String.format("Executing %s analyzer", step.type()));
+            return;
+        }
 
-            return step.execute(codeQualityConfiguration, configuration, getLog());
+        try {
+            executeSteps(executions);
         } catch (final Exception e) {
-            getLog().error(String.format("Error occurred during %s analyzer. Cause: %s ", step.type(), e.getMessage()));
-
-            throw new StepExecutionException(String.format("Error during execution of %s analyzer step. Cause: %s", step.type(), e.getMessage()), e);
+            throw new MojoExecutionException(String.format("Failed during execution. Cause: %s", e.getMessage()), e);
         }
     }
 
-    private void violationReporting(final Violations violations) {
-        violationReporters.stream()
-            .filter(it -> codeQualityConfiguration.getViolationReporters().contains(it.name()))
-            .forEach(r -> r.report(getLog(), violations));
+    private void executeSteps(final List<StepExecution<?>> executions) {
+        final List<StepResult> results = stepExecutor.executeAll(executions, codeQualityConfiguration, getLog());
 
-        if (!violations.getNonPermissiveViolations().isEmpty()) {
-            throw new SeverityThresholdException("Severity threshold has been exceeded.");
-        }
+        reactorAggregator.report(mavenSession, ProjectStepResults.ofResults(mavenSession.getCurrentProject().getName(), results),
+            codeQualityConfiguration, getLog());
     }
 }
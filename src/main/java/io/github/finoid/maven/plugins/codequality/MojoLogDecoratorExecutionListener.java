@@ -4,13 +4,13 @@ import io.github.finoid.maven.plugins.codequality.log.LogAndFileAppender;
 import io.github.finoid.maven.plugins.codequality.log.LogLevel;
 import io.github.finoid.maven.plugins.codequality.step.CheckstyleStep;
 import io.github.finoid.maven.plugins.codequality.step.ErrorProneStep;
+import io.github.finoid.maven.plugins.codequality.step.FusedAnalysisCompiler;
 import io.github.finoid.maven.plugins.codequality.util.ConfigurationUtils;
 import io.github.finoid.maven.plugins.codequality.util.Precondition;
 import io.github.finoid.maven.plugins.codequality.util.ProjectUtils;
 import lombok.Getter;
 import lombok.RequiredArgsConstructor;
 import org.apache.commons.lang3.StringUtils;
-import org.apache.maven.execution.MavenSession;
 import org.apache.maven.execution.MojoExecutionEvent;
 import org.apache.maven.execution.MojoExecutionListener;
 import org.apache.maven.project.MavenProject;
@@ -26,7 +26,7 @@ import javax.inject.Inject;
 import java.io.File;
 import javax.inject.Named;
 import javax.inject.Singleton;
-import java.io.FileNotFoundException;
+import java.io.IOException;
 import java.nio.file.Path;
 import java.nio.file.Paths;
 
@@ -38,23 +38,20 @@ import java.nio.file.Paths;
  * See {@link ErrorProneStep} and {@link CheckstyleStep}
  * <p>
  * This class serves as a workaround to enable log collection for {@code CompilerMojo} executions, where specific logging is required, such as
- * for the ErrorProne and Checker Framework steps.
+ * for the ErrorProne and Checker Framework steps, as well as the fused analysis compile of both (see {@link FusedAnalysisCompiler}).
  */
 @Named
 @Singleton
 public class MojoLogDecoratorExecutionListener implements MojoExecutionListener {
     private static final String COMPILER_MOJO = "CompilerMojo";
     private static final Logger LOGGER = new ConsoleLogger(1, "console");
+    private static final String RAW_LOG_FILE_SUFFIX = ".gz";
 
     private final LoggerManager loggerManager;
-    private final MavenProject project;
-    private final MavenSession mavenSession;
 
     @Inject
-    public MojoLogDecoratorExecutionListener(final LoggerManager loggerManager, final MavenProject project, final MavenSession mavenSession) {
+    public MojoLogDecoratorExecutionListener(final LoggerManager loggerManager) {
         this.loggerManager = Precondition.nonNull(loggerManager, "LoggerManager shouldn't be null");
-        this.project = Precondition.nonNull(project, "MavenProject shouldn't be null");
-        this.mavenSession = mavenSession;
     }
 
     @Override
@@ -70,6 +67,7 @@ public class MojoLogDecoratorExecutionListener implements MojoExecutionListener
             nullableOutputFileName = switch (stepAnalyzer(event.getExecution().getConfiguration())) {
                 case ERROR_PRONE -> StepAnalyzer.ERROR_PRONE.composeFileName(event.getProject().getModel().getArtifactId());
                 case CHECKER_FRAMEWORK -> StepAnalyzer.CHECKER_FRAMEWORK.composeFileName(event.getProject().getModel().getArtifactId());
+                case FUSED -> StepAnalyzer.FUSED.composeFileName(event.getProject().getModel().getArtifactId());
                 case OTHER -> null;
             };
 
@@ -79,7 +77,10 @@ public class MojoLogDecoratorExecutionListener implements MojoExecutionListener
                 return;
             }
 
-            final LogLevel stepLogLevel = ProjectUtils.stepLogLevelOrFallback(mavenSession, LogLevel.ERROR);
+            // The project of the event, since the component outlives the module it was created for
+            final MavenProject project = event.getProject();
+
+            final LogLevel stepLogLevel = ProjectUtils.stepLogLevelOrFallback(project, LogLevel.ERROR);
 
             final Path outputFilePath = targetOutputFilePath(project.getBuild().getDirectory(), nullableOutputFileName);
 
@@ -91,23 +92,41 @@ public class MojoLogDecoratorExecutionListener implements MojoExecutionListener
 
             final Logger defaultLoggerForMojo = loggerManager.getLoggerForComponent(event.getExecution().getMojoDescriptor().getImplementation());
 
+            // Merely the diagnostics are captured, the whole compiler log is optionally retained in compressed form
+            @Nullable
+            final File nullableRawLogFile = ProjectUtils.isRawCompilerLogEnabled(project, event.getSession())
+                ? targetOutputFilePath(project.getBuild().getDirectory(), nullableOutputFileName + RAW_LOG_FILE_SUFFIX).toFile()
+                : null;
+
             event.getMojo()
-                .setLog(new LogAndFileAppender(defaultLoggerForMojo, outputFilePath.toFile(), stepLogLevel));
+                .setLog(new LogAndFileAppender(defaultLoggerForMojo, outputFilePath.toFile(), nullableRawLogFile, stepLogLevel));
         } catch (final IllegalStateException e) {
             LOGGER.warn("Unable to determine execution type");
-        } catch (final FileNotFoundException e) {
+        } catch (final IOException e) {
             LOGGER.warn(String.format("Unable to read/write. Path: %s. Cause: %s", nullableOutputFileName, e.getMessage()));
         }
     }
 
     @Override
     public void afterMojoExecutionSuccess(final MojoExecutionEvent event) {
-        // No-op
+        closeAppender(event);
     }
 
     @Override
     public void afterExecutionFailure(final MojoExecutionEvent event) {
-        // No-op
+        closeAppender(event);
+    }
+
+    private static void closeAppender(final MojoExecutionEvent event) {
+        if (!(event.getMojo().getLog() instanceof LogAndFileAppender appender)) {
+            return;
+        }
+
+        try {
+            appender.close();
+        } catch (final IOException e) {
+            LOGGER.warn("Unable to close the captured compiler log. Cause: " + e.getMessage());
+        }
     }
 
     private static boolean isMojoOfType(final MojoExecutionEvent event, final String type) {
@@ -137,6 +156,10 @@ public class MojoLogDecoratorExecutionListener implements MojoExecutionListener
             return StepAnalyzer.ERROR_PRONE;
         }
 
+        if (nullableOutputDirectory.contains("analysis-classes")) {
+            return StepAnalyzer.FUSED;
+        }
+
         return StepAnalyzer.OTHER;
     }
 
@@ -145,6 +168,7 @@ public class MojoLogDecoratorExecutionListener implements MojoExecutionListener
     private enum StepAnalyzer {
         ERROR_PRONE("errorprone-%s.txt"),
         CHECKER_FRAMEWORK("checkerframework-%s.txt"),
+        FUSED("analysis-%s.txt"),
         OTHER("none-%s.txt");
 
         @Format(ConversionCategory.GENERAL)
@@ -0,0 +1,155 @@
+package io.github.finoid.maven.plugins.codequality;
+
+import io.github.finoid.maven.plugins.codequality.cache.CacheStatistics;
+import io.github.finoid.maven.plugins.codequality.cache.StepResultCache;
+import io.github.finoid.maven.plugins.codequality.configuration.CodeQualityConfiguration;
+import io.github.finoid.maven.plugins.codequality.exceptions.CodeQualityException;
+import io.github.finoid.maven.plugins.codequality.exceptions.SeverityThresholdException;
+import io.github.finoid.maven.plugins.codequality.metrics.StageMetrics;
+import io.github.finoid.maven.plugins.codequality.report.ViolationPipeline;
+import io.github.finoid.maven.plugins.codequality.step.ProjectStepResults;
+import io.github.finoid.maven.plugins.codequality.storage.SessionRepository;
+import io.github.finoid.maven.plugins.codequality.util.Precondition;
+import org.apache.maven.execution.ExecutionListener;
+import org.apache.maven.execution.MavenExecutionRequest;
+import org.apache.maven.execution.MavenSession;
+import org.apache.maven.plugin.MojoExecutionException;
+import org.apache.maven.plugin.logging.Log;
+
+import javax.inject.Inject;
+import javax.inject.Singleton;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Aggregates the outcome of all modules once the session ends, i.e. after every module of the reactor has completed, regardless of
+ * the order the modules complete in - such as within a parallel build ({@code -T}). The violations of each module are reported as soon
+ * as the module has completed, see {@link ViolationPipeline}, merely their number is aggregated. Once the session ends, the reporters are
+ * completed, and the build fails in case of non-permissive violations.
+ * <p>
+ * The end of the session is observed by decorating the {@link ExecutionListener} of the execution request, which Maven looks up on every
+ * event, see {@link SessionEndedExecutionListener}. Unlike a lifecycle participant, this doesn't require the plugin to be registered as an
+ * extension.
+ */
+@Singleton
+public class ReactorAggregator {
+    private static final String REGISTRATION_KEY = "codequality.reactorAggregation";
+    private static final String NON_PERMISSIVE_VIOLATIONS_KEY = "codequality.nonPermissiveViolations";
+
+    private final SessionRepository sessionRepository;
+    private final ViolationPipeline violationPipeline;
+    private final StepResultCache stepResultCache;
+    private final StageMetrics stageMetrics;
+
+    @Inject
+    public ReactorAggregator(
+        final SessionRepository sessionRepository,
+        final ViolationPipeline violationPipeline,
+        final StepResultCache stepResultCache,
+        final StageMetrics stageMetrics
+    ) {
+        this.sessionRepository = Precondition.nonNull(sessionRepository, "SessionRepository shouldn't be null");
+        this.violationPipeline = Precondition.nonNull(violationPipeline, "ViolationPipeline shouldn't be null");
+        this.stepResultCache = Precondition.nonNull(stepResultCache, "StepResultCache shouldn't be null");
+        this.stageMetrics = Precondition.nonNull(stageMetrics, "StageMetrics shouldn't be null");
+    }
+
+    /**
+     * Registers the current module for the aggregation at the end of the session. The aggregation is logged to the last registered
+     * module in the reactor order, independent of the order the modules are executed in.
+     *
+     * @param session the Maven session
+     * @param log     the mojo logger, which the aggregation is logged to
+     */
+    public synchronized void register(final MavenSession session, final Log log) {
+        final int projectIndex = session.getProjects().indexOf(session.getCurrentProject());
+
+        if (!(sessionRepository.get(REGISTRATION_KEY) instanceof Registration registration)) {
+            final MavenExecutionRequest request = session.getRequest();
+            request.setExecutionListener(new SessionEndedExecutionListener(request.getExecutionListener(), this::aggregate));
+
+            sessionRepository.put(REGISTRATION_KEY, new Registration(projectIndex, log));
+
+            return;
+        }
+
+        if (projectIndex >= registration.projectIndex()) {
+            sessionRepository.put(REGISTRATION_KEY, new Registration(projectIndex, log));
+        }
+    }
+
+    /**
+     * Reports the violations of the current module, and adds its number of non-permissive violations to the aggregation.
+     * <p>
+     * In case of {@link CodeQualityConfiguration#isFailFast()}, the module fails right away instead, which stops the reactor. Its
+     * violations aren't added to the aggregation, such that the build doesn't fail twice for the same violations once the session ends.
+     *
+     * @param session                  the Maven session
+     * @param projectStepResults       the step results of the current module
+     * @param codeQualityConfiguration the code quality configuration of the current module
+     * @param log                      the mojo logger, which the violations are reported to
+     * @throws SeverityThresholdException in case of non-permissive violations and {@link CodeQualityConfiguration#isFailFast()}
+     */
+    public void report(final MavenSession session, final ProjectStepResults projectStepResults,
+                       final CodeQualityConfiguration codeQualityConfiguration, final Log log) {
+        final long nonPermissiveViolations = violationPipeline.report(projectStepResults, codeQualityConfiguration, log);
+
+        if (codeQualityConfiguration.isFailFast() && nonPermissiveViolations > 0) {
+            // The remaining modules are skipped even if the build has been requested to fail at the end
+            session.getRequest()
+                .setReactorFailureBehavior(MavenExecutionRequest.REACTOR_FAIL_FAST);
+
+            throw new SeverityThresholdException(String.format("Severity threshold has been exceeded by %d violations of %s, failing fast.",
+                nonPermissiveViolations, projectStepResults.getProjectName()));
+        }
+
+        nonPermissiveViolations().add(nonPermissiveViolations);
+    }
+
+    private void aggregate(final MavenSession session) {
+        if (!(sessionRepository.get(REGISTRATION_KEY) instanceof Registration registration)) {
+            return;
+        }
+
+        final Log log = registration.log();
+
+        try {
+            cacheReporting(stepResultCache.statistics(), log);
+            evictCaches(log);
+
+            violationPipeline.complete(log);
+
+            stageMetrics.report(log);
+
+            if (nonPermissiveViolations().sum() > 0) {
+                throw new SeverityThresholdException("Severity threshold has been exceeded.");
+            }
+        } catch (final Exception e) {
+            // Fails the build, since the session result is checked once the session has ended
+            session.getResult()
+                .addException(new MojoExecutionException(String.format("Failed during execution. Cause: %s", e.getMessage()), e));
+        }
+    }
+
+    private LongAdder nonPermissiveViolations() {
+        // Modules of a parallel build report concurrently
+        return (LongAdder) sessionRepository.computeIfAbsent(NON_PERMISSIVE_VIOLATIONS_KEY, LongAdder::new);
+    }
+
+    private void evictCaches(final Log log) {
+        try {
+            stepResultCache.evict();
+        } catch (final CodeQualityException e) {
+            // An exceeding cache merely remains until the next build
+            log.warn("Failed to evict the step result cache. Cause: " + e.getMessage());
+        }
+    }
+
+    private static void cacheReporting(final CacheStatistics statistics, final Log log) {
+        if (statistics.isUsed()) {
+            log.info(statistics.summary());
+        }
+    }
+
+    private record Registration(int projectIndex, Log log) {
+    }
+}
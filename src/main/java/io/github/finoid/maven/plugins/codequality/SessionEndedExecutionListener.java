@@ -0,0 +1,117 @@
+package io.github.finoid.maven.plugins.codequality;
+
+import org.apache.maven.execution.ExecutionEvent;
+import org.apache.maven.execution.ExecutionListener;
+import org.apache.maven.execution.MavenSession;
+import org.jspecify.annotations.Nullable;
+
+import java.util.function.Consumer;
+
+/**
+ * An {@link ExecutionListener} which decorates the listener of the execution request, see {@link ReactorAggregator}. Every event is
+ * forwarded to the decorated listener, while the end of the session is handled beforehand, such that the build summary of the decorated
+ * listener reflects its outcome.
+ */
+final class SessionEndedExecutionListener implements ExecutionListener {
+    @Nullable
+    private final ExecutionListener delegate;
+    private final Consumer<MavenSession> sessionEndedHandler;
+
+    SessionEndedExecutionListener(@Nullable final ExecutionListener delegate, final Consumer<MavenSession> sessionEndedHandler) {
+        this.delegate = delegate;
+        this.sessionEndedHandler = sessionEndedHandler;
+    }
+
+    @Override
+    public void sessionEnded(final ExecutionEvent event) {
+        sessionEndedHandler.accept(event.getSession());
+
+        forward(it -> it.sessionEnded(event));
+    }
+
+    @Override
+    public void projectDiscoveryStarted(final ExecutionEvent event) {
+        forward(it -> it.projectDiscoveryStarted(event));
+    }
+
+    @Override
+    public void sessionStarted(final ExecutionEvent event) {
+        forward(it -> it.sessionStarted(event));
+    }
+
+    @Override
+    public void projectSkipped(final ExecutionEvent event) {
+        forward(it -> it.projectSkipped(event));
+    }
+
+    @Override
+    public void projectStarted(final ExecutionEvent event) {
+        forward(it -> it.projectStarted(event));
+    }
+
+    @Override
+    public void projectSucceeded(final ExecutionEvent event) {
+        forward(it -> it.projectSucceeded(event));
+    }
+
+    @Override
+    public void projectFailed(final ExecutionEvent event) {
+        forward(it -> it.projectFailed(event));
+    }
+
+    @Override
+    public void mojoSkipped(final ExecutionEvent event) {
+        forward(it -> it.mojoSkipped(event));
+    }
+
+    @Override
+    public void mojoStarted(final ExecutionEvent event) {
+        forward(it -> it.mojoStarted(event));
+    }
+
+    @Override
+    public void mojoSucceeded(final ExecutionEvent event) {
+        forward(it -> it.mojoSucceeded(event));
+    }
+
+    @Override
+    public void mojoFailed(final ExecutionEvent event) {
+        forward(it -> it.mojoFailed(event));
+    }
+
+    @Override
+    public void forkStarted(final ExecutionEvent event) {
+        forward(it -> it.forkStarted(event));
+    }
+
+    @Override
+    public void forkSucceeded(final ExecutionEvent event) {
+        forward(it -> it.forkSucceeded(event));
+    }
+
+    @Override
+    public void forkFailed(final ExecutionEvent event) {
+        forward(it -> it.forkFailed(event));
+    }
+
+    @Override
+    public void forkedProjectStarted(final ExecutionEvent event) {
+        forward(it -> it.forkedProjectStarted(event));
+    }
+
+    @Override
+    public void forkedProjectSucceeded(final ExecutionEvent event) {
+        forward(it -> it.forkedProjectSucceeded(event));
+    }
+
+    @Override
+    public void forkedProjectFailed(final ExecutionEvent event) {
+        forward(it -> it.forkedProjectFailed(event));
+    }
+
+    private void forward(final Consumer<ExecutionListener> event) {
+        if (delegate != null) {
+            event.accept(delegate);
+        }
+    }
+}
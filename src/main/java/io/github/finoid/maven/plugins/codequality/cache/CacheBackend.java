@@ -0,0 +1,39 @@
+package io.github.finoid.maven.plugins.codequality.cache;
+
+import io.github.finoid.maven.plugins.codequality.configuration.RemoteCacheConfiguration;
+import io.github.finoid.maven.plugins.codequality.exceptions.CodeQualityException;
+
+import java.util.Optional;
+
+/**
+ * A contract for a remote cache, which shares the entries of the {@link StepResultCache} across machines.
+ * <p>
+ * The entries are content-addressed, i.e. keyed by the fingerprint of their inputs, hence immutable: an entry stored under an existing key
+ * may replace it, but never with a different content of the same inputs.
+ */
+public interface CacheBackend {
+    /**
+     * Loads the entry of the provided key.
+     *
+     * @param key           the cache key
+     * @param configuration the remote cache configuration
+     * @return the entry, or empty in case of a cache miss
+     * @throws CodeQualityException in case the remote cache couldn't be read
+     */
+    Optional<byte[]> load(final String key, final RemoteCacheConfiguration configuration);
+
+    /**
+     * Stores the provided entry under the provided key.
+     *
+     * @param key           the cache key
+     * @param content       the entry
+     * @param configuration the remote cache configuration
+     * @throws CodeQualityException in case the remote cache couldn't be written
+     */
+    void store(final String key, final byte[] content, final RemoteCacheConfiguration configuration);
+
+    /**
+     * The name of the cache backend, see {@link RemoteCacheConfiguration#optionalBackend()}.
+     */
+    String name();
+}
@@ -0,0 +1,141 @@
+package io.github.finoid.maven.plugins.codequality.cache;
+
+import io.github.finoid.maven.plugins.codequality.util.Precondition;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.nio.file.attribute.FileTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+/**
+ * A directory of cache entries, stored as JSON files named after their key. Shared by the local cache and the
+ * {@link FileSystemCacheBackend}, and safe to be used by concurrent builds.
+ */
+final class CacheDirectory {
+    private static final String ENTRY_SUFFIX = ".json";
+    // Evicts below the maximum size, to avoid evicting in every build once the cache is full
+    private static final double EVICTION_TARGET_RATIO = 0.8;
+    private static final Object EVICTION_LOCK = new Object();
+
+    private final Path root;
+
+    CacheDirectory(final Path root) {
+        this.root = Precondition.nonNull(root, "Root shouldn't be null");
+    }
+
+    /**
+     * Reads the entry of the provided key, renewing its modification time, see {@link #evict(long)}.
+     *
+     * @param key the cache key
+     * @return the entry, or empty if absent
+     * @throws IOException in case the entry couldn't be read
+     */
+    Optional<byte[]> read(final String key) throws IOException {
+        final Path entry = entryOf(key);
+
+        try {
+            final byte[] content = Files.readAllBytes(entry);
+
+            Files.setLastModifiedTime(entry, FileTime.fromMillis(System.currentTimeMillis()));
+
+            return Optional.of(content);
+        } catch (final NoSuchFileException e) {
+            return Optional.empty();
+        }
+    }
+
+    /**
+     * Whether the entry of the provided key exists, without renewing its modification time.
+     *
+     * @param key the cache key
+     * @return {@code true} if present, {@code false} otherwise
+     */
+    boolean contains(final String key) {
+        return Files.isRegularFile(entryOf(key));
+    }
+
+    /**
+     * Writes the entry of the provided key.
+     *
+     * @param key     the cache key
+     * @param content the entry
+     * @throws IOException in case the entry couldn't be written
+     */
+    void write(final String key, final byte[] content) throws IOException {
+        final Path entry = entryOf(key);
+
+        Files.createDirectories(entry.getParent());
+
+        // Written to a temporary file first, such that concurrent builds never read a partially written entry
+        final Path temporaryEntry = Files.createTempFile(entry.getParent(), key, ".tmp");
+        Files.write(temporaryEntry, content);
+        Files.move(temporaryEntry, entry, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    /**
+     * Evicts the least recently used entries once the directory exceeds the provided size.
+     *
+     * @param maxSizeBytes the maximum size in bytes
+     * @throws IOException in case the directory couldn't be listed
+     */
+    @SuppressWarnings({"checkstyle:EmptyCatchBlock", "EmptyCatch"})
+    void evict(final long maxSizeBytes) throws IOException {
+        synchronized (EVICTION_LOCK) {
+            final List<Entry> entries = new ArrayList<>();
+            try (Stream<Path> paths = Files.walk(root)) {
+                for (final Path path : paths.filter(it -> it.toString().endsWith(ENTRY_SUFFIX)).toList()) {
+                    try {
+                        final BasicFileAttributes attributes = Files.readAttributes(path, BasicFileAttributes.class);
+
+                        entries.add(new Entry(path, attributes.size(), attributes.lastModifiedTime().toMillis()));
+                    } catch (final NoSuchFileException e) {
+                        // Evicted by another build in between
+                    }
+                }
+            } catch (final NoSuchFileException e) {
+                return;
+            }
+
+            long sizeBytes = entries.stream()
+                .mapToLong(Entry::sizeBytes)
+                .sum();
+
+            if (sizeBytes <= maxSizeBytes) {
+                return;
+            }
+
+            final long targetSizeBytes = (long) (maxSizeBytes * EVICTION_TARGET_RATIO);
+
+            for (final Entry entry : entries.stream().sorted(Comparator.comparingLong(Entry::lastUsed)).toList()) {
+                if (sizeBytes <= targetSizeBytes) {
+                    break;
+                }
+
+                Files.deleteIfExists(entry.path());
+
+                sizeBytes -= entry.sizeBytes();
+            }
+        }
+    }
+
+    Path root() {
+        return root;
+    }
+
+    private Path entryOf(final String key) {
+        // Sharded by the leading characters of the key, keeping the number of files per directory low
+        return root.resolve(key.substring(0, 2))
+            .resolve(key + ENTRY_SUFFIX);
+    }
+
+    private record Entry(Path path, long sizeBytes, long lastUsed) {
+    }
+}
@@ -0,0 +1,56 @@
+package io.github.finoid.maven.plugins.codequality.cache;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * The hit and miss statistics of the {@link StepResultCache} within a build, reported once the build ends.
+ */
+public class CacheStatistics {
+    private final AtomicLong localHits = new AtomicLong();
+    private final AtomicLong remoteHits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private final AtomicLong remoteStores = new AtomicLong();
+    private final AtomicLong remoteFailures = new AtomicLong();
+
+    void localHit() {
+        localHits.incrementAndGet();
+    }
+
+    void remoteHit() {
+        remoteHits.incrementAndGet();
+    }
+
+    void miss() {
+        misses.incrementAndGet();
+    }
+
+    void remoteStore() {
+        remoteStores.incrementAndGet();
+    }
+
+    void remoteFailure() {
+        remoteFailures.incrementAndGet();
+    }
+
+    /**
+     * Whether the cache has been used within the build.
+     *
+     * @return {@code true} if used, {@code false} otherwise
+     */
+    public boolean isUsed() {
+        return localHits.get() + remoteHits.get() + misses.get() > 0;
+    }
+
+    /**
+     * Returns the statistics in a human-readable form.
+     *
+     * @return the summary
+     */
+    public String summary() {
+        final long hits = localHits.get() + remoteHits.get();
+        final long lookups = hits + misses.get();
+
+        return String.format("Cache: %d of %d lookups hit (%d local, %d remote), %d missed, %d stored remotely, %d remote failures",
+            hits, lookups, localHits.get(), remoteHits.get(), misses.get(), remoteStores.get(), remoteFailures.get());
+    }
+}
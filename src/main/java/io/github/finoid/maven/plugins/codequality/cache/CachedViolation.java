@@ -0,0 +1,58 @@
+package io.github.finoid.maven.plugins.codequality.cache;
+
+import io.github.finoid.maven.plugins.codequality.report.Severity;
+import io.github.finoid.maven.plugins.codequality.report.Violation;
+import org.jspecify.annotations.Nullable;
+
+import java.nio.file.Path;
+
+/**
+ * The serialized form of a {@link Violation} within the step result cache.
+ * <p>
+ * The full path is stored relative to the base directory of the module, and resolved against the base directory of the module replaying
+ * the violation, such that a violation cached within another checkout references the source file of the current one. A full path which
+ * isn't absolute is stored as is.
+ */
+record CachedViolation(
+    String tool,
+    String description,
+    String fingerprint,
+    Severity severity,
+    String relativePath,
+    @Nullable String modulePath,
+    @Nullable String fullPath,
+    Integer line,
+    Integer columnNumber,
+    String rule
+) {
+    static CachedViolation of(final Violation violation, final Path basedir) {
+        final Path fullPath = Path.of(violation.getFullPath());
+
+        @Nullable
+        final String nullableModulePath = fullPath.isAbsolute()
+            ? basedir.toAbsolutePath().relativize(fullPath).toString().replace("\\", "/") // Windows compatibility
+            : null;
+
+        return new CachedViolation(violation.getTool(), violation.getDescription(), violation.getFingerprint(), violation.getSeverity(),
+            violation.getRelativePath(), nullableModulePath, nullableModulePath == null ? violation.getFullPath() : null, violation.getLine(),
+            violation.getColumnNumber(), violation.getRule());
+    }
+
+    Violation toViolation(final Path basedir) {
+        final String resolvedFullPath = modulePath == null
+            ? String.valueOf(fullPath)
+            : basedir.toAbsolutePath().resolve(modulePath).normalize().toString().replace("\\", "/"); // Windows compatibility
+
+        return Violation.builder()
+            .tool(tool)
+            .description(description)
+            .fingerprint(fingerprint)
+            .severity(severity)
+            .relativePath(relativePath)
+            .fullPath(resolvedFullPath)
+            .line(line)
+            .columnNumber(columnNumber)
+            .rule(rule)
+            .build();
+    }
+}
@@ -0,0 +1,107 @@
+package io.github.finoid.maven.plugins.codequality.cache;
+
+import com.puppycrawl.tools.checkstyle.Checker;
+import io.github.finoid.maven.plugins.codequality.configuration.CacheConfiguration;
+import io.github.finoid.maven.plugins.codequality.configuration.CheckstyleConfiguration;
+import io.github.finoid.maven.plugins.codequality.configuration.CodeQualityConfiguration;
+import io.github.finoid.maven.plugins.codequality.exceptions.CodeQualityException;
+import io.github.finoid.maven.plugins.codequality.report.Violation;
+import io.github.finoid.maven.plugins.codequality.util.Precondition;
+
+import javax.inject.Inject;
+import javax.inject.Singleton;
+import java.net.URISyntaxException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+
+/**
+ * Caches the Checkstyle violations per source file, keyed on the path and content of the file, the execution environment configuration -
+ * including the content of its configuration files - and the Checkstyle version. Unlike the cache file of Checkstyle itself, which only
+ * records the files that passed cleanly, files with violations are cached as well.
+ * <p>
+ * Checks spanning several files, e.g. {@code JavadocPackage}, aren't invalidated by changes to the other files.
+ */
+@Singleton
+public class CheckstyleFileCache {
+    private final ModuleInputFingerprinter moduleInputFingerprinter;
+    private final StepResultCache stepResultCache;
+
+    @Inject
+    public CheckstyleFileCache(final ModuleInputFingerprinter moduleInputFingerprinter, final StepResultCache stepResultCache) {
+        this.moduleInputFingerprinter = Precondition.nonNull(moduleInputFingerprinter, "ModuleInputFingerprinter shouldn't be null");
+        this.stepResultCache = Precondition.nonNull(stepResultCache, "StepResultCache shouldn't be null");
+    }
+
+    /**
+     * Whether the per file cache is enabled, which is the case whenever the step result cache is.
+     *
+     * @param codeQualityConfiguration the code quality configuration
+     * @return {@code true} if enabled, {@code false} otherwise
+     */
+    public boolean isEnabled(final CodeQualityConfiguration codeQualityConfiguration) {
+        return stepResultCache.isEnabled(codeQualityConfiguration);
+    }
+
+    /**
+     * Returns the key of the provided execution environment, which the keys of its files are derived from.
+     *
+     * @param executionEnvironment the execution environment
+     * @param inputs               the configuration files of the execution environment
+     * @return the execution environment key
+     * @throws CodeQualityException in case the configuration files couldn't be read
+     */
+    public String keyOf(final CheckstyleConfiguration.ExecutionEnvironment executionEnvironment, final List<Path> inputs) {
+        return moduleInputFingerprinter.fingerprint("checkstyle:" + checkstyleVersion(), executionEnvironment, inputs);
+    }
+
+    /**
+     * Returns the key of the provided source file.
+     *
+     * @param environmentKey the key of the execution environment, see {@link #keyOf(CheckstyleConfiguration.ExecutionEnvironment, List)}
+     * @param file           the source file
+     * @return the file key
+     * @throws CodeQualityException in case the file couldn't be read
+     */
+    public String keyOf(final String environmentKey, final Path file) {
+        return moduleInputFingerprinter.fingerprint(environmentKey, file);
+    }
+
+    /**
+     * Loads the cached violations of the source file with the provided key from the local cache.
+     *
+     * @param fileKey            the file key
+     * @param cacheConfiguration the cache configuration
+     * @return the cached violations, or empty in case of a cache miss
+     */
+    public Optional<List<Violation>> load(final String fileKey, final CacheConfiguration cacheConfiguration) {
+        return stepResultCache.loadLocalViolations(fileKey, cacheConfiguration);
+    }
+
+    /**
+     * Stores the violations of the audited source files within the local cache.
+     *
+     * @param violationsByFileKey the violations by their file key, an audited file without violations has an empty list
+     * @param cacheConfiguration  the cache configuration
+     * @throws CodeQualityException in case the violations couldn't be stored
+     */
+    public void store(final Map<String, List<Violation>> violationsByFileKey, final CacheConfiguration cacheConfiguration) {
+        stepResultCache.storeLocalViolations(violationsByFileKey, cacheConfiguration);
+    }
+
+    private static String checkstyleVersion() {
+        // The implementation version is absent from a repackaged Checkstyle, identified by the file name of its artifact instead, as its
+        // location differs by machine. The artifact of the plugin itself is fingerprinted by its content
+        final String implementationVersion = Checker.class.getPackage().getImplementationVersion();
+
+        try {
+            return Objects.requireNonNullElse(implementationVersion, "") + "@"
+                + Paths.get(Checker.class.getProtectionDomain().getCodeSource().getLocation().toURI()).getFileName();
+        } catch (final URISyntaxException e) {
+            throw new CodeQualityException("Failed to locate Checkstyle", e);
+        }
+    }
+}
@@ -0,0 +1,271 @@
+package io.github.finoid.maven.plugins.codequality.cache;
+
+import lombok.experimental.UtilityClass;
+
+import java.io.ByteArrayInputStream;
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.regex.Pattern;
+
+/**
+ * Reads the application binary interface (ABI) of a class file, i.e. the parts of a class file a dependent compilation unit compiles
+ * against: the class, field and method declarations which aren't private, along with their generic signatures, thrown exceptions,
+ * constant values and annotations. Method bodies, debug information and private declarations are excluded, such that an edit of a method
+ * body retains the ABI.
+ * <p>
+ * The constant pool indices are resolved, since the constant pool is reordered by any edit of the class.
+ */
+@UtilityClass
+class ClassFileAbi {
+    private static final int MAGIC = 0xCAFEBABE;
+    private static final int ACC_PRIVATE = 0x0002;
+    private static final int ACC_SYNTHETIC = 0x1000;
+
+    // Anonymous and local classes can't be referenced by other compilation units
+    private static final Pattern NON_ABI_CLASS_FILE_NAME_PATTERN = Pattern.compile(".*\\$\\d+.*\\.class$");
+
+    private static final Set<String> ANNOTATION_ATTRIBUTES = Set.of("RuntimeVisibleAnnotations", "RuntimeInvisibleAnnotations");
+    private static final Set<String> TYPE_ANNOTATION_ATTRIBUTES = Set.of("RuntimeVisibleTypeAnnotations", "RuntimeInvisibleTypeAnnotations");
+    private static final Set<String> PARAMETER_ANNOTATION_ATTRIBUTES =
+        Set.of("RuntimeVisibleParameterAnnotations", "RuntimeInvisibleParameterAnnotations");
+
+    /**
+     * Whether the class file of the provided name is part of the ABI.
+     *
+     * @param fileName the class file name
+     * @return {@code true} if part of the ABI, {@code false} otherwise
+     */
+    static boolean isAbiClassFile(final String fileName) {
+        return fileName.endsWith(".class") && !NON_ABI_CLASS_FILE_NAME_PATTERN.matcher(fileName).matches();
+    }
+
+    /**
+     * Reads the ABI of the provided class file in a canonical textual form.
+     *
+     * @param inputStream the class file
+     * @return the ABI
+     * @throws IOException in case the class file couldn't be read, or isn't a class file
+     */
+    static String abiOf(final InputStream inputStream) throws IOException {
+        final DataInputStream in = new DataInputStream(inputStream);
+
+        if (in.readInt() != MAGIC) {
+            throw new IOException("Not a class file");
+        }
+
+        in.readUnsignedShort(); // minor version
+        final int majorVersion = in.readUnsignedShort();
+
+        final ConstantPool constantPool = ConstantPool.read(in);
+
+        final StringBuilder abi = new StringBuilder();
+        abi.append("version ").append(majorVersion).append('\n');
+
+        final int accessFlags = in.readUnsignedShort();
+        final String thisClass = constantPool.resolve(in.readUnsignedShort());
+        final int superClassIndex = in.readUnsignedShort();
+
+        abi.append("class ").append(accessFlags).append(' ').append(thisClass)
+            .append(" extends ").append(superClassIndex == 0 ? "" : constantPool.resolve(superClassIndex))
+            .append(" implements");
+
+        final int interfacesCount = in.readUnsignedShort();
+        for (int i = 0; i < interfacesCount; i++) {
+            abi.append(' ').append(constantPool.resolve(in.readUnsignedShort()));
+        }
+        abi.append('\n');
+
+        // The member order is irrelevant to dependents
+        final List<String> members = new ArrayList<>();
+        readMembers(in, constantPool, "field", members);
+        readMembers(in, constantPool, "method", members);
+        members.sort(String::compareTo);
+        members.forEach(it -> abi.append(it).append('\n'));
+
+        abi.append(readAttributes(in, constantPool)).append('\n');
+
+        return abi.toString();
+    }
+
+    private static void readMembers(final DataInputStream in, final ConstantPool constantPool, final String kind, final List<String> members)
+        throws IOException {
+        final int count = in.readUnsignedShort();
+
+        for (int i = 0; i < count; i++) {
+            final int accessFlags = in.readUnsignedShort();
+            final String name = constantPool.resolve(in.readUnsignedShort());
+            final String descriptor = constantPool.resolve(in.readUnsignedShort());
+            final String attributes = readAttributes(in, constantPool);
+
+            if ((accessFlags & (ACC_PRIVATE | ACC_SYNTHETIC)) == 0) {
+                members.add(kind + ' ' + accessFlags + ' ' + name + ' ' + descriptor + attributes);
+            }
+        }
+    }
+
+    private static String readAttributes(final DataInputStream in, final ConstantPool constantPool) throws IOException {
+        final StringBuilder attributes = new StringBuilder();
+        final int count = in.readUnsignedShort();
+
+        for (int i = 0; i < count; i++) {
+            final String name = constantPool.resolve(in.readUnsignedShort());
+            final byte[] content = in.readNBytes(in.readInt());
+
+            // Parsed from a copy, such that an unexpected attribute layout can't misalign the class file
+            final DataInputStream attribute = new DataInputStream(new ByteArrayInputStream(content));
+
+            if ("Signature".equals(name) || "ConstantValue".equals(name)) {
+                attributes.append(' ').append(name).append('=').append(constantPool.resolve(attribute.readUnsignedShort()));
+            } else if ("Exceptions".equals(name) || "PermittedSubclasses".equals(name)) {
+                attributes.append(' ').append(name).append('=');
+                readConstants(attribute, constantPool, attributes);
+            } else if (ANNOTATION_ATTRIBUTES.contains(name)) {
+                attributes.append(' ').append(name).append('=');
+                readAnnotations(attribute, constantPool, attributes);
+            } else if (TYPE_ANNOTATION_ATTRIBUTES.contains(name)) {
+                attributes.append(' ').append(name).append('=');
+                readTypeAnnotations(attribute, constantPool, attributes);
+            } else if (PARAMETER_ANNOTATION_ATTRIBUTES.contains(name)) {
+                attributes.append(' ').append(name).append('=');
+
+                final int parametersCount = attribute.readUnsignedByte();
+                for (int parameter = 0; parameter < parametersCount; parameter++) {
+                    attributes.append(parameter).append(':');
+                    readAnnotations(attribute, constantPool, attributes);
+                }
+            }
+        }
+
+        return attributes.toString();
+    }
+
+    private static void readConstants(final DataInputStream in, final ConstantPool constantPool, final StringBuilder out) throws IOException {
+        final int count = in.readUnsignedShort();
+
+        for (int i = 0; i < count; i++) {
+            out.append(constantPool.resolve(in.readUnsignedShort())).append(',');
+        }
+    }
+
+    private static void readAnnotations(final DataInputStream in, final ConstantPool constantPool, final StringBuilder out) throws IOException {
+        final int count = in.readUnsignedShort();
+
+        for (int i = 0; i < count; i++) {
+            readAnnotation(in, constantPool, out);
+        }
+    }
+
+    private static void readTypeAnnotations(final DataInputStream in, final ConstantPool constantPool, final StringBuilder out)
+        throws IOException {
+        final int count = in.readUnsignedShort();
+
+        for (int i = 0; i < count; i++) {
+            final int targetType = in.readUnsignedByte();
+            out.append('<').append(targetType);
+
+            switch (targetType) {
+                case 0x00, 0x01, 0x16 -> out.append(':').append(in.readUnsignedByte());
+                case 0x10, 0x17 -> out.append(':').append(in.readUnsignedShort());
+                case 0x11, 0x12 -> out.append(':').append(in.readUnsignedByte()).append(':').append(in.readUnsignedByte());
+                case 0x13, 0x14, 0x15 -> {
+                    // empty target
+                }
+                // The remaining targets only occur within method bodies
+                default -> throw new IOException("Unexpected type annotation target " + targetType);
+            }
+
+            final int pathLength = in.readUnsignedByte();
+            for (int step = 0; step < pathLength; step++) {
+                out.append('/').append(in.readUnsignedByte()).append('.').append(in.readUnsignedByte());
+            }
+
+            out.append('>');
+            readAnnotation(in, constantPool, out);
+        }
+    }
+
+    private static void readAnnotation(final DataInputStream in, final ConstantPool constantPool, final StringBuilder out) throws IOException {
+        out.append('@').append(constantPool.resolve(in.readUnsignedShort())).append('(');
+
+        final int pairsCount = in.readUnsignedShort();
+        for (int i = 0; i < pairsCount; i++) {
+            out.append(constantPool.resolve(in.readUnsignedShort())).append('=');
+            readElementValue(in, constantPool, out);
+            out.append(',');
+        }
+
+        out.append(')');
+    }
+
+    private static void readElementValue(final DataInputStream in, final ConstantPool constantPool, final StringBuilder out) throws IOException {
+        final char tag = (char) in.readUnsignedByte();
+        out.append(tag);
+
+        switch (tag) {
+            case 'B', 'C', 'D', 'F', 'I', 'J', 'S', 'Z', 's', 'c' -> out.append(constantPool.resolve(in.readUnsignedShort()));
+            case 'e' -> out.append(constantPool.resolve(in.readUnsignedShort())).append('.').append(constantPool.resolve(in.readUnsignedShort()));
+            case '@' -> readAnnotation(in, constantPool, out);
+            case '[' -> {
+                final int count = in.readUnsignedShort();
+
+                out.append('{');
+                for (int i = 0; i < count; i++) {
+                    readElementValue(in, constantPool, out);
+                    out.append(',');
+                }
+                out.append('}');
+            }
+            default -> throw new IOException("Unexpected annotation element value " + tag);
+        }
+    }
+
+    private static final class ConstantPool {
+        private final Object[] constants;
+
+        private ConstantPool(final Object[] constants) {
+            this.constants = constants;
+        }
+
+        private static ConstantPool read(final DataInputStream in) throws IOException {
+            final int count = in.readUnsignedShort();
+            final Object[] constants = new Object[count];
+
+            for (int i = 1; i < count; i++) {
+                final int tag = in.readUnsignedByte();
+
+                switch (tag) {
+                    case 1 -> constants[i] = in.readUTF();
+                    case 3 -> constants[i] = in.readInt();
+                    case 4 -> constants[i] = in.readFloat();
+                    case 5 -> constants[i++] = in.readLong(); // Occupies two entries
+                    case 6 -> constants[i++] = in.readDouble(); // Occupies two entries
+                    case 7, 8, 16, 19, 20 -> constants[i] = new Reference(in.readUnsignedShort());
+                    case 9, 10, 11, 12, 17, 18 -> in.skipNBytes(4);
+                    case 15 -> in.skipNBytes(3);
+                    default -> throw new IOException("Unexpected constant pool tag " + tag);
+                }
+            }
+
+            return new ConstantPool(constants);
+        }
+
+        private String resolve(final int index) throws IOException {
+            if (index <= 0 || index >= constants.length || constants[index] == null) {
+                throw new IOException("Unexpected constant pool index " + index);
+            }
+
+            final Object constant = constants[index];
+
+            return constant instanceof Reference reference
+                ? resolve(reference.index())
+                : String.valueOf(constant);
+        }
+    }
+
+    private record Reference(int index) {
+    }
+}
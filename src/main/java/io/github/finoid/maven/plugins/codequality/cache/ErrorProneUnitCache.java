@@ -0,0 +1,197 @@
+package io.github.finoid.maven.plugins.codequality.cache;
+
+import io.github.finoid.maven.plugins.codequality.compiler.AnalysisCompilation;
+import io.github.finoid.maven.plugins.codequality.configuration.CacheConfiguration;
+import io.github.finoid.maven.plugins.codequality.configuration.CodeQualityConfiguration;
+import io.github.finoid.maven.plugins.codequality.configuration.ErrorProneConfiguration;
+import io.github.finoid.maven.plugins.codequality.exceptions.CodeQualityException;
+import io.github.finoid.maven.plugins.codequality.report.Violation;
+import io.github.finoid.maven.plugins.codequality.util.Precondition;
+
+import javax.inject.Inject;
+import javax.inject.Singleton;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Properties;
+
+/**
+ * Caches the Error Prone violations per compilation unit, such that after an edit only the changed compilation units are compiled and
+ * analyzed, while the violations of the other compilation units are replayed.
+ * <p>
+ * The violations of a compilation unit depend on its own content and on the signatures it compiles against. A compilation unit is
+ * therefore keyed on its path and content, the step configuration, the ABI of the classpath and the ABI of the classes directory of the
+ * module, see {@link ClassFileAbi}. The latter is read prior to the compilation, and is only valid as long as the classes directory
+ * reflects the current source files, which is tracked by a record of the source files compiled into it.
+ */
+@Singleton
+public class ErrorProneUnitCache {
+    private static final String COMPILED_SOURCES_FILE_NAME = ".compiled-sources";
+
+    private final ModuleInputFingerprinter moduleInputFingerprinter;
+    private final StepResultCache stepResultCache;
+
+    @Inject
+    public ErrorProneUnitCache(final ModuleInputFingerprinter moduleInputFingerprinter, final StepResultCache stepResultCache) {
+        this.moduleInputFingerprinter = Precondition.nonNull(moduleInputFingerprinter, "ModuleInputFingerprinter shouldn't be null");
+        this.stepResultCache = Precondition.nonNull(stepResultCache, "StepResultCache shouldn't be null");
+    }
+
+    /**
+     * Whether the per compilation unit cache is enabled, which is the case whenever the step result cache is.
+     *
+     * @param codeQualityConfiguration the code quality configuration
+     * @return {@code true} if enabled, {@code false} otherwise
+     */
+    public boolean isEnabled(final CodeQualityConfiguration codeQualityConfiguration) {
+        return stepResultCache.isEnabled(codeQualityConfiguration);
+    }
+
+    /**
+     * Returns the key of the provided compilation, which the keys of its compilation units are derived from.
+     *
+     * @param configuration the error prone configuration
+     * @param compilation   the compilation of the module
+     * @return the compilation key
+     * @throws CodeQualityException in case the classpath couldn't be read
+     */
+    public String keyOf(final ErrorProneConfiguration configuration, final AnalysisCompilation compilation) {
+        final String classPathAbi = moduleInputFingerprinter.abiFingerprint(compilation.classPath());
+
+        // The classpath is fingerprinted by its ABI, rather than by the locations of its elements
+        return moduleInputFingerprinter.fingerprint("error-prone:" + classPathAbi, List.of(configuration, compilation.withoutClassPath()), List.of());
+    }
+
+    /**
+     * Returns the ABI of the provided classes directory.
+     *
+     * @param classesDirectory the classes directory of the module
+     * @return the ABI fingerprint
+     * @throws CodeQualityException in case the classes directory couldn't be read
+     */
+    public String abiOf(final Path classesDirectory) {
+        return moduleInputFingerprinter.abiFingerprint(List.of(classesDirectory));
+    }
+
+    /**
+     * Returns the key of the provided compilation unit.
+     *
+     * @param compilationKey the key of the compilation, see {@link #keyOf(ErrorProneConfiguration, AnalysisCompilation)}
+     * @param moduleAbi      the ABI of the classes directory of the module, see {@link #abiOf(Path)}
+     * @param sourceFile     the source file of the compilation unit
+     * @return the compilation unit key
+     * @throws CodeQualityException in case the source file couldn't be read
+     */
+    public String keyOf(final String compilationKey, final String moduleAbi, final Path sourceFile) {
+        return moduleInputFingerprinter.fingerprint(compilationKey + ":" + moduleAbi, sourceFile);
+    }
+
+    /**
+     * Returns the fingerprint of the content of the provided source file.
+     *
+     * @param sourceFile the source file
+     * @return the source fingerprint
+     * @throws CodeQualityException in case the source file couldn't be read
+     */
+    public String sourceFingerprintOf(final Path sourceFile) {
+        return moduleInputFingerprinter.fingerprint("source", sourceFile);
+    }
+
+    /**
+     * Returns the source files compiled into the provided classes directory by the last compilation.
+     *
+     * @param classesDirectory the classes directory
+     * @return the source fingerprints by source file, or empty if unknown
+     */
+    public Map<Path, String> compiledSourcesOf(final Path classesDirectory) {
+        final Properties compiledSources = new Properties();
+
+        try (InputStream inputStream = Files.newInputStream(compiledSourcesFileOf(classesDirectory))) {
+            compiledSources.load(inputStream);
+        } catch (final IOException e) {
+            // A missing or unreadable record is treated as unknown, which causes a full compilation
+            return Map.of();
+        }
+
+        final Map<Path, String> sourceFingerprints = new LinkedHashMap<>();
+        compiledSources.forEach((sourceFile, fingerprint) -> sourceFingerprints.put(Paths.get((String) sourceFile), (String) fingerprint));
+
+        return sourceFingerprints;
+    }
+
+    /**
+     * Records the source files compiled into the provided classes directory.
+     *
+     * @param classesDirectory   the classes directory
+     * @param sourceFingerprints the source fingerprints by source file, see {@link #sourceFingerprintOf(Path)}
+     * @throws CodeQualityException in case the record couldn't be written
+     */
+    public void storeCompiledSources(final Path classesDirectory, final Map<Path, String> sourceFingerprints) {
+        final Path compiledSourcesFile = compiledSourcesFileOf(classesDirectory);
+
+        final Properties compiledSources = new Properties();
+        sourceFingerprints.forEach((sourceFile, fingerprint) -> compiledSources.setProperty(sourceFile.toString(), fingerprint));
+
+        try {
+            final Path temporaryFile = Files.createTempFile(compiledSourcesFile.getParent(), compiledSourcesFile.getFileName().toString(), ".tmp");
+
+            try (OutputStream outputStream = Files.newOutputStream(temporaryFile)) {
+                compiledSources.store(outputStream, null);
+            }
+
+            Files.move(temporaryFile, compiledSourcesFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (final IOException e) {
+            throw new CodeQualityException("Failed to record the compiled source files of " + classesDirectory, e);
+        }
+    }
+
+    /**
+     * Clears the record of the source files compiled into the provided classes directory, prior to a compilation which may leave the
+     * classes directory partially written.
+     *
+     * @param classesDirectory the classes directory
+     * @throws CodeQualityException in case the record couldn't be deleted
+     */
+    public void clearCompiledSources(final Path classesDirectory) {
+        try {
+            Files.deleteIfExists(compiledSourcesFileOf(classesDirectory));
+        } catch (final IOException e) {
+            throw new CodeQualityException("Failed to clear the compiled source files of " + classesDirectory, e);
+        }
+    }
+
+    /**
+     * Loads the cached violations of the compilation unit with the provided key from the local cache.
+     *
+     * @param unitKey            the compilation unit key
+     * @param cacheConfiguration the cache configuration
+     * @return the cached violations, or empty in case of a cache miss
+     */
+    public Optional<List<Violation>> load(final String unitKey, final CacheConfiguration cacheConfiguration) {
+        return stepResultCache.loadLocalViolations(unitKey, cacheConfiguration);
+    }
+
+    /**
+     * Stores the violations of the analyzed compilation units within the local cache.
+     *
+     * @param violationsByUnitKey the violations by their compilation unit key, a compilation unit without violations has an empty list
+     * @param cacheConfiguration  the cache configuration
+     * @throws CodeQualityException in case the violations couldn't be stored
+     */
+    public void store(final Map<String, List<Violation>> violationsByUnitKey, final CacheConfiguration cacheConfiguration) {
+        stepResultCache.storeLocalViolations(violationsByUnitKey, cacheConfiguration);
+    }
+
+    private static Path compiledSourcesFileOf(final Path classesDirectory) {
+        // Within the classes directory, such that a clean of the classes directory invalidates it as well
+        return classesDirectory.resolve(COMPILED_SOURCES_FILE_NAME);
+    }
+}
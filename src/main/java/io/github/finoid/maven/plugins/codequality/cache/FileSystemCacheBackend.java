@@ -0,0 +1,54 @@
+package io.github.finoid.maven.plugins.codequality.cache;
+
+import io.github.finoid.maven.plugins.codequality.configuration.RemoteCacheConfiguration;
+import io.github.finoid.maven.plugins.codequality.exceptions.CodeQualityException;
+
+import javax.inject.Named;
+import javax.inject.Singleton;
+import java.io.File;
+import java.io.IOException;
+import java.util.Optional;
+
+/**
+ * A {@link CacheBackend} residing within a directory, such as a shared volume mounted by every CI agent. The directory isn't evicted,
+ * its retention is left to the owner of the volume.
+ */
+@Named("filesystem")
+@Singleton
+public class FileSystemCacheBackend implements CacheBackend {
+    public static final String NAME = "FILESYSTEM";
+
+    @Override
+    public Optional<byte[]> load(final String key, final RemoteCacheConfiguration configuration) {
+        final CacheDirectory cacheDirectory = cacheDirectoryOf(configuration);
+
+        try {
+            return cacheDirectory.read(key);
+        } catch (final IOException e) {
+            throw new CodeQualityException("Failed to load the cache entry " + key + " from " + cacheDirectory.root(), e);
+        }
+    }
+
+    @Override
+    public void store(final String key, final byte[] content, final RemoteCacheConfiguration configuration) {
+        final CacheDirectory cacheDirectory = cacheDirectoryOf(configuration);
+
+        try {
+            cacheDirectory.write(key, content);
+        } catch (final IOException e) {
+            throw new CodeQualityException("Failed to store the cache entry " + key + " within " + cacheDirectory.root(), e);
+        }
+    }
+
+    @Override
+    public String name() {
+        return NAME;
+    }
+
+    private static CacheDirectory cacheDirectoryOf(final RemoteCacheConfiguration configuration) {
+        final File directory = configuration.optionalDirectory()
+            .orElseThrow(() -> new CodeQualityException("The remote cache directory is required by the " + NAME + " cache backend"));
+
+        return new CacheDirectory(directory.toPath());
+    }
+}
@@ -0,0 +1,89 @@
+package io.github.finoid.maven.plugins.codequality.cache;
+
+import io.github.finoid.maven.plugins.codequality.configuration.RemoteCacheConfiguration;
+import io.github.finoid.maven.plugins.codequality.exceptions.CodeQualityException;
+
+import javax.inject.Named;
+import javax.inject.Singleton;
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.Optional;
+
+/**
+ * A {@link CacheBackend} served over HTTP, reading an entry by {@code GET <url>/<key>} and writing it by {@code PUT <url>/<key>}, as
+ * supported by most build cache servers and object stores. A {@code 404} response is a cache miss.
+ */
+@Named("http")
+@Singleton
+public class HttpCacheBackend implements CacheBackend {
+    public static final String NAME = "HTTP";
+
+    private static final int STATUS_OK = 200;
+    private static final int STATUS_NOT_FOUND = 404;
+
+    private final HttpClient httpClient = HttpClient.newBuilder()
+        .followRedirects(HttpClient.Redirect.NORMAL)
+        .build();
+
+    @Override
+    public Optional<byte[]> load(final String key, final RemoteCacheConfiguration configuration) {
+        final HttpRequest request = requestOf(key, configuration)
+            .GET()
+            .build();
+
+        final HttpResponse<byte[]> response = send(request, HttpResponse.BodyHandlers.ofByteArray());
+
+        if (response.statusCode() == STATUS_NOT_FOUND) {
+            return Optional.empty();
+        }
+
+        if (response.statusCode() != STATUS_OK) {
+            throw new CodeQualityException("Unexpected status " + response.statusCode() + " when loading " + request.uri());
+        }
+
+        return Optional.of(response.body());
+    }
+
+    @Override
+    public void store(final String key, final byte[] content, final RemoteCacheConfiguration configuration) {
+        final HttpRequest request = requestOf(key, configuration)
+            .header("Content-Type", "application/json")
+            .PUT(HttpRequest.BodyPublishers.ofByteArray(content))
+            .build();
+
+        final HttpResponse<Void> response = send(request, HttpResponse.BodyHandlers.discarding());
+
+        if (response.statusCode() / 100 != 2) {
+            throw new CodeQualityException("Unexpected status " + response.statusCode() + " when storing " + request.uri());
+        }
+    }
+
+    @Override
+    public String name() {
+        return NAME;
+    }
+
+    private <T> HttpResponse<T> send(final HttpRequest request, final HttpResponse.BodyHandler<T> bodyHandler) {
+        try {
+            return httpClient.send(request, bodyHandler);
+        } catch (final IOException e) {
+            throw new CodeQualityException("Failed to send " + request.method() + " " + request.uri(), e);
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+
+            throw new CodeQualityException("Interrupted while sending " + request.method() + " " + request.uri(), e);
+        }
+    }
+
+    private static HttpRequest.Builder requestOf(final String key, final RemoteCacheConfiguration configuration) {
+        final String url = configuration.optionalUrl()
+            .orElseThrow(() -> new CodeQualityException("The remote cache url is required by the " + NAME + " cache backend"));
+
+        return HttpRequest.newBuilder(URI.create(url.endsWith("/") ? url + key : url + "/" + key))
+            .timeout(Duration.ofSeconds(configuration.getTimeoutSeconds()));
+    }
+}
@@ -0,0 +1,504 @@
+package io.github.finoid.maven.plugins.codequality.cache;
+
+import com.fasterxml.jackson.annotation.JsonAutoDetect;
+import com.fasterxml.jackson.annotation.PropertyAccessor;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.module.SimpleModule;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.JsonNodeFactory;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+import io.github.finoid.maven.plugins.codequality.configuration.CodeQualityConfiguration;
+import io.github.finoid.maven.plugins.codequality.configuration.Configuration;
+import io.github.finoid.maven.plugins.codequality.exceptions.CodeQualityException;
+import io.github.finoid.maven.plugins.codequality.step.Step;
+import io.github.finoid.maven.plugins.codequality.util.PluginUtils;
+import io.github.finoid.maven.plugins.codequality.util.Precondition;
+import org.apache.maven.artifact.DependencyResolutionRequiredException;
+import org.apache.maven.execution.MavenSession;
+import org.apache.maven.model.Resource;
+import org.apache.maven.project.MavenProject;
+
+import javax.inject.Inject;
+import javax.inject.Singleton;
+import java.io.BufferedInputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HexFormat;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+import java.util.jar.JarEntry;
+import java.util.jar.JarFile;
+import java.util.stream.Stream;
+
+/**
+ * Fingerprints the inputs a step result of the current module depends on, i.e.
+ * <ul>
+ *     <li>the source and resource files of the module</li>
+ *     <li>the resolved compile classpath of the module</li>
+ *     <li>the step configuration, and the additional inputs of the step such as configuration files</li>
+ *     <li>the tool versions, i.e. the JDK, the plugin - by its version and the content of its artifact, which includes its Checkstyle
+ *     dependency - and the configured analyzer versions</li>
+ * </ul>
+ * Files are fingerprinted by their content, keyed on their path relative to the reactor root, and the classpath entries of the local
+ * repository by their path relative to the local repository, i.e. their coordinates, and their content. The fingerprints are thereby
+ * independent of the location of the checkout and of the local repository, such that a step result cached by another machine is replayed.
+ * The content digests are memoized by the path, size and modification time of the files.
+ */
+@Singleton
+public class ModuleInputFingerprinter {
+    // Bump whenever the fingerprinted inputs, or the format of the cached step results, change
+    private static final String FINGERPRINT_VERSION = "2";
+
+    // Step configurations are fingerprinted by the step they belong to, the cache configuration doesn't affect the step results
+    private static final Set<String> NON_SHARED_CONFIGURATION_PROPERTIES = Set.of("cache", "checkstyle", "errorProne", "checkerFramework");
+    private static final List<String> FINGERPRINTED_PROJECT_PROPERTIES = List.of("java.version", "project.build.sourceEncoding");
+
+    private final MavenSession mavenSession;
+    private final ObjectMapper objectMapper = defaultObjectMapper(this::reactorRelativePathOf);
+    private final Map<FileStamp, String> fileDigests = new ConcurrentHashMap<>();
+    private final Map<FileStamp, String> abiDigests = new ConcurrentHashMap<>();
+
+    @Inject
+    public ModuleInputFingerprinter(final MavenSession mavenSession) {
+        this.mavenSession = Precondition.nonNull(mavenSession, "MavenSession shouldn't be null");
+    }
+
+    /**
+     * Fingerprints the inputs of the provided step for the current module.
+     *
+     * @param step                     the step
+     * @param configuration            the step specific configuration
+     * @param codeQualityConfiguration the code quality configuration
+     * @param <C>                      the type of the step configuration
+     * @return the hex encoded fingerprint
+     * @throws CodeQualityException in case the inputs couldn't be read
+     */
+    public <C extends Configuration> String fingerprint(final Step<C> step, final C configuration,
+                                                        final CodeQualityConfiguration codeQualityConfiguration) {
+        final MavenProject project = mavenSession.getCurrentProject();
+
+        final Fingerprint fingerprint = new Fingerprint();
+
+        fingerprint.put("fingerprint", FINGERPRINT_VERSION);
+        fingerprint.put("java", Runtime.version().toString());
+        fingerprint.put("plugin", pluginIdentity());
+        fingerprint.put("step", step.type().name());
+        // The violations reference the paths relative to the module, which are relocated to the current module on replay
+        fingerprint.put("module", reactorRelativePathOf(project.getBasedir().toPath()));
+        fingerprint.put("configuration", canonicalJsonOf(objectMapper.valueToTree(configuration)));
+        fingerprint.put("codeQualityConfiguration", canonicalJsonOf(sharedConfigurationOf(codeQualityConfiguration)));
+
+        FINGERPRINTED_PROJECT_PROPERTIES.forEach(it -> fingerprint.put(it, String.valueOf(project.getProperties().getProperty(it))));
+
+        try {
+            for (final Path sourceRoot : sourceRootsOf(project)) {
+                putDirectory(fingerprint, "source", sourceRoot);
+            }
+
+            for (final String classpathElement : project.getCompileClasspathElements()) {
+                putClasspathElement(fingerprint, Paths.get(classpathElement));
+            }
+
+            for (final Path additionalInput : step.additionalInputs(configuration)) {
+                putDirectory(fingerprint, "input", additionalInput);
+            }
+        } catch (final IOException e) {
+            throw new CodeQualityException("Failed to fingerprint the inputs of " + step.type(), e);
+        } catch (final DependencyResolutionRequiredException e) {
+            throw new CodeQualityException("Failed to resolve compile classpath", e);
+        }
+
+        return fingerprint.hex();
+    }
+
+    /**
+     * Fingerprints the provided configuration along with its input files, the tool versions and the provided tool, independent of the
+     * current module.
+     *
+     * @param tool          the tool the configuration belongs to, including its version
+     * @param configuration the configuration
+     * @param inputs        the input files or directories of the configuration
+     * @return the hex encoded fingerprint
+     * @throws CodeQualityException in case the inputs couldn't be read
+     */
+    public String fingerprint(final String tool, final Object configuration, final List<Path> inputs) {
+        final Fingerprint fingerprint = new Fingerprint();
+
+        fingerprint.put("fingerprint", FINGERPRINT_VERSION);
+        fingerprint.put("java", Runtime.version().toString());
+        fingerprint.put("plugin", pluginIdentity());
+        fingerprint.put("tool", tool);
+        fingerprint.put("configuration", canonicalJsonOf(objectMapper.valueToTree(configuration)));
+
+        try {
+            for (final Path input : inputs) {
+                putDirectory(fingerprint, "input", input);
+            }
+        } catch (final IOException e) {
+            throw new CodeQualityException("Failed to fingerprint the inputs of " + tool, e);
+        }
+
+        return fingerprint.hex();
+    }
+
+    /**
+     * Fingerprints the provided file by its path relative to the reactor root and its content, derived from the provided fingerprint.
+     *
+     * @param baseFingerprint the fingerprint the file fingerprint is derived from
+     * @param file            the file
+     * @return the hex encoded fingerprint
+     * @throws CodeQualityException in case the file couldn't be read
+     */
+    public String fingerprint(final String baseFingerprint, final Path file) {
+        final Fingerprint fingerprint = new Fingerprint();
+
+        fingerprint.put("base", baseFingerprint);
+        fingerprint.put("file", reactorRelativePathOf(file));
+
+        try {
+            fingerprint.put("content", digestOf(file));
+        } catch (final IOException e) {
+            throw new CodeQualityException("Failed to fingerprint " + file, e);
+        }
+
+        return fingerprint.hex();
+    }
+
+    /**
+     * Fingerprints the ABI of the provided classpath, see {@link ClassFileAbi}, such that a change to a method body of a classpath entry
+     * retains the fingerprint. The entries of the local repository are fingerprinted by their coordinates and content instead.
+     *
+     * @param classpathElements the classpath elements, i.e. directories and jars
+     * @return the hex encoded fingerprint
+     * @throws CodeQualityException in case a classpath element couldn't be read
+     */
+    public String abiFingerprint(final List<Path> classpathElements) {
+        final Fingerprint fingerprint = new Fingerprint();
+
+        try {
+            for (final Path classpathElement : classpathElements) {
+                putAbi(fingerprint, classpathElement);
+            }
+        } catch (final IOException e) {
+            throw new CodeQualityException("Failed to fingerprint the ABI of " + classpathElements, e);
+        }
+
+        return fingerprint.hex();
+    }
+
+    private void putAbi(final Fingerprint fingerprint, final Path classpathElement) throws IOException {
+        fingerprint.put("abi", pathKeyOf(classpathElement));
+
+        if (Files.isDirectory(classpathElement)) {
+            final List<Path> classFiles;
+            try (Stream<Path> paths = Files.walk(classpathElement)) {
+                classFiles = paths.filter(it -> Files.isRegularFile(it) && ClassFileAbi.isAbiClassFile(it.getFileName().toString()))
+                    .sorted(Comparator.comparing(Path::toString))
+                    .toList();
+            }
+
+            for (final Path classFile : classFiles) {
+                fingerprint.put(separatorsOf(classpathElement.relativize(classFile)), abiDigestOf(classFile));
+            }
+        } else if (!Files.isRegularFile(classpathElement)) {
+            fingerprint.put("abi", "<missing>");
+        } else if (isLocalRepositoryFile(classpathElement)) {
+            fingerprint.put("abi", digestOf(classpathElement));
+        } else {
+            fingerprint.put("abi", abiDigestOf(classpathElement));
+        }
+    }
+
+    private String abiDigestOf(final Path file) throws IOException {
+        final BasicFileAttributes attributes = Files.readAttributes(file, BasicFileAttributes.class);
+        final FileStamp fileStamp = new FileStamp(file.toAbsolutePath(), attributes.size(), attributes.lastModifiedTime().toMillis());
+
+        final String cachedDigest = abiDigests.get(fileStamp);
+        if (cachedDigest != null) {
+            return cachedDigest;
+        }
+
+        final Fingerprint fingerprint = new Fingerprint();
+
+        if (file.getFileName().toString().endsWith(".class")) {
+            try (InputStream inputStream = new BufferedInputStream(Files.newInputStream(file))) {
+                fingerprint.put("class", ClassFileAbi.abiOf(inputStream));
+            }
+        } else {
+            // A jar outside the local repository, e.g. a packaged reactor artifact
+            try (JarFile jarFile = new JarFile(file.toFile())) {
+                final List<JarEntry> classEntries = jarFile.stream()
+                    .filter(it -> ClassFileAbi.isAbiClassFile(it.getName()))
+                    .sorted(Comparator.comparing(JarEntry::getName))
+                    .toList();
+
+                for (final JarEntry classEntry : classEntries) {
+                    try (InputStream inputStream = new BufferedInputStream(jarFile.getInputStream(classEntry))) {
+                        fingerprint.put(classEntry.getName(), ClassFileAbi.abiOf(inputStream));
+                    }
+                }
+            }
+        }
+
+        final String digest = fingerprint.hex();
+
+        abiDigests.put(fileStamp, digest);
+
+        return digest;
+    }
+
+    private JsonNode sharedConfigurationOf(final CodeQualityConfiguration codeQualityConfiguration) {
+        final ObjectNode configuration = objectMapper.valueToTree(codeQualityConfiguration);
+        configuration.remove(NON_SHARED_CONFIGURATION_PROPERTIES);
+
+        return configuration;
+    }
+
+    private void putClasspathElement(final Fingerprint fingerprint, final Path classpathElement) throws IOException {
+        if (Files.isDirectory(classpathElement)) {
+            putDirectory(fingerprint, "classpath", classpathElement);
+        } else if (Files.isRegularFile(classpathElement) && isLocalRepositoryFile(classpathElement)) {
+            fingerprint.put("classpath", pathKeyOf(classpathElement) + ":" + digestOf(classpathElement));
+        } else {
+            // A packaged reactor artifact differs by its entry timestamps on every build, hence fingerprinted by its classes instead
+            putDirectory(fingerprint, "classpath", reactorOutputDirectoryOf(classpathElement).orElse(classpathElement));
+        }
+    }
+
+    private Optional<Path> reactorOutputDirectoryOf(final Path classpathElement) {
+        return mavenSession.getProjects().stream()
+            .filter(it -> it.getBuild() != null && classpathElement.startsWith(Paths.get(it.getBuild().getDirectory())))
+            .map(it -> Paths.get(it.getBuild().getOutputDirectory()))
+            .findFirst();
+    }
+
+    /**
+     * Puts the content of the provided directory, or file, into the fingerprint. A missing path is fingerprinted as such.
+     */
+    private void putDirectory(final Fingerprint fingerprint, final String name, final Path directory) throws IOException {
+        fingerprint.put(name, pathKeyOf(directory));
+
+        if (!Files.exists(directory)) {
+            fingerprint.put(name, "<missing>");
+
+            return;
+        }
+
+        final List<Path> files;
+        try (Stream<Path> paths = Files.walk(directory)) {
+            files = paths.filter(Files::isRegularFile)
+                .sorted(Comparator.comparing(Path::toString))
+                .toList();
+        }
+
+        for (final Path file : files) {
+            fingerprint.put(separatorsOf(directory.relativize(file)), digestOf(file));
+        }
+    }
+
+    private String digestOf(final Path file) throws IOException {
+        final BasicFileAttributes attributes = Files.readAttributes(file, BasicFileAttributes.class);
+        final FileStamp fileStamp = new FileStamp(file.toAbsolutePath(), attributes.size(), attributes.lastModifiedTime().toMillis());
+
+        final String cachedDigest = fileDigests.get(fileStamp);
+        if (cachedDigest != null) {
+            return cachedDigest;
+        }
+
+        final MessageDigest messageDigest = sha256();
+
+        try (InputStream inputStream = new DigestInputStream(Files.newInputStream(file), messageDigest)) {
+            inputStream.transferTo(OutputStream.nullOutputStream());
+        }
+
+        final String digest = HexFormat.of().formatHex(messageDigest.digest());
+
+        fileDigests.put(fileStamp, digest);
+
+        return digest;
+    }
+
+    /**
+     * Returns the key of the provided path: the coordinates of a file of the local repository, as laid out within the local repository, or
+     * else the path relative to the reactor root.
+     */
+    private String pathKeyOf(final Path path) {
+        if (isLocalRepositoryFile(path)) {
+            return "repository:" + separatorsOf(localRepositoryDirectory().relativize(path.toAbsolutePath()));
+        }
+
+        return reactorRelativePathOf(path);
+    }
+
+    private String reactorRelativePathOf(final Path path) {
+        return separatorsOf(reactorRootDirectory().relativize(path.toAbsolutePath().normalize()));
+    }
+
+    private boolean isLocalRepositoryFile(final Path path) {
+        return path.toAbsolutePath().startsWith(localRepositoryDirectory());
+    }
+
+    private Path reactorRootDirectory() {
+        return mavenSession.getRequest()
+            .getMultiModuleProjectDirectory()
+            .toPath()
+            .toAbsolutePath()
+            .normalize();
+    }
+
+    private static String separatorsOf(final Path path) {
+        return path.toString().replace("\\", "/"); // Windows compatibility
+    }
+
+    private Path localRepositoryDirectory() {
+        return mavenSession.getRepositorySession()
+            .getLocalRepository()
+            .getBasedir()
+            .toPath()
+            .toAbsolutePath();
+    }
+
+    private static List<Path> sourceRootsOf(final MavenProject project) {
+        final List<Path> sourceRoots = new ArrayList<>();
+
+        project.getCompileSourceRoots().forEach(it -> sourceRoots.add(Paths.get(it)));
+        project.getTestCompileSourceRoots().forEach(it -> sourceRoots.add(Paths.get(it)));
+
+        Stream.concat(project.getResources().stream(), project.getTestResources().stream())
+            .map(Resource::getDirectory)
+            .forEach(it -> sourceRoots.add(Paths.get(it)));
+
+        return sourceRoots;
+    }
+
+    /**
+     * Returns the identity of the plugin, i.e. its version and the digest of its artifact, such that a rebuilt snapshot of the plugin - or
+     * one of another location - is told apart. The classes directory of a plugin executed from its own build is digested by its content.
+     */
+    private String pluginIdentity() {
+        final Path location = PluginUtils.location();
+        final String version = PluginUtils.optionalVersion()
+            .orElse("<unknown>");
+
+        try {
+            if (Files.isRegularFile(location)) {
+                return version + ":" + digestOf(location);
+            }
+
+            final Fingerprint fingerprint = new Fingerprint();
+            putDirectory(fingerprint, "plugin", location);
+
+            return version + ":" + fingerprint.hex();
+        } catch (final IOException e) {
+            throw new CodeQualityException("Failed to fingerprint the plugin " + location, e);
+        }
+    }
+
+    /**
+     * Returns the JSON of the provided node, with the object properties and array elements sorted, since the configurations consist of
+     * unordered sets.
+     */
+    private static String canonicalJsonOf(final JsonNode node) {
+        return canonicalOf(node).toString();
+    }
+
+    private static JsonNode canonicalOf(final JsonNode node) {
+        if (node.isObject()) {
+            final Map<String, JsonNode> properties = new TreeMap<>();
+
+            for (final Iterator<Map.Entry<String, JsonNode>> it = node.fields(); it.hasNext(); ) {
+                final Map.Entry<String, JsonNode> property = it.next();
+
+                properties.put(property.getKey(), canonicalOf(property.getValue()));
+            }
+
+            final ObjectNode canonical = JsonNodeFactory.instance.objectNode();
+            properties.forEach(canonical::set);
+
+            return canonical;
+        }
+
+        if (node.isArray()) {
+            final List<JsonNode> elements = new ArrayList<>();
+            node.elements().forEachRemaining(it -> elements.add(canonicalOf(it)));
+            elements.sort(Comparator.comparing(JsonNode::toString));
+
+            final ArrayNode canonical = JsonNodeFactory.instance.arrayNode();
+            elements.forEach(canonical::add);
+
+            return canonical;
+        }
+
+        return node;
+    }
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (final NoSuchAlgorithmException e) {
+            throw new CodeQualityException("SHA-256 isn't supported", e);
+        }
+    }
+
+    private static ObjectMapper defaultObjectMapper(final Function<Path, String> pathKeyFunction) {
+        final ObjectMapper objectMapper = new ObjectMapper();
+        objectMapper.disable(SerializationFeature.FAIL_ON_EMPTY_BEANS);
+
+        // Maven resolves configured files, such as custom source directories, against the module
+        final SimpleModule module = new SimpleModule();
+        module.addSerializer(File.class, new StdSerializer<>(File.class) {
+            @Override
+            public void serialize(final File value, final JsonGenerator generator, final SerializerProvider provider) throws IOException {
+                generator.writeString(pathKeyFunction.apply(value.toPath()));
+            }
+        });
+        objectMapper.registerModule(module);
+
+        // The configurations are fingerprinted by their fields, since not every parameter is exposed through a getter
+        objectMapper.setVisibility(PropertyAccessor.ALL, JsonAutoDetect.Visibility.NONE);
+        objectMapper.setVisibility(PropertyAccessor.FIELD, JsonAutoDetect.Visibility.ANY);
+
+        return objectMapper;
+    }
+
+    private record FileStamp(Path path, long size, long lastModified) {
+    }
+
+    private static final class Fingerprint {
+        private final MessageDigest messageDigest = sha256();
+
+        private void put(final String name, final String value) {
+            messageDigest.update(name.getBytes(StandardCharsets.UTF_8));
+            messageDigest.update((byte) '=');
+            messageDigest.update(value.getBytes(StandardCharsets.UTF_8));
+            messageDigest.update((byte) '\n');
+        }
+
+        private String hex() {
+            return HexFormat.of().formatHex(messageDigest.digest());
+        }
+    }
+}
@@ -0,0 +1,15 @@
+package io.github.finoid.maven.plugins.codequality.cache;
+
+/**
+ * How the remote cache, see {@link CacheBackend}, is used alongside the local cache.
+ */
+public enum RemoteCacheMode {
+    /**
+     * Entries missing from the local cache are loaded from the remote cache, which is never written to. Suited for developer machines.
+     */
+    READ_ONLY,
+    /**
+     * As {@link #READ_ONLY}, while every stored entry is written to the remote cache as well. Suited for CI agents.
+     */
+    WRITE_THROUGH
+}
@@ -0,0 +1,355 @@
+package io.github.finoid.maven.plugins.codequality.cache;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.github.finoid.maven.plugins.codequality.configuration.CacheConfiguration;
+import io.github.finoid.maven.plugins.codequality.configuration.CodeQualityConfiguration;
+import io.github.finoid.maven.plugins.codequality.configuration.Configuration;
+import io.github.finoid.maven.plugins.codequality.configuration.RemoteCacheConfiguration;
+import io.github.finoid.maven.plugins.codequality.exceptions.CodeQualityException;
+import io.github.finoid.maven.plugins.codequality.report.Violation;
+import io.github.finoid.maven.plugins.codequality.step.StepExecution;
+import io.github.finoid.maven.plugins.codequality.step.StepResult;
+import io.github.finoid.maven.plugins.codequality.step.StepType;
+import io.github.finoid.maven.plugins.codequality.storage.SessionRepository;
+import io.github.finoid.maven.plugins.codequality.util.Precondition;
+import org.apache.maven.execution.MavenSession;
+
+import javax.inject.Inject;
+import javax.inject.Singleton;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Caches the step results of a module by the fingerprint of their inputs, see {@link ModuleInputFingerprinter}, such that a step of an
+ * unchanged module is replayed instead of executed.
+ * <p>
+ * Besides step results, the cache stores the violations of finer grained units, such as the per file results of {@link CheckstyleFileCache}.
+ * Every entry is stored as a JSON file within {@link CacheConfiguration#getDirectory()}, named after its fingerprint. Once the build ends,
+ * the least recently used entries of a cache exceeding {@link CacheConfiguration#getMaxSizeMb()} are evicted, see {@link #evict()}, based
+ * on the modification time which is renewed on every hit.
+ * <p>
+ * Entries missing from the local cache are loaded from the remote cache, see {@link CacheBackend}, if configured. A remote cache failure
+ * is treated as a cache miss, and counted by the {@link CacheStatistics}. The entries of the finer grained units are kept within the local
+ * cache only, since the remote cache would cost a round trip per unit, whereas the step result of the module is shared remotely.
+ * <p>
+ * The violations are stored relative to the base directory of the current module, see {@link CachedViolation}, and replayed relative to
+ * the base directory of the current module, which may reside within another checkout.
+ */
+@Singleton
+public class StepResultCache {
+    private static final String STATISTICS_KEY = "codequality.cacheStatistics";
+    private static final String STORED_CACHES_KEY = "codequality.storedCaches";
+    private static final long BYTES_PER_MEGABYTE = 1024L * 1024L;
+    private static final TypeReference<List<CachedViolation>> CACHED_VIOLATIONS_TYPE = new TypeReference<>() {
+    };
+
+    private final ModuleInputFingerprinter moduleInputFingerprinter;
+    private final List<CacheBackend> cacheBackends;
+    private final SessionRepository sessionRepository;
+    private final MavenSession mavenSession;
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @Inject
+    public StepResultCache(final ModuleInputFingerprinter moduleInputFingerprinter, final List<CacheBackend> cacheBackends,
+                           final SessionRepository sessionRepository, final MavenSession mavenSession) {
+        this.moduleInputFingerprinter = Precondition.nonNull(moduleInputFingerprinter, "ModuleInputFingerprinter shouldn't be null");
+        this.cacheBackends = Precondition.nonNull(cacheBackends, "CacheBackends shouldn't be null");
+        this.sessionRepository = Precondition.nonNull(sessionRepository, "SessionRepository shouldn't be null");
+        this.mavenSession = Precondition.nonNull(mavenSession, "MavenSession shouldn't be null");
+    }
+
+    /**
+     * Whether the step result cache is enabled.
+     *
+     * @param codeQualityConfiguration the code quality configuration
+     * @return {@code true} if enabled, {@code false} otherwise
+     */
+    public boolean isEnabled(final CodeQualityConfiguration codeQualityConfiguration) {
+        return codeQualityConfiguration.getCache().isEnabled();
+    }
+
+    /**
+     * Returns the cache key of the provided step execution for the current module.
+     *
+     * @param execution                the step execution
+     * @param codeQualityConfiguration the code quality configuration
+     * @param <C>                      the type of the step configuration
+     * @return the cache key
+     * @throws CodeQualityException in case the inputs of the module couldn't be fingerprinted
+     */
+    public <C extends Configuration> String keyOf(final StepExecution<C> execution, final CodeQualityConfiguration codeQualityConfiguration) {
+        return moduleInputFingerprinter.fingerprint(execution.step(), execution.configuration(), codeQualityConfiguration);
+    }
+
+    /**
+     * Loads the cached step result of the provided key.
+     *
+     * @param key                the cache key
+     * @param type               the step type
+     * @param permissive         whether the step is permissive
+     * @param cacheConfiguration the cache configuration
+     * @return the cached step result, or empty in case of a cache miss
+     */
+    public Optional<StepResult> load(final String key, final StepType type, final boolean permissive, final CacheConfiguration cacheConfiguration) {
+        return loadViolations(key, cacheConfiguration)
+            .map(it -> StepResult.create(type, permissive, it));
+    }
+
+    /**
+     * Loads the cached violations of the provided key, from the local cache or else the remote cache. A remote hit is stored in the
+     * local cache.
+     *
+     * @param key                the cache key
+     * @param cacheConfiguration the cache configuration
+     * @return the cached violations, or empty in case of a cache miss
+     */
+    public Optional<List<Violation>> loadViolations(final String key, final CacheConfiguration cacheConfiguration) {
+        final CacheDirectory localCache = localCacheOf(cacheConfiguration);
+
+        final Optional<List<Violation>> localViolations = readLocal(localCache, key);
+        if (localViolations.isPresent()) {
+            statistics().localHit();
+
+            return localViolations;
+        }
+
+        final Optional<List<Violation>> remoteViolations = readRemote(localCache, key, cacheConfiguration.getRemote());
+        if (remoteViolations.isPresent()) {
+            statistics().remoteHit();
+
+            return remoteViolations;
+        }
+
+        statistics().miss();
+
+        return Optional.empty();
+    }
+
+    /**
+     * Loads the cached violations of the provided key from the local cache only, such as the violations of a finer grained unit.
+     *
+     * @param key                the cache key
+     * @param cacheConfiguration the cache configuration
+     * @return the cached violations, or empty in case of a cache miss
+     */
+    public Optional<List<Violation>> loadLocalViolations(final String key, final CacheConfiguration cacheConfiguration) {
+        final Optional<List<Violation>> localViolations = readLocal(localCacheOf(cacheConfiguration), key);
+
+        if (localViolations.isPresent()) {
+            statistics().localHit();
+        } else {
+            statistics().miss();
+        }
+
+        return localViolations;
+    }
+
+    /**
+     * Whether the local cache holds an entry of the provided key, without loading it or consulting the remote cache.
+     *
+     * @param key                the cache key
+     * @param cacheConfiguration the cache configuration
+     * @return {@code true} if cached locally, {@code false} otherwise
+     */
+    public boolean isCachedLocally(final String key, final CacheConfiguration cacheConfiguration) {
+        return localCacheOf(cacheConfiguration).contains(key);
+    }
+
+    /**
+     * Stores the provided step result under the provided key.
+     *
+     * @param key                the cache key
+     * @param stepResult         the step result
+     * @param cacheConfiguration the cache configuration
+     * @throws CodeQualityException in case the step result couldn't be stored
+     */
+    public void store(final String key, final StepResult stepResult, final CacheConfiguration cacheConfiguration) {
+        storeViolations(Map.of(key, stepResult.getViolations()), cacheConfiguration);
+    }
+
+    /**
+     * Stores the provided violations under their keys. The violations are stored in the remote cache as well, if configured as
+     * {@link RemoteCacheMode#WRITE_THROUGH}.
+     *
+     * @param violationsByKey    the violations by their cache key
+     * @param cacheConfiguration the cache configuration
+     * @throws CodeQualityException in case the violations couldn't be stored locally
+     */
+    public void storeViolations(final Map<String, List<Violation>> violationsByKey, final CacheConfiguration cacheConfiguration) {
+        storeViolations(violationsByKey, cacheConfiguration, true);
+    }
+
+    /**
+     * Stores the provided violations under their keys within the local cache only, such as the violations of finer grained units.
+     *
+     * @param violationsByKey    the violations by their cache key
+     * @param cacheConfiguration the cache configuration
+     * @throws CodeQualityException in case the violations couldn't be stored
+     */
+    public void storeLocalViolations(final Map<String, List<Violation>> violationsByKey, final CacheConfiguration cacheConfiguration) {
+        storeViolations(violationsByKey, cacheConfiguration, false);
+    }
+
+    private void storeViolations(final Map<String, List<Violation>> violationsByKey, final CacheConfiguration cacheConfiguration,
+                                 final boolean isShared) {
+        final CacheDirectory localCache = localCacheOf(cacheConfiguration);
+        final RemoteCacheConfiguration remoteCacheConfiguration = cacheConfiguration.getRemote();
+
+        for (final Map.Entry<String, List<Violation>> violations : violationsByKey.entrySet()) {
+            final byte[] content = serialize(violations.getKey(), violations.getValue());
+
+            try {
+                localCache.write(violations.getKey(), content);
+            } catch (final IOException e) {
+                throw new CodeQualityException("Failed to store the cache entry " + violations.getKey() + " within " + localCache.root(), e);
+            }
+
+            if (isShared && remoteCacheConfiguration.isEnabled() && remoteCacheConfiguration.isWriteThrough()) {
+                writeRemote(violations.getKey(), content, remoteCacheConfiguration);
+            }
+        }
+
+        // The smallest maximum size wins, in case the modules of the build configure the same cache differently
+        storedCaches().merge(localCache.root(), cacheConfiguration.getMaxSizeMb() * BYTES_PER_MEGABYTE, Math::min);
+    }
+
+    /**
+     * Evicts the least recently used entries of every local cache stored to during the current build, which is exceeding its maximum size.
+     * Invoked once the build ends rather than on every store, since the eviction lists every entry of the cache.
+     *
+     * @throws CodeQualityException in case a cache couldn't be evicted
+     */
+    public void evict() {
+        for (final Map.Entry<Path, Long> storedCache : storedCaches().entrySet()) {
+            try {
+                new CacheDirectory(storedCache.getKey()).evict(storedCache.getValue());
+            } catch (final IOException e) {
+                throw new CodeQualityException("Failed to evict the cache within " + storedCache.getKey(), e);
+            }
+        }
+    }
+
+    /**
+     * Returns the cache statistics of the current build.
+     *
+     * @return the cache statistics
+     */
+    public synchronized CacheStatistics statistics() {
+        // Kept within the session, since the plugin may outlive a single build
+        if (sessionRepository.get(STATISTICS_KEY) instanceof CacheStatistics statistics) {
+            return statistics;
+        }
+
+        final CacheStatistics statistics = new CacheStatistics();
+        sessionRepository.put(STATISTICS_KEY, statistics);
+
+        return statistics;
+    }
+
+    @SuppressWarnings("unchecked")
+    private Map<Path, Long> storedCaches() {
+        // Modules of a parallel build store concurrently
+        return (Map<Path, Long>) sessionRepository.computeIfAbsent(STORED_CACHES_KEY, ConcurrentHashMap::new);
+    }
+
+    private Optional<List<Violation>> readLocal(final CacheDirectory localCache, final String key) {
+        try {
+            return localCache.read(key)
+                .map(it -> deserialize(key, it));
+        } catch (final IOException | CodeQualityException e) {
+            // An unreadable entry is a cache miss as well, which is replaced by the next store
+            return Optional.empty();
+        }
+    }
+
+    @SuppressWarnings({"checkstyle:EmptyCatchBlock", "EmptyCatch"})
+    private Optional<List<Violation>> readRemote(final CacheDirectory localCache, final String key,
+                                                 final RemoteCacheConfiguration remoteCacheConfiguration) {
+        if (!remoteCacheConfiguration.isEnabled()) {
+            return Optional.empty();
+        }
+
+        final Optional<byte[]> content;
+        final List<Violation> violations;
+        try {
+            content = cacheBackendOf(remoteCacheConfiguration).load(key, remoteCacheConfiguration);
+            if (content.isEmpty()) {
+                return Optional.empty();
+            }
+
+            violations = deserialize(key, content.get());
+        } catch (final CodeQualityException e) {
+            statistics().remoteFailure();
+
+            return Optional.empty();
+        }
+
+        try {
+            localCache.write(key, content.get());
+        } catch (final IOException e) {
+            // The remote hit is still valid, the next build merely loads it remotely again
+        }
+
+        return Optional.of(violations);
+    }
+
+    private void writeRemote(final String key, final byte[] content, final RemoteCacheConfiguration remoteCacheConfiguration) {
+        try {
+            cacheBackendOf(remoteCacheConfiguration).store(key, content, remoteCacheConfiguration);
+
+            statistics().remoteStore();
+        } catch (final CodeQualityException e) {
+            // The local cache is still populated, the remote cache merely misses the entry
+            statistics().remoteFailure();
+        }
+    }
+
+    private CacheBackend cacheBackendOf(final RemoteCacheConfiguration remoteCacheConfiguration) {
+        final String backend = remoteCacheConfiguration.optionalBackend()
+            .orElseThrow(() -> new CodeQualityException("No remote cache backend configured"));
+
+        return cacheBackends.stream()
+            .filter(it -> it.name().equalsIgnoreCase(backend))
+            .findFirst()
+            .orElseThrow(() -> new CodeQualityException("Unknown remote cache backend " + backend));
+    }
+
+    private byte[] serialize(final String key, final List<Violation> violations) {
+        try {
+            final Path basedir = basedir();
+
+            return objectMapper.writeValueAsBytes(violations.stream()
+                .map(it -> CachedViolation.of(it, basedir))
+                .toList());
+        } catch (final JsonProcessingException e) {
+            throw new CodeQualityException("Failed to serialize the cache entry " + key, e);
+        }
+    }
+
+    private List<Violation> deserialize(final String key, final byte[] content) {
+        try {
+            final Path basedir = basedir();
+
+            return objectMapper.readValue(content, CACHED_VIOLATIONS_TYPE).stream()
+                .map(it -> it.toViolation(basedir))
+                .toList();
+        } catch (final IOException e) {
+            throw new CodeQualityException("Failed to deserialize the cache entry " + key, e);
+        }
+    }
+
+    private Path basedir() {
+        // Resolved per entry, since the component outlives the module it was created for
+        return mavenSession.getCurrentProject().getBasedir().toPath();
+    }
+
+    private static CacheDirectory localCacheOf(final CacheConfiguration cacheConfiguration) {
+        return new CacheDirectory(cacheConfiguration.getDirectory().toPath());
+    }
+}
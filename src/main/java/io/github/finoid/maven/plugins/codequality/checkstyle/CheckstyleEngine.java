@@ -0,0 +1,685 @@
+package io.github.finoid.maven.plugins.codequality.checkstyle;
+
+import com.puppycrawl.tools.checkstyle.Checker;
+import com.puppycrawl.tools.checkstyle.ConfigurationLoader;
+import com.puppycrawl.tools.checkstyle.DefaultConfiguration;
+import com.puppycrawl.tools.checkstyle.PropertiesExpander;
+import com.puppycrawl.tools.checkstyle.api.AuditEvent;
+import com.puppycrawl.tools.checkstyle.api.AuditListener;
+import com.puppycrawl.tools.checkstyle.api.CheckstyleException;
+import com.puppycrawl.tools.checkstyle.api.Configuration;
+import io.github.finoid.maven.plugins.codequality.exceptions.CodeQualityException;
+import io.github.finoid.maven.plugins.codequality.report.Violation;
+import io.github.finoid.maven.plugins.codequality.storage.SessionRepository;
+import io.github.finoid.maven.plugins.codequality.util.Precondition;
+import io.github.finoid.maven.plugins.codequality.util.ProjectScopedExecution;
+import org.apache.maven.execution.MavenSession;
+import org.apache.maven.model.Resource;
+import org.apache.maven.plugins.checkstyle.exec.CheckstyleExecutorRequest;
+import org.apache.maven.project.MavenProject;
+import org.codehaus.plexus.util.FileUtils;
+import org.jspecify.annotations.Nullable;
+
+import javax.inject.Inject;
+import javax.inject.Singleton;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URL;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Properties;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+import java.util.function.Function;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+/**
+ * Audits source files with Checkstyle {@link Checker} instances, one per partition of the source files, as a {@link Checker} isn't thread
+ * safe.
+ * <p>
+ * The source files are split into {@value #PARTITIONS_PER_THREAD} partitions per thread of the pool by the hash of their path, balancing
+ * the partitions of unequal cost across the threads, such that a source file is audited within the same partition - and recorded within
+ * the same Checkstyle cache file - on successive runs of the same parallelism. A sequential audit is a single partition. An empty partition
+ * isn't audited, hence an audit of few source files creates no more {@link Checker}s than source files. The audit events are converted into violations as they're reported, and the violations are merged in the order of the source
+ * files, hence the results are the same regardless of the parallelism and of the completion order of the partitions. A configuration with a
+ * module which may compare source files with each other, such as {@code Translation} or a custom file set check, is audited as a single
+ * partition instead.
+ * <p>
+ * The partitions of all audits of the session are executed by a single {@link ForkJoinPool}, bounded by the parallelism of the first audit,
+ * such that neither the execution environments of a module nor the modules of a parallel build multiply the number of auditing threads. As
+ * an audit awaits its partitions by joining them, an audit executed by the pool itself helps executing its partitions rather than blocking
+ * a thread of the pool.
+ * <p>
+ * The loaded configuration is shared across the modules of the session, keyed on the content of the configuration and the values of the
+ * properties it references, such that a reactor whose modules share the same {@code checkstyle.xml} parses it once. The modules are loaded
+ * by the class loader of the plugin realm, which is shared across the modules as well.
+ */
+@Singleton
+public class CheckstyleEngine {
+    private static final String CONFIGURATIONS_KEY = "codequality.checkstyleConfigurations";
+    private static final String EXECUTOR_KEY = "codequality.checkstyleExecutor";
+    private static final int PARTITIONS_PER_THREAD = 4;
+    // The modules of the Checker which audit each source file on its own, unlike Translation and JavadocPackage, which would merely compare
+    // the source files of the same partition. Any other module, such as a custom file set check, might compare source files as well
+    private static final Set<String> PER_FILE_MODULES = Set.of(
+        "TreeWalker", "FileLength", "FileTabCharacter", "Header", "LineLength", "NewlineAtEndOfFile", "OrderedProperties", "RegexpHeader",
+        "RegexpMultiline", "RegexpOnFilename", "RegexpSingleline", "UniqueProperties", "BeforeExecutionExclusionFileFilter",
+        "SeverityMatchFilter", "SuppressionFilter", "SuppressionSingleFilter", "SuppressWarningsFilter", "SuppressWithNearbyTextFilter",
+        "SuppressWithPlainTextCommentFilter");
+    private static final Pattern PROPERTY_REFERENCE_PATTERN = Pattern.compile("\\$\\{([^}]+)}");
+
+    private static final String HEADER_FILE_PROPERTY = "checkstyle.header.file";
+    private static final String SUPPRESSIONS_FILE_PROPERTY = "checkstyle.suppressions.file";
+    private static final String CACHE_FILE_PROPERTY = "checkstyle.cache.file";
+    private static final String CHARSET_PROPERTY = "charset";
+
+    private final SessionRepository sessionRepository;
+    private final MavenSession mavenSession;
+
+    @Inject
+    public CheckstyleEngine(final SessionRepository sessionRepository, final MavenSession mavenSession) {
+        this.sessionRepository = Precondition.nonNull(sessionRepository, "SessionRepository shouldn't be null");
+        this.mavenSession = Precondition.nonNull(mavenSession, "MavenSession shouldn't be null");
+    }
+
+    /**
+     * Audits the source files of the request, converting the audit events of a source file as soon as they're reported, such that merely the
+     * audit events of the source files being audited are retained rather than those of the whole module.
+     *
+     * @param request     the request, as created for the Checkstyle executor of the maven-checkstyle-plugin
+     * @param parallelism the maximum number of threads auditing source files concurrently, shared by all audits of the session, a value of
+     *                    {@code 1} audits the partitions on the calling thread
+     * @param converter   the converter of an audit event into a violation, invoked by the workers
+     * @return the violations of each audited source file by its absolute path, including the source files without any violation
+     * @throws CheckstyleException in case the configuration couldn't be loaded or the audit failed
+     */
+    public Map<Path, List<Violation>> audit(final CheckstyleExecutorRequest request, final int parallelism,
+                                            final Function<AuditEvent, Violation> converter) throws CheckstyleException {
+        Precondition.nonNull(request, "CheckstyleExecutorRequest shouldn't be null");
+
+        return audit(request, sourceFilesOf(request), parallelism, converter);
+    }
+
+    /**
+     * Audits the provided source files along with the resources of the request, such as the source files of the request which changed,
+     * converting the audit events of a source file as soon as they're reported.
+     *
+     * @param request     the request, as created for the Checkstyle executor of the maven-checkstyle-plugin
+     * @param sourceFiles the source files to audit, instead of the source files of the source directories of the request
+     * @param parallelism the maximum number of threads auditing source files concurrently, shared by all audits of the session, a value of
+     *                    {@code 1} audits the partitions on the calling thread
+     * @param converter   the converter of an audit event into a violation, invoked by the workers
+     * @return the violations of each audited source file by its absolute path, including the source files without any violation
+     * @throws CheckstyleException in case the configuration couldn't be loaded or the audit failed
+     */
+    public Map<Path, List<Violation>> audit(final CheckstyleExecutorRequest request, final List<File> sourceFiles, final int parallelism,
+                                            final Function<AuditEvent, Violation> converter) throws CheckstyleException {
+        Precondition.nonNull(request, "CheckstyleExecutorRequest shouldn't be null");
+        Precondition.nonNull(sourceFiles, "SourceFiles shouldn't be null");
+        Precondition.nonNull(converter, "Converter shouldn't be null");
+
+        final MavenProject project = request.getProject();
+        final Configuration configuration = configurationOf(request, project.getBasedir());
+        final List<File> files = filesOf(request, sourceFiles);
+
+        @Nullable
+        final AuditListener nullableConsoleListener = request.isConsoleOutput() ? request.getConsoleListener() : null;
+
+        // The pool may be bounded by the parallelism of another audit, see executorOf
+        final int partitionCount = parallelism <= 1 ? 1 : PARTITIONS_PER_THREAD * executorOf(parallelism).getParallelism();
+
+        final List<List<File>> partitions = isCrossFile(configuration)
+            ? List.of(files)
+            : partitionsOf(files, partitionCount);
+        final List<@Nullable String> cacheFiles = cacheFilesOf(request.getCacheFile(), partitions.size());
+
+        deleteStaleCacheFiles(request.getCacheFile(), cacheFiles);
+
+        if (nullableConsoleListener != null) {
+            nullableConsoleListener.auditStarted(new AuditEvent(CheckstyleEngine.class));
+        }
+
+        final List<Map<String, List<Violation>>> partitionResults = parallelism <= 1
+            ? auditPartitionsSequentially(configuration, partitions, cacheFiles, converter, nullableConsoleListener)
+            : auditPartitionsConcurrently(project, executorOf(parallelism), configuration, partitions, cacheFiles, converter,
+                nullableConsoleListener);
+
+        if (nullableConsoleListener != null) {
+            nullableConsoleListener.auditFinished(new AuditEvent(CheckstyleEngine.class));
+        }
+
+        final Map<Path, List<Violation>> violationsByFile = new LinkedHashMap<>();
+
+        for (final File file : files) {
+            final String fileName = file.getAbsolutePath();
+
+            // A source file absent from the results was skipped, either by its file extension or by the Checkstyle cache file
+            partitionResults.stream()
+                .filter(it -> it.containsKey(fileName))
+                .findFirst()
+                .ifPresent(it -> violationsByFile.put(file.toPath(), it.get(fileName)));
+        }
+
+        return violationsByFile;
+    }
+
+    /**
+     * Submits a task of the project, such as the audit of an execution environment, to the pool auditing the partitions, such that the
+     * partitions of its audits are executed by the same threads rather than by additional ones.
+     *
+     * @param project     the project of the task
+     * @param parallelism the maximum number of threads auditing source files concurrently, shared by all audits of the session
+     * @param task        the task
+     * @param <T>         the type of the result of the task
+     * @return the future of the result of the task
+     */
+    public <T> Future<T> submit(final MavenProject project, final int parallelism, final Callable<T> task) {
+        Precondition.nonNull(project, "MavenProject shouldn't be null");
+        Precondition.nonNull(task, "Task shouldn't be null");
+
+        return executorOf(parallelism).submit(projectScoped(project, task));
+    }
+
+    private static List<Map<String, List<Violation>>> auditPartitionsSequentially(final Configuration configuration,
+                                                                                  final List<List<File>> partitions,
+                                                                                  final List<@Nullable String> cacheFiles,
+                                                                                  final Function<AuditEvent, Violation> converter,
+                                                                                  @Nullable final AuditListener nullableConsoleListener)
+        throws CheckstyleException {
+        final List<Map<String, List<Violation>>> results = new ArrayList<>(partitions.size());
+
+        for (int partition = 0; partition < partitions.size(); partition++) {
+            if (!partitions.get(partition).isEmpty()) {
+                results.add(auditPartition(configuration, partitions.get(partition), cacheFiles.get(partition), converter, nullableConsoleListener));
+            }
+        }
+
+        return results;
+    }
+
+    private List<Map<String, List<Violation>>> auditPartitionsConcurrently(final MavenProject project, final ForkJoinPool executor,
+                                                                           final Configuration configuration, final List<List<File>> partitions,
+                                                                           final List<@Nullable String> cacheFiles,
+                                                                           final Function<AuditEvent, Violation> converter,
+                                                                           @Nullable final AuditListener nullableConsoleListener)
+        throws CheckstyleException {
+        final List<Future<Map<String, List<Violation>>>> futures = new ArrayList<>(partitions.size());
+
+        for (int partition = 0; partition < partitions.size(); partition++) {
+            final List<File> files = partitions.get(partition);
+            if (files.isEmpty()) {
+                continue;
+            }
+
+            @Nullable
+            final String nullableCacheFile = cacheFiles.get(partition);
+
+            final Callable<Map<String, List<Violation>>> task =
+                () -> auditPartition(configuration, files, nullableCacheFile, converter, nullableConsoleListener);
+
+            futures.add(executor.submit(projectScoped(project, task)));
+        }
+
+        final List<Map<String, List<Violation>>> results = new ArrayList<>(futures.size());
+
+        for (final Future<Map<String, List<Violation>>> future : futures) {
+            results.add(await(future, futures));
+        }
+
+        return results;
+    }
+
+    private static Map<String, List<Violation>> auditPartition(final Configuration configuration, final List<File> files,
+                                                               @Nullable final String nullableCacheFile,
+                                                               final Function<AuditEvent, Violation> converter,
+                                                               @Nullable final AuditListener nullableConsoleListener) throws CheckstyleException {
+        final Checker checker = new Checker();
+        final ViolationCollector collector = new ViolationCollector(converter, nullableConsoleListener);
+
+        try {
+            checker.setModuleClassLoader(Checker.class.getClassLoader());
+            checker.configure(configuration);
+            checker.addListener(collector);
+
+            if (nullableCacheFile != null) {
+                Files.createDirectories(Path.of(nullableCacheFile).toAbsolutePath().getParent());
+
+                checker.setCacheFile(nullableCacheFile);
+            }
+
+            checker.process(files);
+        } catch (final IOException e) {
+            throw new CheckstyleException("Error during setup of the Checkstyle cache file " + nullableCacheFile, e);
+        } finally {
+            // Persists the cache file
+            checker.destroy();
+        }
+
+        return collector.violationsByFile();
+    }
+
+    private Configuration configurationOf(final CheckstyleExecutorRequest request, final File basedir) throws CheckstyleException {
+        final Properties properties = new Properties();
+        properties.putAll(request.getProject().getProperties());
+
+        // Mirrors the properties the Checkstyle executor of the maven-checkstyle-plugin exposes to the configuration
+        locationOf(request.getHeaderLocation(), basedir)
+            .ifPresent(it -> properties.setProperty(HEADER_FILE_PROPERTY, it));
+        locationOf(request.getSuppressionsLocation(), basedir)
+            .ifPresent(it -> properties.setProperty(SUPPRESSIONS_FILE_PROPERTY, it));
+        if (request.getCacheFile() != null) {
+            properties.setProperty(CACHE_FILE_PROPERTY, request.getCacheFile());
+        }
+
+        final String configLocation = locationOf(request.getConfigLocation(), basedir)
+            .orElse(request.getConfigLocation());
+
+        final String encoding = encodingOf(request);
+
+        final Optional<String> configurationKey = configurationKeyOf(configLocation, properties, request.isOmitIgnoredModules(), encoding);
+        if (configurationKey.isEmpty()) {
+            return loadConfiguration(configLocation, properties, request.isOmitIgnoredModules(), encoding);
+        }
+
+        final Map<String, Configuration> configurations = configurations();
+
+        @Nullable
+        final Configuration nullableConfiguration = configurations.get(configurationKey.get());
+        if (nullableConfiguration != null) {
+            return nullableConfiguration;
+        }
+
+        // Modules of a parallel build may load the same configuration concurrently, whichever is stored first is shared
+        final Configuration configuration = loadConfiguration(configLocation, properties, request.isOmitIgnoredModules(), encoding);
+
+        @Nullable
+        final Configuration nullablePreviousConfiguration = configurations.putIfAbsent(configurationKey.get(), configuration);
+
+        return nullablePreviousConfiguration == null ? configuration : nullablePreviousConfiguration;
+    }
+
+    private static Configuration loadConfiguration(final String configLocation, final Properties properties, final boolean isOmitIgnoredModules,
+                                                   final String encoding) throws CheckstyleException {
+        final Configuration configuration = ConfigurationLoader.loadConfiguration(configLocation, new PropertiesExpander(properties),
+            isOmitIgnoredModules
+                ? ConfigurationLoader.IgnoredModulesOptions.OMIT
+                : ConfigurationLoader.IgnoredModulesOptions.EXECUTE);
+
+        return withCharset(configuration, encoding);
+    }
+
+    /**
+     * Computes the key of the configuration from its content and the values of the properties it references, rather than all properties of
+     * the project, such that modules which merely differ by unreferenced properties - or by the location of an identical configuration -
+     * share the configuration. Returns empty if the content
+     * couldn't be read, leaving the error to Checkstyle.
+     */
+    private static Optional<String> configurationKeyOf(final String configLocation, final Properties properties, final boolean isOmitIgnoredModules,
+                                                       final String encoding) {
+        final byte[] content;
+        try {
+            final File file = new File(configLocation);
+
+            content = file.isAbsolute() && file.isFile()
+                ? Files.readAllBytes(file.toPath())
+                : readAllBytes(new URL(configLocation));
+        } catch (final IOException | IllegalArgumentException e) {
+            return Optional.empty();
+        }
+
+        final MessageDigest messageDigest = sha256();
+        messageDigest.update(content);
+        messageDigest.update((isOmitIgnoredModules + "\n" + encoding + "\n").getBytes(StandardCharsets.UTF_8));
+
+        final Matcher matcher = PROPERTY_REFERENCE_PATTERN.matcher(new String(content, StandardCharsets.UTF_8));
+        final Set<String> propertyNames = new TreeSet<>();
+        while (matcher.find()) {
+            propertyNames.add(matcher.group(1));
+        }
+
+        for (final String propertyName : propertyNames) {
+            messageDigest.update((propertyName + "=" + properties.getProperty(propertyName) + "\n").getBytes(StandardCharsets.UTF_8));
+        }
+
+        return Optional.of(HexFormat.of().formatHex(messageDigest.digest()));
+    }
+
+    private static byte[] readAllBytes(final URL url) throws IOException {
+        try (InputStream inputStream = url.openStream()) {
+            return inputStream.readAllBytes();
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private Map<String, Configuration> configurations() {
+        // Modules of a parallel build audit concurrently
+        return (Map<String, Configuration>) sessionRepository.computeIfAbsent(CONFIGURATIONS_KEY, ConcurrentHashMap::new);
+    }
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (final NoSuchAlgorithmException e) {
+            throw new CodeQualityException("SHA-256 isn't supported", e);
+        }
+    }
+
+    /**
+     * Overrides the charset of the configuration by the encoding. A configured charset is replaced by a copy of the configuration, as adding
+     * the property once more would append the encoding to the configured charset.
+     */
+    private static Configuration withCharset(final Configuration configuration, final String encoding) throws CheckstyleException {
+        if (!(configuration instanceof DefaultConfiguration defaultConfiguration)) {
+            return configuration;
+        }
+
+        if (Arrays.asList(defaultConfiguration.getPropertyNames()).contains(CHARSET_PROPERTY)) {
+            final DefaultConfiguration copy = new DefaultConfiguration(defaultConfiguration.getName(), defaultConfiguration.getThreadModeSettings());
+
+            for (final String propertyName : defaultConfiguration.getPropertyNames()) {
+                if (!CHARSET_PROPERTY.equals(propertyName)) {
+                    copy.addProperty(propertyName, defaultConfiguration.getProperty(propertyName));
+                }
+            }
+
+            for (final Configuration child : defaultConfiguration.getChildren()) {
+                copy.addChild(child);
+            }
+
+            defaultConfiguration.getMessages()
+                .forEach(copy::addMessage);
+
+            copy.addProperty(CHARSET_PROPERTY, encoding);
+
+            return copy;
+        }
+
+        defaultConfiguration.addProperty(CHARSET_PROPERTY, encoding);
+
+        return defaultConfiguration;
+    }
+
+    private static String encodingOf(final CheckstyleExecutorRequest request) {
+        @Nullable
+        final String nullableEncoding = request.getEncoding();
+
+        // An unset project.build.sourceEncoding remains an unresolved expression
+        if (nullableEncoding == null || nullableEncoding.isBlank() || nullableEncoding.startsWith("${")) {
+            return Charset.defaultCharset().name();
+        }
+
+        return nullableEncoding;
+    }
+
+    /**
+     * Resolves the location the same way as the Checkstyle executor: a file relative to the base directory of the project or a resource of
+     * the plugin class path. Any other location, such as a URL, is left to Checkstyle.
+     */
+    private static Optional<String> locationOf(@Nullable final String nullableLocation, final File basedir) {
+        if (nullableLocation == null || nullableLocation.isBlank()) {
+            return Optional.empty();
+        }
+
+        final File file = FileUtils.resolveFile(basedir, nullableLocation);
+        if (file.isFile()) {
+            return Optional.of(file.getAbsolutePath());
+        }
+
+        @Nullable
+        final URL nullableResource = CheckstyleEngine.class.getClassLoader().getResource(nullableLocation);
+
+        return Optional.ofNullable(nullableResource)
+            .map(URL::toExternalForm);
+    }
+
+    private static List<File> sourceFilesOf(final CheckstyleExecutorRequest request) throws CheckstyleException {
+        final List<File> sourceFiles = new ArrayList<>();
+
+        try {
+            for (final File sourceDirectory : request.getSourceDirectories()) {
+                if (sourceDirectory.isDirectory()) {
+                    sourceFiles.addAll(FileUtils.getFiles(sourceDirectory, request.getIncludes(), request.getExcludes()));
+                }
+            }
+        } catch (final IOException e) {
+            throw new CheckstyleException("Error during lookup of the files to audit", e);
+        }
+
+        return sourceFiles;
+    }
+
+    private static List<File> filesOf(final CheckstyleExecutorRequest request, final List<File> sourceFiles) throws CheckstyleException {
+        final Set<File> files = new LinkedHashSet<>(sourceFiles);
+
+        try {
+            if (request.isIncludeResources() && request.getResources() != null) {
+                for (final Resource resource : request.getResources()) {
+                    final File resourceDirectory = new File(resource.getDirectory());
+
+                    if (resourceDirectory.isDirectory()) {
+                        files.addAll(FileUtils.getFiles(resourceDirectory, request.getResourceIncludes(), request.getResourceExcludes()));
+                    }
+                }
+            }
+        } catch (final IOException e) {
+            throw new CheckstyleException("Error during lookup of the files to audit", e);
+        }
+
+        return files.stream()
+            .map(File::getAbsoluteFile)
+            .distinct()
+            .toList();
+    }
+
+    private static List<List<File>> partitionsOf(final List<File> files, final int partitionCount) {
+        final List<List<File>> partitions = new ArrayList<>(partitionCount);
+        for (int partition = 0; partition < partitionCount; partition++) {
+            partitions.add(new ArrayList<>());
+        }
+
+        for (final File file : files) {
+            partitions.get(Math.floorMod(file.getPath().hashCode(), partitionCount))
+                .add(file);
+        }
+
+        return partitions;
+    }
+
+    private static boolean isCrossFile(final Configuration configuration) {
+        return Arrays.stream(configuration.getChildren())
+            .map(Configuration::getName)
+            .map(it -> it.substring(it.lastIndexOf('.') + 1))
+            .map(it -> it.endsWith("Check") ? it.substring(0, it.length() - "Check".length()) : it)
+            .anyMatch(it -> !PER_FILE_MODULES.contains(it));
+    }
+
+    /**
+     * Every Checker persists its own cache file, which would otherwise be overwritten by the Checkers of the other partitions.
+     */
+    private static List<@Nullable String> cacheFilesOf(@Nullable final String nullableCacheFile, final int partitions) {
+        if (partitions == 1) {
+            return Collections.singletonList(nullableCacheFile);
+        }
+
+        final List<@Nullable String> cacheFiles = new ArrayList<>(partitions);
+        for (int partition = 0; partition < partitions; partition++) {
+            cacheFiles.add(nullableCacheFile == null ? null : nullableCacheFile + "-" + partition);
+        }
+
+        return cacheFiles;
+    }
+
+    /**
+     * Deletes the cache files of another partitioning, such as those of a configuration which was audited as a single partition before, as
+     * they would otherwise remain within the build directory.
+     */
+    private static void deleteStaleCacheFiles(@Nullable final String nullableCacheFile, final List<@Nullable String> cacheFiles)
+        throws CheckstyleException {
+        if (nullableCacheFile == null) {
+            return;
+        }
+
+        final Path cacheFile = Path.of(nullableCacheFile).toAbsolutePath();
+        final String cacheFileName = cacheFile.getFileName().toString();
+        final Set<Path> activeCacheFiles = new HashSet<>();
+        for (final String it : cacheFiles) {
+            activeCacheFiles.add(Path.of(it).toAbsolutePath());
+        }
+
+        if (!Files.isDirectory(cacheFile.getParent())) {
+            return;
+        }
+
+        try (Stream<Path> siblings = Files.list(cacheFile.getParent())) {
+            final List<Path> staleCacheFiles = siblings
+                .filter(it -> isCacheFileOf(cacheFileName, it.getFileName().toString()))
+                .filter(it -> !activeCacheFiles.contains(it))
+                .toList();
+
+            for (final Path staleCacheFile : staleCacheFiles) {
+                Files.deleteIfExists(staleCacheFile);
+            }
+        } catch (final IOException e) {
+            throw new CheckstyleException("Error during deletion of the stale Checkstyle cache files of " + nullableCacheFile, e);
+        }
+    }
+
+    private static boolean isCacheFileOf(final String cacheFileName, final String fileName) {
+        if (fileName.equals(cacheFileName)) {
+            return true;
+        }
+
+        final String partition = fileName.startsWith(cacheFileName + "-")
+            ? fileName.substring(cacheFileName.length() + 1)
+            : "";
+
+        return !partition.isEmpty() && partition.chars().allMatch(Character::isDigit);
+    }
+
+    private static Map<String, List<Violation>> await(final Future<Map<String, List<Violation>>> future,
+                                                      final List<Future<Map<String, List<Violation>>>> allFutures) throws CheckstyleException {
+        try {
+            return future.get();
+        } catch (final ExecutionException e) {
+            allFutures.forEach(it -> it.cancel(true));
+
+            if (e.getCause() instanceof CheckstyleException checkstyleException) {
+                throw checkstyleException;
+            }
+
+            throw new CheckstyleException("Error during concurrent Checkstyle audit. Cause: " + e.getCause(), e.getCause());
+        } catch (final InterruptedException e) {
+            allFutures.forEach(it -> it.cancel(true));
+
+            Thread.currentThread().interrupt();
+
+            throw new CheckstyleException("Interrupted while awaiting Checkstyle audit", e);
+        }
+    }
+
+    private ForkJoinPool executorOf(final int parallelism) {
+        // Checkstyle loads its modules by the context class loader of the plugin realm, which the threads of the pool carry.
+        // The threads of the pool are daemon threads, which terminate once idle, hence the pool is merely dropped with the session
+        return (ForkJoinPool) sessionRepository.computeIfAbsent(EXECUTOR_KEY,
+            () -> new ForkJoinPool(parallelism, ProjectScopedExecution.forkJoinThreadFactory("code-quality-checkstyle"), null, false));
+    }
+
+    /**
+     * Sets the current project of the session, which is thread local and resolved by the converter, for the duration of the task, as the
+     * threads of the pool execute the partitions of any module.
+     */
+    private <T> Callable<T> projectScoped(final MavenProject project, final Callable<T> task) {
+        return ProjectScopedExecution.callable(mavenSession, project, task);
+    }
+
+    /**
+     * Converts the audit events of a single {@link Checker}, which notifies its listeners from the thread processing the files, as they're
+     * reported. The audit events of a source file are merely retained for the console listener, to which they're forwarded once the source
+     * file is finished, such that the output of a source file isn't interleaved with those of the other workers.
+     */
+    private static class ViolationCollector implements AuditListener {
+        private final Function<AuditEvent, Violation> converter;
+        @Nullable
+        private final AuditListener nullableConsoleListener;
+        private final Map<String, List<Violation>> violationsByFile = new HashMap<>();
+        private final List<AuditEvent> fileAuditEvents = new ArrayList<>();
+
+        ViolationCollector(final Function<AuditEvent, Violation> converter, @Nullable final AuditListener nullableConsoleListener) {
+            this.converter = converter;
+            this.nullableConsoleListener = nullableConsoleListener;
+        }
+
+        @Override
+        public void auditStarted(final AuditEvent event) {
+            // The console listener is notified once per audit rather than once per worker
+        }
+
+        @Override
+        public void auditFinished(final AuditEvent event) {
+            // The console listener is notified once per audit rather than once per worker
+        }
+
+        @Override
+        public void fileStarted(final AuditEvent event) {
+            violationsByFile.putIfAbsent(event.getFileName(), new ArrayList<>());
+        }
+
+        @Override
+        public void addError(final AuditEvent event) {
+            // File set checks may report a source file once all source files are processed, i.e. outside its fileStarted and fileFinished
+            violationsByFile.computeIfAbsent(event.getFileName(), it -> new ArrayList<>())
+                .add(converter.apply(event));
+
+            if (nullableConsoleListener != null) {
+                fileAuditEvents.add(event);
+            }
+        }
+
+        @Override
+        public void addException(final AuditEvent event, final Throwable throwable) {
+            // The Checker either rethrows an exception or reports it as an error, depending on its haltOnException property
+        }
+
+        @Override
+        public void fileFinished(final AuditEvent event) {
+            if (nullableConsoleListener == null) {
+                return;
+            }
+
+            synchronized (nullableConsoleListener) {
+                nullableConsoleListener.fileStarted(new AuditEvent(CheckstyleEngine.class, event.getFileName()));
+                fileAuditEvents.forEach(nullableConsoleListener::addError);
+                nullableConsoleListener.fileFinished(event);
+            }
+
+            fileAuditEvents.clear();
+        }
+
+        Map<String, List<Violation>> violationsByFile() {
+            return violationsByFile;
+        }
+    }
+}
@@ -0,0 +1,186 @@
+package io.github.finoid.maven.plugins.codequality.compiler;
+
+import io.github.finoid.maven.plugins.codequality.configuration.AnnotationProcessorPaths;
+import io.github.finoid.maven.plugins.codequality.exceptions.CodeQualityException;
+import io.github.finoid.maven.plugins.codequality.util.Precondition;
+import org.apache.maven.project.MavenProject;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Stream;
+
+/**
+ * A compilation of the current module with one or more compiler based analyzers attached.
+ *
+ * @param javaVersion      the java release to compile against
+ * @param classesDirectory the name of the directory, relative to the build directory, the classes are compiled to
+ * @param compilerArgs     the compiler args, such as the classpath and the analyzer flags
+ * @param processorPaths   the annotation processor paths, including the analyzers
+ * @param processors       the annotation processors to run, or empty to discover the processors from the processor paths
+ * @param sourceFiles      the source files to compile, or empty to compile all source files of the module. A partial compilation resolves
+ *                         the other classes of the module from the classes directory of a previous compilation
+ */
+public record AnalysisCompilation(
+    String javaVersion,
+    String classesDirectory,
+    List<String> compilerArgs,
+    List<AnnotationProcessorPaths> processorPaths,
+    Set<String> processors,
+    List<File> sourceFiles
+) {
+    private static final List<String> CLASS_PATH_OPTIONS = List.of("-cp", "-classpath", "--class-path");
+
+    public AnalysisCompilation {
+        Precondition.nonNull(javaVersion, "JavaVersion shouldn't be null");
+        Precondition.nonNull(classesDirectory, "ClassesDirectory shouldn't be null");
+        compilerArgs = List.copyOf(Precondition.nonNull(compilerArgs, "CompilerArgs shouldn't be null"));
+        processorPaths = List.copyOf(Precondition.nonNull(processorPaths, "ProcessorPaths shouldn't be null"));
+        processors = Set.copyOf(Precondition.nonNull(processors, "Processors shouldn't be null"));
+        sourceFiles = List.copyOf(Precondition.nonNull(sourceFiles, "SourceFiles shouldn't be null"));
+    }
+
+    /**
+     * Creates a compilation of all source files of the module.
+     */
+    public AnalysisCompilation(final String javaVersion, final String classesDirectory, final List<String> compilerArgs,
+                               final List<AnnotationProcessorPaths> processorPaths, final Set<String> processors) {
+        this(javaVersion, classesDirectory, compilerArgs, processorPaths, processors, List.of());
+    }
+
+    /**
+     * Returns a partial compilation of the provided source files.
+     *
+     * @param partialSourceFiles the source files to compile
+     * @return the partial compilation
+     */
+    public AnalysisCompilation withSourceFiles(final List<File> partialSourceFiles) {
+        return new AnalysisCompilation(javaVersion, classesDirectory, compilerArgs, processorPaths, processors, partialSourceFiles);
+    }
+
+    /**
+     * Returns the compilation without the classpath option, such as for a key which fingerprints the classpath by its content rather than by
+     * the locations of its elements.
+     *
+     * @return the compilation without the classpath
+     */
+    public AnalysisCompilation withoutClassPath() {
+        final int index = classPathIndexOf(compilerArgs);
+
+        if (index < 0) {
+            return this;
+        }
+
+        final List<String> compilerArgsWithoutClassPath = new ArrayList<>(compilerArgs);
+        compilerArgsWithoutClassPath.subList(index - 1, index + 1).clear();
+
+        return new AnalysisCompilation(javaVersion, classesDirectory, compilerArgsWithoutClassPath, processorPaths, processors, sourceFiles);
+    }
+
+    /**
+     * Whether only a part of the source files of the module is compiled.
+     *
+     * @return {@code true} if partial, {@code false} otherwise
+     */
+    public boolean isPartial() {
+        return !sourceFiles.isEmpty();
+    }
+
+    /**
+     * Returns the classpath elements of the compiler args.
+     *
+     * @return the classpath elements, or empty if the compiler args lack a classpath
+     */
+    public List<Path> classPath() {
+        final int index = classPathIndexOf(compilerArgs);
+
+        if (index < 0) {
+            return List.of();
+        }
+
+        return Arrays.stream(compilerArgs.get(index).split(File.pathSeparator))
+            .filter(it -> !it.isBlank())
+            .map(Paths::get)
+            .toList();
+    }
+
+    /**
+     * Returns the index of the classpath value within the provided compiler args.
+     *
+     * @param compilerArgs the compiler args
+     * @return the index of the classpath value, or {@code -1} if absent
+     */
+    static int classPathIndexOf(final List<String> compilerArgs) {
+        // The last classpath option wins, as with javac
+        for (int i = compilerArgs.size() - 2; i >= 0; i--) {
+            if (CLASS_PATH_OPTIONS.contains(compilerArgs.get(i))) {
+                return i + 1;
+            }
+        }
+
+        return -1;
+    }
+
+    /**
+     * Resolves the classes of the module which aren't part of a partial compilation from the classes directory of a previous compilation, by
+     * appending the classes directory to the classpath of the provided compiler args.
+     *
+     * @param compilerArgs     the compiler args to amend
+     * @param classesDirectory the classes directory of the compilation
+     */
+    static void addClassesDirectoryToClassPath(final List<String> compilerArgs, final Path classesDirectory) {
+        final int classPathIndex = classPathIndexOf(compilerArgs);
+
+        if (classPathIndex < 0) {
+            compilerArgs.add("-cp");
+            compilerArgs.add(classesDirectory.toString());
+        } else {
+            compilerArgs.set(classPathIndex, compilerArgs.get(classPathIndex) + File.pathSeparator + classesDirectory);
+        }
+    }
+
+    /**
+     * Returns the directory the annotation processors generate their sources to.
+     *
+     * @param project the project
+     * @return the generated sources directory
+     */
+    public static Path generatedSourcesDirectoryOf(final MavenProject project) {
+        return Paths.get(project.getBuild().getDirectory()).resolve("generated-sources").resolve("annotations");
+    }
+
+    /**
+     * Returns all source files of the provided project, excluding the sources generated by the annotation processors, which are
+     * re-generated by the compilation.
+     *
+     * @param project the project
+     * @return the source files
+     * @throws CodeQualityException in case the source roots couldn't be listed
+     */
+    public static List<File> sourceFilesOf(final MavenProject project) {
+        final Path generatedSourcesDirectory = generatedSourcesDirectoryOf(project).toAbsolutePath();
+
+        return project.getCompileSourceRoots().stream()
+            .map(Paths::get)
+            .filter(it -> Files.isDirectory(it) && !it.toAbsolutePath().equals(generatedSourcesDirectory))
+            .flatMap(AnalysisCompilation::javaFilesOf)
+            .toList();
+    }
+
+    private static Stream<File> javaFilesOf(final Path sourceRoot) {
+        try (Stream<Path> paths = Files.walk(sourceRoot)) {
+            return paths.filter(it -> Files.isRegularFile(it) && it.toString().endsWith(".java"))
+                .map(Path::toFile)
+                .toList()
+                .stream();
+        } catch (final IOException e) {
+            throw new CodeQualityException("Failed to list the source files of " + sourceRoot, e);
+        }
+    }
+}
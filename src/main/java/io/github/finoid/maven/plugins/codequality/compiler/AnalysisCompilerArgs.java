@@ -0,0 +1,185 @@
+package io.github.finoid.maven.plugins.codequality.compiler;
+
+import io.github.finoid.maven.plugins.codequality.exceptions.CodeQualityException;
+import lombok.experimental.UtilityClass;
+import org.apache.maven.artifact.DependencyResolutionRequiredException;
+import org.apache.maven.execution.MavenSession;
+import org.apache.maven.project.MavenProject;
+import org.jspecify.annotations.Nullable;
+import org.twdata.maven.mojoexecutor.MojoExecutor;
+
+import java.io.File;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.ListIterator;
+import java.util.Map;
+
+import static org.twdata.maven.mojoexecutor.MojoExecutor.element;
+
+/**
+ * Compiler arguments shared by the compiler based analyzers, such as ErrorProne and Checker Framework.
+ */
+@UtilityClass
+public class AnalysisCompilerArgs {
+    // JEP 396: Strongly encapsulate JDK internals (see Error Prone and Checker Framework docs)
+    static final List<String> JDK_COMPILER_EXPORTED_PACKAGES = List.of(
+        "com.sun.tools.javac.api",
+        "com.sun.tools.javac.file",
+        "com.sun.tools.javac.main",
+        "com.sun.tools.javac.model",
+        "com.sun.tools.javac.parser",
+        "com.sun.tools.javac.processing",
+        "com.sun.tools.javac.tree",
+        "com.sun.tools.javac.util"
+    );
+
+    static final List<String> JDK_COMPILER_OPENED_PACKAGES = List.of(
+        "com.sun.tools.javac.code",
+        "com.sun.tools.javac.comp"
+    );
+
+    // Lint config (suppress specific warnings; lombok/JPMS compatibility)
+    // The -processing suppress "No processor claimed any of these annotations"
+    private static final String LINT = "-Xlint:all,-serial,-processing,-requires-transitive-automatic,-missing-explicit-ctor,-exports,-requires-automatic";
+
+    // javac reports at most 100 errors and 100 warnings by default, which would truncate the violations of a module
+    private static final String DIAGNOSTIC_LIMIT = String.valueOf(Integer.MAX_VALUE);
+
+    /**
+     * Adds the caller-provided compiler args.
+     *
+     * @param args         the compiler args to add to
+     * @param compilerArgs the caller-provided compiler args
+     */
+    public static void addCallerArgs(final List<String> args, final Iterable<String> compilerArgs) {
+        for (final String a : compilerArgs) {
+            args.add(a);
+        }
+    }
+
+    /**
+     * Adds the lint configuration.
+     *
+     * @param args the compiler args to add to
+     */
+    public static void addLint(final List<String> args) {
+        args.add(LINT);
+    }
+
+    /**
+     * Adds the limits of the errors and warnings reported by javac, lifting the defaults such that every compilation mode reports every
+     * diagnostic of the analyzers. Overrides the limits of the caller-provided compiler args, hence added after them.
+     *
+     * @param args the compiler args to add to
+     */
+    public static void addDiagnosticLimits(final List<String> args) {
+        args.add("-Xmaxerrs");
+        args.add(DIAGNOSTIC_LIMIT);
+        args.add("-Xmaxwarns");
+        args.add(DIAGNOSTIC_LIMIT);
+    }
+
+    /**
+     * Adds the compile classpath of the current project, where entries referencing reactor artifacts are swapped for
+     * {@code <buildDirectory>/<classesDirectory>} of the corresponding reactor project.
+     *
+     * @param args             the compiler args to add to
+     * @param session          the maven session
+     * @param classesDirectory the name of the classes directory the analyzer compiles to
+     * @throws CodeQualityException if the compile classpath couldn't be resolved
+     */
+    public static void addClassPath(final List<String> args, final MavenSession session, final String classesDirectory) {
+        final MavenProject current = session.getCurrentProject();
+
+        final List<String> rawClasspath;
+        try {
+            // includes reactor target/classes
+            rawClasspath = new ArrayList<>(current.getCompileClasspathElements());
+        } catch (final DependencyResolutionRequiredException e) {
+            throw new CodeQualityException("Failed to resolve compile classpath", e);
+        }
+
+        // Looked up by the file name of the entry, rather than matching every entry against every reactor project
+        final Map<String, String> classesDirectoryByArtifactFileName = classesDirectoryByArtifactFileNameOf(session, classesDirectory);
+
+        // Replace classpath where entries referencing reactor artifacts
+        // are swapped for their <buildDirectory>/<classesDirectory>
+        for (final ListIterator<String> it = rawClasspath.listIterator(); it.hasNext(); ) {
+            @Nullable
+            final String nullableReplacement = classesDirectoryByArtifactFileName.get(fileNameOf(it.next()));
+
+            if (nullableReplacement != null) {
+                it.set(nullableReplacement);
+            }
+        }
+
+        final String classpath = String.join(File.pathSeparator, rawClasspath);
+
+        args.add("-cp");
+        args.add(classpath);
+    }
+
+    private static Map<String, String> classesDirectoryByArtifactFileNameOf(final MavenSession session, final String classesDirectory) {
+        final Map<String, String> classesDirectoryByArtifactFileName = new HashMap<>();
+
+        for (final MavenProject mavenProject : session.getAllProjects()) {
+            if (mavenProject.getBuild() == null || mavenProject.getBuild().getFinalName() == null) {
+                continue;
+            }
+
+            final String artifactFileName = mavenProject.getArtifact().getArtifactId() + "-" + mavenProject.getArtifact().getVersion() + ".jar";
+
+            // The first reactor project wins, as the classpath entry used to be replaced by the first matching project
+            classesDirectoryByArtifactFileName.putIfAbsent(artifactFileName,
+                Paths.get(mavenProject.getBuild().getDirectory(), classesDirectory).toString());
+        }
+
+        return classesDirectoryByArtifactFileName;
+    }
+
+    private static String fileNameOf(final String classpathEntry) {
+        final int separatorIndex = Math.max(classpathEntry.lastIndexOf('/'), classpathEntry.lastIndexOf('\\'));
+
+        return classpathEntry.substring(separatorIndex + 1);
+    }
+
+    /**
+     * Returns the exports and opens of the {@code jdk.compiler} module required by the analyzers, as {@code -J} flags of a forked javac.
+     *
+     * @return the JDK compiler access args
+     */
+    static List<String> jdkCompilerAccessArgs() {
+        return jdkCompilerAccessJvmArgs().stream()
+            .map(it -> "-J" + it)
+            .toList();
+    }
+
+    /**
+     * Returns the exports and opens of the {@code jdk.compiler} module required by the analyzers, as flags of a java process.
+     *
+     * @return the JDK compiler access JVM args
+     */
+    static List<String> jdkCompilerAccessJvmArgs() {
+        final List<String> args = new ArrayList<>();
+
+        // Due to JEP 396: Strongly Encapsulate JDK Internals by Default - See https://errorprone.info/docs/installation
+        JDK_COMPILER_EXPORTED_PACKAGES.forEach(p -> args.add("--add-exports=jdk.compiler/" + p + "=ALL-UNNAMED"));
+        JDK_COMPILER_OPENED_PACKAGES.forEach(p -> args.add("--add-opens=jdk.compiler/" + p + "=ALL-UNNAMED"));
+
+        return args;
+    }
+
+    /**
+     * Converts the compiler args into {@code <arg>} elements of the maven-compiler-plugin configuration.
+     *
+     * @param args the compiler args
+     * @return the compiler arg elements
+     */
+    static List<MojoExecutor.Element> elementsOf(final List<String> args) {
+        return args.stream()
+            .map(it -> element(MojoExecutor.name("arg"), it))
+            .toList();
+    }
+}
@@ -0,0 +1,61 @@
+package io.github.finoid.maven.plugins.codequality.compiler;
+
+import io.github.finoid.maven.plugins.codequality.configuration.AnnotationProcessorPaths;
+import io.github.finoid.maven.plugins.codequality.exceptions.CodeQualityException;
+import io.github.finoid.maven.plugins.codequality.util.Precondition;
+import org.apache.maven.execution.MavenSession;
+import org.eclipse.aether.RepositorySystem;
+import org.eclipse.aether.artifact.DefaultArtifact;
+import org.eclipse.aether.collection.CollectRequest;
+import org.eclipse.aether.graph.Dependency;
+import org.eclipse.aether.resolution.ArtifactResult;
+import org.eclipse.aether.resolution.DependencyRequest;
+import org.eclipse.aether.resolution.DependencyResolutionException;
+import org.eclipse.aether.util.artifact.JavaScopes;
+
+import javax.inject.Inject;
+import javax.inject.Singleton;
+import java.io.File;
+import java.util.List;
+
+/**
+ * Resolves the annotation processor paths of an {@link AnalysisCompilation}, including their transitive dependencies, the same way the
+ * maven-compiler-plugin resolves its {@code annotationProcessorPaths}.
+ */
+@Singleton
+public class AnalyzerArtifactResolver {
+    private final RepositorySystem repositorySystem;
+    private final MavenSession mavenSession;
+
+    @Inject
+    public AnalyzerArtifactResolver(final RepositorySystem repositorySystem, final MavenSession mavenSession) {
+        this.repositorySystem = Precondition.nonNull(repositorySystem, "RepositorySystem shouldn't be null");
+        this.mavenSession = Precondition.nonNull(mavenSession, "MavenSession shouldn't be null");
+    }
+
+    /**
+     * Resolves the provided annotation processor paths.
+     *
+     * @param processorPaths the annotation processor paths
+     * @return the resolved files, including the transitive dependencies
+     * @throws CodeQualityException in case any of the artifacts couldn't be resolved
+     */
+    public List<File> resolve(final List<AnnotationProcessorPaths> processorPaths) {
+        final CollectRequest collectRequest = new CollectRequest();
+        collectRequest.setRepositories(mavenSession.getCurrentProject().getRemoteProjectRepositories());
+
+        processorPaths.forEach(it -> collectRequest.addDependency(
+            new Dependency(new DefaultArtifact(it.getGroupId(), it.getArtifactId(), "jar", it.getVersion()), JavaScopes.RUNTIME)));
+
+        try {
+            return repositorySystem.resolveDependencies(mavenSession.getRepositorySession(), new DependencyRequest(collectRequest, null))
+                .getArtifactResults()
+                .stream()
+                .map(ArtifactResult::getArtifact)
+                .map(org.eclipse.aether.artifact.Artifact::getFile)
+                .toList();
+        } catch (final DependencyResolutionException e) {
+            throw new CodeQualityException("Failed to resolve the annotation processor paths", e);
+        }
+    }
+}
@@ -0,0 +1,25 @@
+package io.github.finoid.maven.plugins.codequality.compiler;
+
+/**
+ * How the compiler based analyzers, such as ErrorProne and Checker Framework, compile the sources of a module.
+ */
+public enum CompilationMode {
+    /**
+     * Forks a javac process, through the maven-compiler-plugin, per module and analyzer.
+     */
+    FORKED,
+    /**
+     * Compiles within the Maven JVM through {@code javax.tools}, collecting the compiler diagnostics directly.
+     * <p>
+     * Requires the Maven JVM to export and open the {@code jdk.compiler} internals to the analyzers, e.g. through {@code .mvn/jvm.config}.
+     * Falls back to {@link #FORKED} when it doesn't.
+     */
+    IN_PROCESS,
+    /**
+     * Compiles within a long-lived local analysis daemon, started on demand and shared by every module and consecutive build on the machine.
+     * <p>
+     * The daemon keeps the analyzers loaded and JIT compiled between compilations, and shuts down once idle for
+     * {@link io.github.finoid.maven.plugins.codequality.configuration.CodeQualityConfiguration#getDaemonIdleTimeoutMinutes()}.
+     */
+    DAEMON
+}
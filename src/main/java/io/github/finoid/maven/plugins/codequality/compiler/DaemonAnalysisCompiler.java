@@ -0,0 +1,313 @@
+package io.github.finoid.maven.plugins.codequality.compiler;
+
+import com.fasterxml.jackson.annotation.JsonAutoDetect;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.github.finoid.maven.plugins.codequality.compiler.daemon.AnalysisDaemon;
+import io.github.finoid.maven.plugins.codequality.compiler.daemon.DaemonDiagnostic;
+import io.github.finoid.maven.plugins.codequality.compiler.daemon.DaemonEndpoint;
+import io.github.finoid.maven.plugins.codequality.compiler.daemon.DaemonProtocol;
+import io.github.finoid.maven.plugins.codequality.compiler.daemon.DaemonRequest;
+import io.github.finoid.maven.plugins.codequality.compiler.daemon.DaemonResponse;
+import io.github.finoid.maven.plugins.codequality.configuration.CodeQualityConfiguration;
+import io.github.finoid.maven.plugins.codequality.exceptions.CodeQualityException;
+import io.github.finoid.maven.plugins.codequality.util.Precondition;
+import org.apache.maven.execution.MavenSession;
+import org.apache.maven.plugin.logging.Log;
+import org.jspecify.annotations.Nullable;
+
+import javax.inject.Inject;
+import javax.inject.Named;
+import javax.inject.Singleton;
+import javax.tools.Diagnostic;
+import javax.tools.JavaFileObject;
+import javax.tools.ToolProvider;
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.Socket;
+import java.net.URISyntaxException;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Compiles an {@link AnalysisCompilation} within the local {@link AnalysisDaemon}, see {@link CompilationMode#DAEMON}.
+ * <p>
+ * The daemon is looked up through the endpoint file of its daemon directory, {@code ~/.m2/codequality/daemon/<key>}, where the key is
+ * derived from the JDK, plugin and analyzer versions. A daemon is started if none is running, guarded by a file lock such that concurrent
+ * builds and modules share a single daemon per key.
+ */
+@Named("daemon")
+@Singleton
+public class DaemonAnalysisCompiler implements DiagnosticAnalysisCompiler {
+    private static final Path DAEMONS_DIRECTORY = Paths.get(System.getProperty("user.home"), ".m2", "codequality", "daemon");
+    private static final String LOCK_FILENAME = "daemon.lock";
+    private static final String LOG_FILENAME = "daemon.log";
+    private static final int KEY_LENGTH = 16;
+    private static final Duration CONNECT_TIMEOUT = Duration.ofSeconds(2);
+    private static final Duration STARTUP_TIMEOUT = Duration.ofSeconds(30);
+    private static final Duration STARTUP_POLL_INTERVAL = Duration.ofMillis(100);
+
+    private final AnalyzerArtifactResolver analyzerArtifactResolver;
+    private final MavenSession mavenSession;
+    private final Map<Path, DaemonEndpoint> endpoints = new ConcurrentHashMap<>();
+
+    @Inject
+    public DaemonAnalysisCompiler(final AnalyzerArtifactResolver analyzerArtifactResolver, final MavenSession mavenSession) {
+        this.analyzerArtifactResolver = Precondition.nonNull(analyzerArtifactResolver, "AnalyzerArtifactResolver shouldn't be null");
+        this.mavenSession = Precondition.nonNull(mavenSession, "MavenSession shouldn't be null");
+    }
+
+    @Override
+    public boolean isApplicable(final CodeQualityConfiguration codeQualityConfiguration, final Log log) {
+        if (codeQualityConfiguration.getCompilationMode() != CompilationMode.DAEMON) {
+            return false;
+        }
+
+        if (ToolProvider.getSystemJavaCompiler() != null) {
+            return true;
+        }
+
+        log.warn("The analysis daemon requires Maven to run on a JDK. Falling back to forked compilation");
+
+        return false;
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @throws CodeQualityException in case the daemon couldn't be reached or the compilation failed
+     */
+    @Override
+    public List<Diagnostic<? extends JavaFileObject>> compile(final AnalysisCompilation compilation,
+                                                              final CodeQualityConfiguration codeQualityConfiguration) {
+        final List<File> processorPath = analyzerArtifactResolver.resolve(compilation.processorPaths());
+
+        final ResolvedAnalysisCompilation resolvedCompilation =
+            ResolvedAnalysisCompilation.of(compilation, mavenSession.getCurrentProject(), processorPath);
+
+        if (resolvedCompilation.sourceFiles().isEmpty()) {
+            return List.of();
+        }
+
+        final Path daemonDirectory = DAEMONS_DIRECTORY.resolve(keyOf(processorPath));
+
+        final DaemonResponse response = request(daemonDirectory, resolvedCompilation, codeQualityConfiguration);
+
+        if (!response.success()) {
+            throw new CodeQualityException("Analysis daemon compilation failure: " + response.nullableError());
+        }
+
+        return response.diagnostics().stream()
+            .<Diagnostic<? extends JavaFileObject>>map(DaemonDiagnostic::toDiagnostic)
+            .toList();
+    }
+
+    private DaemonResponse request(final Path daemonDirectory, final ResolvedAnalysisCompilation resolvedCompilation,
+                                   final CodeQualityConfiguration codeQualityConfiguration) {
+        try {
+            return send(endpointOf(daemonDirectory, codeQualityConfiguration), resolvedCompilation);
+        } catch (final IOException e) {
+            // The daemon may have shut down by its idle timeout in between, retry once with a new daemon
+            endpoints.remove(daemonDirectory);
+        }
+
+        try {
+            return send(endpointOf(daemonDirectory, codeQualityConfiguration), resolvedCompilation);
+        } catch (final IOException e) {
+            throw new CodeQualityException("Failed to reach the analysis daemon, see " + daemonDirectory.resolve(LOG_FILENAME), e);
+        }
+    }
+
+    private static DaemonResponse send(final DaemonEndpoint endpoint, final ResolvedAnalysisCompilation resolvedCompilation) throws IOException {
+        final DaemonRequest request = new DaemonRequest(endpoint.token(), resolvedCompilation.options(),
+            pathsOf(resolvedCompilation.sourceFiles()), pathsOf(resolvedCompilation.processorPath()));
+
+        try (Socket socket = connect(endpoint);
+             BufferedWriter writer = new BufferedWriter(new OutputStreamWriter(socket.getOutputStream(), StandardCharsets.UTF_8));
+             BufferedReader reader = new BufferedReader(new InputStreamReader(socket.getInputStream(), StandardCharsets.UTF_8))) {
+            DaemonProtocol.write(writer, request);
+
+            @Nullable
+            final DaemonResponse nullableResponse = DaemonProtocol.read(reader, DaemonResponse.class);
+
+            if (nullableResponse == null) {
+                throw new IOException("The analysis daemon closed the connection without responding");
+            }
+
+            return nullableResponse;
+        }
+    }
+
+    /**
+     * Returns the endpoint of the running daemon of the provided daemon directory, starting a daemon if none is running.
+     * <p>
+     * Synchronized since the file lock guards against other JVMs only, overlapping locks within the same JVM aren't permitted.
+     */
+    private synchronized DaemonEndpoint endpointOf(final Path daemonDirectory, final CodeQualityConfiguration codeQualityConfiguration) {
+        @Nullable
+        final DaemonEndpoint nullableEndpoint = endpoints.get(daemonDirectory);
+        if (nullableEndpoint != null) {
+            return nullableEndpoint;
+        }
+
+        try {
+            Files.createDirectories(daemonDirectory);
+
+            try (FileChannel channel = FileChannel.open(daemonDirectory.resolve(LOCK_FILENAME), StandardOpenOption.CREATE, StandardOpenOption.WRITE);
+                 FileLock ignored = channel.lock()) {
+                final Optional<DaemonEndpoint> runningEndpoint = DaemonEndpoint.read(daemonDirectory)
+                    .filter(DaemonAnalysisCompiler::isReachable);
+
+                final DaemonEndpoint endpoint = runningEndpoint.isPresent()
+                    ? runningEndpoint.get()
+                    : start(daemonDirectory, codeQualityConfiguration);
+
+                endpoints.put(daemonDirectory, endpoint);
+
+                return endpoint;
+            }
+        } catch (final IOException e) {
+            throw new CodeQualityException("Failed to start the analysis daemon, see " + daemonDirectory.resolve(LOG_FILENAME), e);
+        }
+    }
+
+    private static DaemonEndpoint start(final Path daemonDirectory, final CodeQualityConfiguration codeQualityConfiguration) throws IOException {
+        // A stale endpoint of a daemon that didn't shut down gracefully
+        Files.deleteIfExists(daemonDirectory.resolve(DaemonEndpoint.ENDPOINT_FILENAME));
+
+        final List<String> command = new ArrayList<>();
+        command.add(Paths.get(System.getProperty("java.home"), "bin", "java").toString());
+        command.addAll(AnalysisCompilerArgs.jdkCompilerAccessJvmArgs());
+        command.add("-cp");
+        command.add(daemonClassPath());
+        command.add(AnalysisDaemon.class.getName());
+        command.add(daemonDirectory.toString());
+        command.add(String.valueOf(Duration.ofMinutes(codeQualityConfiguration.getDaemonIdleTimeoutMinutes()).toSeconds()));
+
+        final Process process = new ProcessBuilder(command)
+            .directory(daemonDirectory.toFile())
+            .redirectErrorStream(true)
+            .redirectOutput(ProcessBuilder.Redirect.appendTo(daemonDirectory.resolve(LOG_FILENAME).toFile()))
+            .start();
+
+        return awaitEndpoint(daemonDirectory, process);
+    }
+
+    private static DaemonEndpoint awaitEndpoint(final Path daemonDirectory, final Process process) throws IOException {
+        final long deadline = System.nanoTime() + STARTUP_TIMEOUT.toNanos();
+
+        while (System.nanoTime() < deadline) {
+            final Optional<DaemonEndpoint> endpoint = DaemonEndpoint.read(daemonDirectory);
+            if (endpoint.isPresent()) {
+                return endpoint.get();
+            }
+
+            if (!process.isAlive()) {
+                throw new IOException("The analysis daemon exited during startup with exit code " + process.exitValue());
+            }
+
+            try {
+                Thread.sleep(STARTUP_POLL_INTERVAL.toMillis());
+            } catch (final InterruptedException e) {
+                Thread.currentThread().interrupt();
+
+                throw new IOException("Interrupted while awaiting the analysis daemon startup", e);
+            }
+        }
+
+        process.destroy();
+
+        throw new IOException("The analysis daemon didn't start within " + STARTUP_TIMEOUT);
+    }
+
+    private static boolean isReachable(final DaemonEndpoint endpoint) {
+        try (Socket ignored = connect(endpoint)) {
+            return true;
+        } catch (final IOException e) {
+            return false;
+        }
+    }
+
+    private static Socket connect(final DaemonEndpoint endpoint) throws IOException {
+        final Socket socket = new Socket();
+
+        try {
+            socket.connect(new InetSocketAddress(InetAddress.getLoopbackAddress(), endpoint.port()), (int) CONNECT_TIMEOUT.toMillis());
+        } catch (final IOException e) {
+            socket.close();
+
+            throw e;
+        }
+
+        return socket;
+    }
+
+    /**
+     * Returns the key of the daemon compiling with the provided processor path. The processor path entries are the versioned artifacts of the
+     * local repository, such that a version change of the JDK, the plugin or any of the analyzers results in a new key.
+     */
+    private static String keyOf(final List<File> processorPath) {
+        final List<String> versions = new ArrayList<>();
+        versions.add(System.getProperty("java.home"));
+        versions.add(Runtime.version().toString());
+        versions.add(daemonClassPath());
+        processorPath.forEach(it -> versions.add(it.getAbsolutePath() + "@" + it.lastModified()));
+
+        try {
+            final MessageDigest messageDigest = MessageDigest.getInstance("SHA-256");
+            messageDigest.update(String.join("\n", versions).getBytes(StandardCharsets.UTF_8));
+
+            return HexFormat.of()
+                .formatHex(messageDigest.digest())
+                .substring(0, KEY_LENGTH);
+        } catch (final NoSuchAlgorithmException e) {
+            throw new CodeQualityException("Failed to derive the analysis daemon key", e);
+        }
+    }
+
+    /**
+     * Returns the class path of the daemon process, i.e. the plugin itself and the JSON library of the {@link DaemonProtocol}.
+     */
+    private static String daemonClassPath() {
+        return Stream.of(AnalysisDaemon.class, ObjectMapper.class, JsonFactory.class, JsonAutoDetect.class)
+            .map(DaemonAnalysisCompiler::locationOf)
+            .distinct()
+            .collect(Collectors.joining(File.pathSeparator));
+    }
+
+    private static String locationOf(final Class<?> type) {
+        try {
+            return Paths.get(type.getProtectionDomain().getCodeSource().getLocation().toURI()).toString();
+        } catch (final URISyntaxException e) {
+            throw new CodeQualityException("Failed to locate " + type.getName(), e);
+        }
+    }
+
+    private static List<String> pathsOf(final List<File> files) {
+        return files.stream()
+            .map(File::getAbsolutePath)
+            .toList();
+    }
+}
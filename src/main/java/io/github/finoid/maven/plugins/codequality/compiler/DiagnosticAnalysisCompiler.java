@@ -0,0 +1,50 @@
+package io.github.finoid.maven.plugins.codequality.compiler;
+
+import io.github.finoid.maven.plugins.codequality.configuration.CodeQualityConfiguration;
+import io.github.finoid.maven.plugins.codequality.exceptions.CodeQualityException;
+import org.apache.maven.plugin.logging.Log;
+
+import javax.tools.Diagnostic;
+import javax.tools.JavaFileObject;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * A contract for compiling an {@link AnalysisCompilation} while collecting the compiler diagnostics directly, as opposed to the
+ * {@link ForkedAnalysisCompiler} whose diagnostics are parsed from the captured compiler log.
+ */
+public interface DiagnosticAnalysisCompiler {
+    /**
+     * Whether the compilation should be executed by this compiler, i.e. whether its {@link CompilationMode} is configured and supported.
+     *
+     * @param codeQualityConfiguration the code quality configuration
+     * @param log                      the mojo logger
+     * @return {@code true} if applicable, {@code false} otherwise
+     */
+    boolean isApplicable(final CodeQualityConfiguration codeQualityConfiguration, final Log log);
+
+    /**
+     * Compiles the current module.
+     *
+     * @param compilation              the compilation
+     * @param codeQualityConfiguration the code quality configuration
+     * @return the diagnostics reported by the compiler and the analyzers
+     * @throws CodeQualityException in case the compilation failed
+     */
+    List<Diagnostic<? extends JavaFileObject>> compile(final AnalysisCompilation compilation, final CodeQualityConfiguration codeQualityConfiguration);
+
+    /**
+     * Returns the first applicable of the provided compilers.
+     *
+     * @param compilers                the compilers
+     * @param codeQualityConfiguration the code quality configuration
+     * @param log                      the mojo logger
+     * @return the applicable compiler, or empty if the compilation should be forked
+     */
+    static Optional<DiagnosticAnalysisCompiler> applicableOf(final List<DiagnosticAnalysisCompiler> compilers,
+                                                             final CodeQualityConfiguration codeQualityConfiguration, final Log log) {
+        return compilers.stream()
+            .filter(it -> it.isApplicable(codeQualityConfiguration, log))
+            .findFirst();
+    }
+}
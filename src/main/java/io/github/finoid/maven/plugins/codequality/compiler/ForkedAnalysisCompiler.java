@@ -0,0 +1,234 @@
+package io.github.finoid.maven.plugins.codequality.compiler;
+
+import io.github.finoid.maven.plugins.codequality.configuration.CodeQualityConfiguration;
+import io.github.finoid.maven.plugins.codequality.util.MojoUtils.ElementUtils;
+import io.github.finoid.maven.plugins.codequality.util.MojoUtils.PluginUtils;
+import io.github.finoid.maven.plugins.codequality.util.Precondition;
+import org.apache.maven.execution.MavenSession;
+import org.apache.maven.plugin.BuildPluginManager;
+import org.apache.maven.plugin.MojoExecutionException;
+import org.apache.maven.plugin.descriptor.PluginDescriptor;
+import org.apache.maven.project.MavenProject;
+import org.jspecify.annotations.Nullable;
+import org.twdata.maven.mojoexecutor.MojoExecutor;
+
+import javax.inject.Inject;
+import javax.inject.Singleton;
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.twdata.maven.mojoexecutor.MojoExecutor.configuration;
+import static org.twdata.maven.mojoexecutor.MojoExecutor.element;
+import static org.twdata.maven.mojoexecutor.MojoExecutor.executeMojo;
+import static org.twdata.maven.mojoexecutor.MojoExecutor.executionEnvironment;
+import static org.twdata.maven.mojoexecutor.MojoExecutor.goal;
+
+/**
+ * Compiles an {@link AnalysisCompilation} by forking a javac process through the maven-compiler-plugin.
+ * <p>
+ * The compiler output is captured by the {@link io.github.finoid.maven.plugins.codequality.MojoLogDecoratorExecutionListener}, based on
+ * the classes directory of the compilation.
+ * <p>
+ * A partial compilation, see {@link AnalysisCompilation#isPartial()}, is narrowed down to its source files through the {@code includes} of
+ * the maven-compiler-plugin, resolving the other classes of the module from the classes directory. The classes of the included source files
+ * are deleted beforehand, since the maven-compiler-plugin skips the source files whose classes are up-to-date. For the same reason, a full
+ * compilation following a partial one deletes every class of the classes directory beforehand, as it would otherwise find nothing to compile.
+ */
+@Singleton
+public class ForkedAnalysisCompiler {
+    private static final String PARTIAL_COMPILATION_MARKER_FILE_NAME = ".partial-compilation";
+
+    private final MavenSession mavenSession;
+    private final BuildPluginManager pluginManager;
+
+    @Inject
+    public ForkedAnalysisCompiler(final MavenSession mavenSession, final BuildPluginManager pluginManager) {
+        this.mavenSession = Precondition.nonNull(mavenSession, "MavenSession shouldn't be null");
+        this.pluginManager = Precondition.nonNull(pluginManager, "BuildPluginManager shouldn't be null");
+    }
+
+    /**
+     * Compiles the current module.
+     *
+     * @param compilation              the compilation
+     * @param codeQualityConfiguration the code quality configuration
+     * @throws MojoExecutionException in case the compilation failed
+     */
+    public void compile(final AnalysisCompilation compilation, final CodeQualityConfiguration codeQualityConfiguration) throws MojoExecutionException {
+        compile(compilation, codeQualityConfiguration, null);
+    }
+
+    /**
+     * Compiles the current module, additionally writing the diagnostics of the analyzers to the provided file, see
+     * {@link StructuredDiagnosticsPlugin}. A file of a previous compilation is deleted beforehand.
+     *
+     * @param compilation              the compilation
+     * @param codeQualityConfiguration the code quality configuration
+     * @param nullableDiagnosticsFile  the structured diagnostics file, see {@link StructuredDiagnostics#fileOf}, or {@code null}
+     * @throws MojoExecutionException in case the compilation failed
+     */
+    public void compile(final AnalysisCompilation compilation, final CodeQualityConfiguration codeQualityConfiguration,
+                        @Nullable final Path nullableDiagnosticsFile) throws MojoExecutionException {
+        if (nullableDiagnosticsFile != null) {
+            deleteIfExists(nullableDiagnosticsFile);
+        }
+
+        final PluginDescriptor descriptor =
+            PluginUtils.pluginDescriptor("org.apache.maven.plugins", "maven-compiler-plugin", codeQualityConfiguration.getVersions().getMavenCompiler());
+
+        final MavenProject currentProject = mavenSession.getCurrentProject();
+
+        final File currentProjectArtifactFile = currentProject.getArtifact()
+            .getFile();
+
+        final Path outputDirectory = Paths.get(currentProject.getBuild().getDirectory(), compilation.classesDirectory());
+
+        final List<MojoExecutor.Element> elements = new ArrayList<>(List.of(
+            element(MojoExecutor.name("fork"), "true"), // To be able to apply javac flags, see elementsOfCompilerArgs
+            element(MojoExecutor.name("source"), compilation.javaVersion()),
+            element(MojoExecutor.name("target"), compilation.javaVersion()),
+            element(MojoExecutor.name("release"), compilation.javaVersion()),
+            element("outputDirectory", outputDirectory.toString()),
+            element("failOnError", "true"),
+            element(MojoExecutor.name("showWarnings"), "true"),
+            element(MojoExecutor.name("compilerArgs"), elementsOfCompilerArgs(compilation, outputDirectory, nullableDiagnosticsFile)
+                .toArray(MojoExecutor.Element[]::new)),
+            element(MojoExecutor.name("annotationProcessorPaths"), elementsOfAnnotationProcessorPaths(compilation, nullableDiagnosticsFile)
+                .toArray(MojoExecutor.Element[]::new))
+        ));
+
+        if (!compilation.processors().isEmpty()) {
+            elements.add(element(MojoExecutor.name("annotationProcessors"), elementsOfAnnotationProcessors(compilation)
+                .toArray(MojoExecutor.Element[]::new)));
+        }
+
+        if (compilation.isPartial()) {
+            final List<String> includes = includesOf(compilation, currentProject);
+
+            deleteClassFilesOf(includes, outputDirectory);
+            markPartialCompilation(outputDirectory);
+
+            // The incremental compilation of the maven-compiler-plugin deletes every class of its previous compilation upon a change
+            elements.add(element(MojoExecutor.name("useIncrementalCompilation"), "false"));
+            elements.add(element(MojoExecutor.name("includes"), includes.stream()
+                .map(it -> element(MojoExecutor.name("include"), it))
+                .toArray(MojoExecutor.Element[]::new)));
+        } else if (Files.exists(outputDirectory.resolve(PARTIAL_COMPILATION_MARKER_FILE_NAME))) {
+            deleteClassFilesOf(outputDirectory);
+            deleteIfExists(outputDirectory.resolve(PARTIAL_COMPILATION_MARKER_FILE_NAME));
+        }
+
+        executeMojo(
+            PluginUtils.pluginOfDescriptor(descriptor),
+            goal("compile"),
+            configuration(elements.toArray(MojoExecutor.Element[]::new)),
+            executionEnvironment(currentProject, mavenSession, pluginManager)
+        );
+
+        // Restores the current project's original artifact file, resolving
+        // the error: 'The packaging for this project did not assign a file to the build artifact.'
+        currentProject.getArtifact()
+            .setFile(currentProjectArtifactFile);
+    }
+
+    private static void deleteIfExists(final Path file) throws MojoExecutionException {
+        try {
+            Files.deleteIfExists(file);
+        } catch (final IOException e) {
+            throw new MojoExecutionException("Failed to delete " + file, e);
+        }
+    }
+
+    /**
+     * Returns the source files of the partial compilation relative to their source root, as the {@code includes} of the
+     * maven-compiler-plugin. A source file name containing a wildcard merely includes additional source files.
+     */
+    private static List<String> includesOf(final AnalysisCompilation compilation, final MavenProject project) throws MojoExecutionException {
+        final List<Path> sourceRoots = project.getCompileSourceRoots().stream()
+            .map(it -> Paths.get(it).toAbsolutePath().normalize())
+            .toList();
+
+        final List<String> includes = new ArrayList<>(compilation.sourceFiles().size());
+        for (final File sourceFile : compilation.sourceFiles()) {
+            final Path absoluteSourceFile = sourceFile.toPath().toAbsolutePath().normalize();
+
+            final Path sourceRoot = sourceRoots.stream()
+                .filter(absoluteSourceFile::startsWith)
+                .findFirst()
+                .orElseThrow(() -> new MojoExecutionException("The source file " + sourceFile + " isn't within a source root of the module"));
+
+            includes.add(sourceRoot.relativize(absoluteSourceFile).toString().replace("\\", "/"));
+        }
+
+        return includes;
+    }
+
+    private static void deleteClassFilesOf(final List<String> includes, final Path outputDirectory) throws MojoExecutionException {
+        for (final String include : includes) {
+            deleteIfExists(outputDirectory.resolve(include.substring(0, include.length() - ".java".length()) + ".class"));
+        }
+    }
+
+    private static void deleteClassFilesOf(final Path outputDirectory) throws MojoExecutionException {
+        try (Stream<Path> paths = Files.walk(outputDirectory)) {
+            for (final Path path : paths.filter(it -> it.toString().endsWith(".class")).toList()) {
+                Files.delete(path);
+            }
+        } catch (final IOException e) {
+            throw new MojoExecutionException("Failed to delete the classes of " + outputDirectory, e);
+        }
+    }
+
+    private static void markPartialCompilation(final Path outputDirectory) throws MojoExecutionException {
+        try {
+            Files.createDirectories(outputDirectory);
+            Files.write(outputDirectory.resolve(PARTIAL_COMPILATION_MARKER_FILE_NAME), new byte[0]);
+        } catch (final IOException e) {
+            throw new MojoExecutionException("Failed to mark the partial compilation of " + outputDirectory, e);
+        }
+    }
+
+    private static List<MojoExecutor.Element> elementsOfCompilerArgs(final AnalysisCompilation compilation, final Path outputDirectory,
+                                                                     @Nullable final Path nullableDiagnosticsFile) {
+        final List<String> args = new ArrayList<>(compilation.compilerArgs());
+
+        if (compilation.isPartial()) {
+            AnalysisCompilation.addClassesDirectoryToClassPath(args, outputDirectory);
+        }
+
+        // The forked javac requires the jdk.compiler internals to be exported and opened to the analyzers
+        args.addAll(AnalysisCompilerArgs.jdkCompilerAccessArgs());
+
+        if (nullableDiagnosticsFile != null) {
+            args.add(StructuredDiagnostics.pluginArg(nullableDiagnosticsFile));
+        }
+
+        return AnalysisCompilerArgs.elementsOf(args);
+    }
+
+    private static List<MojoExecutor.Element> elementsOfAnnotationProcessorPaths(final AnalysisCompilation compilation,
+                                                                                 @Nullable final Path nullableDiagnosticsFile) {
+        final List<MojoExecutor.Element> elements = new ArrayList<>(compilation.processorPaths().stream()
+            .map(it -> ElementUtils.annotationProcessor(it.getGroupId(), it.getArtifactId(), it.getVersion()))
+            .toList());
+
+        if (nullableDiagnosticsFile != null) {
+            elements.add(StructuredDiagnostics.processorPath());
+        }
+
+        return elements;
+    }
+
+    private static List<MojoExecutor.Element> elementsOfAnnotationProcessors(final AnalysisCompilation compilation) {
+        return compilation.processors().stream()
+            .sorted()
+            .map(annotationProcessor -> element(MojoExecutor.name("annotationProcessor"), annotationProcessor))
+            .toList();
+    }
+}
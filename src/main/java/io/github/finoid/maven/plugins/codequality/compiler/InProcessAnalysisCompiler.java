@@ -0,0 +1,96 @@
+package io.github.finoid.maven.plugins.codequality.compiler;
+
+import io.github.finoid.maven.plugins.codequality.configuration.CodeQualityConfiguration;
+import io.github.finoid.maven.plugins.codequality.exceptions.CodeQualityException;
+import io.github.finoid.maven.plugins.codequality.util.Precondition;
+import org.apache.maven.execution.MavenSession;
+import org.apache.maven.plugin.logging.Log;
+
+import javax.inject.Inject;
+import javax.inject.Named;
+import javax.inject.Singleton;
+import javax.tools.Diagnostic;
+import javax.tools.JavaFileObject;
+import javax.tools.ToolProvider;
+import java.io.File;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Compiles an {@link AnalysisCompilation} within the Maven JVM through {@code javax.tools}, see {@link CompilationMode#IN_PROCESS}.
+ * <p>
+ * The analyzers are loaded once per processor path by the {@link JavacAnalysisEngine} and reused by every module of the build. The compiler
+ * diagnostics are collected as is, avoiding the round trip through the captured compiler log.
+ */
+@Named("in-process")
+@Singleton
+public class InProcessAnalysisCompiler implements DiagnosticAnalysisCompiler {
+    private final AnalyzerArtifactResolver analyzerArtifactResolver;
+    private final MavenSession mavenSession;
+    private final JavacAnalysisEngine javacAnalysisEngine = new JavacAnalysisEngine();
+
+    @Inject
+    public InProcessAnalysisCompiler(final AnalyzerArtifactResolver analyzerArtifactResolver, final MavenSession mavenSession) {
+        this.analyzerArtifactResolver = Precondition.nonNull(analyzerArtifactResolver, "AnalyzerArtifactResolver shouldn't be null");
+        this.mavenSession = Precondition.nonNull(mavenSession, "MavenSession shouldn't be null");
+    }
+
+    @Override
+    public boolean isApplicable(final CodeQualityConfiguration codeQualityConfiguration, final Log log) {
+        if (codeQualityConfiguration.getCompilationMode() != CompilationMode.IN_PROCESS) {
+            return false;
+        }
+
+        if (isSupported()) {
+            return true;
+        }
+
+        log.warn("In-process compilation requires the Maven JVM to export and open the jdk.compiler internals to ALL-UNNAMED, "
+                 + "e.g. through .mvn/jvm.config. Falling back to forked compilation");
+
+        return false;
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @throws CodeQualityException in case the compilation failed
+     */
+    @Override
+    public List<Diagnostic<? extends JavaFileObject>> compile(final AnalysisCompilation compilation,
+                                                              final CodeQualityConfiguration codeQualityConfiguration) {
+        final List<File> processorPath = analyzerArtifactResolver.resolve(compilation.processorPaths());
+
+        final ResolvedAnalysisCompilation resolvedCompilation =
+            ResolvedAnalysisCompilation.of(compilation, mavenSession.getCurrentProject(), processorPath);
+
+        if (resolvedCompilation.sourceFiles().isEmpty()) {
+            return List.of();
+        }
+
+        return javacAnalysisEngine.compile(resolvedCompilation.options(), resolvedCompilation.sourceFiles(), resolvedCompilation.processorPath());
+    }
+
+    /**
+     * Whether the Maven JVM exports and opens the {@code jdk.compiler} internals required by the analyzers to unnamed modules.
+     *
+     * @return {@code true} if supported, {@code false} otherwise
+     */
+    static boolean isSupported() {
+        if (ToolProvider.getSystemJavaCompiler() == null) {
+            return false;
+        }
+
+        final Optional<Module> compilerModule = ModuleLayer.boot()
+            .findModule("jdk.compiler");
+
+        if (compilerModule.isEmpty()) {
+            return false;
+        }
+
+        final Module unnamedModule = InProcessAnalysisCompiler.class.getModule();
+
+        return AnalysisCompilerArgs.JDK_COMPILER_EXPORTED_PACKAGES.stream().allMatch(it -> compilerModule.get().isExported(it, unnamedModule))
+            && AnalysisCompilerArgs.JDK_COMPILER_OPENED_PACKAGES.stream().allMatch(it -> compilerModule.get().isOpen(it, unnamedModule));
+    }
+}
@@ -0,0 +1,136 @@
+package io.github.finoid.maven.plugins.codequality.compiler;
+
+import io.github.finoid.maven.plugins.codequality.exceptions.CodeQualityException;
+import io.github.finoid.maven.plugins.codequality.util.Precondition;
+import org.jspecify.annotations.Nullable;
+
+import javax.tools.Diagnostic;
+import javax.tools.DiagnosticCollector;
+import javax.tools.ForwardingJavaFileManager;
+import javax.tools.JavaCompiler;
+import javax.tools.JavaFileManager;
+import javax.tools.JavaFileObject;
+import javax.tools.StandardJavaFileManager;
+import javax.tools.StandardLocation;
+import javax.tools.ToolProvider;
+import java.io.File;
+import java.io.IOException;
+import java.net.MalformedURLException;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+/**
+ * Compiles sources through {@code javax.tools} with the analyzers of the processor path attached, shared by the in-process compilation and
+ * the analysis daemon.
+ * <p>
+ * The analyzers are loaded by an isolated class loader, consisting of the processor path, which is reused by every compilation of the same
+ * processor path. Hence, the loaded analyzer classes - and the code the JIT compiled for them - outlive a single compilation.
+ * <p>
+ * Intentionally free of any Maven types, since the analysis daemon runs without the Maven runtime on its class path.
+ */
+public final class JavacAnalysisEngine {
+    private final Map<List<File>, ClassLoader> processorClassLoaders = new ConcurrentHashMap<>();
+
+    /**
+     * Compiles the provided source files.
+     *
+     * @param options       the compiler options, including the output directories and the processor path
+     * @param sourceFiles   the source files to compile
+     * @param processorPath the resolved annotation processor path, i.e. the analyzers and their dependencies
+     * @return the diagnostics reported by the compiler and the analyzers
+     * @throws CodeQualityException in case the compilation failed
+     */
+    public List<Diagnostic<? extends JavaFileObject>> compile(final List<String> options, final List<File> sourceFiles,
+                                                              final List<File> processorPath) {
+        final JavaCompiler compiler = Precondition.nonNull(ToolProvider.getSystemJavaCompiler(), "JavaCompiler shouldn't be null");
+
+        final ClassLoader processorClassLoader = processorClassLoaders.computeIfAbsent(List.copyOf(processorPath),
+            it -> processorClassLoaderOf(it, compiler));
+
+        final DiagnosticCollector<JavaFileObject> diagnostics = new DiagnosticCollector<>();
+
+        try (StandardJavaFileManager standardFileManager = compiler.getStandardFileManager(diagnostics, Locale.ROOT, StandardCharsets.UTF_8);
+             JavaFileManager fileManager = new ProcessorClassLoaderFileManager(standardFileManager, processorClassLoader)) {
+            final boolean success = compiler.getTask(null, fileManager, diagnostics, options, null,
+                    standardFileManager.getJavaFileObjectsFromFiles(sourceFiles))
+                .call();
+
+            if (!success) {
+                throw new CodeQualityException("Compilation failure. Errors: " + errorsOf(diagnostics.getDiagnostics()));
+            }
+
+            return diagnostics.getDiagnostics();
+        } catch (final IOException e) {
+            throw new CodeQualityException("Error during analysis compilation", e);
+        }
+    }
+
+    private static String errorsOf(final List<Diagnostic<? extends JavaFileObject>> diagnostics) {
+        return diagnostics.stream()
+            .filter(it -> it.getKind() == Diagnostic.Kind.ERROR)
+            .map(it -> String.format("%s:[%d,%d] %s", it.getSource() == null ? "" : it.getSource().getName(), it.getLineNumber(),
+                it.getColumnNumber(), it.getMessage(Locale.ROOT)))
+            .collect(Collectors.joining(System.lineSeparator()));
+    }
+
+    private static ClassLoader processorClassLoaderOf(final List<File> processorPath, final JavaCompiler compiler) {
+        final URL[] urls = processorPath.stream()
+            .map(JavacAnalysisEngine::urlOf)
+            .toArray(URL[]::new);
+
+        // The analyzers must link against the same jdk.compiler classes as the compiler itself
+        @Nullable
+        final ClassLoader nullableCompilerClassLoader = compiler.getClass().getClassLoader();
+        final ClassLoader parent = nullableCompilerClassLoader != null ? nullableCompilerClassLoader : ClassLoader.getPlatformClassLoader();
+
+        return new NonClosingClassLoader(new URLClassLoader("code-quality-analyzers", urls, parent));
+    }
+
+    private static URL urlOf(final File file) {
+        try {
+            return file.toURI().toURL();
+        } catch (final MalformedURLException e) {
+            throw new CodeQualityException("Invalid processor path entry " + file, e);
+        }
+    }
+
+    /**
+     * Provides the cached processor class loader to the compiler, instead of a new class loader per compilation.
+     */
+    private static final class ProcessorClassLoaderFileManager extends ForwardingJavaFileManager<StandardJavaFileManager> {
+        private final ClassLoader processorClassLoader;
+
+        private ProcessorClassLoaderFileManager(final StandardJavaFileManager fileManager, final ClassLoader processorClassLoader) {
+            super(fileManager);
+            this.processorClassLoader = processorClassLoader;
+        }
+
+        @Override
+        public ClassLoader getClassLoader(final Location location) {
+            if (location == StandardLocation.ANNOTATION_PROCESSOR_PATH) {
+                return processorClassLoader;
+            }
+
+            return super.getClassLoader(location);
+        }
+    }
+
+    /**
+     * The compiler closes the processor class loader once done, if closeable. Hides the {@link URLClassLoader} to allow it to be reused.
+     */
+    private static final class NonClosingClassLoader extends ClassLoader {
+        static {
+            registerAsParallelCapable();
+        }
+
+        private NonClosingClassLoader(final ClassLoader delegate) {
+            super("code-quality-analyzers-delegate", delegate);
+        }
+    }
+}
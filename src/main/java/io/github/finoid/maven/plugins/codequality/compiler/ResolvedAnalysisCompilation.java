@@ -0,0 +1,93 @@
+package io.github.finoid.maven.plugins.codequality.compiler;
+
+import io.github.finoid.maven.plugins.codequality.exceptions.CodeQualityException;
+import io.github.finoid.maven.plugins.codequality.util.Precondition;
+import io.github.finoid.maven.plugins.codequality.util.PropertyUtils;
+import org.apache.maven.project.MavenProject;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * An {@link AnalysisCompilation} of a module resolved into the input of a {@code javax.tools} compilation, see {@link JavacAnalysisEngine}.
+ *
+ * @param options       the compiler options
+ * @param sourceFiles   the source files of the module
+ * @param processorPath the resolved annotation processor path
+ */
+record ResolvedAnalysisCompilation(List<String> options, List<File> sourceFiles, List<File> processorPath) {
+    ResolvedAnalysisCompilation {
+        options = List.copyOf(Precondition.nonNull(options, "Options shouldn't be null"));
+        sourceFiles = List.copyOf(Precondition.nonNull(sourceFiles, "SourceFiles shouldn't be null"));
+        processorPath = List.copyOf(Precondition.nonNull(processorPath, "ProcessorPath shouldn't be null"));
+    }
+
+    /**
+     * Resolves the provided compilation of the provided project, creating its output directories.
+     *
+     * @param compilation   the compilation
+     * @param project       the project to compile
+     * @param processorPath the resolved annotation processor path of the compilation
+     * @return the resolved compilation
+     * @throws CodeQualityException in case the output directories couldn't be created
+     */
+    static ResolvedAnalysisCompilation of(final AnalysisCompilation compilation, final MavenProject project, final List<File> processorPath) {
+        final Path buildDirectory = Paths.get(project.getBuild().getDirectory());
+        final Path outputDirectory = buildDirectory.resolve(compilation.classesDirectory());
+        final Path generatedSourcesDirectory = AnalysisCompilation.generatedSourcesDirectoryOf(project);
+
+        try {
+            Files.createDirectories(outputDirectory);
+            Files.createDirectories(generatedSourcesDirectory);
+        } catch (final IOException e) {
+            throw new CodeQualityException("Failed to create the output directories of " + outputDirectory, e);
+        }
+
+        final List<File> sourceFiles = compilation.isPartial()
+            ? compilation.sourceFiles()
+            : AnalysisCompilation.sourceFilesOf(project);
+
+        return new ResolvedAnalysisCompilation(optionsOf(compilation, project, processorPath, outputDirectory, generatedSourcesDirectory),
+            sourceFiles, processorPath);
+    }
+
+    private static List<String> optionsOf(final AnalysisCompilation compilation, final MavenProject project, final List<File> processorPath,
+                                          final Path outputDirectory, final Path generatedSourcesDirectory) {
+        final List<String> options = new ArrayList<>(compilation.compilerArgs());
+
+        if (compilation.isPartial()) {
+            AnalysisCompilation.addClassesDirectoryToClassPath(options, outputDirectory);
+        }
+
+        options.add("--release");
+        options.add(compilation.javaVersion());
+        options.add("-encoding");
+        options.add(PropertyUtils.valueOrFallback(project.getProperties(), "project.build.sourceEncoding", StandardCharsets.UTF_8.name()));
+        options.add("-d");
+        options.add(outputDirectory.toString());
+        options.add("-s");
+        options.add(generatedSourcesDirectory.toString());
+
+        // Required for the processor path location to exist, the processors are however loaded by the JavacAnalysisEngine
+        options.add("--processor-path");
+        options.add(processorPath.stream()
+            .map(File::getPath)
+            .collect(Collectors.joining(File.pathSeparator)));
+
+        if (!compilation.processors().isEmpty()) {
+            options.add("-processor");
+            options.add(compilation.processors().stream()
+                .sorted()
+                .collect(Collectors.joining(",")));
+        }
+
+        return options;
+    }
+}
@@ -0,0 +1,28 @@
+package io.github.finoid.maven.plugins.codequality.compiler;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import io.github.finoid.maven.plugins.codequality.util.Precondition;
+import org.jspecify.annotations.Nullable;
+
+/**
+ * A diagnostic of an analyzer, as written by the {@link StructuredDiagnosticsPlugin} during a forked compilation.
+ *
+ * @param path           the absolute path of the source file
+ * @param line           the line number
+ * @param nullableColumn the column number, or {@code null} if not associated with a column
+ * @param rule           the rule, i.e. the bracketed prefix of the message
+ * @param message        the message following the rule
+ */
+public record StructuredDiagnostic(
+    String path,
+    int line,
+    @JsonProperty("column") @Nullable Integer nullableColumn,
+    String rule,
+    String message
+) {
+    public StructuredDiagnostic {
+        Precondition.nonNull(path, "Path shouldn't be null");
+        Precondition.nonNull(rule, "Rule shouldn't be null");
+        Precondition.nonNull(message, "Message shouldn't be null");
+    }
+}
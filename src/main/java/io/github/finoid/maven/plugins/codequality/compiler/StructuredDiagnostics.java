@@ -0,0 +1,85 @@
+package io.github.finoid.maven.plugins.codequality.compiler;
+
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import io.github.finoid.maven.plugins.codequality.configuration.CodeQualityConfiguration;
+import io.github.finoid.maven.plugins.codequality.exceptions.CodeQualityException;
+import io.github.finoid.maven.plugins.codequality.util.MojoUtils.ElementUtils;
+import io.github.finoid.maven.plugins.codequality.util.PluginUtils;
+import io.github.finoid.maven.plugins.codequality.util.Precondition;
+import lombok.experimental.UtilityClass;
+import org.apache.maven.project.MavenProject;
+import org.twdata.maven.mojoexecutor.MojoExecutor;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * The structured diagnostics of a forked compilation, written by the {@link StructuredDiagnosticsPlugin} as JSON lines, which spares the
+ * parsing of the compiler log, see {@link CodeQualityConfiguration#isStructuredDiagnostics()}.
+ * <p>
+ * The javac plugin is loaded from the artifact of this maven plugin, hence structured diagnostics are only available if the version of the
+ * artifact is known, i.e. when executed from the packaged artifact.
+ */
+@UtilityClass
+public class StructuredDiagnostics {
+    private static final ObjectReader READER = new ObjectMapper().readerFor(StructuredDiagnostic.class);
+
+    /**
+     * Returns the file the structured diagnostics of the provided analyzer are written to.
+     *
+     * @param codeQualityConfiguration the code quality configuration
+     * @param project                  the current project
+     * @param analyzer                 the analyzer, i.e. the prefix of the file name
+     * @return the file, or empty if the structured diagnostics are disabled or unavailable
+     */
+    public static Optional<Path> fileOf(final CodeQualityConfiguration codeQualityConfiguration, final MavenProject project,
+                                        final String analyzer) {
+        Precondition.nonNull(codeQualityConfiguration, "CodeQualityConfiguration shouldn't be null");
+        Precondition.nonNull(project, "MavenProject shouldn't be null");
+
+        if (!codeQualityConfiguration.isStructuredDiagnostics() || PluginUtils.optionalVersion().isEmpty()) {
+            return Optional.empty();
+        }
+
+        final Path file = Path.of(project.getBuild().getDirectory(), String.format("%s-%s.jsonl", analyzer, project.getModel().getArtifactId()));
+
+        // javac splits the plugin args by whitespace
+        return file.toString().chars().anyMatch(Character::isWhitespace)
+            ? Optional.empty()
+            : Optional.of(file);
+    }
+
+    /**
+     * Reads the structured diagnostics of the provided file.
+     *
+     * @param file the file, see {@link #fileOf(CodeQualityConfiguration, MavenProject, String)}
+     * @return the structured diagnostics, in the order reported
+     * @throws IOException if the file couldn't be read
+     */
+    public static List<StructuredDiagnostic> read(final Path file) throws IOException {
+        Precondition.nonNull(file, "File shouldn't be null");
+
+        try (final MappingIterator<StructuredDiagnostic> diagnostics = READER.readValues(file.toFile())) {
+            return diagnostics.readAll();
+        }
+    }
+
+    /**
+     * Returns the compiler arg enabling the {@link StructuredDiagnosticsPlugin}.
+     */
+    static String pluginArg(final Path file) {
+        return "-Xplugin:" + StructuredDiagnosticsPlugin.NAME + " " + file;
+    }
+
+    /**
+     * Returns the annotation processor path of the {@link StructuredDiagnosticsPlugin}, excluding the dependencies of this maven plugin.
+     */
+    static MojoExecutor.Element processorPath() {
+        return ElementUtils.annotationProcessorWithoutDependencies(PluginUtils.GROUP_ID, PluginUtils.ARTIFACT_ID,
+            PluginUtils.optionalVersion().orElseThrow(() -> new CodeQualityException("The version of the plugin is unknown")));
+    }
+}
@@ -0,0 +1,259 @@
+package io.github.finoid.maven.plugins.codequality.compiler;
+
+import com.sun.source.util.JavacTask;
+import com.sun.source.util.Plugin;
+import com.sun.source.util.TaskEvent;
+import com.sun.source.util.TaskListener;
+
+import javax.tools.Diagnostic;
+import javax.tools.JavaFileObject;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Field;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Locale;
+import java.util.function.IntSupplier;
+import java.util.function.Predicate;
+
+/**
+ * A javac plugin which writes the diagnostics of the analyzers of a forked compilation to a file, one JSON object per line, see
+ * {@link StructuredDiagnostic}. Enabled through {@code -Xplugin:CodeQualityDiagnostics <file>}, see {@link StructuredDiagnostics}.
+ * <p>
+ * javac offers no public API to observe the diagnostics of a command line compilation. The plugin therefore installs a
+ * {@code Log.DeferredDiagnosticHandler} whose filter records every diagnostic and declines to defer it, such that javac reports the
+ * diagnostic as before. The handler is created reflectively, since the internals of {@code jdk.compiler} are only exported to the analyzers
+ * at runtime, see {@link AnalysisCompilerArgs#jdkCompilerAccessArgs()}.
+ * <p>
+ * The filter precedes the limits and de-duplication of javac, hence a recorded diagnostic is only written once the error or warning count
+ * of the {@code Log} shows that javac reported it, such that the file holds the diagnostics of the compiler log, see
+ * {@link AnalysisCompilerArgs#addDiagnosticLimits(java.util.List)}.
+ * <p>
+ * Whenever the handler can't be installed, such as on a JDK whose internals differ, the plugin warns and leaves the file unwritten, such
+ * that the diagnostics are parsed from the compiler log instead.
+ * <p>
+ * The plugin is loaded from the processor path without the dependencies of this artifact, hence only depends on the JDK.
+ */
+public class StructuredDiagnosticsPlugin implements Plugin {
+    public static final String NAME = "CodeQualityDiagnostics";
+
+    @Override
+    public String getName() {
+        return NAME;
+    }
+
+    @Override
+    public void init(final JavacTask task, final String... args) {
+        if (args.length != 1) {
+            throw new IllegalArgumentException("Expected the diagnostics file as the only argument of -Xplugin:" + NAME);
+        }
+
+        final DiagnosticWriter diagnosticWriter;
+
+        try {
+            diagnosticWriter = install(task, Path.of(args[0]));
+        } catch (final ReflectiveOperationException | RuntimeException e) {
+            // The diagnostics file is left unwritten, such that the steps parse the compiler log instead
+            System.err.println("warning: " + NAME + " failed to observe the diagnostics of the compilation, "
+                + "the diagnostics file isn't written. Cause: " + e);
+
+            return;
+        }
+
+        task.addTaskListener(new TaskListener() {
+            @Override
+            public void finished(final TaskEvent event) {
+                if (event.getKind() == TaskEvent.Kind.COMPILATION) {
+                    diagnosticWriter.close();
+                } else {
+                    diagnosticWriter.writePending();
+                }
+            }
+        });
+    }
+
+    private static DiagnosticWriter install(final JavacTask task, final Path file) throws ReflectiveOperationException {
+        final Object context = task.getClass().getMethod("getContext").invoke(task);
+        final ClassLoader classLoader = context.getClass().getClassLoader();
+        final Class<?> logClass = Class.forName("com.sun.tools.javac.util.Log", false, classLoader);
+        final Object log = logClass.getMethod("instance", context.getClass()).invoke(null, context);
+
+        final Constructor<?> handlerConstructor = Class.forName("com.sun.tools.javac.util.Log$DeferredDiagnosticHandler", false, classLoader)
+            .getConstructor(logClass, Predicate.class);
+
+        final DiagnosticWriter diagnosticWriter =
+            DiagnosticWriter.open(file, countOf(logClass, log, "nerrors"), countOf(logClass, log, "nwarnings"));
+
+        try {
+            final Predicate<Object> filter = diagnosticWriter::record;
+
+            handlerConstructor.newInstance(log, filter);
+        } catch (final ReflectiveOperationException | RuntimeException e) {
+            diagnosticWriter.delete(file);
+
+            throw e;
+        }
+
+        return diagnosticWriter;
+    }
+
+    private static IntSupplier countOf(final Class<?> logClass, final Object log, final String name) throws NoSuchFieldException {
+        final Field field = logClass.getField(name);
+
+        return () -> {
+            try {
+                return field.getInt(log);
+            } catch (final IllegalAccessException e) {
+                throw new IllegalStateException("Failed to read the " + name + " of the compilation", e);
+            }
+        };
+    }
+
+    /**
+     * Writes the diagnostics reported with a source position and a {@code [<rule>] } message prefix, the same diagnostics the
+     * {@link io.github.finoid.maven.plugins.codequality.step.ViolationConverter} converts from an in-process compilation.
+     */
+    private static final class DiagnosticWriter {
+        private final BufferedWriter writer;
+        private final IntSupplier errorCount;
+        private final IntSupplier warningCount;
+
+        // The recorded diagnostic javac is yet to report, or null
+        private Diagnostic<?> pendingDiagnostic;
+        private int pendingErrorCount;
+        private int pendingWarningCount;
+
+        private DiagnosticWriter(final BufferedWriter writer, final IntSupplier errorCount, final IntSupplier warningCount) {
+            this.writer = writer;
+            this.errorCount = errorCount;
+            this.warningCount = warningCount;
+        }
+
+        static DiagnosticWriter open(final Path file, final IntSupplier errorCount, final IntSupplier warningCount) {
+            try {
+                return new DiagnosticWriter(Files.newBufferedWriter(file, StandardCharsets.UTF_8), errorCount, warningCount);
+            } catch (final IOException e) {
+                throw new UncheckedIOException("Failed to open " + file, e);
+            }
+        }
+
+        /**
+         * Records the provided diagnostic, which is written once javac reported it.
+         *
+         * @return always {@code false}, such that the diagnostic is reported by javac rather than deferred
+         */
+        synchronized boolean record(final Object diagnostic) {
+            writePending();
+
+            if (diagnostic instanceof Diagnostic<?> it) {
+                pendingDiagnostic = it;
+                pendingErrorCount = errorCount.getAsInt();
+                pendingWarningCount = warningCount.getAsInt();
+            }
+
+            return false;
+        }
+
+        /**
+         * Writes the pending diagnostic, unless javac omitted it, i.e. didn't count it. javac omits an error at the position of a previous
+         * error, and the errors and warnings exceeding {@code -Xmaxerrs} and {@code -Xmaxwarns}.
+         */
+        synchronized void writePending() {
+            if (pendingDiagnostic == null) {
+                return;
+            }
+
+            final Diagnostic<?> diagnostic = pendingDiagnostic;
+            pendingDiagnostic = null;
+
+            final boolean reported = switch (diagnostic.getKind()) {
+                case ERROR -> errorCount.getAsInt() > pendingErrorCount;
+                case WARNING, MANDATORY_WARNING -> warningCount.getAsInt() > pendingWarningCount;
+                default -> true;
+            };
+
+            if (reported) {
+                write(diagnostic);
+            }
+        }
+
+        private void write(final Diagnostic<?> diagnostic) {
+            if (!(diagnostic.getSource() instanceof JavaFileObject source) || diagnostic.getLineNumber() == Diagnostic.NOPOS) {
+                return;
+            }
+
+            final String message = diagnostic.getMessage(Locale.ROOT);
+            final int ruleEnd = message.indexOf(']');
+
+            if (!message.startsWith("[") || ruleEnd < 2 || ruleEnd + 1 >= message.length() || message.charAt(ruleEnd + 1) != ' ') {
+                return;
+            }
+
+            final String column = diagnostic.getColumnNumber() == Diagnostic.NOPOS ? "null" : String.valueOf(diagnostic.getColumnNumber());
+
+            try {
+                writer.write("{\"path\":" + quoted(Path.of(source.toUri()).toString())
+                    + ",\"line\":" + diagnostic.getLineNumber()
+                    + ",\"column\":" + column
+                    + ",\"rule\":" + quoted(message.substring(1, ruleEnd))
+                    + ",\"message\":" + quoted(message.substring(ruleEnd + 2))
+                    + "}");
+                writer.newLine();
+                // Flushed per diagnostic, since a failed compilation doesn't necessarily finish
+                writer.flush();
+            } catch (final IOException e) {
+                throw new UncheckedIOException("Failed to write the diagnostic", e);
+            }
+        }
+
+        synchronized void close() {
+            writePending();
+
+            try {
+                writer.close();
+            } catch (final IOException e) {
+                throw new UncheckedIOException("Failed to close the diagnostics file", e);
+            }
+        }
+
+        /**
+         * Closes and deletes the diagnostics file, as for a compilation whose diagnostics can't be observed.
+         */
+        void delete(final Path file) {
+            try {
+                writer.close();
+                Files.deleteIfExists(file);
+            } catch (final IOException e) {
+                throw new UncheckedIOException("Failed to delete " + file, e);
+            }
+        }
+
+        private static String quoted(final String value) {
+            final StringBuilder builder = new StringBuilder(value.length() + 2).append('"');
+
+            for (int i = 0; i < value.length(); i++) {
+                final char c = value.charAt(i);
+
+                switch (c) {
+                    case '"' -> builder.append("\\\"");
+                    case '\\' -> builder.append("\\\\");
+                    case '\n' -> builder.append("\\n");
+                    case '\r' -> builder.append("\\r");
+                    case '\t' -> builder.append("\\t");
+                    default -> {
+                        if (c < 0x20) {
+                            builder.append(String.format("\\u%04x", (int) c));
+                        } else {
+                            builder.append(c);
+                        }
+                    }
+                }
+            }
+
+            return builder.append('"').toString();
+        }
+    }
+}
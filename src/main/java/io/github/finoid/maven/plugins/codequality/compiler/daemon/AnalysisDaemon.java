@@ -0,0 +1,197 @@
+package io.github.finoid.maven.plugins.codequality.compiler.daemon;
+
+import io.github.finoid.maven.plugins.codequality.compiler.JavacAnalysisEngine;
+import io.github.finoid.maven.plugins.codequality.util.Precondition;
+import org.jspecify.annotations.Nullable;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.net.SocketException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * A long-lived analysis daemon, see {@link io.github.finoid.maven.plugins.codequality.compiler.CompilationMode#DAEMON}.
+ * <p>
+ * The daemon listens on a loopback port, published through the {@link DaemonEndpoint} file of its daemon directory, and compiles the
+ * requested modules with a single {@link JavacAnalysisEngine}. Hence, the analyzers are loaded and JIT compiled once and reused by every
+ * module of every build, for as long as the daemon lives. The daemon shuts down once it has been idle for the configured idle timeout.
+ * <p>
+ * The daemon directory is keyed by the JDK, plugin and analyzer versions. A version change thereby starts a new daemon, while the daemon of
+ * the previous versions eventually shuts down by its idle timeout.
+ */
+public final class AnalysisDaemon {
+    private static final int BACKLOG = 50;
+    private static final long IDLE_CHECK_INTERVAL_SECONDS = 5;
+    private static final AtomicInteger THREAD_COUNTER = new AtomicInteger();
+
+    private final Path daemonDirectory;
+    private final Duration idleTimeout;
+    private final JavacAnalysisEngine javacAnalysisEngine = new JavacAnalysisEngine();
+    private final DaemonEndpoint endpoint;
+    private final ServerSocket serverSocket;
+    private final AtomicInteger activeRequests = new AtomicInteger();
+    private final AtomicLong lastActivityNanos = new AtomicLong(System.nanoTime());
+
+    private AnalysisDaemon(final Path daemonDirectory, final Duration idleTimeout) throws IOException {
+        this.daemonDirectory = Precondition.nonNull(daemonDirectory, "DaemonDirectory shouldn't be null");
+        this.idleTimeout = Precondition.nonNull(idleTimeout, "IdleTimeout shouldn't be null");
+        this.serverSocket = new ServerSocket(0, BACKLOG, InetAddress.getLoopbackAddress());
+        this.endpoint = new DaemonEndpoint(serverSocket.getLocalPort(), UUID.randomUUID().toString());
+    }
+
+    /**
+     * Starts the daemon.
+     *
+     * @param args the daemon directory and the idle timeout in seconds
+     * @throws IOException in case the daemon couldn't be started
+     */
+    public static void main(final String[] args) throws IOException {
+        if (args.length != 2) {
+            System.err.println("Usage: AnalysisDaemon <daemonDirectory> <idleTimeoutSeconds>");
+            System.exit(2);
+        }
+
+        new AnalysisDaemon(Paths.get(args[0]), Duration.ofSeconds(Long.parseLong(args[1])))
+            .run();
+    }
+
+    private void run() throws IOException {
+        final ExecutorService requestExecutor = Executors.newCachedThreadPool(daemonThreadFactory());
+        final ScheduledExecutorService idleWatchdog = Executors.newSingleThreadScheduledExecutor(daemonThreadFactory());
+
+        try (serverSocket) {
+            endpoint.write(daemonDirectory);
+
+            System.out.printf("Analysis daemon listening on port %d, idle timeout %s%n", endpoint.port(), idleTimeout);
+
+            idleWatchdog.scheduleWithFixedDelay(this::closeIfIdle, IDLE_CHECK_INTERVAL_SECONDS, IDLE_CHECK_INTERVAL_SECONDS, TimeUnit.SECONDS);
+
+            while (!serverSocket.isClosed()) {
+                final Socket socket;
+                try {
+                    socket = serverSocket.accept();
+                } catch (final SocketException e) {
+                    break; // closed by the idle watchdog
+                }
+
+                // Counted before handing off, such that the idle watchdog never closes the daemon in between
+                activeRequests.incrementAndGet();
+
+                requestExecutor.execute(() -> handle(socket));
+            }
+        } finally {
+            deleteEndpointIfOwned();
+
+            idleWatchdog.shutdownNow();
+            requestExecutor.shutdown();
+        }
+
+        System.out.println("Analysis daemon stopped after being idle for " + idleTimeout);
+    }
+
+    private void handle(final Socket socket) {
+        try (socket;
+             BufferedReader reader = new BufferedReader(new InputStreamReader(socket.getInputStream(), StandardCharsets.UTF_8));
+             BufferedWriter writer = new BufferedWriter(new OutputStreamWriter(socket.getOutputStream(), StandardCharsets.UTF_8))) {
+            @Nullable
+            final DaemonRequest nullableRequest = DaemonProtocol.read(reader, DaemonRequest.class);
+
+            if (nullableRequest == null) {
+                return; // a connection attempt checking whether the daemon is alive
+            }
+
+            DaemonProtocol.write(writer, respond(nullableRequest));
+        } catch (final IOException | RuntimeException e) {
+            System.err.println("Failed to handle analysis daemon request: " + e);
+        } finally {
+            lastActivityNanos.set(System.nanoTime());
+            activeRequests.decrementAndGet();
+        }
+    }
+
+    private DaemonResponse respond(final DaemonRequest request) {
+        if (!endpoint.token().equals(request.token())) {
+            return DaemonResponse.ofError("Invalid analysis daemon token");
+        }
+
+        try {
+            final List<DaemonDiagnostic> diagnostics = javacAnalysisEngine.compile(request.options(), filesOf(request.sourceFiles()),
+                    filesOf(request.processorPath()))
+                .stream()
+                .map(DaemonDiagnostic::of)
+                .toList();
+
+            return DaemonResponse.ofDiagnostics(diagnostics);
+        } catch (final RuntimeException e) {
+            return DaemonResponse.ofError(String.valueOf(e.getMessage()));
+        }
+    }
+
+    private void closeIfIdle() {
+        final long idleNanos = System.nanoTime() - lastActivityNanos.get();
+
+        if (activeRequests.get() > 0 || idleNanos < idleTimeout.toNanos()) {
+            return;
+        }
+
+        // Unpublish first, such that new clients start a new daemon instead of connecting to a closing one
+        deleteEndpointIfOwned();
+
+        try {
+            serverSocket.close();
+        } catch (final IOException e) {
+            System.err.println("Failed to close the analysis daemon socket: " + e);
+        }
+    }
+
+    /**
+     * Deletes the endpoint file, unless it has already been replaced by the endpoint of a succeeding daemon.
+     */
+    private synchronized void deleteEndpointIfOwned() {
+        try {
+            final Optional<DaemonEndpoint> publishedEndpoint = DaemonEndpoint.read(daemonDirectory);
+
+            if (publishedEndpoint.filter(endpoint::equals).isPresent()) {
+                Files.deleteIfExists(daemonDirectory.resolve(DaemonEndpoint.ENDPOINT_FILENAME));
+            }
+        } catch (final IOException e) {
+            System.err.println("Failed to delete the analysis daemon endpoint: " + e);
+        }
+    }
+
+    private static List<File> filesOf(final List<String> paths) {
+        return paths.stream()
+            .map(File::new)
+            .toList();
+    }
+
+    private static ThreadFactory daemonThreadFactory() {
+        return runnable -> {
+            final Thread thread = new Thread(runnable, "code-quality-daemon-" + THREAD_COUNTER.incrementAndGet());
+            thread.setDaemon(true);
+
+            return thread;
+        };
+    }
+}
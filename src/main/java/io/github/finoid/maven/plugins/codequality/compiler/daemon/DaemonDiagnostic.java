@@ -0,0 +1,116 @@
+package io.github.finoid.maven.plugins.codequality.compiler.daemon;
+
+import io.github.finoid.maven.plugins.codequality.util.Precondition;
+import org.jspecify.annotations.Nullable;
+
+import javax.tools.Diagnostic;
+import javax.tools.JavaFileObject;
+import javax.tools.SimpleJavaFileObject;
+import java.nio.file.Path;
+import java.util.Locale;
+
+/**
+ * A serializable compiler diagnostic, as transferred from the {@link AnalysisDaemon} to the build.
+ *
+ * @param kind               the kind of the diagnostic
+ * @param nullableSourceFile the absolute path of the source file, or {@code null} if not associated with a source file
+ * @param lineNumber         the line number, or {@link Diagnostic#NOPOS}
+ * @param columnNumber       the column number, or {@link Diagnostic#NOPOS}
+ * @param message            the message of the diagnostic
+ */
+public record DaemonDiagnostic(Diagnostic.Kind kind, @Nullable String nullableSourceFile, long lineNumber, long columnNumber, String message) {
+    public DaemonDiagnostic {
+        Precondition.nonNull(kind, "Kind shouldn't be null");
+        Precondition.nonNull(message, "Message shouldn't be null");
+    }
+
+    /**
+     * Converts the provided compiler diagnostic.
+     *
+     * @param diagnostic the compiler diagnostic
+     * @return the serializable diagnostic
+     */
+    public static DaemonDiagnostic of(final Diagnostic<? extends JavaFileObject> diagnostic) {
+        @Nullable
+        final JavaFileObject nullableSource = diagnostic.getSource();
+
+        return new DaemonDiagnostic(diagnostic.getKind(), nullableSource == null ? null : Path.of(nullableSource.toUri()).toString(),
+            diagnostic.getLineNumber(), diagnostic.getColumnNumber(), diagnostic.getMessage(Locale.ROOT));
+    }
+
+    /**
+     * Converts the diagnostic back into a compiler diagnostic, such that it's handled the same way as the diagnostics of an in-process
+     * compilation.
+     *
+     * @return the compiler diagnostic
+     */
+    public Diagnostic<JavaFileObject> toDiagnostic() {
+        return new TransferredDiagnostic(this);
+    }
+
+    private static final class TransferredDiagnostic implements Diagnostic<JavaFileObject> {
+        private final DaemonDiagnostic diagnostic;
+        @Nullable
+        private final JavaFileObject nullableSource;
+
+        private TransferredDiagnostic(final DaemonDiagnostic diagnostic) {
+            this.diagnostic = diagnostic;
+            this.nullableSource = diagnostic.nullableSourceFile() == null
+                ? null
+                : new SourceFileObject(Path.of(diagnostic.nullableSourceFile()));
+        }
+
+        @Override
+        public Kind getKind() {
+            return diagnostic.kind();
+        }
+
+        @Override
+        @Nullable
+        public JavaFileObject getSource() {
+            return nullableSource;
+        }
+
+        @Override
+        public long getPosition() {
+            return NOPOS;
+        }
+
+        @Override
+        public long getStartPosition() {
+            return NOPOS;
+        }
+
+        @Override
+        public long getEndPosition() {
+            return NOPOS;
+        }
+
+        @Override
+        public long getLineNumber() {
+            return diagnostic.lineNumber();
+        }
+
+        @Override
+        public long getColumnNumber() {
+            return diagnostic.columnNumber();
+        }
+
+        @Override
+        @Nullable
+        public String getCode() {
+            return null;
+        }
+
+        @Override
+        public String getMessage(final Locale locale) {
+            return diagnostic.message();
+        }
+    }
+
+    private static final class SourceFileObject extends SimpleJavaFileObject {
+        private SourceFileObject(final Path sourceFile) {
+            super(sourceFile.toUri(), Kind.SOURCE);
+        }
+    }
+}
@@ -0,0 +1,77 @@
+package io.github.finoid.maven.plugins.codequality.compiler.daemon;
+
+import io.github.finoid.maven.plugins.codequality.util.Precondition;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Optional;
+import java.util.Properties;
+
+/**
+ * The endpoint of a running {@link AnalysisDaemon}, published through the endpoint file within the daemon directory.
+ *
+ * @param port  the loopback port the daemon listens on
+ * @param token the secret every request has to present, restricting the daemon to the users able to read the endpoint file
+ */
+public record DaemonEndpoint(int port, String token) {
+    public static final String ENDPOINT_FILENAME = "daemon.endpoint";
+
+    private static final String PORT_PROPERTY = "port";
+    private static final String TOKEN_PROPERTY = "token";
+
+    public DaemonEndpoint {
+        Precondition.nonNull(token, "Token shouldn't be null");
+    }
+
+    /**
+     * Reads the endpoint file of the provided daemon directory.
+     *
+     * @param daemonDirectory the daemon directory
+     * @return the endpoint, or empty if no daemon has published its endpoint
+     * @throws IOException in case the endpoint file couldn't be read
+     */
+    public static Optional<DaemonEndpoint> read(final Path daemonDirectory) throws IOException {
+        final Properties properties = new Properties();
+
+        try (InputStream inputStream = Files.newInputStream(daemonDirectory.resolve(ENDPOINT_FILENAME))) {
+            properties.load(inputStream);
+        } catch (final NoSuchFileException e) {
+            return Optional.empty();
+        }
+
+        final String port = properties.getProperty(PORT_PROPERTY);
+        final String token = properties.getProperty(TOKEN_PROPERTY);
+
+        if (port == null || token == null) {
+            return Optional.empty();
+        }
+
+        return Optional.of(new DaemonEndpoint(Integer.parseInt(port), token));
+    }
+
+    /**
+     * Publishes the endpoint to the endpoint file of the provided daemon directory. The file is replaced atomically, such that a client never
+     * observes a partially written endpoint.
+     *
+     * @param daemonDirectory the daemon directory
+     * @throws IOException in case the endpoint file couldn't be written
+     */
+    public void write(final Path daemonDirectory) throws IOException {
+        final Properties properties = new Properties();
+        properties.setProperty(PORT_PROPERTY, String.valueOf(port));
+        properties.setProperty(TOKEN_PROPERTY, token);
+
+        final Path temporaryFile = Files.createTempFile(daemonDirectory, ENDPOINT_FILENAME, ".tmp");
+
+        try (OutputStream outputStream = Files.newOutputStream(temporaryFile)) {
+            properties.store(outputStream, null);
+        }
+
+        Files.move(temporaryFile, daemonDirectory.resolve(ENDPOINT_FILENAME), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+}
@@ -0,0 +1,62 @@
+package io.github.finoid.maven.plugins.codequality.compiler.daemon;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.jspecify.annotations.Nullable;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+
+/**
+ * The wire format between the build and the {@link AnalysisDaemon}: a connection carries a single {@link DaemonRequest} followed by a single
+ * {@link DaemonResponse}, each serialized as one line of JSON.
+ */
+public final class DaemonProtocol {
+    private static final ObjectMapper OBJECT_MAPPER = defaultObjectMapper();
+
+    private DaemonProtocol() {
+    }
+
+    /**
+     * Writes the provided message as a single line.
+     *
+     * @param writer  the writer of the connection
+     * @param message the message
+     * @throws IOException in case the message couldn't be written
+     */
+    public static void write(final BufferedWriter writer, final Object message) throws IOException {
+        // JSON escapes line breaks within strings, hence the serialized message never spans multiple lines
+        writer.write(OBJECT_MAPPER.writeValueAsString(message));
+        writer.newLine();
+        writer.flush();
+    }
+
+    /**
+     * Reads a single line message.
+     *
+     * @param reader the reader of the connection
+     * @param type   the type of the message
+     * @param <T>    the type of the message
+     * @return the message, or {@code null} if the connection was closed without a message
+     * @throws IOException in case the message couldn't be read
+     */
+    @Nullable
+    public static <T> T read(final BufferedReader reader, final Class<T> type) throws IOException {
+        @Nullable
+        final String nullableLine = reader.readLine();
+
+        if (nullableLine == null || nullableLine.isBlank()) {
+            return null;
+        }
+
+        return OBJECT_MAPPER.readValue(nullableLine, type);
+    }
+
+    private static ObjectMapper defaultObjectMapper() {
+        final ObjectMapper objectMapper = new ObjectMapper();
+        objectMapper.getFactory().disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+
+        return objectMapper;
+    }
+}
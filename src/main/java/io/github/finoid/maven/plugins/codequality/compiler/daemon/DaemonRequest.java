@@ -0,0 +1,22 @@
+package io.github.finoid.maven.plugins.codequality.compiler.daemon;
+
+import io.github.finoid.maven.plugins.codequality.util.Precondition;
+
+import java.util.List;
+
+/**
+ * A request to compile a module, sent to the {@link AnalysisDaemon}.
+ *
+ * @param token         the token of the daemon endpoint
+ * @param options       the compiler options
+ * @param sourceFiles   the absolute paths of the source files to compile
+ * @param processorPath the absolute paths of the resolved annotation processor path
+ */
+public record DaemonRequest(String token, List<String> options, List<String> sourceFiles, List<String> processorPath) {
+    public DaemonRequest {
+        Precondition.nonNull(token, "Token shouldn't be null");
+        options = List.copyOf(Precondition.nonNull(options, "Options shouldn't be null"));
+        sourceFiles = List.copyOf(Precondition.nonNull(sourceFiles, "SourceFiles shouldn't be null"));
+        processorPath = List.copyOf(Precondition.nonNull(processorPath, "ProcessorPath shouldn't be null"));
+    }
+}
@@ -0,0 +1,27 @@
+package io.github.finoid.maven.plugins.codequality.compiler.daemon;
+
+import io.github.finoid.maven.plugins.codequality.util.Precondition;
+import org.jspecify.annotations.Nullable;
+
+import java.util.List;
+
+/**
+ * The response of the {@link AnalysisDaemon} to a {@link DaemonRequest}.
+ *
+ * @param success       whether the compilation succeeded
+ * @param nullableError the reason the compilation failed, or {@code null} if it succeeded
+ * @param diagnostics   the diagnostics reported by the compiler and the analyzers
+ */
+public record DaemonResponse(boolean success, @Nullable String nullableError, List<DaemonDiagnostic> diagnostics) {
+    public DaemonResponse {
+        diagnostics = List.copyOf(Precondition.nonNull(diagnostics, "Diagnostics shouldn't be null"));
+    }
+
+    public static DaemonResponse ofDiagnostics(final List<DaemonDiagnostic> diagnostics) {
+        return new DaemonResponse(true, null, diagnostics);
+    }
+
+    public static DaemonResponse ofError(final String error) {
+        return new DaemonResponse(false, error, List.of());
+    }
+}
@@ -0,0 +1,39 @@
+package io.github.finoid.maven.plugins.codequality.configuration;
+
+import lombok.Data;
+import org.apache.maven.plugins.annotations.Parameter;
+
+import java.io.File;
+
+/**
+ * The configuration of the step result cache, which replays the result of a step whenever the inputs of the module are unchanged.
+ * <p>
+ * The local cache resides within {@link #getDirectory()}, and is optionally backed by a shared {@link #getRemote()} cache.
+ */
+@Data
+public class CacheConfiguration {
+    /**
+     * Whether the step results should be cached.
+     */
+    @Parameter(property = "cq.cache.enabled")
+    private boolean enabled = false;
+
+    /**
+     * The directory the step results are cached within. Resides outside the build directory by default, such that the cache survives
+     * {@code mvn clean}.
+     */
+    @Parameter(property = "cq.cache.directory")
+    private File directory = new File(System.getProperty("user.home"), ".m2/codequality/cache");
+
+    /**
+     * The maximum size of the cache directory in megabytes, exceeding it evicts the least recently used step results.
+     */
+    @Parameter(property = "cq.cache.maxSizeMb")
+    private long maxSizeMb = 512;
+
+    /**
+     * The remote cache, which is consulted whenever the local cache misses.
+     */
+    @Parameter
+    private RemoteCacheConfiguration remote = new RemoteCacheConfiguration();
+}
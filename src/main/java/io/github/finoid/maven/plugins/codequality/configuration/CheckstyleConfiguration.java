@@ -31,6 +31,16 @@ public class CheckstyleConfiguration implements Configuration {
     @Parameter(property = "cq.checkstyle.permissive")
     private boolean permissive = true;
 
+    /**
+     * The maximum number of threads auditing source files concurrently, shared by the execution environments and the modules of the build,
+     * such that a parallel build doesn't multiply the number of auditing threads. The first audit of the build determines the number of
+     * threads.
+     * <p>
+     * A value of {@code 1} audits the source files sequentially.
+     */
+    @Parameter(property = "cq.checkstyle.parallelism")
+    private int parallelism = Runtime.getRuntime().availableProcessors();
+
     @Parameter
     private MainExecutionEnvironment executionMain = new MainExecutionEnvironment();
 
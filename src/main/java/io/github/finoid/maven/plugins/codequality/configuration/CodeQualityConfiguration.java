@@ -1,5 +1,6 @@
 package io.github.finoid.maven.plugins.codequality.configuration;
 
+import io.github.finoid.maven.plugins.codequality.compiler.CompilationMode;
 import io.github.finoid.maven.plugins.codequality.report.ConsolePlainViolationReporter;
 import io.github.finoid.maven.plugins.codequality.report.ConsoleTableViolationReporter;
 import io.github.finoid.maven.plugins.codequality.report.gitlab.GitLabFileViolationReporter;
@@ -28,6 +29,94 @@ public class CodeQualityConfiguration {
     @Parameter(property = "cq.stepLogLevel")
     private LogLevel stepLogLevel = LogLevel.ERROR;
 
+    /**
+     * The maximum number of steps - such as error-prone, checker framework and checkstyle - executed concurrently within a module.
+     * <p>
+     * A value of {@code 1} executes the steps sequentially. The error-prone and checker framework steps are always executed one after
+     * another, merely the checkstyle step overlaps them. Defaults to the number of available processors, whereas no more threads than
+     * steps are started.
+     */
+    @Parameter(property = "cq.stepParallelism")
+    private int stepParallelism = Runtime.getRuntime().availableProcessors();
+
+    /**
+     * Whether the error-prone and checker framework analyzers should be executed within a single compiler invocation, instead of one
+     * compiler invocation per analyzer.
+     */
+    @Parameter(property = "cq.fusedAnalysisCompile")
+    private boolean fusedAnalysisCompile = false;
+
+    /**
+     * Whether the whole compiler log of the forked error-prone and checker framework compilations should be retained, gzip compressed, next
+     * to the captured diagnostics. Read by the {@link io.github.finoid.maven.plugins.codequality.MojoLogDecoratorExecutionListener}.
+     */
+    @Parameter(property = "cq.rawCompilerLog")
+    private boolean rawCompilerLog = false;
+
+    /**
+     * Whether the forked error-prone and checker framework compilations should write their diagnostics as JSON lines, see
+     * {@link io.github.finoid.maven.plugins.codequality.compiler.StructuredDiagnostics}, instead of the diagnostics being parsed from the
+     * compiler log.
+     */
+    @Parameter(property = "cq.structuredDiagnostics")
+    private boolean structuredDiagnostics = true;
+
+    /**
+     * How the error-prone and checker framework analyzers compile the sources of a module.
+     * <p>
+     * Viable options: {@link CompilationMode#FORKED}, {@link CompilationMode#IN_PROCESS}, {@link CompilationMode#DAEMON}
+     */
+    @Parameter(property = "cq.compilationMode")
+    private CompilationMode compilationMode = CompilationMode.FORKED;
+
+    /**
+     * The number of minutes the analysis daemon, see {@link CompilationMode#DAEMON}, stays alive without receiving any compilation.
+     */
+    @Parameter(property = "cq.daemonIdleTimeoutMinutes")
+    private int daemonIdleTimeoutMinutes = 30;
+
+    /**
+     * Whether the build should fail as soon as a module has non-permissive violations, instead of once every module has completed. The
+     * remaining modules of the reactor aren't analyzed, even if the build is executed with {@code --fail-at-end}.
+     */
+    @Parameter(property = "cq.failFast")
+    private boolean failFast = false;
+
+    /**
+     * Whether the steps should only analyze the files changed in the git diff between the remote {@code HEAD} and the working tree,
+     * instead of every file of the module. The analysis cost thus scales with the size of the change rather than the size of the module.
+     * Pair with the {@code DIFF_COVERAGE} violation filter to only report the violations of the changed lines.
+     */
+    @Parameter(property = "cq.diffScopedAnalysis")
+    private boolean diffScopedAnalysis = false;
+
+    /**
+     * Whether the modules should be skipped when neither the module itself nor any of its upstream modules changed in the git diff
+     * between the remote {@code HEAD} and the working tree. The violations of a skipped module aren't reported.
+     */
+    @Parameter(property = "cq.skipUnchangedModules")
+    private boolean skipUnchangedModules = false;
+
+    /**
+     * Whether only the analysis plan should be printed, without executing any step, see
+     * {@link io.github.finoid.maven.plugins.codequality.step.AnalysisPlanner}.
+     */
+    @Parameter(property = "cq.dryRun")
+    private boolean dryRun = false;
+
+    /**
+     * Whether the wall time, CPU time and allocated bytes of the stages of the analysis should be measured, see
+     * {@link io.github.finoid.maven.plugins.codequality.metrics.StageMetrics}.
+     */
+    @Parameter(property = "cq.metrics")
+    private boolean metrics = false;
+
+    /**
+     * The configuration of the step result cache.
+     */
+    @Parameter
+    private CacheConfiguration cache = new CacheConfiguration();
+
     @Parameter
     private CheckstyleConfiguration checkstyle = new CheckstyleConfiguration();
 
@@ -0,0 +1,80 @@
+package io.github.finoid.maven.plugins.codequality.configuration;
+
+import io.github.finoid.maven.plugins.codequality.cache.FileSystemCacheBackend;
+import io.github.finoid.maven.plugins.codequality.cache.HttpCacheBackend;
+import io.github.finoid.maven.plugins.codequality.cache.RemoteCacheMode;
+import lombok.AccessLevel;
+import lombok.Data;
+import lombok.Getter;
+import org.apache.maven.plugins.annotations.Parameter;
+import org.jspecify.annotations.Nullable;
+
+import java.io.File;
+import java.util.Optional;
+
+/**
+ * The configuration of the remote cache, which shares the cached step results across machines, such as ephemeral CI agents.
+ */
+@Data
+public class RemoteCacheConfiguration {
+    /**
+     * The name of the cache backend, or {@code null} to not use a remote cache.
+     * <p>
+     * Viable options: {@link FileSystemCacheBackend#NAME}, {@link HttpCacheBackend#NAME}
+     */
+    @Nullable
+    @Getter(AccessLevel.NONE)
+    @Parameter(property = "cq.cache.remote.backend")
+    private String backend;
+
+    /**
+     * The directory of the {@link FileSystemCacheBackend#NAME} backend, e.g. a mounted shared volume.
+     */
+    @Nullable
+    @Getter(AccessLevel.NONE)
+    @Parameter(property = "cq.cache.remote.directory")
+    private File directory;
+
+    /**
+     * The base URL of the {@link HttpCacheBackend#NAME} backend, the entries are read by {@code GET <url>/<key>} and written by
+     * {@code PUT <url>/<key>}.
+     */
+    @Nullable
+    @Getter(AccessLevel.NONE)
+    @Parameter(property = "cq.cache.remote.url")
+    private String url;
+
+    /**
+     * Whether the remote cache is only read from, or written to as well.
+     * <p>
+     * Viable options: {@link RemoteCacheMode#READ_ONLY}, {@link RemoteCacheMode#WRITE_THROUGH}
+     */
+    @Parameter(property = "cq.cache.remote.mode")
+    private RemoteCacheMode mode = RemoteCacheMode.READ_ONLY;
+
+    /**
+     * The timeout in seconds of a single remote cache operation.
+     */
+    @Parameter(property = "cq.cache.remote.timeoutSeconds")
+    private int timeoutSeconds = 10;
+
+    public boolean isEnabled() {
+        return backend != null;
+    }
+
+    public boolean isWriteThrough() {
+        return mode == RemoteCacheMode.WRITE_THROUGH;
+    }
+
+    public Optional<String> optionalBackend() {
+        return Optional.ofNullable(backend);
+    }
+
+    public Optional<File> optionalDirectory() {
+        return Optional.ofNullable(directory);
+    }
+
+    public Optional<String> optionalUrl() {
+        return Optional.ofNullable(url);
+    }
+}
@@ -24,18 +24,18 @@ import static com.puppycrawl.tools.checkstyle.AbstractAutomaticBean.OutputStream
 
 @Singleton
 public class CheckstyleExecutorRequestFactory {
-    private final MavenProject project;
     private final MavenSession mavenSession;
 
     @Inject
-    public CheckstyleExecutorRequestFactory(final MavenProject project, final MavenSession mavenSession) {
-        this.project = Precondition.nonNull(project, "MavenProject shouldn't be null");
+    public CheckstyleExecutorRequestFactory(final MavenSession mavenSession) {
         this.mavenSession = Precondition.nonNull(mavenSession, "MavenSession shouldn't be null");
     }
 
     public CheckstyleExecutorRequest create(final CheckstyleConfiguration configuration,
                                             final CheckstyleConfiguration.ExecutionEnvironment executionEnvironment,
                                             final Log log) {
+        final MavenProject project = mavenSession.getCurrentProject();
+
         final CheckstyleExecutorRequest request = new CheckstyleExecutorRequest()
             .setIncludes(executionEnvironment.getIncludes())
             .setResourceIncludes(executionEnvironment.getResourceIncludes())
@@ -61,9 +61,11 @@ public class CheckstyleExecutorRequestFactory {
 
     private List<File> sourceDirectories(final CheckstyleConfiguration.ExecutionEnvironment executionEnvironment) {
         if (executionEnvironment.getSourceDirectories() == null || executionEnvironment.getSourceDirectories().isEmpty()) {
+            final MavenProject project = mavenSession.getCurrentProject();
+
             final List<String> compileSourceRoots = switch (executionEnvironment.getEnvironment()) {
-                case MAIN -> filterBuildTarget(mavenSession.getCurrentProject().getCompileSourceRoots());
-                case TEST -> filterBuildTarget(mavenSession.getCurrentProject().getTestCompileSourceRoots());
+                case MAIN -> filterBuildTarget(project.getCompileSourceRoots());
+                case TEST -> filterBuildTarget(project.getTestCompileSourceRoots());
             };
 
             return ProjectUtils.filesOfSourcesDirectories(compileSourceRoots, project);
@@ -0,0 +1,124 @@
+package io.github.finoid.maven.plugins.codequality.filter;
+
+import io.github.finoid.maven.plugins.codequality.report.Violation;
+
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * The changed line ranges of a git diff by the path of their file, relative to the root of the Git repository, along with the paths the diff
+ * touched. A touched path need not have changed lines, such as a deleted file, the old path of a renamed file or a file whose lines were
+ * only removed.
+ */
+public final class ChangedLines {
+    private final String description;
+    private final Path workTree;
+    private final Map<String, List<LineRange>> rangesByPath;
+    private final Set<String> touchedPaths;
+
+    ChangedLines(final String description, final Path workTree, final Map<String, List<LineRange>> rangesByPath, final Set<String> touchedPaths) {
+        this.description = description;
+        this.workTree = workTree.toAbsolutePath().normalize();
+        this.rangesByPath = rangesByPath;
+        this.touchedPaths = touchedPaths;
+    }
+
+    /**
+     * Describes the diff the changed lines originate from, such as {@code COMMITTED_ONLY origin/main..HEAD}.
+     *
+     * @return the description of the diff
+     */
+    public String description() {
+        return description;
+    }
+
+    /**
+     * Whether the diff touched no path.
+     *
+     * @return {@code true} if empty, {@code false} otherwise
+     */
+    public boolean isEmpty() {
+        return touchedPaths.isEmpty();
+    }
+
+    /**
+     * Whether the diff touched the provided file, including a file whose lines were only removed.
+     *
+     * @param file the file, either absolute or relative to the working directory
+     * @return {@code true} if changed, {@code false} otherwise
+     */
+    public boolean isChanged(final Path file) {
+        final Path absoluteFile = file.toAbsolutePath().normalize();
+
+        if (!absoluteFile.startsWith(workTree)) {
+            return false;
+        }
+
+        return touchedPaths.contains(workTree.relativize(absoluteFile).toString().replace("\\", "/"));
+    }
+
+    /**
+     * Whether the diff touched any path within the provided directory, including the deleted files and the old paths of renamed files.
+     *
+     * @param directory the directory, either absolute or relative to the working directory
+     * @return {@code true} if changed, {@code false} otherwise
+     */
+    public boolean hasChangesWithin(final Path directory) {
+        final Path absoluteDirectory = directory.toAbsolutePath().normalize();
+
+        if (workTree.startsWith(absoluteDirectory)) {
+            return !touchedPaths.isEmpty();
+        }
+
+        if (!absoluteDirectory.startsWith(workTree)) {
+            return false;
+        }
+
+        final String relativeDirectory = workTree.relativize(absoluteDirectory).toString().replace("\\", "/") + "/";
+
+        return touchedPaths.stream()
+            .anyMatch(it -> it.startsWith(relativeDirectory));
+    }
+
+    /**
+     * Whether the provided violation is located within a changed line.
+     *
+     * @param violation the violation
+     * @return {@code true} if within a changed line, {@code false} otherwise
+     */
+    public boolean contains(final Violation violation) {
+        final String relativePath = violation.getRelativePath();
+        if (relativePath == null || violation.getLine() == null) {
+            return false;
+        }
+
+        final List<LineRange> ranges = rangesByPath.get(relativePath);
+        if (ranges == null) {
+            return false;
+        }
+
+        final int line = violation.getLine();
+        for (LineRange range : ranges) {
+            if (range.contains(line)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    static class LineRange {
+        final int start;
+        final int end;
+
+        LineRange(final int start, final int end) {
+            this.start = start;
+            this.end = end;
+        }
+
+        boolean contains(final int line) {
+            return line >= start && line <= end;
+        }
+    }
+}
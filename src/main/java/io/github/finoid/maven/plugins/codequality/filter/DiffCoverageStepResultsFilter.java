@@ -1,6 +1,6 @@
 package io.github.finoid.maven.plugins.codequality.filter;
 
-import org.apache.maven.execution.MavenSession;
+import io.github.finoid.maven.plugins.codequality.report.ViolationSink;
 
 import javax.inject.Inject;
 import javax.inject.Named;
@@ -12,21 +12,19 @@ public class DiffCoverageStepResultsFilter implements ViolationFilter {
     public static final String NAME = "DIFF_COVERAGE";
 
     private final DiffCoverageFilter filter;
-    private final MavenSession mavenSession;
+    private final GitDiffService gitDiffService;
 
     @Inject
-    public DiffCoverageStepResultsFilter(final DiffCoverageFilter filter, final MavenSession mavenSession) {
+    public DiffCoverageStepResultsFilter(final DiffCoverageFilter filter, final GitDiffService gitDiffService) {
         this.filter = filter;
-        this.mavenSession = mavenSession;
+        this.gitDiffService = gitDiffService;
     }
 
     @Override
-    public Violations filter(final Violations violations, final Context context) {
-        return filter.filterByDiffCoverage(
-            violations,
-            mavenSession.getRequest().getMultiModuleProjectDirectory().toPath(),
-            context.getLog()
-        );
+    public ViolationSink filter(final ViolationSink downstream, final Context context) {
+        return gitDiffService.changedLines(context.getLog())
+            .map(it -> filter.filterByDiffCoverage(downstream, it, context.getLog()))
+            .orElse(downstream);
     }
 
     @Override
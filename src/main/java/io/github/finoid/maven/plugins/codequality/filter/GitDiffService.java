@@ -0,0 +1,325 @@
+package io.github.finoid.maven.plugins.codequality.filter;
+
+import io.github.finoid.maven.plugins.codequality.metrics.GitDiffEvent;
+import io.github.finoid.maven.plugins.codequality.storage.SessionRepository;
+import io.github.finoid.maven.plugins.codequality.util.Precondition;
+import org.apache.maven.execution.MavenSession;
+import org.apache.maven.plugin.logging.Log;
+import org.eclipse.jgit.api.Git;
+import org.eclipse.jgit.diff.DiffEntry;
+import org.eclipse.jgit.diff.DiffFormatter;
+import org.eclipse.jgit.diff.Edit;
+import org.eclipse.jgit.diff.EditList;
+import org.eclipse.jgit.lib.ObjectId;
+import org.eclipse.jgit.lib.ObjectReader;
+import org.eclipse.jgit.lib.Repository;
+import org.eclipse.jgit.revwalk.RevCommit;
+import org.eclipse.jgit.revwalk.RevTree;
+import org.eclipse.jgit.revwalk.RevWalk;
+import org.eclipse.jgit.treewalk.AbstractTreeIterator;
+import org.eclipse.jgit.treewalk.CanonicalTreeParser;
+import org.eclipse.jgit.treewalk.FileTreeIterator;
+import org.eclipse.jgit.util.io.DisabledOutputStream;
+
+import javax.inject.Inject;
+import javax.inject.Named;
+import javax.inject.Singleton;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * Resolves the lines changed by a git diff, which both narrows the analysis down to the changed files, see
+ * {@link io.github.finoid.maven.plugins.codequality.configuration.CodeQualityConfiguration#isDiffScopedAnalysis()}, and filters the
+ * violations down to the changed lines, see {@link DiffCoverageFilter}.
+ * <p>
+ * Supports:
+ * - Diff between two refs (e.g. master..HEAD, master..customer)
+ * - Optionally include local uncommitted changes (HEAD..working-tree)
+ */
+@Named
+@Singleton
+public class GitDiffService {
+    private static final String CHANGED_LINES_KEY = "codequality.changedLines";
+
+    private final MavenSession mavenSession;
+    private final SessionRepository sessionRepository;
+
+    @Inject
+    public GitDiffService(final MavenSession mavenSession, final SessionRepository sessionRepository) {
+        this.mavenSession = Precondition.nonNull(mavenSession, "MavenSession shouldn't be null");
+        this.sessionRepository = Precondition.nonNull(sessionRepository, "SessionRepository shouldn't be null");
+    }
+
+    /**
+     * Resolves the changed lines of the Git diff between the remote {@code HEAD} and the local {@code HEAD}, including uncommitted
+     * changes, of the repository containing the root of the build. The changed lines are resolved once per build, since the diff spans
+     * the whole repository.
+     *
+     * @param log Maven logger
+     * @return the changed lines, or empty if no lines have changed or the diff couldn't be resolved, in which case all files are to be
+     *     analyzed and all violations are to be reported
+     */
+    @SuppressWarnings("unchecked")
+    public Optional<ChangedLines> changedLines(final Log log) {
+        // TODO (nw) use resolveBaseRef instead of HEAD?
+
+        return (Optional<ChangedLines>) sessionRepository.computeIfAbsent(CHANGED_LINES_KEY, () -> changedLines(
+            mavenSession.getRequest().getMultiModuleProjectDirectory().toPath(),
+            log,
+            "refs/remotes/origin/HEAD",
+            "HEAD",
+            DiffMode.COMMITTED_PLUS_WORKING_TREE
+        ));
+    }
+
+    /**
+     * Resolves the changed lines of the Git diff between the provided base and target references.
+     * The diff mode controls whether to include committed changes, uncommitted changes,
+     * or the union of both.
+     *
+     * @param projectBasePath path to the project root containing the Git repository
+     * @param log             Maven logger
+     * @param baseRef         the starting reference for diff (e.g. {@code origin/master}, {@code refs/heads/main})
+     * @param targetRef       the ending reference for diff (e.g. {@code HEAD}, {@code refs/heads/customer})
+     * @param mode            determines whether committed, uncommitted, or both types of changes are considered
+     * @return the changed lines, or empty if no lines have changed or the diff couldn't be resolved
+     */
+    public Optional<ChangedLines> changedLines(
+        final Path projectBasePath,
+        final Log log,
+        final String baseRef,
+        final String targetRef,
+        final DiffMode mode
+    ) {
+        try {
+            final ChangedLines changedLines = parseGitDiff(projectBasePath, baseRef, targetRef, mode);
+
+            if (changedLines.isEmpty()) {
+                log.info("No changed lines detected in git diff. All files will be analyzed and all violations will be reported.");
+                return Optional.empty();
+            }
+
+            return Optional.of(changedLines);
+        } catch (final Exception e) {
+            log.warn(String.format("Failed to resolve the git diff: %s. Analyzing all files and returning all violations.", e.getMessage()));
+            return Optional.empty();
+        }
+    }
+
+    private ChangedLines parseGitDiff(
+        final Path projectBasePath,
+        final String baseRef,
+        final String targetRef,
+        final DiffMode mode
+    ) throws IOException {
+        final GitDiffEvent event = new GitDiffEvent();
+        event.begin();
+
+        final Map<String, List<ChangedLines.LineRange>> changedLines = new HashMap<>();
+        final Set<String> touchedPaths = new HashSet<>();
+        final Path workTree;
+
+        try (Git git = Git.open(projectBasePath.toFile())) {
+            final Repository repository = git.getRepository();
+            workTree = repository.getWorkTree().toPath();
+
+            if (mode == DiffMode.COMMITTED_ONLY || mode == DiffMode.COMMITTED_PLUS_WORKING_TREE) {
+                final AbstractTreeIterator baseTree = prepareTreeParser(repository, baseRef);
+                final AbstractTreeIterator targetTree = prepareTreeParser(repository, targetRef);
+                mergeChangedLines(changedLines, scanDiff(repository, baseTree, targetTree, touchedPaths));
+            }
+
+            if (mode == DiffMode.WORKING_TREE_ONLY || mode == DiffMode.COMMITTED_PLUS_WORKING_TREE) {
+                // Uncommitted local changes: HEAD tree -> working tree
+                final AbstractTreeIterator headTree = prepareTreeParser(repository, "HEAD");
+                final FileTreeIterator workingTree = new FileTreeIterator(repository);
+                mergeChangedLines(changedLines, scanDiff(repository, headTree, workingTree, touchedPaths));
+            }
+        }
+
+        // Optional: normalize/merge overlapping ranges per file
+        final Map<String, List<ChangedLines.LineRange>> normalizedChangedLines = normalizeRanges(changedLines);
+        final String description = String.format("%s %s..%s", mode, baseRef, targetRef);
+
+        event.end();
+
+        if (event.shouldCommit()) {
+            event.diff = description;
+            event.changedFileCount = touchedPaths.size();
+            event.commit();
+        }
+
+        return new ChangedLines(description, workTree, normalizedChangedLines, touchedPaths);
+    }
+
+    /**
+     * Scans the diff between the provided trees for the changed line ranges, adding every path the diff touched to the provided set - the old
+     * path of a deleted or renamed file as well as the new path of a file, whether or not lines were added to it.
+     */
+    private Map<String, List<ChangedLines.LineRange>> scanDiff(
+        final Repository repository,
+        final AbstractTreeIterator oldTreeIterator,
+        final AbstractTreeIterator newTreeIterator,
+        final Set<String> touchedPaths
+    ) throws IOException {
+
+        final Map<String, List<ChangedLines.LineRange>> changedLines = new HashMap<>();
+
+        try (DiffFormatter diffFormatter = new DiffFormatter(DisabledOutputStream.INSTANCE)) {
+            diffFormatter.setRepository(repository);
+            diffFormatter.setContext(0); // --unified=0
+
+            final List<DiffEntry> diffs = diffFormatter.scan(oldTreeIterator, newTreeIterator);
+
+            for (final DiffEntry entry : diffs) {
+                if (entry.getChangeType() == DiffEntry.ChangeType.DELETE || entry.getChangeType() == DiffEntry.ChangeType.RENAME) {
+                    touchedPaths.add(entry.getOldPath());
+                }
+
+                if (entry.getChangeType() == DiffEntry.ChangeType.DELETE) {
+                    continue; // A deleted file has no lines to analyze
+                }
+
+                touchedPaths.add(entry.getNewPath());
+
+                final String filePath = entry.getNewPath();
+                final EditList edits = diffFormatter.toFileHeader(entry).toEditList();
+                final List<ChangedLines.LineRange> ranges = new ArrayList<>();
+
+                for (final Edit edit : edits) {
+                    // Only consider insertions and replacements (changes to new file)
+                    if (edit.getType() != Edit.Type.DELETE) {
+                        final int startLine = edit.getBeginB() + 1; // 1-based
+                        final int endLine = edit.getEndB();         // inclusive end for our ChangedLines.LineRange
+
+                        if (endLine > edit.getBeginB()) {
+                            ranges.add(new ChangedLines.LineRange(startLine, endLine));
+                        }
+                    }
+                }
+
+                if (!ranges.isEmpty()) {
+                    changedLines.put(filePath, ranges);
+                }
+            }
+        }
+
+        return changedLines;
+    }
+
+    private AbstractTreeIterator prepareTreeParser(final Repository repository, final String ref) throws IOException {
+        final ObjectId objectId = repository.resolve(ref);
+        if (objectId == null) {
+            throw new IOException("Could not resolve git ref: " + ref);
+        }
+
+        try (RevWalk walk = new RevWalk(repository)) {
+            final RevCommit commit = walk.parseCommit(objectId);
+            final RevTree tree = walk.parseTree(commit.getTree().getId());
+
+            final CanonicalTreeParser treeParser = new CanonicalTreeParser();
+            try (ObjectReader reader = repository.newObjectReader()) {
+                treeParser.reset(reader, tree.getId());
+            }
+            return treeParser;
+        }
+    }
+
+    private void mergeChangedLines(final Map<String, List<ChangedLines.LineRange>> into, final Map<String, List<ChangedLines.LineRange>> from) {
+        for (Map.Entry<String, List<ChangedLines.LineRange>> e : from.entrySet()) {
+            into.computeIfAbsent(e.getKey(), k -> new ArrayList<>()).addAll(e.getValue());
+        }
+    }
+
+    /**
+     * Sort and merge overlapping/adjacent ranges per file to keep the map compact and stable.
+     */
+    private Map<String, List<ChangedLines.LineRange>> normalizeRanges(final Map<String, List<ChangedLines.LineRange>> changedLines) {
+        final Map<String, List<ChangedLines.LineRange>> out = new HashMap<>();
+
+        for (Map.Entry<String, List<ChangedLines.LineRange>> e : changedLines.entrySet()) {
+            final List<ChangedLines.LineRange> ranges = new ArrayList<>(e.getValue());
+            ranges.sort(Comparator.comparingInt(r -> r.start));
+
+            final List<ChangedLines.LineRange> merged = new ArrayList<>();
+            for (ChangedLines.LineRange r : ranges) {
+                if (merged.isEmpty()) {
+                    merged.add(r);
+                } else {
+                    ChangedLines.LineRange last = merged.get(merged.size() - 1);
+                    // merge overlaps or adjacency (end+1)
+                    if (r.start <= last.end + 1) {
+                        merged.set(merged.size() - 1, new ChangedLines.LineRange(last.start, Math.max(last.end, r.end)));
+                    } else {
+                        merged.add(r);
+                    }
+                }
+            }
+            out.put(e.getKey(), merged);
+        }
+
+        return out;
+    }
+
+    @SuppressWarnings("UnusedMethod")
+    private String resolveBaseRef(final Repository repository, final Log log) throws IOException {
+        // 1. Try origin/HEAD (symbolic ref to main or master)
+        final ObjectId originHead = repository.resolve("refs/remotes/origin/HEAD");
+        if (originHead != null) {
+            log.debug("Using base ref from origin/HEAD");
+            return "refs/remotes/origin/HEAD";
+        }
+
+        // 2. Try origin/main
+        if (repository.resolve("refs/remotes/origin/main") != null) {
+            log.debug("Using base ref origin/main");
+            return "refs/remotes/origin/main";
+        }
+
+        // 3. Try origin/master
+        if (repository.resolve("refs/remotes/origin/master") != null) {
+            log.debug("Using base ref origin/master");
+            return "refs/remotes/origin/master";
+        }
+
+        // 4. Fallback to local main
+        if (repository.resolve("refs/heads/main") != null) {
+            log.debug("Using base ref main");
+            return "refs/heads/main";
+        }
+
+        // 5. Fallback to local master
+        if (repository.resolve("refs/heads/master") != null) {
+            log.debug("Using base ref master");
+            return "refs/heads/master";
+        }
+
+        log.warn("Could not resolve default base branch, falling back to HEAD");
+        return "HEAD";
+    }
+
+    public enum DiffMode {
+        /**
+         * Only committed changes between baseRef and targetRef (tree..tree).
+         */
+        COMMITTED_ONLY,
+
+        /**
+         * Only uncommitted local changes (HEAD..working-tree).
+         */
+        WORKING_TREE_ONLY,
+
+        /**
+         * Union of committed changes (baseRef..targetRef) + uncommitted changes (HEAD..working-tree).
+         */
+        COMMITTED_PLUS_WORKING_TREE
+    }
+}
@@ -1,10 +1,18 @@
 package io.github.finoid.maven.plugins.codequality.filter;
 
+import io.github.finoid.maven.plugins.codequality.report.ViolationSink;
 import lombok.Value;
 import org.apache.maven.plugin.logging.Log;
 
 public interface ViolationFilter {
-    Violations filter(final Violations violations, final Context context);
+    /**
+     * Decorates the provided sink, forwarding only the violations which pass the filter.
+     *
+     * @param downstream the sink receiving the violations which pass the filter
+     * @param context    the filter context
+     * @return the filtering sink
+     */
+    ViolationSink filter(final ViolationSink downstream, final Context context);
 
     String name();
 
@@ -1,5 +1,6 @@
 package io.github.finoid.maven.plugins.codequality.filter;
 
+import io.github.finoid.maven.plugins.codequality.report.ViolationSink;
 import io.github.finoid.maven.plugins.codequality.util.Precondition;
 import lombok.Value;
 import org.apache.maven.plugin.logging.Log;
@@ -7,8 +8,10 @@ import org.apache.maven.plugin.logging.Log;
 import javax.inject.Inject;
 import javax.inject.Named;
 import javax.inject.Singleton;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Set;
+import java.util.function.UnaryOperator;
 
 @Named
 @Singleton
@@ -20,17 +23,24 @@ public class ViolationsFilterService {
         this.filters = Precondition.nonNull(filters, "ViolationFilters shouldn't be null");
     }
 
-    public Violations filter(final Violations violations, final Context context) {
+    /**
+     * Returns the chain of the configured filters, which decorates a sink such that only the violations passing every filter are
+     * forwarded to it.
+     *
+     * @param context the filter context
+     * @return the chain of the configured filters
+     */
+    public UnaryOperator<ViolationSink> filters(final Context context) {
         if (filters.isEmpty()) {
             context.getLog()
                 .info("No violation filters configured");
 
-            return violations;
+            return UnaryOperator.identity();
         }
 
         final ViolationFilter.Context violationFilterContext = new ViolationFilter.Context(context.getLog());
 
-        Violations filteredViolations = violations;
+        final List<ViolationFilter> appliedFilters = new ArrayList<>();
 
         for (final ViolationFilter filter : filters) {
             if (!context.getFiltersByName().contains(filter.name())) {
@@ -40,10 +50,19 @@ public class ViolationsFilterService {
             context.getLog()
                 .info("Applying filter: " + filter.getClass().getSimpleName());
 
-            filteredViolations = filter.filter(filteredViolations, violationFilterContext);
+            appliedFilters.add(filter);
         }
 
-        return filteredViolations;
+        return downstream -> {
+            ViolationSink sink = downstream;
+
+            // Decorated in reverse, such that the violations pass the filters in their order
+            for (int i = appliedFilters.size() - 1; i >= 0; i--) {
+                sink = appliedFilters.get(i).filter(sink, violationFilterContext);
+            }
+
+            return sink;
+        };
     }
 
     @Value
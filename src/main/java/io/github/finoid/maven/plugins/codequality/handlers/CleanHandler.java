@@ -11,7 +11,6 @@ import org.apache.maven.plugin.BuildPluginManager;
 import org.apache.maven.plugin.MojoExecutionException;
 import org.apache.maven.plugin.descriptor.PluginDescriptor;
 import org.apache.maven.plugin.logging.Log;
-import org.apache.maven.project.MavenProject;
 
 import javax.inject.Inject;
 import javax.inject.Singleton;
@@ -28,19 +27,16 @@ import static org.twdata.maven.mojoexecutor.MojoExecutor.name;
 @Singleton
 public class CleanHandler {
     private final MavenSession session;
-    private final MavenProject project;
     private final BuildPluginManager pluginManager;
     private final CodeQualityConfiguration codeQualityConfiguration;
 
     @Inject
     public CleanHandler(
         final MavenSession session,
-        final MavenProject project,
         final BuildPluginManager pluginManager,
         final CodeQualityConfiguration codeQualityConfiguration
     ) {
         this.session = Precondition.nonNull(session, "MavenSession shouldn't be null");
-        this.project = Precondition.nonNull(project, "MavenProject shouldn't be null");
         this.pluginManager = Precondition.nonNull(pluginManager, "BuildPluginManager shouldn't be null");
         this.codeQualityConfiguration = Precondition.nonNull(codeQualityConfiguration, "CodeQualityConfiguration shouldn't be null");
     }
@@ -80,7 +76,7 @@ public class CleanHandler {
                 element(name("failOnError"), "true"),
                 element(name("followSymLinks"), "false")
             ),
-            executionEnvironment(project, session, pluginManager)
+            executionEnvironment(session.getCurrentProject(), session, pluginManager)
         );
     }
 
@@ -110,7 +106,7 @@ public class CleanHandler {
                     )
                 )
             ),
-            executionEnvironment(project, session, pluginManager)
+            executionEnvironment(session.getCurrentProject(), session, pluginManager)
         );
     }
 }
@@ -0,0 +1,42 @@
+package io.github.finoid.maven.plugins.codequality.log;
+
+import lombok.experimental.UtilityClass;
+
+import java.util.Set;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Determines, at capture time, which messages logged by the compiler are diagnostics of the analyzers.
+ * <p>
+ * The compiler plugin logs every diagnostic as a single message starting with a {@code <path>:[<line>,<column>] [<rule>]} line, followed
+ * by its continuation lines. Any other message - such as the progress of the compilation - and the diagnostics of the javac lint categories,
+ * which {@code -Xlint:all} reports for every source file, are never parsed into violations.
+ */
+@UtilityClass
+public class CompilerDiagnosticFilter {
+    private static final Pattern DIAGNOSTIC_HEADER_PATTERN = Pattern.compile("^.*:\\[\\d+(?:,\\d+)?\\] [^\\[\\n]*\\[(?<rule>[^\\]]+)\\]");
+
+    /**
+     * The lint categories of javac, see {@code javac --help-lint}.
+     */
+    private static final Set<String> JAVAC_LINT_CATEGORIES = Set.of(
+        "auxiliaryclass", "cast", "classfile", "dangling-doc-comments", "dep-ann", "deprecation", "divzero", "empty", "exports",
+        "fallthrough", "finally", "incubating", "lossy-conversions", "missing-explicit-ctor", "module", "opens", "options",
+        "output-file-clash", "overloads", "overrides", "path", "preview", "processing", "rawtypes", "removal", "requires-automatic",
+        "requires-transitive-automatic", "restricted", "serial", "static", "strictfp", "synchronization", "text-blocks", "this-escape",
+        "try", "unchecked", "varargs"
+    );
+
+    /**
+     * Whether the provided message, as logged by the compiler plugin, is a diagnostic of the analyzers.
+     *
+     * @param message the logged message
+     * @return {@code true} if the message is to be captured, {@code false} otherwise
+     */
+    public static boolean isAnalyzerDiagnostic(final CharSequence message) {
+        final Matcher matcher = DIAGNOSTIC_HEADER_PATTERN.matcher(message);
+
+        return matcher.lookingAt() && !JAVAC_LINT_CATEGORIES.contains(matcher.group("rule"));
+    }
+}
@@ -1,35 +1,29 @@
 package io.github.finoid.maven.plugins.codequality.log;
 
 import io.github.finoid.maven.plugins.codequality.exceptions.ParseException;
-import io.github.finoid.maven.plugins.codequality.report.Violation;
 import io.github.finoid.maven.plugins.codequality.report.ViolationLogParser;
+import io.github.finoid.maven.plugins.codequality.report.ViolationSink;
 import io.github.finoid.maven.plugins.codequality.step.ViolationConverter;
 import io.github.finoid.maven.plugins.codequality.util.Precondition;
 import org.codehaus.plexus.logging.Logger;
 import org.codehaus.plexus.logging.console.ConsoleLogger;
+import org.jspecify.annotations.Nullable;
 
 import javax.inject.Inject;
 import javax.inject.Singleton;
-import java.io.BufferedReader;
 import java.io.IOException;
 import java.io.InputStream;
-import java.io.InputStreamReader;
 import java.nio.charset.StandardCharsets;
-import java.util.ArrayList;
-import java.util.List;
-import java.util.Optional;
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
+import java.nio.file.Path;
 
+/**
+ * Parses the ErrorProne diagnostics of a compiler log: a {@code <path>:[<line>(,<column>)?] [<rule>] <description>} header line, the
+ * {@code (see <link>)} reference line and an optional {@code Did you mean} line.
+ */
 @Singleton
 public class ErrorProneViolationLogParser implements ViolationLogParser {
-    public static final Pattern VIOLATION_PATTERN =
-        Pattern.compile("^(?<path>.*):\\[(?<line>\\d+)(?:,(?<column>\\d+))?\\] \\[(?<rule>.*)\\] (?<description>.*\\s*\\(.*\\s*.*)$");
-
-    private static final Pattern PART_VIOLATION_PATTERN = Pattern.compile("^(.*):\\[(\\d+(?:,\\d+)?)\\] \\[(.*?)\\]");
     private static final Logger LOGGER = new ConsoleLogger(1, "console");
-    private static final String THIRD_LINE_PREFIX = "  Did you mean";
-    private static final int READ_AHEAD_LIMIT = 8 * 1024;
+    private static final byte[] THIRD_LINE_PREFIX = "  Did you mean".getBytes(StandardCharsets.US_ASCII);
 
     private final ViolationConverter violationConverter;
 
@@ -39,73 +33,98 @@ public class ErrorProneViolationLogParser implements ViolationLogParser {
     }
 
     @Override
-    public List<Violation> parse(final InputStream fileInputStream) {
-        final List<Violation> violations = new ArrayList<>();
-
-        try (final BufferedReader reader = new BufferedReader(new InputStreamReader(fileInputStream, StandardCharsets.UTF_8))) {
-            String nullableLine;
-
-            while ((nullableLine = reader.readLine()) != null) {
-                if (isNotErrorProneViolationLine(nullableLine)) {
-                    continue;
-                }
-
-                parseViolation(nullableLine, reader)
-                    .ifPresent(violations::add);
-            }
+    public void parse(final InputStream fileInputStream, final ViolationSink sink) {
+        try (final JavacDiagnosticScanner scanner = JavacDiagnosticScanner.of(fileInputStream)) {
+            parse(scanner, sink);
+        } catch (final IOException e) {
+            throw new ParseException("Exception during parsing", e);
+        }
+    }
 
-            return violations;
+    @Override
+    public void parse(final Path file, final ViolationSink sink) {
+        try (final JavacDiagnosticScanner scanner = JavacDiagnosticScanner.of(file)) {
+            parse(scanner, sink);
         } catch (final IOException e) {
             throw new ParseException("Exception during parsing", e);
         }
     }
 
-    private Optional<Violation> parseViolation(final String currentLine, final BufferedReader reader) throws IOException {
-        final StringBuilder errorProneViolationBuffer = new StringBuilder();
+    private void parse(final JavacDiagnosticScanner scanner, final ViolationSink sink) throws IOException {
+        while (scanner.nextLine()) {
+            if (!scanner.isErrorProneHeader()) {
+                continue;
+            }
 
-        errorProneViolationBuffer
-            .append(currentLine)
-            .append(System.lineSeparator()) // mimic the original output from error prone
-            .append(reader.readLine());
+            final @Nullable JavacDiagnosticScanner.Header nullableHeader = scanner.errorProneHeader();
+            final StringBuilder lines = new StringBuilder(nullableHeader == null
+                ? scanner.line()
+                : scanner.lineFrom(nullableHeader.descriptionStart()));
 
-        reader.mark(READ_AHEAD_LIMIT);
+            // the second line, typically "    (see ...)", always belongs to the diagnostic
+            if (scanner.nextLine()) {
+                lines.append(System.lineSeparator()) // mimic the original output from error prone
+                    .append(scanner.line());
+            }
 
-        final String peakAhead = reader.readLine();
+            // optional third line: typically "  Did you mean ..."
+            if (scanner.isNextLinePrefixedBy(THIRD_LINE_PREFIX) && scanner.nextLine()) {
+                lines.append(System.lineSeparator()) // mimic the original output from error prone
+                    .append(scanner.line());
+            }
 
-        // optional third line: typically "  Did you mean ..."
-        if (peakAhead != null && peakAhead.startsWith(THIRD_LINE_PREFIX)) {
-            errorProneViolationBuffer.append(System.lineSeparator()); // mimic the original output from error prone
-            errorProneViolationBuffer.append(peakAhead);
-        } else {
-            // Not a valid third line, rewind so the outer loop will process it
-            reader.reset();
-        }
+            final String description = lines.toString();
 
-        final Matcher violationMatcher = VIOLATION_PATTERN.matcher(errorProneViolationBuffer.toString());
-        if (!violationMatcher.find()) {
-            LOGGER.debug("Unexpected error prone log. Log: " + errorProneViolationBuffer);
+            if (nullableHeader == null || !isDescription(description)) {
+                LOGGER.debug("Unexpected error prone log. Log: " + description);
 
-            return Optional.empty();
-        }
+                continue;
+            }
 
-        return violationOf(errorProneViolationBuffer.toString());
+            sink.accept(violationConverter.ofErrorProneViolation(nullableHeader.path(), nullableHeader.line(), nullableHeader.column(),
+                nullableHeader.rule(), description));
+        }
     }
 
-    private Optional<Violation> violationOf(final String errorProneViolationLines) {
-        final Matcher violationMatcher = VIOLATION_PATTERN.matcher(errorProneViolationLines);
+    /**
+     * Whether the description contains the parenthesized reference of ErrorProne, either on the header line or leading the second line,
+     * which may be followed by at most one further line.
+     */
+    private static boolean isDescription(final String description) {
+        final int headerLineEnd = indexOfLineTerminator(description, 0);
+        final int referenceStart = headerLineEnd < 0 ? description.length() : indexOfNonWhitespace(description, headerLineEnd);
+        final int parenthesis = description.lastIndexOf('(', referenceStart);
+
+        if (parenthesis < 0) {
+            return false;
+        }
+
+        final int referenceLineEnd = indexOfLineTerminator(description, parenthesis);
 
-        if (!violationMatcher.find()) {
-            LOGGER.debug("Unexpected error prone log. Log: " + errorProneViolationLines);
+        return referenceLineEnd < 0 || indexOfLineTerminator(description, indexOfNonWhitespace(description, referenceLineEnd)) < 0;
+    }
 
-            return Optional.empty();
+    private static int indexOfLineTerminator(final String value, final int from) {
+        for (int i = from; i < value.length(); i++) {
+            if (value.charAt(i) == '\n' || value.charAt(i) == '\r') {
+                return i;
+            }
         }
 
-        return Optional.of(violationConverter.ofErrorProneViolationMatcher(violationMatcher));
+        return -1;
     }
 
-    private static boolean isNotErrorProneViolationLine(final String nullableLine) {
-        final Matcher partViolationMatcher = PART_VIOLATION_PATTERN.matcher(nullableLine);
+    private static int indexOfNonWhitespace(final String value, final int from) {
+        int i = from;
+
+        while (i < value.length() && isWhitespace(value.charAt(i))) {
+            i++;
+        }
+
+        return i;
+    }
 
-        return !partViolationMatcher.find();
+    private static boolean isWhitespace(final char value) {
+        return value == ' ' || value == '\t' || value == '\n' || value == '\u000B' || value == '\f' || value == '\r';
     }
 }
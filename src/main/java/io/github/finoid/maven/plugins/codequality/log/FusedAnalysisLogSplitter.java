@@ -0,0 +1,139 @@
+package io.github.finoid.maven.plugins.codequality.log;
+
+import io.github.finoid.maven.plugins.codequality.exceptions.ParseException;
+import io.github.finoid.maven.plugins.codequality.util.Precondition;
+import org.jspecify.annotations.Nullable;
+
+import javax.inject.Singleton;
+import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.regex.Pattern;
+
+/**
+ * Splits the captured log of a fused analysis compile, where the ErrorProne plugin and the Checker Framework processors are executed by the
+ * same compiler invocation, into an ErrorProne log and a Checker Framework log.
+ * <p>
+ * A diagnostic starts with a {@code <path>:[<line>,<column>]} line, followed by indented continuation lines. Diagnostics reported by
+ * ErrorProne always reference their bug pattern through a {@code (see <link>)} continuation line, every other diagnostic - such as the
+ * Checker Framework and javac lint diagnostics - is considered to be part of the Checker Framework log.
+ * <p>
+ * Lines that aren't part of a diagnostic are discarded, since neither of the log parsers make use of them.
+ */
+@Singleton
+public class FusedAnalysisLogSplitter {
+    private static final Pattern DIAGNOSTIC_HEADER_PATTERN = Pattern.compile("^(.*):\\[\\d+(?:,\\d+)?\\] ");
+    private static final String CONTINUATION_LINE_PREFIX = "  ";
+    private static final String ERROR_PRONE_LINK_LINE_PREFIX = "    (see ";
+
+    /**
+     * Splits the provided fused analysis log.
+     *
+     * @param inputStream the fused analysis log
+     * @return the split log
+     * @throws ParseException in case the log couldn't be read
+     */
+    public SplitLog split(final InputStream inputStream) {
+        final StringBuilder errorProneLog = new StringBuilder();
+        final StringBuilder checkerFrameworkLog = new StringBuilder();
+
+        try (final BufferedReader reader = new BufferedReader(new InputStreamReader(inputStream, StandardCharsets.UTF_8))) {
+            @Nullable
+            Diagnostic nullableDiagnostic = null;
+            String nullableLine;
+
+            while ((nullableLine = reader.readLine()) != null) {
+                if (DIAGNOSTIC_HEADER_PATTERN.matcher(nullableLine).find()) {
+                    appendTo(nullableDiagnostic, errorProneLog, checkerFrameworkLog);
+
+                    nullableDiagnostic = new Diagnostic(nullableLine);
+                } else if (nullableDiagnostic != null && nullableLine.startsWith(CONTINUATION_LINE_PREFIX)) {
+                    nullableDiagnostic.append(nullableLine);
+                } else {
+                    appendTo(nullableDiagnostic, errorProneLog, checkerFrameworkLog);
+
+                    nullableDiagnostic = null;
+                }
+            }
+
+            appendTo(nullableDiagnostic, errorProneLog, checkerFrameworkLog);
+
+            return new SplitLog(errorProneLog.toString(), checkerFrameworkLog.toString());
+        } catch (final IOException e) {
+            throw new ParseException("Exception during splitting of fused analysis log", e);
+        }
+    }
+
+    /**
+     * Whether the provided diagnostic message, as reported to a {@link javax.tools.DiagnosticListener}, was reported by ErrorProne.
+     *
+     * @param message the diagnostic message
+     * @return {@code true} if reported by ErrorProne, {@code false} otherwise
+     */
+    public static boolean isErrorProneMessage(final String message) {
+        return message.lines()
+            .anyMatch(it -> it.startsWith(ERROR_PRONE_LINK_LINE_PREFIX));
+    }
+
+    private static void appendTo(@Nullable final Diagnostic nullableDiagnostic, final StringBuilder errorProneLog,
+                                 final StringBuilder checkerFrameworkLog) {
+        if (nullableDiagnostic == null) {
+            return;
+        }
+
+        final StringBuilder target = nullableDiagnostic.isErrorProne() ? errorProneLog : checkerFrameworkLog;
+
+        target.append(nullableDiagnostic.lines())
+            .append(System.lineSeparator());
+    }
+
+    /**
+     * The fused analysis log split per analyzer.
+     *
+     * @param errorProneLog       the ErrorProne diagnostics
+     * @param checkerFrameworkLog the Checker Framework and javac lint diagnostics
+     */
+    public record SplitLog(String errorProneLog, String checkerFrameworkLog) {
+        public SplitLog {
+            Precondition.nonNull(errorProneLog, "ErrorProneLog shouldn't be null");
+            Precondition.nonNull(checkerFrameworkLog, "CheckerFrameworkLog shouldn't be null");
+        }
+
+        public InputStream errorProneInputStream() {
+            return new ByteArrayInputStream(errorProneLog.getBytes(StandardCharsets.UTF_8));
+        }
+
+        public InputStream checkerFrameworkInputStream() {
+            return new ByteArrayInputStream(checkerFrameworkLog.getBytes(StandardCharsets.UTF_8));
+        }
+    }
+
+    private static final class Diagnostic {
+        private final StringBuilder lines;
+        private boolean errorProne;
+
+        private Diagnostic(final String headerLine) {
+            this.lines = new StringBuilder(headerLine);
+        }
+
+        private void append(final String continuationLine) {
+            lines.append(System.lineSeparator())
+                .append(continuationLine);
+
+            if (continuationLine.startsWith(ERROR_PRONE_LINK_LINE_PREFIX)) {
+                errorProne = true;
+            }
+        }
+
+        private boolean isErrorProne() {
+            return errorProne;
+        }
+
+        private String lines() {
+            return lines.toString();
+        }
+    }
+}
@@ -0,0 +1,401 @@
+package io.github.finoid.maven.plugins.codequality.log;
+
+import io.github.finoid.maven.plugins.codequality.util.Precondition;
+import org.jspecify.annotations.Nullable;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+
+/**
+ * A single pass scanner of the diagnostics logged by javac on behalf of ErrorProne and the Checker Framework, each consisting of a
+ * {@code <path>:[<line>(,<column>)?] <prefix>[<rule>] <description>} header line followed by its continuation lines.
+ * <p>
+ * The scanner operates on the UTF-8 encoded log rather than on decoded characters: every delimiter of the format is ASCII, hence never part
+ * of a multibyte sequence, and only the fields of the recognized diagnostics are decoded. No regular expression is involved and each line is
+ * visited a constant number of times. The log is streamed through a buffer of {@value #BUFFER_SIZE} bytes, which merely grows for a line
+ * exceeding it, such that neither the heap nor the address space bounds the size of the log, and the file is released once closed.
+ */
+public final class JavacDiagnosticScanner implements Closeable {
+    private static final int BUFFER_SIZE = 64 * 1024;
+    private static final byte NEW_LINE = '\n';
+    private static final byte CARRIAGE_RETURN = '\r';
+
+    private final ReadableByteChannel channel;
+
+    private byte[] log = new byte[BUFFER_SIZE];
+    private int limit;
+    private boolean isEndOfInput;
+
+    private int lineStart;
+    private int lineEnd;
+    private int nextLineStart;
+
+    private JavacDiagnosticScanner(final ReadableByteChannel channel) {
+        this.channel = channel;
+    }
+
+    /**
+     * Creates a scanner of the remaining content of the provided input stream, which is closed along with the scanner.
+     *
+     * @param inputStream the input stream of the log
+     * @return the scanner
+     */
+    public static JavacDiagnosticScanner of(final InputStream inputStream) {
+        Precondition.nonNull(inputStream, "InputStream shouldn't be null");
+
+        return new JavacDiagnosticScanner(Channels.newChannel(inputStream));
+    }
+
+    /**
+     * Creates a scanner of the provided log file, which is kept open until the scanner is closed.
+     *
+     * @param file the log file
+     * @return the scanner
+     * @throws IOException if the file couldn't be opened
+     */
+    public static JavacDiagnosticScanner of(final Path file) throws IOException {
+        Precondition.nonNull(file, "File shouldn't be null");
+
+        return new JavacDiagnosticScanner(FileChannel.open(file, StandardOpenOption.READ));
+    }
+
+    /**
+     * Advances to the next line, excluding its line terminator.
+     *
+     * @return {@code true} if the scanner advanced, {@code false} if the log has been exhausted
+     * @throws IOException if the log couldn't be read
+     */
+    public boolean nextLine() throws IOException {
+        int newLine = indexOf(NEW_LINE, nextLineStart, limit);
+
+        while (newLine < 0 && !isEndOfInput) {
+            // The current line is left behind, merely the remainder of the buffer is retained
+            final int searched = limit - nextLineStart;
+
+            fill(nextLineStart);
+
+            newLine = indexOf(NEW_LINE, searched, limit);
+        }
+
+        if (nextLineStart >= limit) {
+            return false;
+        }
+
+        lineStart = nextLineStart;
+
+        if (newLine < 0) {
+            lineEnd = limit;
+            nextLineStart = limit;
+        } else {
+            lineEnd = newLine > lineStart && log[newLine - 1] == CARRIAGE_RETURN ? newLine - 1 : newLine;
+            nextLineStart = newLine + 1;
+        }
+
+        return true;
+    }
+
+    /**
+     * Whether the line following the current one starts with the provided ASCII prefix, without advancing.
+     *
+     * @param prefix the ASCII prefix
+     * @return {@code true} if the next line starts with the prefix, {@code false} otherwise
+     * @throws IOException if the log couldn't be read
+     */
+    public boolean isNextLinePrefixedBy(final byte[] prefix) throws IOException {
+        while (limit - nextLineStart < prefix.length && !isEndOfInput) {
+            fill(lineStart);
+        }
+
+        if (limit - nextLineStart < prefix.length) {
+            return false;
+        }
+
+        for (int i = 0; i < prefix.length; i++) {
+            if (log[nextLineStart + i] != prefix[i]) {
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+    /**
+     * Recognizes the current line as an ErrorProne header, {@code <path>:[<line>(,<column>)?] [<rule>] <description>}. The path extends to
+     * the last position of the line which is immediately followed by the rule, and the rule extends to the last {@code "] "} of the line.
+     *
+     * @return the header, or {@code null} if the line isn't an ErrorProne header
+     */
+    public @Nullable Header errorProneHeader() {
+        final int lastRuleEnd = lastIndexOf(']', ' ', lineStart, lineEnd);
+
+        for (int i = lineEnd - 2; i >= lineStart; i--) {
+            if (!isPositionStart(i)) {
+                continue;
+            }
+
+            final int positionEnd = positionEnd(i, false);
+
+            if (positionEnd < 0 || positionEnd + 1 >= lineEnd || log[positionEnd] != ' ' || log[positionEnd + 1] != '[') {
+                continue;
+            }
+
+            if (lastRuleEnd >= positionEnd + 2) {
+                return headerOf(i, positionEnd + 2, lastRuleEnd);
+            }
+        }
+
+        return null;
+    }
+
+    /**
+     * Whether the current line starts an ErrorProne diagnostic, i.e. contains a position immediately followed by a bracketed rule, even if
+     * the remainder of the header is malformed.
+     *
+     * @return {@code true} if the line starts an ErrorProne diagnostic, {@code false} otherwise
+     */
+    public boolean isErrorProneHeader() {
+        final int lastBracket = lastIndexOf((byte) ']', lineStart, lineEnd);
+
+        for (int i = lineStart; i < lineEnd - 1 && i < lastBracket; i++) {
+            if (!isPositionStart(i)) {
+                continue;
+            }
+
+            final int positionEnd = positionEnd(i, false);
+
+            if (positionEnd >= 0 && positionEnd + 1 < lineEnd && log[positionEnd] == ' ' && log[positionEnd + 1] == '['
+                && lastBracket >= positionEnd + 2) {
+                return true;
+            }
+        }
+
+        return false;
+    }
+
+    /**
+     * Recognizes the current line as a Checker Framework header, {@code <path>:[<line>,<column>] <prefix>[<rule>] <description>}. The rule
+     * starts at the last {@code "["} followed by a {@code "] "}, and extends to the last {@code "] "} of the line.
+     *
+     * @return the header, or {@code null} if the line isn't a Checker Framework header
+     */
+    public @Nullable Header checkerFrameworkHeader() {
+        final int lastRuleEnd = lastIndexOf(']', ' ', lineStart, lineEnd);
+
+        if (lastRuleEnd < 0) {
+            return null;
+        }
+
+        final int ruleOpen = lastIndexOf((byte) '[', lineStart, lastRuleEnd);
+
+        for (int i = ruleOpen - 1; i >= lineStart; i--) {
+            if (!isPositionStart(i)) {
+                continue;
+            }
+
+            final int positionEnd = positionEnd(i, true);
+
+            if (positionEnd >= 0 && positionEnd <= ruleOpen) {
+                return headerOf(i, ruleOpen + 1, lastRuleEnd);
+            }
+        }
+
+        return null;
+    }
+
+    /**
+     * Whether the current line starts a Checker Framework diagnostic, i.e. contains a position followed by a bracketed section, even if the
+     * remainder of the header is malformed.
+     *
+     * @return {@code true} if the line starts a Checker Framework diagnostic, {@code false} otherwise
+     */
+    public boolean isCheckerFrameworkHeader() {
+        final int lastBracket = lastIndexOf((byte) ']', lineStart, lineEnd);
+        final int bracketOpen = lastIndexOf((byte) '[', lineStart, Math.max(lastBracket, lineStart));
+
+        for (int i = lineStart; i < bracketOpen; i++) {
+            if (!isPositionStart(i)) {
+                continue;
+            }
+
+            final int positionEnd = positionEnd(i, true);
+
+            if (positionEnd >= 0 && positionEnd <= bracketOpen) {
+                return true;
+            }
+        }
+
+        return false;
+    }
+
+    /**
+     * Returns the current line, decoded.
+     *
+     * @return the current line
+     */
+    public String line() {
+        return decode(lineStart, lineEnd);
+    }
+
+    /**
+     * Returns the current line from the provided offset onwards, decoded.
+     *
+     * @param offset the offset within the current line
+     * @return the remainder of the current line
+     */
+    public String lineFrom(final int offset) {
+        return decode(lineStart + offset, lineEnd);
+    }
+
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+
+    /**
+     * Discards the buffered bytes preceding the provided index and reads further bytes of the log, growing the buffer if it is exhausted
+     * by the retained bytes.
+     */
+    private void fill(final int retainedFrom) throws IOException {
+        final int retained = limit - retainedFrom;
+
+        if (retained == log.length) {
+            log = Arrays.copyOf(log, log.length * 2);
+        }
+
+        System.arraycopy(log, retainedFrom, log, 0, retained);
+
+        limit = retained;
+        lineStart -= retainedFrom;
+        lineEnd -= retainedFrom;
+        nextLineStart -= retainedFrom;
+
+        final int read = channel.read(ByteBuffer.wrap(log, limit, log.length - limit));
+
+        if (read < 0) {
+            isEndOfInput = true;
+        } else {
+            limit += read;
+        }
+    }
+
+    private Header headerOf(final int pathEnd, final int ruleStart, final int ruleEnd) {
+        final int lineNumberStart = pathEnd + 2;
+        final int lineNumberEnd = indexOfNonDigit(lineNumberStart);
+        final int nullableColumnEnd = log[lineNumberEnd] == ',' ? indexOfNonDigit(lineNumberEnd + 1) : -1;
+
+        return new Header(
+            decode(lineStart, pathEnd),
+            Integer.parseInt(ascii(lineNumberStart, lineNumberEnd)),
+            nullableColumnEnd < 0 ? null : ascii(lineNumberEnd + 1, nullableColumnEnd),
+            decode(ruleStart, ruleEnd),
+            ruleEnd + 2 - lineStart
+        );
+    }
+
+    private boolean isPositionStart(final int index) {
+        return log[index] == ':' && index + 1 < lineEnd && log[index + 1] == '[';
+    }
+
+    /**
+     * Returns the index following the {@code :[<line>(,<column>)?]} position at the provided index, or -1 if there is none.
+     */
+    private int positionEnd(final int positionStart, final boolean isColumnRequired) {
+        final int lineNumberEnd = indexOfNonDigit(positionStart + 2);
+
+        if (lineNumberEnd == positionStart + 2 || lineNumberEnd >= lineEnd) {
+            return -1;
+        }
+
+        if (log[lineNumberEnd] == ']') {
+            return isColumnRequired ? -1 : lineNumberEnd + 1;
+        }
+
+        if (log[lineNumberEnd] != ',') {
+            return -1;
+        }
+
+        final int columnEnd = indexOfNonDigit(lineNumberEnd + 1);
+
+        if (columnEnd == lineNumberEnd + 1 || columnEnd >= lineEnd || log[columnEnd] != ']') {
+            return -1;
+        }
+
+        return columnEnd + 1;
+    }
+
+    private int indexOfNonDigit(final int from) {
+        int i = from;
+
+        while (i < lineEnd && i - from < 10 && log[i] >= '0' && log[i] <= '9') {
+            i++;
+        }
+
+        // Numbers exceeding an int aren't positions
+        return i - from < 10 ? i : lineEnd;
+    }
+
+    private int indexOf(final byte value, final int from, final int to) {
+        for (int i = from; i < to; i++) {
+            if (log[i] == value) {
+                return i;
+            }
+        }
+
+        return -1;
+    }
+
+    private int lastIndexOf(final byte value, final int from, final int to) {
+        for (int i = to - 1; i >= from; i--) {
+            if (log[i] == value) {
+                return i;
+            }
+        }
+
+        return -1;
+    }
+
+    private int lastIndexOf(final char first, final char second, final int from, final int to) {
+        for (int i = to - 2; i >= from; i--) {
+            if (log[i] == first && log[i + 1] == second) {
+                return i;
+            }
+        }
+
+        return -1;
+    }
+
+    private String decode(final int from, final int to) {
+        return new String(log, from, to - from, StandardCharsets.UTF_8);
+    }
+
+    private String ascii(final int from, final int to) {
+        final StringBuilder builder = new StringBuilder(to - from);
+
+        for (int i = from; i < to; i++) {
+            builder.append((char) log[i]);
+        }
+
+        return builder.toString();
+    }
+
+    /**
+     * The header line of a diagnostic.
+     *
+     * @param path               the path of the source file
+     * @param line               the line number
+     * @param column             the column number as logged, or {@code null} if absent
+     * @param rule               the rule
+     * @param descriptionStart   the offset within the header line at which the description starts
+     */
+    public record Header(String path, int line, @Nullable String column, String rule, int descriptionStart) {
+    }
+}
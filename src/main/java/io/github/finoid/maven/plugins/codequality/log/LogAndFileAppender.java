@@ -5,28 +5,56 @@ import org.apache.maven.plugin.logging.Log;
 import org.codehaus.plexus.logging.Logger;
 import org.jspecify.annotations.Nullable;
 
+import java.io.BufferedWriter;
+import java.io.Closeable;
 import java.io.File;
-import java.io.FileNotFoundException;
 import java.io.FileOutputStream;
-import java.io.PrintStream;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.zip.GZIPOutputStream;
 
 /**
  * A logger implementation that logs messages to both a {@link Logger} and a file.
  * <p>
- * This class wraps an existing {@link Logger} instance and appends log messages to a specified file,
- * making it useful for cases where logs need to be both written to the standard logging system
- * and persisted to a file. This implementation is inspired by {@link org.apache.maven.monitor.logging.DefaultLog}.
+ * This class wraps an existing {@link Logger} instance and appends the diagnostics of the analyzers to a specified file, as determined by
+ * the {@link CompilerDiagnosticFilter} while capturing, such that the file merely consists of what the log parsers make use of rather than
+ * the whole compiler log. The whole log is optionally retained within a gzip compressed file. This implementation is inspired by
+ * {@link org.apache.maven.monitor.logging.DefaultLog}.
+ * <p>
+ * The compressed log is complete once the appender is closed, which is done once the decorated mojo has been executed.
  */
-public class LogAndFileAppender implements Log {
+public class LogAndFileAppender implements Log, Closeable {
     private final Logger logger;
     private final LogLevel logLevel;
-    private final PrintStream printStream;
+    private final Writer diagnosticWriter;
+    @Nullable
+    private final Writer nullableRawLogWriter;
+
+    public LogAndFileAppender(final Logger logger, final File file, final LogLevel logLevel) throws IOException {
+        this(logger, file, null, logLevel);
+    }
 
-    @SuppressWarnings("required.method.not.called") // the FileOutputStream will be implicitly closed when the jvm exits
-    public LogAndFileAppender(final Logger logger, final File file, final LogLevel logLevel) throws FileNotFoundException {
+    @SuppressWarnings("required.method.not.called") // closed once the decorated mojo has been executed
+    public LogAndFileAppender(final Logger logger, final File file, @Nullable final File nullableRawLogFile, final LogLevel logLevel)
+        throws IOException {
         this.logger = Precondition.nonNull(logger, "Logger shouldn't be null");
         this.logLevel = Precondition.nonNull(logLevel, "LogLevel shouldn't be null");
-        this.printStream = new PrintStream(new FileOutputStream(Precondition.nonNull(file, "File shouldn't be null"), false));
+        this.diagnosticWriter = new BufferedWriter(new OutputStreamWriter(new FileOutputStream(Precondition.nonNull(file, "File shouldn't be null"),
+            false), StandardCharsets.UTF_8));
+
+        try {
+            this.nullableRawLogWriter = nullableRawLogFile == null
+                ? null
+                : rawLogWriterOf(nullableRawLogFile);
+        } catch (final IOException | RuntimeException e) {
+            // The appender isn't constructed, hence never closed by the caller
+            closeSuppressed(diagnosticWriter, e);
+
+            throw e;
+        }
     }
 
     @Override
@@ -62,7 +90,7 @@ public class LogAndFileAppender implements Log {
             // logger.info(messageOfContent(content));
         }
 
-        printStream.println(messageOfContent(content));
+        append(messageOfContent(content));
     }
 
     @Override
@@ -71,7 +99,7 @@ public class LogAndFileAppender implements Log {
             // logger.info(messageOfContent(content), error);
         }
 
-        printStream.println(messageOfContent(content));
+        append(messageOfContent(content));
     }
 
     @Override
@@ -80,7 +108,7 @@ public class LogAndFileAppender implements Log {
             logger.info("", error);
         }
 
-        printStream.println(error.toString());
+        append(error.toString());
     }
 
     @Override
@@ -89,7 +117,7 @@ public class LogAndFileAppender implements Log {
             // logger.warn(messageOfContent(content));
         }
 
-        printStream.println(messageOfContent(content));
+        append(messageOfContent(content));
     }
 
     @Override
@@ -98,7 +126,7 @@ public class LogAndFileAppender implements Log {
             logger.warn(messageOfContent(content), error);
         }
 
-        printStream.println(messageOfContent(content));
+        append(messageOfContent(content));
     }
 
     @Override
@@ -107,28 +135,28 @@ public class LogAndFileAppender implements Log {
             logger.warn("", error);
         }
 
-        printStream.println(error.toString());
+        append(error.toString());
     }
 
     @Override
     public void error(final CharSequence content) {
         logger.error(messageOfContent(content));
 
-        printStream.println(messageOfContent(content));
+        append(messageOfContent(content));
     }
 
     @Override
     public void error(final CharSequence content, final Throwable error) {
         logger.error(messageOfContent(content), error);
 
-        printStream.println(messageOfContent(content));
+        append(messageOfContent(content));
     }
 
     @Override
     public void error(final Throwable error) {
         logger.error("", error);
 
-        printStream.println(error);
+        append(error.toString());
     }
 
     @Override
@@ -151,6 +179,56 @@ public class LogAndFileAppender implements Log {
         return logger.isErrorEnabled();
     }
 
+    @Override
+    public synchronized void close() throws IOException {
+        try {
+            diagnosticWriter.close();
+        } finally {
+            if (nullableRawLogWriter != null) {
+                nullableRawLogWriter.close();
+            }
+        }
+    }
+
+    private synchronized void append(final String message) {
+        try {
+            if (nullableRawLogWriter != null) {
+                nullableRawLogWriter.write(message);
+                nullableRawLogWriter.write(System.lineSeparator());
+            }
+
+            if (CompilerDiagnosticFilter.isAnalyzerDiagnostic(message)) {
+                diagnosticWriter.write(message);
+                diagnosticWriter.write(System.lineSeparator());
+                // Diagnostics are rare compared to the whole log, flushing keeps the file complete even if the appender isn't closed
+                diagnosticWriter.flush();
+            }
+        } catch (final IOException e) {
+            throw new UncheckedIOException("Error during capture of the compiler log", e);
+        }
+    }
+
+    private static Writer rawLogWriterOf(final File rawLogFile) throws IOException {
+        final FileOutputStream outputStream = new FileOutputStream(rawLogFile, false);
+
+        try {
+            return new BufferedWriter(new OutputStreamWriter(new GZIPOutputStream(outputStream), StandardCharsets.UTF_8));
+        } catch (final IOException | RuntimeException e) {
+            // The gzip header is written while constructing the stream
+            closeSuppressed(outputStream, e);
+
+            throw e;
+        }
+    }
+
+    private static void closeSuppressed(final Closeable closeable, final Exception cause) {
+        try {
+            closeable.close();
+        } catch (final IOException e) {
+            cause.addSuppressed(e);
+        }
+    }
+
     private static String messageOfContent(@Nullable final CharSequence content) {
         if (content == null) {
             return "";
@@ -0,0 +1,24 @@
+package io.github.finoid.maven.plugins.codequality.metrics;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * A Java Flight Recorder event spanning the computation of the changed lines of the git diff.
+ */
+@Name("io.github.finoid.codequality.GitDiff")
+@Label("Git Diff")
+@Category({"Code Quality"})
+@Description("Computation of the changed lines of the git diff")
+@StackTrace(false)
+public final class GitDiffEvent extends Event {
+    @Label("Diff")
+    public String diff;
+
+    @Label("Changed Files")
+    public int changedFileCount;
+}
@@ -0,0 +1,24 @@
+package io.github.finoid.maven.plugins.codequality.metrics;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * A Java Flight Recorder event spanning the parsing of the violations from the log of a forked compilation.
+ */
+@Name("io.github.finoid.codequality.LogParsing")
+@Label("Log Parsing")
+@Category({"Code Quality"})
+@Description("Parsing of the violations from the log of a forked compilation")
+@StackTrace(false)
+public final class LogParsingEvent extends Event {
+    @Label("Parser")
+    public String parser;
+
+    @Label("Violations")
+    public int violationCount;
+}
@@ -0,0 +1,34 @@
+package io.github.finoid.maven.plugins.codequality.metrics;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * A Java Flight Recorder event spanning a reporter, either while the violations of a module are streamed into it or while it's
+ * completed once the session ends.
+ */
+@Name("io.github.finoid.codequality.Reporter")
+@Label("Reporter")
+@Category({"Code Quality"})
+@Description("Reporting of the violations by a violation reporter")
+@StackTrace(false)
+public final class ReporterEvent extends Event {
+    public static final String REPORT_PHASE = "report";
+    public static final String COMPLETE_PHASE = "complete";
+
+    @Label("Reporter")
+    public String reporter;
+
+    @Label("Phase")
+    public String phase;
+
+    @Label("Module")
+    public String module;
+
+    @Label("Violations")
+    public long violationCount;
+}
@@ -0,0 +1,67 @@
+package io.github.finoid.maven.plugins.codequality.metrics;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+
+/**
+ * Accumulates the wall time, CPU time and allocated bytes of the current thread across one or more measured intervals. Not thread-safe,
+ * every interval is to be started and stopped by the same thread.
+ */
+final class StageMeasurement {
+    private static final ThreadMXBean THREAD_MX_BEAN = ManagementFactory.getThreadMXBean();
+
+    private long wallNanos;
+    private long cpuNanos;
+    private long allocatedBytes;
+
+    private long startWallNanos;
+    private long startCpuNanos;
+    private long startAllocatedBytes;
+
+    /**
+     * Starts a measured interval.
+     */
+    void start() {
+        startWallNanos = System.nanoTime();
+        startCpuNanos = currentThreadCpuNanos();
+        startAllocatedBytes = currentThreadAllocatedBytes();
+    }
+
+    /**
+     * Stops the measured interval, adding it to the accumulated measurement.
+     */
+    void stop() {
+        wallNanos += System.nanoTime() - startWallNanos;
+        cpuNanos += currentThreadCpuNanos() - startCpuNanos;
+        allocatedBytes += currentThreadAllocatedBytes() - startAllocatedBytes;
+    }
+
+    /**
+     * Returns the accumulated measurement, excluding the provided nested measurement.
+     *
+     * @param module the name of the module
+     * @param stage  the name of the stage
+     * @param nested the measurement nested within this measurement, such as the downstream of a decorating sink
+     * @return the metric
+     */
+    StageMetric toMetric(final String module, final String stage, final StageMeasurement nested) {
+        return new StageMetric(module, stage, wallNanos - nested.wallNanos, cpuNanos - nested.cpuNanos, allocatedBytes - nested.allocatedBytes);
+    }
+
+    StageMetric toMetric(final String module, final String stage) {
+        return new StageMetric(module, stage, wallNanos, cpuNanos, allocatedBytes);
+    }
+
+    private static long currentThreadCpuNanos() {
+        return THREAD_MX_BEAN.isCurrentThreadCpuTimeSupported()
+            ? THREAD_MX_BEAN.getCurrentThreadCpuTime()
+            : 0;
+    }
+
+    private static long currentThreadAllocatedBytes() {
+        // The allocated bytes are only exposed by the HotSpot specific extension
+        return THREAD_MX_BEAN instanceof com.sun.management.ThreadMXBean hotSpotThreadMXBean && hotSpotThreadMXBean.isThreadAllocatedMemorySupported()
+            ? hotSpotThreadMXBean.getCurrentThreadAllocatedBytes()
+            : 0;
+    }
+}
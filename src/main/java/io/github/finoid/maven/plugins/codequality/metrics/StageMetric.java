@@ -0,0 +1,19 @@
+package io.github.finoid.maven.plugins.codequality.metrics;
+
+import io.github.finoid.maven.plugins.codequality.util.Precondition;
+
+/**
+ * The resources spent by a stage of the analysis of a module, see {@link StageMetrics}.
+ *
+ * @param module         the name of the module, or {@link StageMetrics#SESSION_MODULE} for the stages spanning all modules
+ * @param stage          the name of the stage, such as {@code ERROR_PRONE fork}
+ * @param wallNanos      the elapsed wall time in nanoseconds
+ * @param cpuNanos       the CPU time of the measuring thread in nanoseconds, excluding the CPU time of forked processes
+ * @param allocatedBytes the bytes allocated by the measuring thread, excluding the allocations of forked processes
+ */
+public record StageMetric(String module, String stage, long wallNanos, long cpuNanos, long allocatedBytes) {
+    public StageMetric {
+        Precondition.nonNull(module, "Module shouldn't be null");
+        Precondition.nonNull(stage, "Stage shouldn't be null");
+    }
+}
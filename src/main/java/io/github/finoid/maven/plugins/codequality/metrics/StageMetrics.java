@@ -0,0 +1,342 @@
+package io.github.finoid.maven.plugins.codequality.metrics;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import de.vandermeer.asciitable.AsciiTable;
+import de.vandermeer.asciithemes.TA_GridThemes;
+import de.vandermeer.skb.interfaces.transformers.textformat.TextAlignment;
+import io.github.finoid.maven.plugins.codequality.configuration.CodeQualityConfiguration;
+import io.github.finoid.maven.plugins.codequality.exceptions.ReportRendererException;
+import io.github.finoid.maven.plugins.codequality.report.Violation;
+import io.github.finoid.maven.plugins.codequality.report.ViolationSink;
+import io.github.finoid.maven.plugins.codequality.storage.SessionRepository;
+import io.github.finoid.maven.plugins.codequality.util.Precondition;
+import io.github.finoid.maven.plugins.codequality.util.ProjectUtils;
+import org.apache.maven.execution.MavenSession;
+import org.apache.maven.plugin.logging.Log;
+import org.apache.maven.project.MavenProject;
+
+import javax.inject.Inject;
+import javax.inject.Singleton;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.OptionalLong;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.function.UnaryOperator;
+import java.util.stream.Stream;
+
+/**
+ * Measures the wall time, CPU time and allocated bytes of the stages of the analysis, such as the steps, the forked compilations, the
+ * parsing and conversion of the violations, the filters and the reporters, see {@link CodeQualityConfiguration#isMetrics()}.
+ * <p>
+ * The stages are measured on the thread executing them, a step thereby includes the stages it executes, such as its forked compilation.
+ * Once the session ends, the metrics of all modules are written to {@code code-quality-metrics.json} within the build directory of the
+ * root project and logged as a table, along with the peak resident set size of the Maven JVM where the platform exposes it.
+ */
+@Singleton
+public class StageMetrics {
+    public static final String SESSION_MODULE = "(session)";
+
+    private static final String METRICS_KEY = "codequality.stageMetrics";
+    private static final String MEASURED_PROJECTS_KEY = "codequality.stageMetricsProjects";
+    private static final String METRICS_FILE_NAME = "code-quality-metrics.json";
+    private static final Path PROCESS_STATUS_FILE = Paths.get("/proc/self/status");
+    private static final String PEAK_RESIDENT_SET_PREFIX = "VmHWM:";
+
+    private final MavenSession mavenSession;
+    private final SessionRepository sessionRepository;
+    private final ObjectMapper objectMapper = defaultObjectMapper();
+
+    @Inject
+    public StageMetrics(final MavenSession mavenSession, final SessionRepository sessionRepository) {
+        this.mavenSession = Precondition.nonNull(mavenSession, "MavenSession shouldn't be null");
+        this.sessionRepository = Precondition.nonNull(sessionRepository, "SessionRepository shouldn't be null");
+    }
+
+    /**
+     * Enables the measurement of the current module, provided its configuration enables the metrics.
+     *
+     * @param codeQualityConfiguration the code quality configuration of the current module
+     */
+    public void enable(final CodeQualityConfiguration codeQualityConfiguration) {
+        if (codeQualityConfiguration.isMetrics()) {
+            measuredProjects().add(mavenSession.getCurrentProject());
+        }
+    }
+
+    /**
+     * Measures the provided stage of the current module.
+     *
+     * @param stage    the name of the stage
+     * @param supplier the stage
+     * @param <T>      the type of the result of the stage
+     * @param <E>      the type of the exception thrown by the stage
+     * @return the result of the stage
+     * @throws E in case the stage failed
+     */
+    public <T, E extends Exception> T measure(final String stage, final StageSupplier<T, E> supplier) throws E {
+        if (!isEnabled()) {
+            return supplier.get();
+        }
+
+        final StageMeasurement measurement = new StageMeasurement();
+        measurement.start();
+
+        try {
+            return supplier.get();
+        } finally {
+            measurement.stop();
+
+            metrics().add(measurement.toMetric(currentModule(), stage));
+        }
+    }
+
+    /**
+     * Measures the provided stage of the current module.
+     *
+     * @param stage    the name of the stage
+     * @param runnable the stage
+     * @param <E>      the type of the exception thrown by the stage
+     * @throws E in case the stage failed
+     */
+    public <E extends Exception> void measureRun(final String stage, final StageRunnable<E> runnable) throws E {
+        if (!isEnabled()) {
+            runnable.run();
+
+            return;
+        }
+
+        final StageMeasurement measurement = new StageMeasurement();
+        measurement.start();
+
+        try {
+            runnable.run();
+        } finally {
+            measurement.stop();
+
+            metrics().add(measurement.toMetric(currentModule(), stage));
+        }
+    }
+
+    /**
+     * Measures the provided stage of the current module, which is executed as the violations are pushed to the provided sink. The
+     * measurement is recorded once the sink completes.
+     *
+     * @param stage the name of the stage
+     * @param sink  the sink executing the stage
+     * @return the measuring sink
+     */
+    public ViolationSink measure(final String stage, final ViolationSink sink) {
+        // The stage doesn't decorate any downstream sink
+        return measureExcluding(stage, it -> sink, violation -> {
+        });
+    }
+
+    /**
+     * Measures the provided stage of the current module, which decorates the provided downstream sink. The time spent within the
+     * downstream sink is excluded from the measurement. The measurement is recorded once the decorating sink completes.
+     *
+     * @param stage      the name of the stage
+     * @param decorator  the stage, decorating the downstream sink
+     * @param downstream the downstream sink
+     * @return the measuring sink
+     */
+    public ViolationSink measureExcluding(final String stage, final UnaryOperator<ViolationSink> decorator, final ViolationSink downstream) {
+        if (!isEnabled()) {
+            return decorator.apply(downstream);
+        }
+
+        final String module = currentModule();
+        final StageMeasurement measurement = new StageMeasurement();
+        final StageMeasurement downstreamMeasurement = new StageMeasurement();
+
+        final ViolationSink decorated = decorator.apply(new ViolationSink() {
+            @Override
+            public void accept(final Violation violation) {
+                downstreamMeasurement.start();
+                downstream.accept(violation);
+                downstreamMeasurement.stop();
+            }
+
+            @Override
+            public void complete() {
+                downstreamMeasurement.start();
+                downstream.complete();
+                downstreamMeasurement.stop();
+            }
+        });
+
+        return new ViolationSink() {
+            @Override
+            public void accept(final Violation violation) {
+                measurement.start();
+                decorated.accept(violation);
+                measurement.stop();
+            }
+
+            @Override
+            public void complete() {
+                measurement.start();
+                decorated.complete();
+                measurement.stop();
+
+                metrics().add(measurement.toMetric(module, stage, downstreamMeasurement));
+            }
+        };
+    }
+
+    /**
+     * Measures the provided stage spanning all modules, provided any module has been measured.
+     *
+     * @param stage    the name of the stage
+     * @param runnable the stage
+     */
+    public void measureSession(final String stage, final Runnable runnable) {
+        if (measuredProjects().isEmpty()) {
+            runnable.run();
+
+            return;
+        }
+
+        final StageMeasurement measurement = new StageMeasurement();
+        measurement.start();
+
+        try {
+            runnable.run();
+        } finally {
+            measurement.stop();
+
+            metrics().add(measurement.toMetric(SESSION_MODULE, stage));
+        }
+    }
+
+    /**
+     * Writes the metrics of all modules to {@code code-quality-metrics.json} and logs them as a table, provided any module has been
+     * measured.
+     *
+     * @param log the mojo logger
+     * @throws ReportRendererException in case the metrics couldn't be written
+     */
+    public void report(final Log log) {
+        final List<StageMetric> metrics = List.copyOf(metrics());
+        if (metrics.isEmpty()) {
+            return;
+        }
+
+        final Path metricsFile = Paths.get(ProjectUtils.getProjectBuildDirectory(mavenSession), METRICS_FILE_NAME);
+        final OptionalLong peakResidentSetBytes = peakResidentSetBytes();
+
+        final Map<String, Object> report = new LinkedHashMap<>();
+        report.put("stages", metrics);
+        peakResidentSetBytes.ifPresent(it -> report.put("peakResidentSetBytes", it));
+
+        try {
+            Files.createDirectories(metricsFile.getParent());
+
+            objectMapper.writeValue(metricsFile.toFile(), report);
+        } catch (final IOException e) {
+            throw new ReportRendererException("Error during generation of the metrics report", e);
+        }
+
+        log.info("Stage metrics, written to " + metricsFile + ":" + System.lineSeparator() + renderTable(metrics));
+        peakResidentSetBytes.ifPresent(it -> log.info(String.format("Peak resident set size: %.1f MB", it / (1024.0 * 1024.0))));
+    }
+
+    private boolean isEnabled() {
+        return measuredProjects().contains(mavenSession.getCurrentProject());
+    }
+
+    private String currentModule() {
+        return mavenSession.getCurrentProject().getName();
+    }
+
+    @SuppressWarnings("unchecked")
+    private Queue<StageMetric> metrics() {
+        // Modules of a parallel build are measured concurrently
+        return (Queue<StageMetric>) sessionRepository.computeIfAbsent(METRICS_KEY, ConcurrentLinkedQueue::new);
+    }
+
+    @SuppressWarnings("unchecked")
+    private Set<MavenProject> measuredProjects() {
+        return (Set<MavenProject>) sessionRepository.computeIfAbsent(MEASURED_PROJECTS_KEY, ConcurrentHashMap::newKeySet);
+    }
+
+    private static String renderTable(final List<StageMetric> metrics) {
+        final AsciiTable table = new AsciiTable();
+
+        table.addRule();
+        table.addRow("Module", "Stage", "Wall (ms)", "CPU (ms)", "Allocated (MB)");
+        table.addRule();
+
+        for (final StageMetric metric : metrics) {
+            table.addRow(metric.module(), metric.stage(), millisOf(metric.wallNanos()), millisOf(metric.cpuNanos()),
+                String.format("%.1f", metric.allocatedBytes() / (1024.0 * 1024.0)));
+            table.addRule();
+        }
+
+        table.setPaddingLeftRight(1);
+        table.setTextAlignment(TextAlignment.LEFT);
+        table.getContext().setGridTheme(TA_GridThemes.FULL);
+
+        return table.render(140);
+    }
+
+    /**
+     * Returns the peak resident set size of the current process, which is merely exposed by Linux.
+     */
+    private static OptionalLong peakResidentSetBytes() {
+        if (!Files.isReadable(PROCESS_STATUS_FILE)) {
+            return OptionalLong.empty();
+        }
+
+        try (Stream<String> lines = Files.lines(PROCESS_STATUS_FILE)) {
+            // Formatted as "VmHWM:    123456 kB"
+            return lines.filter(it -> it.startsWith(PEAK_RESIDENT_SET_PREFIX))
+                .map(it -> it.substring(PEAK_RESIDENT_SET_PREFIX.length()).replace("kB", "").trim())
+                .mapToLong(it -> Long.parseLong(it) * 1024)
+                .findFirst();
+        } catch (final IOException | NumberFormatException e) {
+            return OptionalLong.empty();
+        }
+    }
+
+    private static String millisOf(final long nanos) {
+        return String.valueOf(nanos / 1_000_000);
+    }
+
+    private static ObjectMapper defaultObjectMapper() {
+        final ObjectMapper objectMapper = new ObjectMapper();
+        objectMapper.enable(SerializationFeature.INDENT_OUTPUT);
+
+        return objectMapper;
+    }
+
+    /**
+     * A stage with a result, such as the parsing of the violations.
+     *
+     * @param <T> the type of the result of the stage
+     * @param <E> the type of the exception thrown by the stage
+     */
+    @FunctionalInterface
+    public interface StageSupplier<T, E extends Exception> {
+        T get() throws E;
+    }
+
+    /**
+     * A stage without a result, such as a forked compilation.
+     *
+     * @param <E> the type of the exception thrown by the stage
+     */
+    @FunctionalInterface
+    public interface StageRunnable<E extends Exception> {
+        void run() throws E;
+    }
+}
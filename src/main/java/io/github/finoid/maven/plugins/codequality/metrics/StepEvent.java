@@ -0,0 +1,28 @@
+package io.github.finoid.maven.plugins.codequality.metrics;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * A Java Flight Recorder event spanning the execution of a step of a module, such that the steps can be correlated with the garbage
+ * collections and I/O of the build in JDK Mission Control. Like every event, it's merely committed while a recording enables it.
+ */
+@Name("io.github.finoid.codequality.Step")
+@Label("Step")
+@Category({"Code Quality"})
+@Description("Execution of an analysis step of a module")
+@StackTrace(false)
+public final class StepEvent extends Event {
+    @Label("Step Type")
+    public String stepType;
+
+    @Label("Module")
+    public String module;
+
+    @Label("Violations")
+    public int violationCount;
+}
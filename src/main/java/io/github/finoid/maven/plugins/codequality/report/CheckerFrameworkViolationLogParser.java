@@ -1,32 +1,28 @@
 package io.github.finoid.maven.plugins.codequality.report;
 
+import io.github.finoid.maven.plugins.codequality.log.JavacDiagnosticScanner;
 import org.codehaus.plexus.logging.Logger;
 import org.codehaus.plexus.logging.console.ConsoleLogger;
 import io.github.finoid.maven.plugins.codequality.exceptions.ParseException;
 import io.github.finoid.maven.plugins.codequality.step.ViolationConverter;
 import io.github.finoid.maven.plugins.codequality.util.Precondition;
+import org.jspecify.annotations.Nullable;
 
 import javax.inject.Inject;
 import javax.inject.Singleton;
-import java.io.BufferedReader;
 import java.io.IOException;
 import java.io.InputStream;
-import java.io.InputStreamReader;
 import java.nio.charset.StandardCharsets;
-import java.util.ArrayList;
-import java.util.List;
-import java.util.Optional;
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
+import java.nio.file.Path;
 
+/**
+ * Parses the Checker Framework diagnostics of a compiler log: a {@code <path>:[<line>,<column>] <kind>: [<rule>] <description>} header line
+ * followed by its continuation lines, which are indented by two spaces.
+ */
 @Singleton
 public class CheckerFrameworkViolationLogParser implements ViolationLogParser {
-    public static final Pattern PART_VIOLATION_PATTERN = Pattern.compile("^(.*):(\\[\\d+,\\d+\\]).*(\\[.*\\])");
-    public static final Pattern VIOLATION_PATTERN =
-        Pattern.compile("^(?<path>.*):\\[(?<line>\\d+),(?<column>\\d+)\\].*\\[(?<rule>.*)\\] (?<description>(?s).*)$");
-
     private static final Logger LOGGER = new ConsoleLogger(1, "console");
-    private static final int READ_AHEAD_LIMIT = 8 * 1024;
+    private static final byte[] CONTINUATION_LINE_PREFIX = "  ".getBytes(StandardCharsets.US_ASCII);
 
     private final ViolationConverter violationConverter;
 
@@ -36,64 +32,47 @@ public class CheckerFrameworkViolationLogParser implements ViolationLogParser {
     }
 
     @Override
-    public List<Violation> parse(final InputStream fileInputStream) {
-        final List<Violation> violations = new ArrayList<>();
-
-        try (final BufferedReader reader = new BufferedReader(new InputStreamReader(fileInputStream, StandardCharsets.UTF_8))) {
-            String nullableLine;
-
-            while ((nullableLine = reader.readLine()) != null) {
-                if (isNotCheckerFrameworkViolationLine(nullableLine)) {
-                    continue;
-                }
-
-                parseViolation(nullableLine, reader)
-                    .ifPresent(violations::add);
-            }
-
-            return violations;
+    public void parse(final InputStream fileInputStream, final ViolationSink sink) {
+        try (final JavacDiagnosticScanner scanner = JavacDiagnosticScanner.of(fileInputStream)) {
+            parse(scanner, sink);
         } catch (final IOException e) {
             throw new ParseException("Exception during parsing", e);
         }
     }
 
-    private Optional<Violation> parseViolation(final String currentLine, final BufferedReader reader) throws IOException {
-        final StringBuilder checkerFrameworkViolationBuffer = new StringBuilder(currentLine);
-
-        while (true) {
-            reader.mark(READ_AHEAD_LIMIT);
-            final String peakAhead = reader.readLine();
-            if (peakAhead != null && peakAhead.startsWith("  ")) {
-                checkerFrameworkViolationBuffer
-                    .append(System.lineSeparator())
-                    .append(peakAhead);
-            } else {
-                if (peakAhead != null) {
-                    reader.reset();
-                }
-                break;
-            }
+    @Override
+    public void parse(final Path file, final ViolationSink sink) {
+        try (final JavacDiagnosticScanner scanner = JavacDiagnosticScanner.of(file)) {
+            parse(scanner, sink);
+        } catch (final IOException e) {
+            throw new ParseException("Exception during parsing", e);
         }
-
-        return violationOf(checkerFrameworkViolationBuffer.toString());
     }
 
-    private Optional<Violation> violationOf(final String checkerFrameworkViolationLines) {
-        final Matcher violationMatcher = VIOLATION_PATTERN.matcher(checkerFrameworkViolationLines);
+    private void parse(final JavacDiagnosticScanner scanner, final ViolationSink sink) throws IOException {
+        while (scanner.nextLine()) {
+            if (!scanner.isCheckerFrameworkHeader()) {
+                continue;
+            }
 
-        if (!violationMatcher.find()) {
-            LOGGER.warn("Unexpected checker framework log. Log: " + checkerFrameworkViolationLines);
+            final @Nullable JavacDiagnosticScanner.Header nullableHeader = scanner.checkerFrameworkHeader();
+            final StringBuilder lines = new StringBuilder(nullableHeader == null
+                ? scanner.line()
+                : scanner.lineFrom(nullableHeader.descriptionStart()));
 
-            return Optional.empty();
-        }
+            while (scanner.isNextLinePrefixedBy(CONTINUATION_LINE_PREFIX) && scanner.nextLine()) {
+                lines.append(System.lineSeparator())
+                    .append(scanner.line());
+            }
 
-        return Optional.of(violationConverter.ofCheckerFrameworkViolationMatcher(violationMatcher));
-    }
+            if (nullableHeader == null) {
+                LOGGER.warn("Unexpected checker framework log. Log: " + lines);
 
-    private static boolean isNotCheckerFrameworkViolationLine(final String nullableLine) {
-        final Matcher partViolationMatcher = PART_VIOLATION_PATTERN.matcher(nullableLine);
+                continue;
+            }
 
-        return !partViolationMatcher.find();
+            sink.accept(violationConverter.ofCheckerFrameworkViolation(nullableHeader.path(), nullableHeader.line(),
+                Precondition.nonNull(nullableHeader.column(), "Column shouldn't be null"), nullableHeader.rule(), lines.toString()));
+        }
     }
-
 }
@@ -1,6 +1,5 @@
 package io.github.finoid.maven.plugins.codequality.report;
 
-import io.github.finoid.maven.plugins.codequality.filter.Violations;
 import io.github.finoid.maven.plugins.codequality.log.ViolationLinkableConsoleLogger;
 import io.github.finoid.maven.plugins.codequality.util.Precondition;
 import org.apache.maven.plugin.logging.Log;
@@ -8,15 +7,13 @@ import org.apache.maven.plugin.logging.Log;
 import javax.inject.Inject;
 import javax.inject.Named;
 import javax.inject.Singleton;
-import java.util.List;
-import java.util.Locale;
 
 /**
  * A plain console-based implementation of {@link ViolationReporter} that logs code quality violations
  * to the Maven console using color-coded and linkable formatting.
  *
  * <p>Violations are categorized into permissive and non-permissive types, and output is formatted
- * accordingly using green (informational) or yellow (warnings) coloring.
+ * accordingly using green (informational) or yellow (warnings) coloring. Each violation is logged as soon as it's reported.
  */
 @Named("console-plain")
 @Singleton
@@ -35,17 +32,30 @@ public class ConsolePlainViolationReporter implements ViolationReporter {
     }
 
     /**
-     * Reports all violations of at least {@link Severity#MINOR} level by grouping them
-     * into permissive and non-permissive categories, and logs each group with formatting
-     * and severity-based log levels.
+     * Opens a sink logging each violation of the current module as it's pushed, followed by the number of violations of the permissive
+     * type once completed. The log level depends on the permissive type.
      *
-     * @param log        the Maven plugin log interface
-     * @param violations the results of executed code analysis steps containing violations
+     * @param log            the Maven plugin log interface
+     * @param permissiveType the permissive type of the violations
+     * @return the sink for the violations of the current module
      */
     @Override
-    public void report(final Log log, final Violations violations) {
-        logViolationsForType(log, violations.getPermissiveViolations(), PermissiveType.PERMISSIVE);
-        logViolationsForType(log, violations.getNonPermissiveViolations(), PermissiveType.NON_PERMISSIVE);
+    public ViolationSink open(final Log log, final PermissiveType permissiveType) {
+        return new ViolationSink() {
+            private int count;
+
+            @Override
+            public void accept(final Violation violation) {
+                count++;
+
+                logWithLevel(log, permissiveType, violationLinkableConsoleLogger.format(violation));
+            }
+
+            @Override
+            public void complete() {
+                logSummary(log, count, permissiveType);
+            }
+        };
     }
 
     @Override
@@ -53,22 +63,20 @@ public class ConsolePlainViolationReporter implements ViolationReporter {
         return NAME;
     }
 
-    private void logViolationsForType(final Log log, final List<Violation> violations, final PermissiveType permissiveType) {
-        if (violations.isEmpty()) {
+    private static void logSummary(final Log log, final int count, final PermissiveType permissiveType) {
+        if (count == 0) {
             log.info(String.format("✅ %s ##### No %s violations found ##### %s ✅ ", GREEN, permissiveType.displayName(), RESET));
             return;
         }
 
         final String message = String.format("%s ##### found %d %s violations ##### %s",
             (permissiveType == PermissiveType.NON_PERMISSIVE) ? YELLOW : GREEN,
-            violations.size(),
+            count,
             permissiveType.displayName(),
             RESET
         );
 
         logWithLevel(log, permissiveType, (permissiveType == PermissiveType.NON_PERMISSIVE ? "⚠ " : "✅ ") + message);
-
-        violations.forEach(v -> logWithLevel(log, permissiveType, violationLinkableConsoleLogger.format(v)));
     }
 
     private static void logWithLevel(final Log log, final PermissiveType permissiveType, final String message) {
@@ -78,14 +86,4 @@ public class ConsolePlainViolationReporter implements ViolationReporter {
             log.info(message);
         }
     }
-
-    private enum PermissiveType {
-        PERMISSIVE,
-        NON_PERMISSIVE;
-
-        private String displayName() {
-            return name().replace('_', ' ')
-                .toLowerCase(Locale.ROOT);
-        }
-    }
 }
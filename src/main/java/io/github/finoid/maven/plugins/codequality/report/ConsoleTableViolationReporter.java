@@ -4,13 +4,12 @@ import de.vandermeer.asciitable.AsciiTable;
 import de.vandermeer.asciitable.CWC_LongestLine;
 import de.vandermeer.asciithemes.TA_GridThemes;
 import de.vandermeer.skb.interfaces.transformers.textformat.TextAlignment;
-import io.github.finoid.maven.plugins.codequality.filter.Violations;
 import org.apache.maven.plugin.logging.Log;
 
 import javax.inject.Named;
 import javax.inject.Singleton;
+import java.util.ArrayList;
 import java.util.List;
-import java.util.Locale;
 
 /**
  * A table console-based implementation of {@link ViolationReporter} that logs code quality violations
@@ -29,17 +28,29 @@ public class ConsoleTableViolationReporter implements ViolationReporter {
     private static final String RESET = "\u001B[0m";
 
     /**
-     * Reports all violations of at least {@link Severity#MINOR} level by grouping them
-     * into permissive and non-permissive categories, and logs each group with formatting
-     * and severity-based log levels.
+     * Opens a sink collecting the violations of the current module, which are logged as a table once completed, preceded by the
+     * number of violations of the permissive type. The log level depends on the permissive type.
      *
-     * @param log        the Maven plugin log interface
-     * @param violations the results of executed code analysis steps containing violations
+     * @param log            the Maven plugin log interface
+     * @param permissiveType the permissive type of the violations
+     * @return the sink for the violations of the current module
      */
     @Override
-    public void report(final Log log, final Violations violations) {
-        logViolationsForType(log, violations.getPermissiveViolations(), PermissiveType.PERMISSIVE);
-        logViolationsForType(log, violations.getNonPermissiveViolations(), PermissiveType.NON_PERMISSIVE);
+    public ViolationSink open(final Log log, final PermissiveType permissiveType) {
+        // A table is rendered at once, hence the violations of a module are held until it has completed
+        final List<Violation> violations = new ArrayList<>();
+
+        return new ViolationSink() {
+            @Override
+            public void accept(final Violation violation) {
+                violations.add(violation);
+            }
+
+            @Override
+            public void complete() {
+                logViolationsForType(log, violations, permissiveType);
+            }
+        };
     }
 
     @Override
@@ -110,14 +121,4 @@ public class ConsoleTableViolationReporter implements ViolationReporter {
             log.info(message);
         }
     }
-
-    private enum PermissiveType {
-        PERMISSIVE,
-        NON_PERMISSIVE;
-
-        private String displayName() {
-            return name().replace('_', ' ')
-                .toLowerCase(Locale.ROOT);
-        }
-    }
 }
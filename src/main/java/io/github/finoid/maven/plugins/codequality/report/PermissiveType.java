@@ -0,0 +1,20 @@
+package io.github.finoid.maven.plugins.codequality.report;
+
+import java.util.Locale;
+
+/**
+ * Whether violations originate from a permissive step, which doesn't fail the build, or a non-permissive one.
+ */
+public enum PermissiveType {
+    PERMISSIVE,
+    NON_PERMISSIVE;
+
+    public String displayName() {
+        return name().replace('_', ' ')
+            .toLowerCase(Locale.ROOT);
+    }
+
+    public static PermissiveType of(final boolean isPermissive) {
+        return isPermissive ? PERMISSIVE : NON_PERMISSIVE;
+    }
+}
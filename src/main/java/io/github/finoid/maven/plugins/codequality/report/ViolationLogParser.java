@@ -1,12 +1,34 @@
 package io.github.finoid.maven.plugins.codequality.report;
 
 import io.github.finoid.maven.plugins.codequality.exceptions.ParseException;
+import io.github.finoid.maven.plugins.codequality.metrics.LogParsingEvent;
 
 import java.io.InputStream;
+import java.nio.file.Path;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.function.Consumer;
 
 public interface ViolationLogParser {
 
+    /**
+     * Parses the provided input stream, pushing every identified violation to the provided sink as soon as it has been parsed.
+     *
+     * @param fileInputStream the input stream containing the log data to be parsed.
+     * @param sink            the sink receiving the identified violations.
+     * @throws ParseException if an error occurs during the parsing process, such as invalid log formatting or issues reading from the input stream.
+     */
+    void parse(final InputStream fileInputStream, final ViolationSink sink);
+
+    /**
+     * Parses the provided log file, pushing every identified violation to the provided sink as soon as it has been parsed.
+     *
+     * @param file the log file to be parsed.
+     * @param sink the sink receiving the identified violations.
+     * @throws ParseException if an error occurs during the parsing process, such as invalid log formatting or issues reading the file.
+     */
+    void parse(final Path file, final ViolationSink sink);
+
     /**
      * Parses the provided input stream to extract a list of violations from log entries.
      *
@@ -14,6 +36,37 @@ public interface ViolationLogParser {
      * @return a list of {@link Violation} objects representing the identified violations in the logs.
      * @throws ParseException if an error occurs during the parsing process, such as invalid log formatting or issues reading from the input stream.
      */
-    List<Violation> parse(final InputStream fileInputStream);
+    default List<Violation> parse(final InputStream fileInputStream) {
+        return collect(sink -> parse(fileInputStream, sink));
+    }
+
+    /**
+     * Parses the provided log file to extract a list of violations from log entries.
+     *
+     * @param file the log file to be parsed.
+     * @return a list of {@link Violation} objects representing the identified violations in the logs.
+     * @throws ParseException if an error occurs during the parsing process, such as invalid log formatting or issues reading the file.
+     */
+    default List<Violation> parse(final Path file) {
+        return collect(sink -> parse(file, sink));
+    }
+
+    private List<Violation> collect(final Consumer<ViolationSink> parsing) {
+        final LogParsingEvent event = new LogParsingEvent();
+        event.begin();
+
+        final List<Violation> violations = new ArrayList<>();
+
+        parsing.accept(ViolationSink.collecting(violations));
+
+        event.end();
+
+        if (event.shouldCommit()) {
+            event.parser = getClass().getSimpleName();
+            event.violationCount = violations.size();
+            event.commit();
+        }
 
+        return violations;
+    }
 }
@@ -0,0 +1,164 @@
+package io.github.finoid.maven.plugins.codequality.report;
+
+import io.github.finoid.maven.plugins.codequality.configuration.CodeQualityConfiguration;
+import io.github.finoid.maven.plugins.codequality.filter.ViolationsFilterService;
+import io.github.finoid.maven.plugins.codequality.filter.ViolationsFilterService.Context;
+import io.github.finoid.maven.plugins.codequality.metrics.ReporterEvent;
+import io.github.finoid.maven.plugins.codequality.metrics.StageMetrics;
+import io.github.finoid.maven.plugins.codequality.step.ProjectStepResults;
+import io.github.finoid.maven.plugins.codequality.util.Precondition;
+import org.apache.maven.plugin.logging.Log;
+
+import javax.inject.Inject;
+import javax.inject.Singleton;
+import java.util.Comparator;
+import java.util.List;
+import java.util.function.UnaryOperator;
+
+/**
+ * Streams the violations of a module through the configured filters into the configured reporters, as soon as the module has completed.
+ * Neither the filters nor the pipeline hold the violations, such that the violations of a module may be released once reported, rather
+ * than being held until every module of the build has completed.
+ * <p>
+ * The permissive and non-permissive violations are streamed one after another, each in ascending order of their severity.
+ */
+@Singleton
+public class ViolationPipeline {
+    private final List<ViolationReporter> violationReporters;
+    private final ViolationsFilterService filterService;
+    private final StageMetrics stageMetrics;
+
+    @Inject
+    public ViolationPipeline(final List<ViolationReporter> violationReporters, final ViolationsFilterService filterService,
+                             final StageMetrics stageMetrics) {
+        this.violationReporters = Precondition.nonNull(violationReporters, "ViolationReporters shouldn't be null");
+        this.filterService = Precondition.nonNull(filterService, "ViolationsFilterService shouldn't be null");
+        this.stageMetrics = Precondition.nonNull(stageMetrics, "StageMetrics shouldn't be null");
+    }
+
+    /**
+     * Reports the violations of at least {@link Severity#MINOR} level of the provided module.
+     *
+     * @param projectStepResults       the step results of the module
+     * @param codeQualityConfiguration the code quality configuration of the module
+     * @param log                      the mojo logger
+     * @return the number of reported non-permissive violations, i.e. the violations which passed the filters
+     */
+    public long report(final ProjectStepResults projectStepResults, final CodeQualityConfiguration codeQualityConfiguration, final Log log) {
+        final UnaryOperator<ViolationSink> filters = filterService.filters(new Context(log, codeQualityConfiguration.getViolationFilters()));
+        final List<ViolationReporter> reporters = reportersOf(codeQualityConfiguration);
+
+        long nonPermissiveViolations = 0;
+
+        for (final PermissiveType permissiveType : PermissiveType.values()) {
+            final CountingViolationSink reporterSink = new CountingViolationSink(ViolationSink.fanOut(reporters.stream()
+                .map(it -> stageMetrics.measure("report " + it.name(),
+                    recorded(it, projectStepResults.getProjectName(), it.open(log, permissiveType))))
+                .toList()));
+            // The filters are streamed, hence measured as a whole, excluding the time spent within the reporters
+            final ViolationSink sink = stageMetrics.measureExcluding("filter", filters, reporterSink);
+
+            projectStepResults.getResults().stream()
+                .filter(it -> PermissiveType.of(it.isPermissive()) == permissiveType)
+                .flatMap(it -> it.getViolations().stream())
+                .filter(violation -> violation.getSeverity().isHigherThanOrEqual(Severity.MINOR))
+                .sorted(Comparator.comparing(Violation::getSeverity))
+                .forEach(sink::accept);
+
+            sink.complete();
+
+            if (permissiveType == PermissiveType.NON_PERMISSIVE) {
+                nonPermissiveViolations = reporterSink.count;
+            }
+        }
+
+        return nonPermissiveViolations;
+    }
+
+    /**
+     * Completes every reporter once every module has been reported, including the reporters which merely some modules are configured
+     * with.
+     *
+     * @param log the mojo logger
+     */
+    public void complete(final Log log) {
+        violationReporters.forEach(it -> stageMetrics.measureSession("complete " + it.name(), () -> {
+            final ReporterEvent event = new ReporterEvent();
+            event.begin();
+
+            it.complete(log);
+
+            event.end();
+
+            if (event.shouldCommit()) {
+                event.reporter = it.name();
+                event.phase = ReporterEvent.COMPLETE_PHASE;
+                event.commit();
+            }
+        }));
+    }
+
+    /**
+     * Records the reporting of the violations of a module as a {@link ReporterEvent}, spanning from opening the reporter until its
+     * completion, provided a recording enables the event.
+     */
+    private static ViolationSink recorded(final ViolationReporter reporter, final String module, final ViolationSink sink) {
+        final ReporterEvent event = new ReporterEvent();
+        if (!event.isEnabled()) {
+            return sink;
+        }
+
+        event.begin();
+
+        final CountingViolationSink countingSink = new CountingViolationSink(sink);
+
+        return new ViolationSink() {
+            @Override
+            public void accept(final Violation violation) {
+                countingSink.accept(violation);
+            }
+
+            @Override
+            public void complete() {
+                countingSink.complete();
+
+                event.end();
+
+                if (event.shouldCommit()) {
+                    event.reporter = reporter.name();
+                    event.phase = ReporterEvent.REPORT_PHASE;
+                    event.module = module;
+                    event.violationCount = countingSink.count;
+                    event.commit();
+                }
+            }
+        };
+    }
+
+    private List<ViolationReporter> reportersOf(final CodeQualityConfiguration codeQualityConfiguration) {
+        return violationReporters.stream()
+            .filter(it -> codeQualityConfiguration.getViolationReporters().contains(it.name()))
+            .toList();
+    }
+
+    private static final class CountingViolationSink implements ViolationSink {
+        private final ViolationSink downstream;
+        private long count;
+
+        private CountingViolationSink(final ViolationSink downstream) {
+            this.downstream = downstream;
+        }
+
+        @Override
+        public void accept(final Violation violation) {
+            count++;
+
+            downstream.accept(violation);
+        }
+
+        @Override
+        public void complete() {
+            downstream.complete();
+        }
+    }
+}
@@ -1,22 +1,32 @@
 package io.github.finoid.maven.plugins.codequality.report;
 
-import io.github.finoid.maven.plugins.codequality.filter.Violations;
 import org.apache.maven.plugin.logging.Log;
 
 /**
  * A contract for reporting code quality violations to a specified output, such as the console or a file.
  *
- * <p>Implementations are responsible for formatting and emitting violation data based on severity and configuration,
- * typically after all analysis steps have been completed.
+ * <p>Violations are streamed to the reporter as each module completes, see {@link ViolationPipeline}, such that a reporter only holds
+ * the violations it needs for its output. Once every module has completed, the reporter is completed.
  */
 public interface ViolationReporter {
     /**
-     * Reports the results of code quality analysis to the specified Maven log.
+     * Opens a sink for the violations of the given permissive type of the current module, which is completed once all of its violations
+     * have been pushed. The violations are pushed in ascending order of their severity.
      *
-     * @param log        the Maven plugin logger used to emit messages
-     * @param violations the collected violations of all executed code quality steps
+     * @param log            the Maven plugin logger used to emit messages
+     * @param permissiveType the permissive type of the violations pushed to the sink
+     * @return the sink for the violations of the current module
      */
-    void report(final Log log, final Violations violations);
+    ViolationSink open(final Log log, final PermissiveType permissiveType);
+
+    /**
+     * Completes the report once every module has completed, such as to finish a report spanning all modules. Invoked regardless of
+     * whether the reporter has been opened by any module.
+     *
+     * @param log the Maven plugin logger used to emit messages
+     */
+    default void complete(final Log log) {
+    }
 
     /**
      * The name of the violation reporter.
@@ -0,0 +1,54 @@
+package io.github.finoid.maven.plugins.codequality.report;
+
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * A consumer which violations are pushed to one at a time, as they're produced, such that a stage of the violation pipeline doesn't
+ * need to hold the violations of its predecessor. Parsers push into a sink, filters decorate a sink and reporters provide one.
+ */
+@FunctionalInterface
+public interface ViolationSink {
+    /**
+     * Accepts the next violation.
+     *
+     * @param violation the violation
+     */
+    void accept(final Violation violation);
+
+    /**
+     * Signals that no further violations are pushed to the sink.
+     */
+    default void complete() {
+    }
+
+    /**
+     * Returns a sink which adds every violation to the provided collection.
+     *
+     * @param violations the collection to add the violations to
+     * @return the sink
+     */
+    static ViolationSink collecting(final Collection<Violation> violations) {
+        return violations::add;
+    }
+
+    /**
+     * Returns a sink which forwards every violation, and the completion, to each of the provided sinks.
+     *
+     * @param sinks the sinks to forward to
+     * @return the sink
+     */
+    static ViolationSink fanOut(final List<ViolationSink> sinks) {
+        return new ViolationSink() {
+            @Override
+            public void accept(final Violation violation) {
+                sinks.forEach(it -> it.accept(violation));
+            }
+
+            @Override
+            public void complete() {
+                sinks.forEach(ViolationSink::complete);
+            }
+        };
+    }
+}
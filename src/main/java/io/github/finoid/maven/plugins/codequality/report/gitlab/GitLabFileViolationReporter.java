@@ -2,12 +2,15 @@ package io.github.finoid.maven.plugins.codequality.report.gitlab;
 
 import com.fasterxml.jackson.core.JsonGenerator;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SequenceWriter;
 import com.fasterxml.jackson.databind.SerializationFeature;
 import io.github.finoid.maven.plugins.codequality.exceptions.ReportRendererException;
-import io.github.finoid.maven.plugins.codequality.filter.Violations;
 import io.github.finoid.maven.plugins.codequality.report.Severity;
+import io.github.finoid.maven.plugins.codequality.report.PermissiveType;
 import io.github.finoid.maven.plugins.codequality.report.Violation;
 import io.github.finoid.maven.plugins.codequality.report.ViolationReporter;
+import io.github.finoid.maven.plugins.codequality.report.ViolationSink;
+import io.github.finoid.maven.plugins.codequality.storage.SessionRepository;
 import io.github.finoid.maven.plugins.codequality.util.Precondition;
 import io.github.finoid.maven.plugins.codequality.util.ProjectUtils;
 import org.apache.maven.execution.MavenSession;
@@ -16,9 +19,11 @@ import org.apache.maven.plugin.logging.Log;
 import javax.inject.Inject;
 import javax.inject.Named;
 import javax.inject.Singleton;
-import java.io.FileOutputStream;
+import java.io.IOException;
 import java.io.OutputStream;
-import java.util.List;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
 import java.util.Locale;
 
 /**
@@ -30,6 +35,9 @@ import java.util.Locale;
  * report follows GitLab's expected format for code quality reports, allowing it to be
  * used in merge request pipelines for inline feedback.
  *
+ * <p>The violations of all modules are streamed into a single report as each module completes, which
+ * is finished once every module has completed.
+ *
  * <p>This reporter uses Jackson for JSON serialization and can be customized via a
  * provided {@link ObjectMapper} if needed.
  */
@@ -38,31 +46,34 @@ import java.util.Locale;
 public class GitLabFileViolationReporter implements ViolationReporter {
     public static final String NAME = "GITLAB_FILE_VIOLATION";
 
+    private static final String WRITER_KEY = "codequality.gitLabReportWriter";
+
     private final ObjectMapper objectMapper;
     private final MavenSession mavenSession;
+    private final SessionRepository sessionRepository;
 
     @Inject
-    public GitLabFileViolationReporter(final MavenSession mavenSession) {
-        this(mavenSession, defaultObjectMapper());
+    public GitLabFileViolationReporter(final MavenSession mavenSession, final SessionRepository sessionRepository) {
+        this(mavenSession, sessionRepository, defaultObjectMapper());
     }
 
-    public GitLabFileViolationReporter(final MavenSession mavenSession, final ObjectMapper objectMapper) {
+    public GitLabFileViolationReporter(final MavenSession mavenSession, final SessionRepository sessionRepository, final ObjectMapper objectMapper) {
         this.mavenSession = Precondition.nonNull(mavenSession, "MavenSession shouldn't be null");
+        this.sessionRepository = Precondition.nonNull(sessionRepository, "SessionRepository shouldn't be null");
         this.objectMapper = Precondition.nonNull(objectMapper, "ObjectMapper shouldn't be null");
     }
 
     @Override
-    public void report(final Log log, final Violations violations) {
-        final List<GitLabViolation> gitLabViolations = violations.all().stream()
-            .map(GitLabFileViolationReporter::gitLabViolationOf)
-            .toList();
+    public ViolationSink open(final Log log, final PermissiveType permissiveType) {
+        final ReportWriter reportWriter = reportWriter();
 
-        final String targetOutputFile = ProjectUtils.getProjectBuildDirectory(mavenSession) + "/gitlab-violations.json";
+        return violation -> reportWriter.write(gitLabViolationOf(violation));
+    }
 
-        try (final OutputStream outputStream = new FileOutputStream(targetOutputFile)) {
-            objectMapper.writeValue(outputStream, gitLabViolations);
-        } catch (final Exception e) {
-            throw new ReportRendererException("Error during generation of code quality report", e);
+    @Override
+    public void complete(final Log log) {
+        if (sessionRepository.get(WRITER_KEY) instanceof ReportWriter reportWriter) {
+            reportWriter.close();
         }
     }
 
@@ -71,6 +82,32 @@ public class GitLabFileViolationReporter implements ViolationReporter {
         return NAME;
     }
 
+    /**
+     * Returns the writer of the current build, which is opened by the first module and shared by all modules of the build, such that
+     * the violations are written to the report as each module completes instead of being held until the build ends.
+     */
+    private ReportWriter reportWriter() {
+        return (ReportWriter) sessionRepository.computeIfAbsent(WRITER_KEY, this::openReportWriter);
+    }
+
+    private ReportWriter openReportWriter() {
+        final Path targetOutputFile = Paths.get(ProjectUtils.getProjectBuildDirectory(mavenSession) + "/gitlab-violations.json");
+
+        try {
+            // The build directory of an aggregating root project may not have been created by any of its own executions
+            Files.createDirectories(targetOutputFile.getParent());
+
+            final OutputStream outputStream = Files.newOutputStream(targetOutputFile);
+            final SequenceWriter sequenceWriter = objectMapper.writer()
+                .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE)
+                .writeValuesAsArray(outputStream);
+
+            return new ReportWriter(outputStream, sequenceWriter);
+        } catch (final IOException e) {
+            throw new ReportRendererException("Error during generation of code quality report", e);
+        }
+    }
+
     private static GitLabViolation gitLabViolationOf(final Violation violation) {
         return new GitLabViolation(
             violation.getTool() + ": " + violation.getDescription(),
@@ -86,4 +123,42 @@ public class GitLabFileViolationReporter implements ViolationReporter {
 
         return objectMapper;
     }
+
+    /**
+     * Writes the violations of all modules into a single JSON array. Modules of a parallel build write concurrently, hence the
+     * synchronization.
+     */
+    private static final class ReportWriter {
+        private final OutputStream outputStream;
+        private final SequenceWriter sequenceWriter;
+        private boolean isClosed;
+
+        private ReportWriter(final OutputStream outputStream, final SequenceWriter sequenceWriter) {
+            this.outputStream = outputStream;
+            this.sequenceWriter = sequenceWriter;
+        }
+
+        private synchronized void write(final GitLabViolation gitLabViolation) {
+            try {
+                sequenceWriter.write(gitLabViolation);
+            } catch (final IOException e) {
+                throw new ReportRendererException("Error during generation of code quality report", e);
+            }
+        }
+
+        private synchronized void close() {
+            if (isClosed) {
+                return;
+            }
+
+            isClosed = true;
+
+            // Closing the sequence writer ends the array, yet leaves the output stream open
+            try (outputStream; sequenceWriter) {
+                sequenceWriter.flush();
+            } catch (final IOException e) {
+                throw new ReportRendererException("Error during generation of code quality report", e);
+            }
+        }
+    }
 }
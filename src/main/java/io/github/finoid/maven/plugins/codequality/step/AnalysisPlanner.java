@@ -0,0 +1,198 @@
+package io.github.finoid.maven.plugins.codequality.step;
+
+import de.vandermeer.asciitable.AsciiTable;
+import de.vandermeer.asciithemes.TA_GridThemes;
+import de.vandermeer.skb.interfaces.transformers.textformat.TextAlignment;
+import io.github.finoid.maven.plugins.codequality.cache.StepResultCache;
+import io.github.finoid.maven.plugins.codequality.configuration.CodeQualityConfiguration;
+import io.github.finoid.maven.plugins.codequality.configuration.Configuration;
+import io.github.finoid.maven.plugins.codequality.filter.ChangedLines;
+import io.github.finoid.maven.plugins.codequality.filter.GitDiffService;
+import io.github.finoid.maven.plugins.codequality.storage.SessionRepository;
+import io.github.finoid.maven.plugins.codequality.util.Precondition;
+import io.github.finoid.maven.plugins.codequality.util.ProjectScopedExecution;
+import org.apache.maven.execution.MavenSession;
+import org.apache.maven.plugin.logging.Log;
+import org.apache.maven.project.MavenProject;
+import org.jspecify.annotations.Nullable;
+
+import javax.inject.Inject;
+import javax.inject.Singleton;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Stream;
+
+/**
+ * Plans whether each step of a module is run, replayed from the step result cache or skipped, before any step is executed. A module is
+ * skipped as a whole - without cleaning, resolving the analyzers or compiling - whenever it has nothing to analyze:
+ * <ul>
+ *     <li>its packaging is {@code pom}</li>
+ *     <li>none of its source roots exist</li>
+ *     <li>none of its files changed while the analysis is diff scoped, see {@link CodeQualityConfiguration#isDiffScopedAnalysis()}</li>
+ *     <li>neither its files nor the files of its upstream modules changed, see {@link CodeQualityConfiguration#isSkipUnchangedModules()}</li>
+ * </ul>
+ * A step is planned to be replayed only if the local step result cache holds its result, since a remote lookup would cost a round trip per
+ * step.
+ * <p>
+ * The plan of every module of the session is printed once, as the first module is planned. The printed plan is derived from the
+ * configuration of the first module, whereas every module is planned with its own configuration as it is analyzed. The printed replays of
+ * the other modules are derived from the current outputs of their upstream modules, which are yet to be rebuilt.
+ */
+@Singleton
+public class AnalysisPlanner {
+    private static final String PLAN_PRINTED_KEY = "codequality.analysisPlanPrinted";
+
+    private final MavenSession mavenSession;
+    private final SessionRepository sessionRepository;
+    private final GitDiffService gitDiffService;
+    private final StepResultCache stepResultCache;
+
+    @Inject
+    public AnalysisPlanner(final MavenSession mavenSession, final SessionRepository sessionRepository, final GitDiffService gitDiffService,
+                           final StepResultCache stepResultCache) {
+        this.mavenSession = Precondition.nonNull(mavenSession, "MavenSession shouldn't be null");
+        this.sessionRepository = Precondition.nonNull(sessionRepository, "SessionRepository shouldn't be null");
+        this.gitDiffService = Precondition.nonNull(gitDiffService, "GitDiffService shouldn't be null");
+        this.stepResultCache = Precondition.nonNull(stepResultCache, "StepResultCache shouldn't be null");
+    }
+
+    /**
+     * Plans the provided step executions of the current module, printing the plan of every module of the session if not yet printed.
+     *
+     * @param executions               the step executions of the module
+     * @param codeQualityConfiguration the code quality configuration of the module
+     * @param log                      the mojo logger
+     * @return the plan of the current module
+     */
+    public ModulePlan planOf(final List<StepExecution<?>> executions, final CodeQualityConfiguration codeQualityConfiguration, final Log log) {
+        // Planning resolves the session scoped diff, hence the plan isn't printed within the atomic computation of the session data
+        final AtomicBoolean isPlanPrinted = (AtomicBoolean) sessionRepository.computeIfAbsent(PLAN_PRINTED_KEY, AtomicBoolean::new);
+        if (isPlanPrinted.compareAndSet(false, true)) {
+            log.info("Analysis plan:" + System.lineSeparator() + renderTable(mavenSession.getProjects().stream()
+                .map(it -> planOf(it, executions, codeQualityConfiguration, log))
+                .toList(), executions));
+        }
+
+        return planOf(mavenSession.getCurrentProject(), executions, codeQualityConfiguration, log);
+    }
+
+    private ModulePlan planOf(final MavenProject project, final List<StepExecution<?>> executions,
+                              final CodeQualityConfiguration codeQualityConfiguration, final Log log) {
+        @Nullable
+        final String nullableSkipReason = skipReasonOrNull(project, codeQualityConfiguration, log);
+
+        final List<StepPlan> stepPlans = new ArrayList<>(executions.size());
+        for (final StepExecution<?> execution : executions) {
+            stepPlans.add(new StepPlan(execution.step().type(), decisionOf(project, execution, nullableSkipReason, codeQualityConfiguration)));
+        }
+
+        return new ModulePlan(project.getName(), nullableSkipReason, stepPlans);
+    }
+
+    @Nullable
+    private String skipReasonOrNull(final MavenProject project, final CodeQualityConfiguration codeQualityConfiguration, final Log log) {
+        if ("pom".equals(project.getPackaging())) {
+            return "pom packaging";
+        }
+
+        final boolean hasSourceRoots = Stream.concat(project.getCompileSourceRoots().stream(), project.getTestCompileSourceRoots().stream())
+            .anyMatch(it -> Files.isDirectory(Paths.get(it)));
+
+        if (!hasSourceRoots) {
+            return "no source roots";
+        }
+
+        if (!codeQualityConfiguration.isDiffScopedAnalysis() && !codeQualityConfiguration.isSkipUnchangedModules()) {
+            return null;
+        }
+
+        // Without a diff every module is analyzed
+        final Optional<ChangedLines> changedLines = gitDiffService.changedLines(log);
+        if (changedLines.isEmpty()) {
+            return null;
+        }
+
+        final boolean isChanged = changedLines.get().hasChangesWithin(project.getBasedir().toPath());
+
+        if (codeQualityConfiguration.isDiffScopedAnalysis() && !isChanged) {
+            return "no changed files";
+        }
+
+        final boolean isUpstreamChanged = mavenSession.getProjectDependencyGraph()
+            .getUpstreamProjects(project, true)
+            .stream()
+            .anyMatch(it -> changedLines.get().hasChangesWithin(it.getBasedir().toPath()));
+
+        if (codeQualityConfiguration.isSkipUnchangedModules() && !isChanged && !isUpstreamChanged) {
+            return "unchanged";
+        }
+
+        return null;
+    }
+
+    private StepPlan.Decision decisionOf(final MavenProject project, final StepExecution<?> execution, @Nullable final String nullableSkipReason,
+                                         final CodeQualityConfiguration codeQualityConfiguration) {
+        if (nullableSkipReason != null || !isEnabled(execution)) {
+            return StepPlan.Decision.SKIP;
+        }
+
+        // Mirrors the StepExecutor, which doesn't cache diff scoped results
+        if (stepResultCache.isEnabled(codeQualityConfiguration) && !codeQualityConfiguration.isDiffScopedAnalysis()
+            && isCachedLocally(project, execution, codeQualityConfiguration)) {
+            return StepPlan.Decision.REPLAY;
+        }
+
+        return StepPlan.Decision.RUN;
+    }
+
+    private boolean isCachedLocally(final MavenProject project, final StepExecution<?> execution,
+                                    final CodeQualityConfiguration codeQualityConfiguration) {
+        try {
+            // The inputs are fingerprinted of the current project of the session
+            final String key = ProjectScopedExecution.callable(mavenSession, project,
+                () -> stepResultCache.keyOf(execution, codeQualityConfiguration)).call();
+
+            return stepResultCache.isCachedLocally(key, codeQualityConfiguration.getCache());
+        } catch (final Exception e) {
+            // A module which can't be fingerprinted yet is executed, just as the StepExecutor would fail to fingerprint it
+            return false;
+        }
+    }
+
+    private static <C extends Configuration> boolean isEnabled(final StepExecution<C> execution) {
+        return execution.step().isEnabled(execution.configuration());
+    }
+
+    private static String renderTable(final List<ModulePlan> modulePlans, final List<StepExecution<?>> executions) {
+        final AsciiTable table = new AsciiTable();
+
+        final List<String> header = new ArrayList<>();
+        header.add("Module");
+        executions.forEach(it -> header.add(it.step().type().name()));
+        header.add("Reason");
+
+        table.addRule();
+        table.addRow(header.toArray());
+        table.addRule();
+
+        for (final ModulePlan modulePlan : modulePlans) {
+            final List<String> row = new ArrayList<>();
+            row.add(modulePlan.module());
+            modulePlan.stepPlans().forEach(it -> row.add(it.decision().displayName()));
+            row.add(modulePlan.optionalSkipReason().orElse(""));
+
+            table.addRow(row.toArray());
+            table.addRule();
+        }
+
+        table.setPaddingLeftRight(1);
+        table.setTextAlignment(TextAlignment.LEFT);
+        table.getContext().setGridTheme(TA_GridThemes.FULL);
+
+        return table.render(200);
+    }
+}
@@ -1,66 +1,75 @@
 package io.github.finoid.maven.plugins.codequality.step;
 
 import io.github.finoid.maven.plugins.codequality.MavenAnnotationProcessorsManager;
+import io.github.finoid.maven.plugins.codequality.compiler.AnalysisCompilation;
+import io.github.finoid.maven.plugins.codequality.compiler.AnalysisCompilerArgs;
+import io.github.finoid.maven.plugins.codequality.compiler.DiagnosticAnalysisCompiler;
+import io.github.finoid.maven.plugins.codequality.compiler.ForkedAnalysisCompiler;
+import io.github.finoid.maven.plugins.codequality.compiler.StructuredDiagnostics;
+import io.github.finoid.maven.plugins.codequality.configuration.AnnotationProcessorPaths;
 import io.github.finoid.maven.plugins.codequality.configuration.CheckerFrameworkConfiguration;
 import io.github.finoid.maven.plugins.codequality.configuration.CodeQualityConfiguration;
 import io.github.finoid.maven.plugins.codequality.exceptions.CodeQualityException;
+import io.github.finoid.maven.plugins.codequality.filter.ChangedLines;
+import io.github.finoid.maven.plugins.codequality.metrics.StageMetrics;
 import io.github.finoid.maven.plugins.codequality.report.CheckerFrameworkViolationLogParser;
 import io.github.finoid.maven.plugins.codequality.report.Violation;
-import io.github.finoid.maven.plugins.codequality.util.CollectorUtils;
-import io.github.finoid.maven.plugins.codequality.util.MojoUtils.ElementUtils;
-import io.github.finoid.maven.plugins.codequality.util.MojoUtils.PluginUtils;
 import io.github.finoid.maven.plugins.codequality.util.Precondition;
 import io.github.finoid.maven.plugins.codequality.util.ProjectUtils;
 import io.github.finoid.maven.plugins.codequality.util.PropertyUtils;
-import org.apache.maven.artifact.DependencyResolutionRequiredException;
 import org.apache.maven.execution.MavenSession;
-import org.apache.maven.plugin.BuildPluginManager;
-import org.apache.maven.plugin.descriptor.PluginDescriptor;
 import org.apache.maven.plugin.logging.Log;
 import org.apache.maven.project.MavenProject;
-import org.twdata.maven.mojoexecutor.MojoExecutor;
+import org.jspecify.annotations.Nullable;
 
 import javax.inject.Inject;
 import javax.inject.Singleton;
+import javax.tools.Diagnostic;
+import javax.tools.JavaFileObject;
 import java.io.File;
-import java.io.FileInputStream;
 import java.io.IOException;
-import java.io.InputStream;
-import java.nio.file.Paths;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
-import java.util.ListIterator;
-import java.util.Set;
-
-import static org.twdata.maven.mojoexecutor.MojoExecutor.configuration;
-import static org.twdata.maven.mojoexecutor.MojoExecutor.element;
-import static org.twdata.maven.mojoexecutor.MojoExecutor.executeMojo;
-import static org.twdata.maven.mojoexecutor.MojoExecutor.executionEnvironment;
-import static org.twdata.maven.mojoexecutor.MojoExecutor.goal;
+import java.util.Optional;
 
 /**
  * Step which executes the CheckerFrameworkStep analyzer.
+ * <p>
+ * When the analysis is diff scoped, see {@link DiffScope}, only the classes declared by the changed compilation units are checked, through
+ * the {@code -AonlyDefs} option. The compilation moreover only compiles the changed compilation units.
  */
 @Singleton
 public class CheckerFrameworkStep implements Step<CheckerFrameworkConfiguration> {
-    private final MavenProject project;
     private final MavenSession mavenSession;
-    private final BuildPluginManager pluginManager;
+    private final ForkedAnalysisCompiler forkedAnalysisCompiler;
+    private final List<DiagnosticAnalysisCompiler> diagnosticAnalysisCompilers;
     private final CheckerFrameworkViolationLogParser checkerFrameworkViolationLogParser;
+    private final ViolationConverter violationConverter;
+    private final DiffScope diffScope;
+    private final StageMetrics stageMetrics;
 
     @Inject
     public CheckerFrameworkStep(
-        final MavenProject project,
         final MavenSession mavenSession,
-        final BuildPluginManager pluginManager,
-        final CheckerFrameworkViolationLogParser checkerFrameworkViolationLogParser
+        final ForkedAnalysisCompiler forkedAnalysisCompiler,
+        final List<DiagnosticAnalysisCompiler> diagnosticAnalysisCompilers,
+        final CheckerFrameworkViolationLogParser checkerFrameworkViolationLogParser,
+        final ViolationConverter violationConverter,
+        final DiffScope diffScope,
+        final StageMetrics stageMetrics
     ) {
-        this.project = Precondition.nonNull(project, "MavenProject shouldn't be null");
         this.mavenSession = Precondition.nonNull(mavenSession, "MavenSession shouldn't be null");
-        this.pluginManager = Precondition.nonNull(pluginManager, "BuildPluginManager shouldn't be null");
+        this.forkedAnalysisCompiler = Precondition.nonNull(forkedAnalysisCompiler, "ForkedAnalysisCompiler shouldn't be null");
+        this.diagnosticAnalysisCompilers =
+            Precondition.nonNull(diagnosticAnalysisCompilers, "DiagnosticAnalysisCompilers shouldn't be null");
         this.checkerFrameworkViolationLogParser =
             Precondition.nonNull(checkerFrameworkViolationLogParser, "CheckerFrameworkViolationLogParser shouldn't be null");
+        this.violationConverter = Precondition.nonNull(violationConverter, "ViolationConverter shouldn't be null");
+        this.diffScope = Precondition.nonNull(diffScope, "DiffScope shouldn't be null");
+        this.stageMetrics = Precondition.nonNull(stageMetrics, "StageMetrics shouldn't be null");
     }
 
     @Override
@@ -100,197 +109,160 @@ public class CheckerFrameworkStep implements Step<CheckerFrameworkConfiguration>
         final CheckerFrameworkConfiguration stepConfiguration,
         final Log log
     ) {
-        final PluginDescriptor descriptor =
-            PluginUtils.pluginDescriptor("org.apache.maven.plugins", "maven-compiler-plugin", codeQualityConfiguration.getVersions().getMavenCompiler());
+        final Optional<ChangedLines> changedLines = diffScope.changedLinesOf(codeQualityConfiguration, log);
+        final Optional<List<File>> changedSourceFiles = changedLines
+            .map(it -> DiffScope.changedSourceFilesOf(mavenSession.getCurrentProject(), it));
 
-        final String javaVersion = PropertyUtils.valueOrFallback(project.getProperties(), "java.version", "21");
+        if (changedSourceFiles.isPresent()) {
+            log.info(String.format("Diff scoped analysis (%s): checking %d changed compilation units", changedLines.get().description(),
+                changedSourceFiles.get().size()));
 
-        final MavenProject currentProject = mavenSession.getCurrentProject();
+            if (changedSourceFiles.get().isEmpty()) {
+                return List.of();
+            }
+        }
+
+        final AnalysisCompilation compilation = compilationOf(codeQualityConfiguration, stepConfiguration, changedSourceFiles.orElse(null));
+        final AnalysisCompilation scopedCompilation = changedSourceFiles.map(compilation::withSourceFiles)
+            .orElse(compilation);
 
-        final File currentProjectArtifactFile = currentProject.getArtifact()
-            .getFile();
         try {
-            executeMojo(
-                PluginUtils.pluginOfDescriptor(descriptor),
-                goal("compile"),
-                configuration(
-                    element(MojoExecutor.name("fork"), "true"), // To be able to apply javac flags, see elementsOfCompilerArgs
-                    element("source", javaVersion),
-                    element("target", javaVersion),
-                    element("release", javaVersion),
-                    element("outputDirectory", currentProject.getBuild().getDirectory() + "/checker-framework-classes"),
-                    element("failOnError", "true"),
-                    element("showWarnings", "true"),
-                    element(MojoExecutor.name("compilerArgs"), elementsOfCompilerArgs(stepConfiguration)
-                        .toArray(MojoExecutor.Element[]::new)),
-                    element(MojoExecutor.name("annotationProcessorPaths"),
-                        elementsOfAnnotationProcessorPaths(currentProject, codeQualityConfiguration, stepConfiguration)
-                            .toArray(MojoExecutor.Element[]::new)),
-                    element(MojoExecutor.name("annotationProcessors"),
-                        elementsOfCheckers(currentProject, stepConfiguration.getCheckers(), codeQualityConfiguration)
-                            .toArray(MojoExecutor.Element[]::new))
-                ),
-                executionEnvironment(currentProject, mavenSession, pluginManager)
-            );
-
-            // Restores the current project's original artifact file, resolving
-            // the error: 'The packaging for this project did not assign a file to the build artifact.'
-            currentProject.getArtifact()
-                .setFile(currentProjectArtifactFile);
-
-            return parseViolations(log);
+            final Optional<DiagnosticAnalysisCompiler> diagnosticAnalysisCompiler =
+                DiagnosticAnalysisCompiler.applicableOf(diagnosticAnalysisCompilers, codeQualityConfiguration, log);
+
+            if (diagnosticAnalysisCompiler.isPresent()) {
+                final List<Diagnostic<? extends JavaFileObject>> diagnostics = stageMetrics.measure(StepType.CHECKER_FRAMEWORK + " compile",
+                    () -> diagnosticAnalysisCompiler.get().compile(scopedCompilation, codeQualityConfiguration));
+
+                return stageMetrics.measure(StepType.CHECKER_FRAMEWORK + " convert", () -> diagnostics.stream()
+                    .map(violationConverter::ofCheckerFrameworkDiagnostic)
+                    .flatMap(Optional::stream)
+                    .toList());
+            }
+
+            final Optional<Path> diagnosticsFile =
+                StructuredDiagnostics.fileOf(codeQualityConfiguration, mavenSession.getCurrentProject(), "checkerframework");
+
+            stageMetrics.measureRun(StepType.CHECKER_FRAMEWORK + " fork",
+                () -> forkedAnalysisCompiler.compile(scopedCompilation, codeQualityConfiguration, diagnosticsFile.orElse(null)));
+
+            return stageMetrics.measure(StepType.CHECKER_FRAMEWORK + " parse", () -> parseViolations(diagnosticsFile.orElse(null), log));
         } catch (final Exception e) {
             throw new CodeQualityException("Error during execution of CheckerFramework step", e);
         }
     }
 
-    private List<MojoExecutor.Element> elementsOfCompilerArgs(final CheckerFrameworkConfiguration checkerFrameworkConfiguration) {
-        return CompilerArgsComposer.compose(checkerFrameworkConfiguration, mavenSession);
-    }
+    private AnalysisCompilation compilationOf(final CodeQualityConfiguration codeQualityConfiguration,
+                                              final CheckerFrameworkConfiguration stepConfiguration,
+                                              @Nullable final List<File> nullableChangedSourceFiles) {
+        final String javaVersion = PropertyUtils.valueOrFallback(mavenSession.getCurrentProject().getProperties(), "java.version", "21");
 
-    private List<MojoExecutor.Element> elementsOfAnnotationProcessorPaths(final MavenProject currentProject,
-                                                                          final CodeQualityConfiguration codeQualityConfiguration,
-                                                                          final CheckerFrameworkConfiguration checkerFrameworkConfiguration) {
-        final MavenAnnotationProcessorsManager annotationProcessorsManager = new MavenAnnotationProcessorsManager(currentProject, codeQualityConfiguration);
+        final MavenAnnotationProcessorsManager annotationProcessorsManager =
+            new MavenAnnotationProcessorsManager(mavenSession.getCurrentProject(), codeQualityConfiguration);
 
-        final List<MojoExecutor.Element> annotationProcessorPaths = annotationProcessorsManager.annotationPaths().stream()
-            .map(it -> ElementUtils.annotationProcessor(it.getGroupId(), it.getArtifactId(), it.getVersion()))
-            .collect(CollectorUtils.toMutableList());
+        final List<AnnotationProcessorPaths> processorPaths = new ArrayList<>(annotationProcessorsManager.annotationPaths());
+        processorPaths.add(analyzerAnnotationProcessorPath(stepConfiguration));
 
-        annotationProcessorPaths.add(
-            ElementUtils.annotationProcessor("org.checkerframework", "checker", checkerFrameworkConfiguration.getVersions().getCheckerFramework()));
+        final List<String> compilerArgs = CompilerArgsComposer.compose(stepConfiguration, mavenSession);
+        if (nullableChangedSourceFiles != null) {
+            CompilerArgsComposer.addOnlyDefs(compilerArgs, mavenSession.getCurrentProject(), nullableChangedSourceFiles);
+        }
 
-        return annotationProcessorPaths;
+        return new AnalysisCompilation(javaVersion, CompilerArgsComposer.CHECKER_FRAMEWORK_CLASSES_DIR, compilerArgs, processorPaths,
+            annotationProcessorsManager.annotationProcessors(stepConfiguration.getCheckers()));
     }
 
-    private List<MojoExecutor.Element> elementsOfCheckers(final MavenProject currentProject, final Set<String> checkers,
-                                                          final CodeQualityConfiguration codeQualityConfiguration) {
-        final MavenAnnotationProcessorsManager annotationProcessorsManager = new MavenAnnotationProcessorsManager(currentProject, codeQualityConfiguration);
-
-        return annotationProcessorsManager.annotationProcessors(checkers).stream()
-            .map(annotationProcessor -> element(MojoExecutor.name("annotationProcessor"), annotationProcessor))
-            .toList();
+    /**
+     * Returns the annotation processor path of the Checker Framework analyzer.
+     *
+     * @param checkerFrameworkConfiguration the checker framework configuration
+     * @return the annotation processor path of the analyzer
+     */
+    static AnnotationProcessorPaths analyzerAnnotationProcessorPath(final CheckerFrameworkConfiguration checkerFrameworkConfiguration) {
+        return AnnotationProcessorPaths.create("org.checkerframework", "checker", checkerFrameworkConfiguration.getVersions().getCheckerFramework());
     }
 
-    private List<Violation> parseViolations(final Log log) {
-        final String checkerFrameworkOutputFilePath = checkerFrameworkOutputFilePath(project);
+    private List<Violation> parseViolations(@Nullable final Path nullableDiagnosticsFile, final Log log) throws IOException {
+        // Absent if javac wasn't invoked, e.g. since the maven-compiler-plugin found nothing to compile
+        if (nullableDiagnosticsFile != null && Files.exists(nullableDiagnosticsFile)) {
+            return StructuredDiagnostics.read(nullableDiagnosticsFile).stream()
+                .map(violationConverter::ofCheckerFrameworkStructuredDiagnostic)
+                .toList();
+        }
+
+        final String checkerFrameworkOutputFilePath = checkerFrameworkOutputFilePath(mavenSession.getCurrentProject());
 
         return violationsFromOutputFile(checkerFrameworkOutputFilePath, log);
     }
 
     private List<Violation> violationsFromOutputFile(final String checkerFrameworkOutputFilePath, final Log log) {
-        try (final InputStream targetStream = new FileInputStream(checkerFrameworkOutputFilePath)) {
-            return checkerFrameworkViolationLogParser.parse(targetStream);
-        } catch (final IOException e) {
+        final Path outputFile = Path.of(checkerFrameworkOutputFilePath);
+
+        if (Files.notExists(outputFile)) {
             log.warn("No checker framework file found. Please register the plugin as an extension");
 
             return Collections.emptyList();
         }
+
+        return checkerFrameworkViolationLogParser.parse(outputFile);
     }
 
     private String checkerFrameworkOutputFilePath(final MavenProject project) {
         return targetOutputFilePath(project.getBuild().getDirectory(),
-            String.format("checkerframework-%s.txt", mavenSession.getCurrentProject().getModel().getArtifactId()));
+            String.format("checkerframework-%s.txt", project.getModel().getArtifactId()));
     }
 
     private static String targetOutputFilePath(final String targetDirectory, final String targetOutputFilename) {
         return targetDirectory + "/" + targetOutputFilename;
     }
 
-    private static class CompilerArgsComposer {
-        private static final String CHECKER_FRAMEWORK_CLASSES_DIR = "checker-framework-classes";
-
-        // JEP 396: Strongly encapsulate JDK internals (see Checker Framework docs)
-        private static final List<String> CHECKER_FRAMEWORK_EXPORTS = List.of(
-            "--add-exports=jdk.compiler/com.sun.tools.javac.api=ALL-UNNAMED",
-            "--add-exports=jdk.compiler/com.sun.tools.javac.file=ALL-UNNAMED",
-            "--add-exports=jdk.compiler/com.sun.tools.javac.main=ALL-UNNAMED",
-            "--add-exports=jdk.compiler/com.sun.tools.javac.model=ALL-UNNAMED",
-            "--add-exports=jdk.compiler/com.sun.tools.javac.parser=ALL-UNNAMED",
-            "--add-exports=jdk.compiler/com.sun.tools.javac.processing=ALL-UNNAMED",
-            "--add-exports=jdk.compiler/com.sun.tools.javac.tree=ALL-UNNAMED",
-            "--add-exports=jdk.compiler/com.sun.tools.javac.util=ALL-UNNAMED"
-        );
-
-        private static final List<String> CHECKER_FRAMEWORK_OPENS = List.of(
-            "--add-opens=jdk.compiler/com.sun.tools.javac.code=ALL-UNNAMED",
-            "--add-opens=jdk.compiler/com.sun.tools.javac.comp=ALL-UNNAMED"
-        );
-
-        private static List<MojoExecutor.Element> compose(final CheckerFrameworkConfiguration checkerFrameworkConfiguration, final MavenSession mavenSession) {
-            final List<MojoExecutor.Element> args = new ArrayList<>();
+    static class CompilerArgsComposer {
+        static final String CHECKER_FRAMEWORK_CLASSES_DIR = "checker-framework-classes";
 
-            // caller-provided compiler args (first to allow later overrides to win if needed)
-            for (String a : checkerFrameworkConfiguration.getCompilerArgs()) {
-                args.add(arg(a));
-            }
+        private static List<String> compose(final CheckerFrameworkConfiguration checkerFrameworkConfiguration, final MavenSession mavenSession) {
+            final List<String> args = new ArrayList<>();
 
-            // Due to JEP 396: Strongly Encapsulate JDK Internals by Default - See https://errorprone.info/docs/installation
-            CHECKER_FRAMEWORK_EXPORTS.forEach(f -> args.add(arg("-J" + f)));
-            CHECKER_FRAMEWORK_OPENS.forEach(f -> args.add(arg("-J" + f)));
+            // caller-provided compiler args (first to allow later overrides to win if needed)
+            AnalysisCompilerArgs.addCallerArgs(args, checkerFrameworkConfiguration.getCompilerArgs());
 
             // Classpath (ensure latest reactor outputs)
-            addClassPathArgs(args, mavenSession);
-
-            // Checker framework rules that are suppressed by default
-            args.add(element(MojoExecutor.name("arg"),
-                "-AsuppressWarnings=type.anno.before.decl.anno,type.anno.before.modifier")); // TODO (nw) should be configurable
-
-            // Output errors as warnings
-            args.add(element(MojoExecutor.name("arg"), "-Awarns"));
+            AnalysisCompilerArgs.addClassPath(args, mavenSession, CHECKER_FRAMEWORK_CLASSES_DIR);
 
-            // The -processing suppress "No processor claimed any of these annotations"
             // Suppress warnings related to JPMS due to compatibility issues with lombok
-            args.add(element(MojoExecutor.name("arg"),
-                "-Xlint:all,-serial,-processing,-requires-transitive-automatic,-missing-explicit-ctor,-exports,-requires-automatic"));
+            AnalysisCompilerArgs.addLint(args);
 
-            // Skip target directory which includes generated sources
-            args.add(element(MojoExecutor.name("arg"), "-AskipFiles=/target/"));
+            AnalysisCompilerArgs.addDiagnosticLimits(args);
+
+            addAnalyzerArgs(args);
 
             return args;
         }
 
-        private static void addClassPathArgs(final List<MojoExecutor.Element> args, final MavenSession session) {
-            final MavenProject current = session.getCurrentProject();
-
-            final List<String> rawClasspath;
-            try {
-                // includes reactor target/classes
-                rawClasspath = new ArrayList<>(current.getCompileClasspathElements());
-            } catch (final DependencyResolutionRequiredException e) {
-                throw new CodeQualityException("Failed to resolve compile classpath", e);
-            }
-
-            final List<MavenProject> allProjects = session.getAllProjects();
-
-            // Replace classpath where entries referencing reactor artifacts
-            // are swapped for their <buildDirectory>/error-prone-classes
-            for (final ListIterator<String> it = rawClasspath.listIterator(); it.hasNext(); ) {
-                final String entry = it.next();
-
-                for (final MavenProject mavenProject : allProjects) {
-                    final String finalName = (mavenProject.getBuild() != null) ? mavenProject.getBuild().getFinalName() : null;
-
-                    final String artifactNameAndVersion = mavenProject.getArtifact().getArtifactId() + "-" + mavenProject.getArtifact().getVersion() + ".jar";
-
-                    if (finalName != null && entry.contains(artifactNameAndVersion)) {
-                        final String replacement = Paths.get(mavenProject.getBuild().getDirectory(), CHECKER_FRAMEWORK_CLASSES_DIR).toString();
-
-                        it.set(replacement);
-                        break;
-                    }
-                }
-            }
+        /**
+         * Adds the Checker Framework specific compiler args, excluding the args shared with the other compiler based analyzers.
+         *
+         * @param args the compiler args to add to
+         */
+        static void addAnalyzerArgs(final List<String> args) {
+            // Checker framework rules that are suppressed by default
+            args.add("-AsuppressWarnings=type.anno.before.decl.anno,type.anno.before.modifier"); // TODO (nw) should be configurable
 
-            final String classpath = String.join(File.pathSeparator, rawClasspath);
+            // Output errors as warnings
+            args.add("-Awarns");
 
-            // Because fork=true, we can override the classpath passed to external javac
-            args.add(arg("-cp"));
-            args.add(arg(classpath));
+            // Skip target directory which includes generated sources
+            args.add("-AskipFiles=/target/");
         }
 
-        private static MojoExecutor.Element arg(final String value) {
-            return element(MojoExecutor.name("arg"), value);
+        /**
+         * Restricts the checks to the classes declared by the provided source files.
+         *
+         * @param args        the compiler args to add to
+         * @param project     the project
+         * @param sourceFiles the source files to check
+         */
+        static void addOnlyDefs(final List<String> args, final MavenProject project, final List<File> sourceFiles) {
+            args.add("-AonlyDefs=" + DiffScope.classNamePatternOf(project, sourceFiles));
         }
     }
 }
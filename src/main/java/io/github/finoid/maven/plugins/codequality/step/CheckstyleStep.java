@@ -1,40 +1,83 @@
 package io.github.finoid.maven.plugins.codequality.step;
 
+import com.puppycrawl.tools.checkstyle.api.CheckstyleException;
+import io.github.finoid.maven.plugins.codequality.cache.CheckstyleFileCache;
+import io.github.finoid.maven.plugins.codequality.checkstyle.CheckstyleEngine;
+import io.github.finoid.maven.plugins.codequality.configuration.CacheConfiguration;
 import io.github.finoid.maven.plugins.codequality.configuration.CheckstyleConfiguration;
 import io.github.finoid.maven.plugins.codequality.configuration.CodeQualityConfiguration;
 import io.github.finoid.maven.plugins.codequality.exceptions.CodeQualityException;
 import io.github.finoid.maven.plugins.codequality.factories.CheckstyleExecutorRequestFactory;
+import io.github.finoid.maven.plugins.codequality.filter.ChangedLines;
+import io.github.finoid.maven.plugins.codequality.metrics.StageMetrics;
 import io.github.finoid.maven.plugins.codequality.report.Violation;
 import io.github.finoid.maven.plugins.codequality.util.Precondition;
 import lombok.SneakyThrows;
+import org.apache.maven.execution.MavenSession;
 import org.apache.maven.plugin.logging.Log;
-import org.apache.maven.plugins.checkstyle.exec.CheckstyleExecutor;
 import org.apache.maven.plugins.checkstyle.exec.CheckstyleExecutorRequest;
-import org.apache.maven.plugins.checkstyle.exec.CheckstyleResults;
+import org.apache.maven.project.MavenProject;
+import org.codehaus.plexus.util.FileUtils;
 
 import javax.inject.Inject;
 import javax.inject.Singleton;
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.InvalidPathException;
+import java.nio.file.Path;
+import java.util.ArrayList;
 import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 /**
  * Step which executes the Checkstyle analyzer.
+ * <p>
+ * When the {@link CheckstyleFileCache} is enabled, only the source files missing from the cache are audited, the violations of the other
+ * source files are replayed from the cache.
+ * <p>
+ * When the analysis is diff scoped, see {@link DiffScope}, only the changed source files are audited.
+ * <p>
+ * The source files are audited by the {@link CheckstyleEngine}, concurrently according to {@link CheckstyleConfiguration#getParallelism()}.
+ * Unless the parallelism is {@code 1}, the main and test execution environments are audited concurrently as well, each with its own request
+ * and cache file, by the same threads as the source files.
  */
 @Singleton
 public class CheckstyleStep implements Step<CheckstyleConfiguration> {
-    private final CheckstyleExecutor checkstyleExecutor;
+    private final CheckstyleEngine checkstyleEngine;
     private final CheckstyleExecutorRequestFactory checkstyleExecutorRequestFactory;
     private final ViolationConverter violationConverter;
+    private final CheckstyleFileCache checkstyleFileCache;
+    private final MavenSession mavenSession;
+    private final DiffScope diffScope;
+    private final StageMetrics stageMetrics;
 
     @Inject
     public CheckstyleStep(
-        final CheckstyleExecutor checkstyleExecutor,
+        final CheckstyleEngine checkstyleEngine,
         final CheckstyleExecutorRequestFactory checkstyleExecutorRequestFactory,
-        final ViolationConverter violationConverter
+        final ViolationConverter violationConverter,
+        final CheckstyleFileCache checkstyleFileCache,
+        final MavenSession mavenSession,
+        final DiffScope diffScope,
+        final StageMetrics stageMetrics
     ) {
-        this.checkstyleExecutor = Precondition.nonNull(checkstyleExecutor, "CheckstyleExecutor shouldn't be null");
+        this.checkstyleEngine = Precondition.nonNull(checkstyleEngine, "CheckstyleEngine shouldn't be null");
         this.checkstyleExecutorRequestFactory = Precondition.nonNull(checkstyleExecutorRequestFactory, "CheckstyleExecutorRequestFactory shouldn't be null");
         this.violationConverter = Precondition.nonNull(violationConverter, "ViolationConverter shouldn't be null");
+        this.checkstyleFileCache = Precondition.nonNull(checkstyleFileCache, "CheckstyleFileCache shouldn't be null");
+        this.mavenSession = Precondition.nonNull(mavenSession, "MavenSession shouldn't be null");
+        this.diffScope = Precondition.nonNull(diffScope, "DiffScope shouldn't be null");
+        this.stageMetrics = Precondition.nonNull(stageMetrics, "StageMetrics shouldn't be null");
     }
 
     @Override
@@ -50,31 +93,115 @@ public class CheckstyleStep implements Step<CheckstyleConfiguration> {
     @Override
     public StepResult execute(final CodeQualityConfiguration codeQualityConfiguration, final CheckstyleConfiguration stepConfiguration, final Log log) {
         try {
-            final StepResult resultMain = executeForEnvironment(stepConfiguration, stepConfiguration.getExecutionMain(), log);
-            final StepResult resultTest = executeForEnvironment(stepConfiguration, stepConfiguration.getExecutionTest(), log);
+            if (stepConfiguration.getParallelism() <= 1 || !stepConfiguration.getExecutionMain().isEnabled()
+                || !stepConfiguration.getExecutionTest().isEnabled()) {
+                final StepResult resultMain = executeForEnvironment(codeQualityConfiguration, stepConfiguration, stepConfiguration.getExecutionMain(), log);
+                final StepResult resultTest = executeForEnvironment(codeQualityConfiguration, stepConfiguration, stepConfiguration.getExecutionTest(), log);
 
-            return StepResult.create(StepType.CHECKSTYLE, stepConfiguration.isPermissive(), resultMain.getViolations(), resultTest.getViolations());
+                return StepResult.create(StepType.CHECKSTYLE, stepConfiguration.isPermissive(), resultMain.getViolations(), resultTest.getViolations());
+            }
+
+            return executeConcurrently(codeQualityConfiguration, stepConfiguration, log);
         } catch (final Exception e) {
             throw new CodeQualityException("Error during execution of checkstyle step", e);
         }
     }
 
+    /**
+     * Audits the main and test execution environments as tasks of the pool of the {@link CheckstyleEngine}, which audits their partitions by
+     * the same threads, such that auditing the execution environments concurrently doesn't multiply the number of auditing threads.
+     */
+    private StepResult executeConcurrently(final CodeQualityConfiguration codeQualityConfiguration, final CheckstyleConfiguration stepConfiguration,
+                                           final Log log) throws InterruptedException {
+        final MavenProject project = mavenSession.getCurrentProject();
+
+        final Future<StepResult> futureMain = checkstyleEngine.submit(project, stepConfiguration.getParallelism(),
+            () -> executeForEnvironment(codeQualityConfiguration, stepConfiguration, stepConfiguration.getExecutionMain(), log));
+        final Future<StepResult> futureTest = checkstyleEngine.submit(project, stepConfiguration.getParallelism(),
+            () -> executeForEnvironment(codeQualityConfiguration, stepConfiguration, stepConfiguration.getExecutionTest(), log));
+
+        final StepResult resultMain;
+        try {
+            resultMain = await(futureMain);
+        } catch (final RuntimeException | InterruptedException e) {
+            futureTest.cancel(true);
+
+            throw e;
+        }
+
+        final StepResult resultTest = await(futureTest);
+
+        return StepResult.create(StepType.CHECKSTYLE, stepConfiguration.isPermissive(), resultMain.getViolations(), resultTest.getViolations());
+    }
+
+    private static StepResult await(final Future<StepResult> future) throws InterruptedException {
+        try {
+            return future.get();
+        } catch (final ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+
+            throw new CodeQualityException("Error during concurrent Checkstyle audit of the execution environments. Cause: " + e.getCause(),
+                e.getCause());
+        }
+    }
+
+    @Override
+    public List<Path> additionalInputs(final CheckstyleConfiguration configuration) {
+        final Path basedir = mavenSession.getCurrentProject().getBasedir().toPath();
+
+        return Stream.of(configuration.getExecutionMain(), configuration.getExecutionTest())
+            .filter(CheckstyleConfiguration.ExecutionEnvironment::isEnabled)
+            .flatMap(it -> additionalInputsOf(it, basedir))
+            .distinct()
+            .toList();
+    }
+
     @Override
     public CleanContext getCleanContext() {
         return CleanContext.DO_NOTHING;
     }
 
+    private static Stream<Path> additionalInputsOf(final CheckstyleConfiguration.ExecutionEnvironment executionEnvironment, final Path basedir) {
+        final List<String> locations = new ArrayList<>(List.of(executionEnvironment.getConfigLocation(), executionEnvironment.getHeaderLocation()));
+        executionEnvironment.optionalSuppressionLocation()
+            .ifPresent(locations::add);
+
+        // Locations which aren't files are resources of the plugin class path or URLs, the former being covered by the plugin version
+        final Stream<Path> locationFiles = locations.stream()
+            .map(it -> fileOf(basedir, it))
+            .flatMap(Optional::stream);
+
+        // Custom source directories may reside outside the source roots of the module
+        final Stream<Path> sourceDirectories = executionEnvironment.getSourceDirectories() == null
+            ? Stream.empty()
+            : executionEnvironment.getSourceDirectories().stream().map(File::toPath);
+
+        return Stream.concat(locationFiles, sourceDirectories);
+    }
+
+    private static Optional<Path> fileOf(final Path basedir, final String location) {
+        try {
+            return Optional.of(basedir.resolve(location))
+                .filter(Files::isRegularFile);
+        } catch (final InvalidPathException e) {
+            return Optional.empty();
+        }
+    }
+
     private StepResult executeForEnvironment(
+        final CodeQualityConfiguration codeQualityConfiguration,
         final CheckstyleConfiguration configuration,
         final CheckstyleConfiguration.ExecutionEnvironment executionEnvironment,
         final Log log
     ) {
-        return executeCheckstyle(configuration, executionEnvironment, log);
+        return executeCheckstyle(codeQualityConfiguration, configuration, executionEnvironment, log);
     }
 
     @SneakyThrows
-    private StepResult executeCheckstyle(final CheckstyleConfiguration configuration, final CheckstyleConfiguration.ExecutionEnvironment executionEnvironment,
-                                         final Log log) {
+    private StepResult executeCheckstyle(final CodeQualityConfiguration codeQualityConfiguration, final CheckstyleConfiguration configuration,
+                                         final CheckstyleConfiguration.ExecutionEnvironment executionEnvironment, final Log log) {
         if (!executionEnvironment.isEnabled()) {
             log.info("Skipping Checkstyle Sub Step for " + executionEnvironment);
 
@@ -85,15 +212,111 @@ public class CheckstyleStep implements Step<CheckstyleConfiguration> {
 
         final CheckstyleExecutorRequest request = checkstyleExecutorRequestFactory.create(configuration, executionEnvironment, log);
 
-        final CheckstyleResults checkstyleResults = checkstyleExecutor.executeCheckstyle(request);
+        final Optional<ChangedLines> changedLines = diffScope.changedLinesOf(codeQualityConfiguration, log);
+        final List<Path> sourceFiles = changedLines.isPresent()
+            ? changedSourceFilesOf(request, changedLines.get(), log)
+            : sourceFilesOf(request);
+
+        if (checkstyleFileCache.isEnabled(codeQualityConfiguration)) {
+            return executeCheckstyleCached(codeQualityConfiguration.getCache(), configuration, executionEnvironment, request, sourceFiles, log);
+        }
+
+        final List<Violation> violations = audit(request, sourceFiles, configuration)
+            .values()
+            .stream()
+            .flatMap(List::stream)
+            .toList();
+
+        return StepResult.create(StepType.CHECKSTYLE, configuration.isPermissive(), violations);
+    }
+
+    @SneakyThrows
+    private StepResult executeCheckstyleCached(final CacheConfiguration cacheConfiguration, final CheckstyleConfiguration configuration,
+                                               final CheckstyleConfiguration.ExecutionEnvironment executionEnvironment,
+                                               final CheckstyleExecutorRequest request, final List<Path> sourceFiles, final Log log) {
+        final String environmentKey = checkstyleFileCache.keyOf(executionEnvironment,
+            additionalInputsOf(executionEnvironment, mavenSession.getCurrentProject().getBasedir().toPath()).toList());
+
+        final Map<Path, List<Violation>> cachedViolationsByFile = new LinkedHashMap<>();
+        final Map<Path, String> missedFileKeys = new LinkedHashMap<>();
 
-        final List<Violation> violations = checkstyleResults.getFiles()
-            .entrySet()
+        for (final Path file : sourceFiles) {
+            final String fileKey = checkstyleFileCache.keyOf(environmentKey, file);
+
+            final Optional<List<Violation>> cachedViolations = checkstyleFileCache.load(fileKey, cacheConfiguration);
+            if (cachedViolations.isPresent()) {
+                cachedViolationsByFile.put(file, cachedViolations.get());
+            } else {
+                missedFileKeys.put(file, fileKey);
+            }
+        }
+
+        log.info(String.format("Replaying Checkstyle violations of %d cached source files, auditing %d source files",
+            cachedViolationsByFile.size(), missedFileKeys.size()));
+
+        // Narrows the audit down to the missed source files, the resources are audited regardless
+        final Map<Path, List<Violation>> auditedViolationsByFile = audit(request, List.copyOf(missedFileKeys.keySet()), configuration);
+
+        // A missed source file absent from the results was skipped by the Checkstyle cache file, which only records clean files
+        final Map<String, List<Violation>> violationsByFileKey = missedFileKeys.entrySet()
             .stream()
-            .flatMap(it -> it.getValue().stream())
-            .map(violationConverter::ofAuditEvent)
+            .collect(Collectors.toMap(Map.Entry::getValue, it -> auditedViolationsByFile.getOrDefault(it.getKey(), Collections.emptyList()),
+                (first, second) -> first));
+
+        try {
+            checkstyleFileCache.store(violationsByFileKey, cacheConfiguration);
+        } catch (final CodeQualityException e) {
+            log.warn("Failed to cache the Checkstyle violations. Cause: " + e.getMessage());
+        }
+
+        final List<Violation> violations = Stream.concat(cachedViolationsByFile.values().stream(), auditedViolationsByFile.values().stream())
+            .flatMap(List::stream)
             .toList();
 
         return StepResult.create(StepType.CHECKSTYLE, configuration.isPermissive(), violations);
     }
+
+    /**
+     * Returns the changed source files of the request, to which the audit is narrowed down the same way as to the source files missing from
+     * the cache.
+     */
+    @SneakyThrows
+    private static List<Path> changedSourceFilesOf(final CheckstyleExecutorRequest request, final ChangedLines changedLines, final Log log) {
+        final List<Path> changedSourceFiles = sourceFilesOf(request).stream()
+            .filter(changedLines::isChanged)
+            .toList();
+
+        log.info(String.format("Diff scoped analysis (%s): auditing %d changed source files", changedLines.description(),
+            changedSourceFiles.size()));
+
+        return changedSourceFiles;
+    }
+
+    /**
+     * Audits the provided source files along with the resources of the request, converting the violations of each source file as soon as
+     * it's audited.
+     */
+    private Map<Path, List<Violation>> audit(final CheckstyleExecutorRequest request, final List<Path> sourceFiles,
+                                             final CheckstyleConfiguration configuration) throws CheckstyleException {
+        final List<File> files = sourceFiles.stream()
+            .map(Path::toFile)
+            .toList();
+
+        return stageMetrics.measure(StepType.CHECKSTYLE + " audit",
+            () -> checkstyleEngine.audit(request, files, configuration.getParallelism(), violationConverter::ofAuditEvent));
+    }
+
+    private static List<Path> sourceFilesOf(final CheckstyleExecutorRequest request) throws IOException {
+        final Set<Path> sourceFiles = new LinkedHashSet<>();
+
+        for (final File sourceDirectory : request.getSourceDirectories()) {
+            if (sourceDirectory.isDirectory()) {
+                // Matches the source files the same way as the Checkstyle executor
+                FileUtils.getFiles(sourceDirectory, request.getIncludes(), request.getExcludes())
+                    .forEach(it -> sourceFiles.add(it.toPath().toAbsolutePath()));
+            }
+        }
+
+        return List.copyOf(sourceFiles);
+    }
 }
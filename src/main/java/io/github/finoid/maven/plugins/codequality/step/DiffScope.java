@@ -0,0 +1,184 @@
+package io.github.finoid.maven.plugins.codequality.step;
+
+import com.sun.source.tree.ClassTree;
+import com.sun.source.tree.CompilationUnitTree;
+import com.sun.source.util.JavacTask;
+import io.github.finoid.maven.plugins.codequality.compiler.AnalysisCompilation;
+import io.github.finoid.maven.plugins.codequality.configuration.CodeQualityConfiguration;
+import io.github.finoid.maven.plugins.codequality.filter.ChangedLines;
+import io.github.finoid.maven.plugins.codequality.filter.GitDiffService;
+import io.github.finoid.maven.plugins.codequality.report.Violation;
+import io.github.finoid.maven.plugins.codequality.util.Precondition;
+import org.apache.maven.plugin.logging.Log;
+import org.apache.maven.project.MavenProject;
+import org.jspecify.annotations.Nullable;
+
+import javax.inject.Inject;
+import javax.inject.Singleton;
+import javax.lang.model.SourceVersion;
+import javax.tools.DiagnosticListener;
+import javax.tools.JavaCompiler;
+import javax.tools.JavaFileObject;
+import javax.tools.StandardJavaFileManager;
+import javax.tools.ToolProvider;
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.Charset;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Optional;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+/**
+ * Narrows the inputs of the steps down to the files changed in the git diff, see
+ * {@link CodeQualityConfiguration#isDiffScopedAnalysis()}, such that the analysis cost scales with the size of the change.
+ */
+@Singleton
+public class DiffScope {
+    private final GitDiffService gitDiffService;
+
+    @Inject
+    public DiffScope(final GitDiffService gitDiffService) {
+        this.gitDiffService = Precondition.nonNull(gitDiffService, "GitDiffService shouldn't be null");
+    }
+
+    /**
+     * Returns the changed lines the analysis is scoped to.
+     *
+     * @param codeQualityConfiguration the code quality configuration
+     * @param log                      the mojo logger
+     * @return the changed lines, or empty if the analysis isn't diff scoped, in which case all files are to be analyzed
+     */
+    public Optional<ChangedLines> changedLinesOf(final CodeQualityConfiguration codeQualityConfiguration, final Log log) {
+        if (!codeQualityConfiguration.isDiffScopedAnalysis()) {
+            return Optional.empty();
+        }
+
+        return gitDiffService.changedLines(log);
+    }
+
+    /**
+     * Returns the changed source files of the provided project, excluding the generated sources.
+     *
+     * @param project      the project
+     * @param changedLines the changed lines
+     * @return the changed source files
+     */
+    public static List<File> changedSourceFilesOf(final MavenProject project, final ChangedLines changedLines) {
+        return AnalysisCompilation.sourceFilesOf(project)
+            .stream()
+            .filter(it -> changedLines.isChanged(it.toPath()))
+            .toList();
+    }
+
+    /**
+     * Returns the violations located within the changed files, discarding the violations a compilation reported for the classes it had
+     * to resolve from source.
+     *
+     * @param violations   the violations
+     * @param changedLines the changed lines
+     * @return the violations of the changed files
+     */
+    public static List<Violation> violationsOfChangedFiles(final List<Violation> violations, final ChangedLines changedLines) {
+        return violations.stream()
+            .filter(it -> it.getFullPath() != null && changedLines.isChanged(Paths.get(it.getFullPath())))
+            .toList();
+    }
+
+    /**
+     * Returns a regular expression matching the fully qualified names of the classes, including their nested classes, declared by the
+     * provided source files, as expected by the {@code -AonlyDefs} option of the Checker Framework.
+     * <p>
+     * The top level classes are read from the parsed source files, as a source file may declare further top level classes besides the one
+     * named after it. A source file which couldn't be parsed is assumed to merely declare the class named after it.
+     *
+     * @param project     the project
+     * @param sourceFiles the source files
+     * @return the regular expression
+     */
+    public static String classNamePatternOf(final MavenProject project, final List<File> sourceFiles) {
+        final List<Path> sourceRoots = project.getCompileSourceRoots()
+            .stream()
+            .map(it -> Paths.get(it).toAbsolutePath().normalize())
+            .toList();
+
+        final Set<String> classNames = new TreeSet<>(declaredClassNamesOf(sourceFiles, charsetOf(project)));
+
+        sourceFiles.stream()
+            .map(it -> it.toPath().toAbsolutePath().normalize())
+            .map(it -> classNameOf(sourceRoots, it))
+            .flatMap(Optional::stream)
+            .forEach(classNames::add);
+
+        return classNames.stream()
+            .map(Pattern::quote)
+            .collect(Collectors.joining("|", "^(", ")($|\\.)"));
+    }
+
+    private static Optional<String> classNameOf(final List<Path> sourceRoots, final Path sourceFile) {
+        return sourceRoots.stream()
+            .filter(sourceFile::startsWith)
+            .findFirst()
+            .map(it -> {
+                final String relativePath = it.relativize(sourceFile).toString().replace(File.separatorChar, '/');
+
+                return relativePath.substring(0, relativePath.length() - ".java".length()).replace('/', '.');
+            });
+    }
+
+    /**
+     * Parses the provided source files, without attributing them, for the fully qualified names of their top level classes.
+     */
+    private static List<String> declaredClassNamesOf(final List<File> sourceFiles, final Charset charset) {
+        @Nullable
+        final JavaCompiler nullableCompiler = ToolProvider.getSystemJavaCompiler();
+        if (nullableCompiler == null || sourceFiles.isEmpty()) {
+            return List.of();
+        }
+
+        // The diagnostics of a source file which doesn't parse are left to the compilation
+        final DiagnosticListener<JavaFileObject> ignoredDiagnostics = diagnostic -> {
+        };
+
+        try (StandardJavaFileManager fileManager = nullableCompiler.getStandardFileManager(ignoredDiagnostics, Locale.ROOT, charset)) {
+            final JavacTask task = (JavacTask) nullableCompiler.getTask(null, fileManager, ignoredDiagnostics, List.of("-proc:none"), null,
+                fileManager.getJavaFileObjectsFromFiles(sourceFiles));
+
+            final List<String> classNames = new ArrayList<>();
+
+            for (final CompilationUnitTree compilationUnit : task.parse()) {
+                final String packagePrefix = compilationUnit.getPackageName() == null ? "" : compilationUnit.getPackageName() + ".";
+
+                compilationUnit.getTypeDecls()
+                    .stream()
+                    .filter(ClassTree.class::isInstance)
+                    .map(it -> ((ClassTree) it).getSimpleName().toString())
+                    // The parser names a declaration it couldn't recover from "<error>"
+                    .filter(SourceVersion::isIdentifier)
+                    .map(it -> packagePrefix + it)
+                    .forEach(classNames::add);
+            }
+
+            return classNames;
+        } catch (final IOException | RuntimeException e) {
+            return List.of();
+        }
+    }
+
+    private static Charset charsetOf(final MavenProject project) {
+        @Nullable
+        final String nullableEncoding = project.getProperties().getProperty("project.build.sourceEncoding");
+
+        try {
+            return nullableEncoding == null ? Charset.defaultCharset() : Charset.forName(nullableEncoding);
+        } catch (final IllegalArgumentException e) {
+            return Charset.defaultCharset();
+        }
+    }
+}
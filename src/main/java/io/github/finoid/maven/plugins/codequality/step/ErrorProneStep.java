@@ -1,44 +1,56 @@
 package io.github.finoid.maven.plugins.codequality.step;
 
 import io.github.finoid.maven.plugins.codequality.MavenAnnotationProcessorsManager;
+import io.github.finoid.maven.plugins.codequality.cache.ErrorProneUnitCache;
+import io.github.finoid.maven.plugins.codequality.compiler.AnalysisCompilation;
+import io.github.finoid.maven.plugins.codequality.compiler.AnalysisCompilerArgs;
+import io.github.finoid.maven.plugins.codequality.compiler.DiagnosticAnalysisCompiler;
+import io.github.finoid.maven.plugins.codequality.compiler.ForkedAnalysisCompiler;
+import io.github.finoid.maven.plugins.codequality.compiler.StructuredDiagnostics;
+import io.github.finoid.maven.plugins.codequality.configuration.AnnotationProcessorPaths;
+import io.github.finoid.maven.plugins.codequality.configuration.CacheConfiguration;
 import io.github.finoid.maven.plugins.codequality.configuration.CodeQualityConfiguration;
 import io.github.finoid.maven.plugins.codequality.configuration.ErrorProneConfiguration;
 import io.github.finoid.maven.plugins.codequality.exceptions.CodeQualityException;
+import io.github.finoid.maven.plugins.codequality.filter.ChangedLines;
 import io.github.finoid.maven.plugins.codequality.log.ErrorProneViolationLogParser;
+import io.github.finoid.maven.plugins.codequality.metrics.StageMetrics;
 import io.github.finoid.maven.plugins.codequality.report.Violation;
-import io.github.finoid.maven.plugins.codequality.util.CollectorUtils;
-import io.github.finoid.maven.plugins.codequality.util.MojoUtils.ElementUtils;
-import io.github.finoid.maven.plugins.codequality.util.MojoUtils.PluginUtils;
 import io.github.finoid.maven.plugins.codequality.util.Precondition;
 import io.github.finoid.maven.plugins.codequality.util.PropertyUtils;
-import org.apache.maven.artifact.DependencyResolutionRequiredException;
 import org.apache.maven.execution.MavenSession;
-import org.apache.maven.plugin.BuildPluginManager;
-import org.apache.maven.plugin.descriptor.PluginDescriptor;
+import org.apache.maven.plugin.MojoExecutionException;
 import org.apache.maven.plugin.logging.Log;
 import org.apache.maven.project.MavenProject;
-import org.twdata.maven.mojoexecutor.MojoExecutor;
+import org.jspecify.annotations.Nullable;
 
 import javax.inject.Inject;
 import javax.inject.Singleton;
+import javax.tools.Diagnostic;
+import javax.tools.JavaFileObject;
 import java.io.File;
-import java.io.FileInputStream;
 import java.io.IOException;
-import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.LinkedHashMap;
 import java.util.List;
-import java.util.ListIterator;
-
-import static org.twdata.maven.mojoexecutor.MojoExecutor.configuration;
-import static org.twdata.maven.mojoexecutor.MojoExecutor.element;
-import static org.twdata.maven.mojoexecutor.MojoExecutor.executeMojo;
-import static org.twdata.maven.mojoexecutor.MojoExecutor.executionEnvironment;
-import static org.twdata.maven.mojoexecutor.MojoExecutor.goal;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 /**
  * Step which executes the ErrorProne analyzer.
+ * <p>
+ * When the {@link ErrorProneUnitCache} is enabled, only the changed compilation units are compiled and analyzed, the violations of the
+ * other compilation units are replayed from the cache.
+ * <p>
+ * When the analysis is diff scoped, see {@link DiffScope}, only the changed compilation units are compiled and analyzed, resolving the other
+ * classes of the module from its classes directory.
  */
 @Singleton
 public class ErrorProneStep implements Step<ErrorProneConfiguration> {
@@ -52,22 +64,35 @@ public class ErrorProneStep implements Step<ErrorProneConfiguration> {
         + "-XepOpt:NullAway:AnnotatedPackages=%s "
         + "-XepExcludedPaths:%s"; // The maven-compiler-plugin does not like text block
 
-    private final MavenProject project;
     private final MavenSession mavenSession;
-    private final BuildPluginManager pluginManager;
+    private final ForkedAnalysisCompiler forkedAnalysisCompiler;
+    private final List<DiagnosticAnalysisCompiler> diagnosticAnalysisCompilers;
     private final ErrorProneViolationLogParser errorProneErrorLogParser;
+    private final ViolationConverter violationConverter;
+    private final ErrorProneUnitCache errorProneUnitCache;
+    private final DiffScope diffScope;
+    private final StageMetrics stageMetrics;
 
     @Inject
     public ErrorProneStep(
-        final MavenProject project,
         final MavenSession mavenSession,
-        final BuildPluginManager pluginManager,
-        final ErrorProneViolationLogParser errorProneErrorLogParser
+        final ForkedAnalysisCompiler forkedAnalysisCompiler,
+        final List<DiagnosticAnalysisCompiler> diagnosticAnalysisCompilers,
+        final ErrorProneViolationLogParser errorProneErrorLogParser,
+        final ViolationConverter violationConverter,
+        final ErrorProneUnitCache errorProneUnitCache,
+        final DiffScope diffScope,
+        final StageMetrics stageMetrics
     ) {
-        this.project = Precondition.nonNull(project, "MavenProject shouldn't be null");
         this.mavenSession = Precondition.nonNull(mavenSession, "MavenSession shouldn't be null");
-        this.pluginManager = Precondition.nonNull(pluginManager, "BuildPluginManager shouldn't be null");
+        this.forkedAnalysisCompiler = Precondition.nonNull(forkedAnalysisCompiler, "ForkedAnalysisCompiler shouldn't be null");
+        this.diagnosticAnalysisCompilers =
+            Precondition.nonNull(diagnosticAnalysisCompilers, "DiagnosticAnalysisCompilers shouldn't be null");
         this.errorProneErrorLogParser = Precondition.nonNull(errorProneErrorLogParser, "ErrorProneErrorLogParser shouldn't be null");
+        this.violationConverter = Precondition.nonNull(violationConverter, "ViolationConverter shouldn't be null");
+        this.errorProneUnitCache = Precondition.nonNull(errorProneUnitCache, "ErrorProneUnitCache shouldn't be null");
+        this.diffScope = Precondition.nonNull(diffScope, "DiffScope shouldn't be null");
+        this.stageMetrics = Precondition.nonNull(stageMetrics, "StageMetrics shouldn't be null");
     }
 
     @Override
@@ -94,193 +119,325 @@ public class ErrorProneStep implements Step<ErrorProneConfiguration> {
 
     private List<Violation> executeStep(final CodeQualityConfiguration codeQualityConfiguration, final ErrorProneConfiguration stepConfiguration,
                                         final Log log) {
-        final PluginDescriptor descriptor =
-            PluginUtils.pluginDescriptor("org.apache.maven.plugins", "maven-compiler-plugin", codeQualityConfiguration.getVersions().getMavenCompiler());
+        final AnalysisCompilation compilation = compilationOf(codeQualityConfiguration, stepConfiguration);
+
+        try {
+            final Optional<DiagnosticAnalysisCompiler> diagnosticAnalysisCompiler =
+                DiagnosticAnalysisCompiler.applicableOf(diagnosticAnalysisCompilers, codeQualityConfiguration, log);
+            final Optional<ChangedLines> changedLines = diffScope.changedLinesOf(codeQualityConfiguration, log);
 
-        final String javaVersion = PropertyUtils.valueOrFallback(project.getProperties(), "java.version", "21");
+            final UnitCompiler unitCompiler = diagnosticAnalysisCompiler.isPresent()
+                ? it -> compile(diagnosticAnalysisCompiler.get(), it, codeQualityConfiguration)
+                : it -> compileForked(it, codeQualityConfiguration, log);
 
-        final MavenProject currentProject = mavenSession.getCurrentProject();
+            if (changedLines.isPresent()) {
+                return compileChangedUnits(unitCompiler, compilation, changedLines.get(), log);
+            }
 
-        final File currentProjectArtifactFile = currentProject.getArtifact()
-            .getFile();
+            if (errorProneUnitCache.isEnabled(codeQualityConfiguration)) {
+                return compileIncrementally(unitCompiler, compilation, codeQualityConfiguration, stepConfiguration, log);
+            }
 
-        try {
-            executeMojo(
-                PluginUtils.pluginOfDescriptor(descriptor),
-                goal("compile"),
-                configuration(
-                    element(MojoExecutor.name("fork"), "true"), // To be able to apply javac flags, see elementsOfCompilerArgs
-                    element(MojoExecutor.name("source"), javaVersion),
-                    element(MojoExecutor.name("target"), javaVersion),
-                    element(MojoExecutor.name("release"), javaVersion),
-                    element("outputDirectory", currentProject.getBuild().getDirectory() + "/error-prone-classes"),
-                    element(MojoExecutor.name("showWarnings"), "true"),
-                    element(MojoExecutor.name("compilerArgs"), elementsOfCompilerArgs(stepConfiguration)
-                        .toArray(MojoExecutor.Element[]::new)),
-                    element(MojoExecutor.name("annotationProcessorPaths"),
-                        elementsOfAnnotationProcessorPaths(currentProject, codeQualityConfiguration, stepConfiguration)
-                            .toArray(MojoExecutor.Element[]::new))
-                ),
-                executionEnvironment(currentProject, mavenSession, pluginManager)
-            );
-
-            // Restores the current project's original artifact file, resolving
-            // the error: 'The packaging for this project did not assign a file to the build artifact.'
-            currentProject.getArtifact()
-                .setFile(currentProjectArtifactFile);
-
-            return parseViolations(log);
+            return unitCompiler.compile(compilation);
         } catch (final Exception e) {
             throw new CodeQualityException("Error during execution of ErrorProne step", e);
         }
     }
 
-    private List<MojoExecutor.Element> elementsOfCompilerArgs(final ErrorProneConfiguration errorProneConfiguration) {
-        return CompilerArgsComposer.compose(errorProneConfiguration, mavenSession);
+    private List<Violation> compile(final DiagnosticAnalysisCompiler diagnosticAnalysisCompiler, final AnalysisCompilation compilation,
+                                    final CodeQualityConfiguration codeQualityConfiguration) {
+        final List<Diagnostic<? extends JavaFileObject>> diagnostics = stageMetrics.measure(StepType.ERROR_PRONE + " compile",
+            () -> diagnosticAnalysisCompiler.compile(compilation, codeQualityConfiguration));
+
+        return stageMetrics.measure(StepType.ERROR_PRONE + " convert", () -> diagnostics.stream()
+            .map(violationConverter::ofErrorProneDiagnostic)
+            .flatMap(Optional::stream)
+            .toList());
     }
 
-    private List<MojoExecutor.Element> elementsOfAnnotationProcessorPaths(
-        final MavenProject currentProject,
-        final CodeQualityConfiguration codeQualityConfiguration,
-        final ErrorProneConfiguration errorProneConfiguration
-    ) {
-        final MavenAnnotationProcessorsManager annotationProcessorsManager = new MavenAnnotationProcessorsManager(currentProject, codeQualityConfiguration);
+    private List<Violation> compileForked(final AnalysisCompilation compilation, final CodeQualityConfiguration codeQualityConfiguration,
+                                          final Log log) throws MojoExecutionException, IOException {
+        final Optional<Path> diagnosticsFile =
+            StructuredDiagnostics.fileOf(codeQualityConfiguration, mavenSession.getCurrentProject(), "errorprone");
+
+        stageMetrics.measureRun(StepType.ERROR_PRONE + " fork",
+            () -> forkedAnalysisCompiler.compile(compilation, codeQualityConfiguration, diagnosticsFile.orElse(null)));
+
+        final List<Violation> violations = stageMetrics.measure(StepType.ERROR_PRONE + " parse",
+            () -> parseViolations(diagnosticsFile.orElse(null), log));
+
+        if (!compilation.isPartial()) {
+            return violations;
+        }
+
+        // The forked javac compiles the source files newer than their classes implicitly, through the sourcepath
+        final Set<Path> sourceFiles = compilation.sourceFiles().stream()
+            .map(it -> it.toPath().toAbsolutePath())
+            .collect(Collectors.toSet());
+
+        return violations.stream()
+            .filter(it -> sourceFiles.contains(Paths.get(it.getFullPath()).toAbsolutePath()))
+            .toList();
+    }
+
+    /**
+     * Compiles the compilation units changed in the git diff only, bypassing the {@link ErrorProneUnitCache}.
+     */
+    private List<Violation> compileChangedUnits(final UnitCompiler unitCompiler, final AnalysisCompilation compilation,
+                                                final ChangedLines changedLines, final Log log) throws Exception {
+        final List<File> changedSourceFiles = DiffScope.changedSourceFilesOf(mavenSession.getCurrentProject(), changedLines);
+
+        log.info(String.format("Diff scoped analysis (%s): compiling %d changed compilation units", changedLines.description(),
+            changedSourceFiles.size()));
+
+        if (changedSourceFiles.isEmpty()) {
+            return List.of();
+        }
+
+        // The classes directory no longer reflects a full compilation, which the incremental compilation relies upon
+        errorProneUnitCache.clearCompiledSources(Paths.get(mavenSession.getCurrentProject().getBuild().getDirectory(), compilation.classesDirectory()));
+
+        return unitCompiler.compile(compilation.withSourceFiles(changedSourceFiles));
+    }
+
+    /**
+     * Compiles the changed compilation units only, replaying the violations of the unchanged compilation units. The classes of the unchanged
+     * compilation units are resolved from the classes directory of the previous compilation. The module is compiled in full whenever the
+     * classes directory doesn't reflect the current source files, or whenever the ABI of the changed compilation units changed, since the
+     * violations of their dependents could change as well.
+     */
+    private List<Violation> compileIncrementally(final UnitCompiler unitCompiler, final AnalysisCompilation compilation,
+                                                 final CodeQualityConfiguration codeQualityConfiguration,
+                                                 final ErrorProneConfiguration stepConfiguration, final Log log) throws Exception {
+        final CacheConfiguration cacheConfiguration = codeQualityConfiguration.getCache();
+        final Path classesDirectory = Paths.get(mavenSession.getCurrentProject().getBuild().getDirectory(), compilation.classesDirectory());
+
+        final Map<Path, String> sourceFingerprints = new LinkedHashMap<>();
+        AnalysisCompilation.sourceFilesOf(mavenSession.getCurrentProject())
+            .forEach(it -> sourceFingerprints.put(it.toPath().toAbsolutePath(), errorProneUnitCache.sourceFingerprintOf(it.toPath())));
+
+        final String compilationKey = errorProneUnitCache.keyOf(stepConfiguration, compilation);
+        final Map<Path, String> compiledSources = errorProneUnitCache.compiledSourcesOf(classesDirectory);
+
+        // The classes of a removed source file would still be resolved from the classes directory
+        if (compiledSources.isEmpty() || !sourceFingerprints.keySet().containsAll(compiledSources.keySet())) {
+            return compileFully(unitCompiler, compilation, codeQualityConfiguration, compilationKey, sourceFingerprints, log);
+        }
+
+        final String moduleAbi = errorProneUnitCache.abiOf(classesDirectory);
+
+        final Map<Path, List<Violation>> cachedViolationsBySourceFile = new LinkedHashMap<>();
+        final Map<Path, String> missedUnitKeys = new LinkedHashMap<>();
+
+        sourceFingerprints.forEach((sourceFile, sourceFingerprint) -> {
+            final String unitKey = errorProneUnitCache.keyOf(compilationKey, moduleAbi, sourceFile);
+
+            // A cached compilation unit is only replayed while its classes in the classes directory are up-to-date
+            final Optional<List<Violation>> cachedViolations = sourceFingerprint.equals(compiledSources.get(sourceFile))
+                ? errorProneUnitCache.load(unitKey, cacheConfiguration)
+                : Optional.empty();
+
+            if (cachedViolations.isPresent()) {
+                cachedViolationsBySourceFile.put(sourceFile, cachedViolations.get());
+            } else {
+                missedUnitKeys.put(sourceFile, unitKey);
+            }
+        });
+
+        if (cachedViolationsBySourceFile.isEmpty()) {
+            return compileFully(unitCompiler, compilation, codeQualityConfiguration, compilationKey, sourceFingerprints, log);
+        }
+
+        log.info(String.format("Replaying ErrorProne violations of %d cached compilation units, compiling %d compilation units",
+            cachedViolationsBySourceFile.size(), missedUnitKeys.size()));
+
+        if (missedUnitKeys.isEmpty()) {
+            return flatten(cachedViolationsBySourceFile);
+        }
+
+        errorProneUnitCache.clearCompiledSources(classesDirectory);
+
+        final List<Violation> violations = unitCompiler.compile(compilation.withSourceFiles(missedUnitKeys.keySet().stream()
+            .map(Path::toFile)
+            .toList()));
+
+        if (!moduleAbi.equals(errorProneUnitCache.abiOf(classesDirectory))) {
+            log.info("The ABI of the changed compilation units changed, compiling all compilation units");
+
+            return compileFully(unitCompiler, compilation, codeQualityConfiguration, compilationKey, sourceFingerprints, log);
+        }
+
+        final Map<Path, List<Violation>> violationsBySourceFile = violationsBySourceFileOf(violations);
+
+        storeOrWarn(missedUnitKeys, violationsBySourceFile, cacheConfiguration, log);
+        errorProneUnitCache.storeCompiledSources(classesDirectory, sourceFingerprints);
+
+        return Stream.concat(cachedViolationsBySourceFile.values().stream(), violationsBySourceFile.values().stream())
+            .flatMap(List::stream)
+            .toList();
+    }
+
+    private List<Violation> compileFully(final UnitCompiler unitCompiler, final AnalysisCompilation compilation,
+                                         final CodeQualityConfiguration codeQualityConfiguration, final String compilationKey,
+                                         final Map<Path, String> sourceFingerprints, final Log log) throws Exception {
+        final Path classesDirectory = Paths.get(mavenSession.getCurrentProject().getBuild().getDirectory(), compilation.classesDirectory());
+
+        errorProneUnitCache.clearCompiledSources(classesDirectory);
+
+        final List<Violation> violations = unitCompiler.compile(compilation);
+
+        final String moduleAbi = errorProneUnitCache.abiOf(classesDirectory);
 
-        final List<MojoExecutor.Element> annotationProcessorPaths = annotationProcessorsManager.annotationPaths().stream()
-            .map(it -> ElementUtils.annotationProcessor(it.getGroupId(), it.getArtifactId(), it.getVersion()))
-            .collect(CollectorUtils.toMutableList());
+        final Map<Path, String> unitKeys = new LinkedHashMap<>();
+        sourceFingerprints.keySet()
+            .forEach(it -> unitKeys.put(it, errorProneUnitCache.keyOf(compilationKey, moduleAbi, it)));
 
+        storeOrWarn(unitKeys, violationsBySourceFileOf(violations), codeQualityConfiguration.getCache(), log);
+        errorProneUnitCache.storeCompiledSources(classesDirectory, sourceFingerprints);
+
+        return violations;
+    }
+
+    private void storeOrWarn(final Map<Path, String> unitKeys, final Map<Path, List<Violation>> violationsBySourceFile,
+                             final CacheConfiguration cacheConfiguration, final Log log) {
+        final Map<String, List<Violation>> violationsByUnitKey = new LinkedHashMap<>();
+        unitKeys.forEach((sourceFile, unitKey) -> violationsByUnitKey.put(unitKey, violationsBySourceFile.getOrDefault(sourceFile, List.of())));
+
+        try {
+            errorProneUnitCache.store(violationsByUnitKey, cacheConfiguration);
+        } catch (final CodeQualityException e) {
+            log.warn("Failed to cache the ErrorProne violations. Cause: " + e.getMessage());
+        }
+    }
+
+    private static Map<Path, List<Violation>> violationsBySourceFileOf(final List<Violation> violations) {
+        return violations.stream()
+            .collect(Collectors.groupingBy(it -> Paths.get(it.getFullPath()).toAbsolutePath(), LinkedHashMap::new, Collectors.toList()));
+    }
+
+    private static List<Violation> flatten(final Map<Path, List<Violation>> violationsBySourceFile) {
+        return violationsBySourceFile.values()
+            .stream()
+            .flatMap(List::stream)
+            .toList();
+    }
+
+    private AnalysisCompilation compilationOf(final CodeQualityConfiguration codeQualityConfiguration, final ErrorProneConfiguration stepConfiguration) {
+        final String javaVersion = PropertyUtils.valueOrFallback(mavenSession.getCurrentProject().getProperties(), "java.version", "21");
+
+        final MavenAnnotationProcessorsManager annotationProcessorsManager =
+            new MavenAnnotationProcessorsManager(mavenSession.getCurrentProject(), codeQualityConfiguration);
+
+        final List<AnnotationProcessorPaths> processorPaths = new ArrayList<>(annotationProcessorsManager.annotationPaths());
+        processorPaths.addAll(analyzerAnnotationProcessorPaths(stepConfiguration));
+
+        // The processors are discovered from the processor paths
+        return new AnalysisCompilation(javaVersion, CompilerArgsComposer.ERROR_PRONE_CLASSES_DIR,
+            CompilerArgsComposer.compose(stepConfiguration, mavenSession), processorPaths, Set.of());
+    }
+
+    /**
+     * Returns the annotation processor paths of the Error Prone analyzer, i.e. Error Prone itself and NullAway if enabled.
+     *
+     * @param errorProneConfiguration the error prone configuration
+     * @return the annotation processor paths of the analyzer
+     */
+    static List<AnnotationProcessorPaths> analyzerAnnotationProcessorPaths(final ErrorProneConfiguration errorProneConfiguration) {
         final ErrorProneConfiguration.Versions versions = errorProneConfiguration.getVersions();
 
-        annotationProcessorPaths.add(ElementUtils.annotationProcessor("com.google.errorprone", "error_prone_core", versions.getErrorProne()));
+        final List<AnnotationProcessorPaths> annotationProcessorPaths = new ArrayList<>();
+
+        annotationProcessorPaths.add(AnnotationProcessorPaths.create("com.google.errorprone", "error_prone_core", versions.getErrorProne()));
 
         if (errorProneConfiguration.isNullAwayEnabled()) {
-            annotationProcessorPaths.add(ElementUtils.annotationProcessor("com.uber.nullaway", "nullaway", versions.getNullAway()));
+            annotationProcessorPaths.add(AnnotationProcessorPaths.create("com.uber.nullaway", "nullaway", versions.getNullAway()));
         }
 
         return annotationProcessorPaths;
     }
 
-    private List<Violation> parseViolations(final Log log) {
-        final String errorProneOutputFilePath = errorProneOutputFilePath(project);
+    private List<Violation> parseViolations(@Nullable final Path nullableDiagnosticsFile, final Log log) throws IOException {
+        // Absent if javac wasn't invoked, e.g. since the maven-compiler-plugin found nothing to compile
+        if (nullableDiagnosticsFile != null && Files.exists(nullableDiagnosticsFile)) {
+            return StructuredDiagnostics.read(nullableDiagnosticsFile).stream()
+                .map(violationConverter::ofErrorProneStructuredDiagnostic)
+                .toList();
+        }
+
+        final String errorProneOutputFilePath = errorProneOutputFilePath(mavenSession.getCurrentProject());
 
         return violationsFromOutputFile(errorProneOutputFilePath, log);
     }
 
     private List<Violation> violationsFromOutputFile(final String errorProneOutputFilePath, final Log log) {
-        try (final InputStream targetStream = new FileInputStream(errorProneOutputFilePath)) {
-            return errorProneErrorLogParser.parse(targetStream);
-        } catch (final IOException e) {
+        final Path outputFile = Path.of(errorProneOutputFilePath);
+
+        if (Files.notExists(outputFile)) {
             log.warn("No error prone file found. Please register the plugin as a extension");
 
             return Collections.emptyList();
         }
+
+        return errorProneErrorLogParser.parse(outputFile);
     }
 
     private String errorProneOutputFilePath(final MavenProject project) {
         return targetOutputFilePath(project.getBuild().getDirectory(),
-            String.format("errorprone-%s.txt", mavenSession.getCurrentProject().getModel().getArtifactId()));
+            String.format("errorprone-%s.txt", project.getModel().getArtifactId()));
     }
 
     private static String targetOutputFilePath(final String targetDirectory, final String targetOutputFilename) {
         return targetDirectory + "/" + targetOutputFilename;
     }
 
-    private static class CompilerArgsComposer {
-        private static final String ERROR_PRONE_CLASSES_DIR = "error-prone-classes";
-
-        // JEP 396: Strongly encapsulate JDK internals (see Error Prone docs)
-        private static final List<String> ERROR_PRONE_EXPORTS = List.of(
-            "--add-exports=jdk.compiler/com.sun.tools.javac.api=ALL-UNNAMED",
-            "--add-exports=jdk.compiler/com.sun.tools.javac.file=ALL-UNNAMED",
-            "--add-exports=jdk.compiler/com.sun.tools.javac.main=ALL-UNNAMED",
-            "--add-exports=jdk.compiler/com.sun.tools.javac.model=ALL-UNNAMED",
-            "--add-exports=jdk.compiler/com.sun.tools.javac.parser=ALL-UNNAMED",
-            "--add-exports=jdk.compiler/com.sun.tools.javac.processing=ALL-UNNAMED",
-            "--add-exports=jdk.compiler/com.sun.tools.javac.tree=ALL-UNNAMED",
-            "--add-exports=jdk.compiler/com.sun.tools.javac.util=ALL-UNNAMED"
-        );
-
-        private static final List<String> ERROR_PRONE_OPENS = List.of(
-            "--add-opens=jdk.compiler/com.sun.tools.javac.code=ALL-UNNAMED",
-            "--add-opens=jdk.compiler/com.sun.tools.javac.comp=ALL-UNNAMED"
-        );
-
-        private static List<MojoExecutor.Element> compose(final ErrorProneConfiguration errorProneConfiguration, final MavenSession mavenSession) {
-            final List<MojoExecutor.Element> args = new ArrayList<>();
+    static class CompilerArgsComposer {
+        static final String ERROR_PRONE_CLASSES_DIR = "error-prone-classes";
 
-            // caller-provided compiler args (first to allow later overrides to win if needed)
-            for (String a : errorProneConfiguration.getCompilerArgs()) {
-                args.add(arg(a));
-            }
+        private static List<String> compose(final ErrorProneConfiguration errorProneConfiguration, final MavenSession mavenSession) {
+            final List<String> args = new ArrayList<>();
 
-            // Due to JEP 396: Strongly Encapsulate JDK Internals by Default - See https://errorprone.info/docs/installation
-            ERROR_PRONE_EXPORTS.forEach(f -> args.add(arg("-J" + f)));
-            ERROR_PRONE_OPENS.forEach(f -> args.add(arg("-J" + f)));
+            // caller-provided compiler args (first to allow later overrides to win if needed)
+            AnalysisCompilerArgs.addCallerArgs(args, errorProneConfiguration.getCompilerArgs());
 
             // Classpath (ensure latest reactor outputs)
-            addClassPathArgs(args, mavenSession);
-
-            // Single-compilation-unit policy for javac
-            args.add(arg("-XDcompilePolicy=simple"));
+            AnalysisCompilerArgs.addClassPath(args, mavenSession, ERROR_PRONE_CLASSES_DIR);
 
-            args.add(arg("--should-stop=ifError=FLOW")); // https://github.com/google/error-prone/issues/4595
-            args.add(arg("-XDaddTypeAnnotationsToSymbol=true")); // https://github.com/google/error-prone/issues/5426
+            AnalysisCompilerArgs.addLint(args);
 
-            // Lint config (suppress specific warnings; lombok/JPMS compatibility)
-            args.add(arg("-Xlint:all,-serial,-processing,-requires-transitive-automatic,-missing-explicit-ctor,-exports,-requires-automatic"));
+            AnalysisCompilerArgs.addDiagnosticLimits(args);
 
-            // Error Prone configuration flags
-            args.add(arg(String.format(
-                ERROR_PRONE_FLAGS_TEMPLATE,
-                errorProneConfiguration.getAnnotatedPackages(),
-                errorProneConfiguration.getExcludedPaths()
-            )));
+            addAnalyzerArgs(args, errorProneConfiguration);
 
             return args;
         }
 
-        private static void addClassPathArgs(final List<MojoExecutor.Element> args, final MavenSession session) {
-            final MavenProject current = session.getCurrentProject();
-
-            final List<String> rawClasspath;
-            try {
-                // includes reactor target/classes
-                rawClasspath = new ArrayList<>(current.getCompileClasspathElements());
-            } catch (final DependencyResolutionRequiredException e) {
-                throw new CodeQualityException("Failed to resolve compile classpath", e);
-            }
-
-            final List<MavenProject> allProjects = session.getAllProjects();
-
-            // Replace classpath where entries referencing reactor artifacts
-            // are swapped for their <buildDirectory>/error-prone-classes
-            for (final ListIterator<String> it = rawClasspath.listIterator(); it.hasNext(); ) {
-                final String entry = it.next();
-
-                for (final MavenProject mavenProject : allProjects) {
-                    final String finalName = (mavenProject.getBuild() != null) ? mavenProject.getBuild().getFinalName() : null;
-
-                    final String artifactNameAndVersion = mavenProject.getArtifact().getArtifactId() + "-" + mavenProject.getArtifact().getVersion() + ".jar";
-
-                    if (finalName != null && entry.contains(artifactNameAndVersion)) {
-                        final String replacement = Paths.get(mavenProject.getBuild().getDirectory(), ERROR_PRONE_CLASSES_DIR).toString();
-
-                        it.set(replacement);
-                        break;
-                    }
-                }
-            }
+        /**
+         * Adds the Error Prone specific compiler args, excluding the args shared with the other compiler based analyzers.
+         *
+         * @param args                    the compiler args to add to
+         * @param errorProneConfiguration the error prone configuration
+         */
+        static void addAnalyzerArgs(final List<String> args, final ErrorProneConfiguration errorProneConfiguration) {
+            // Single-compilation-unit policy for javac
+            args.add("-XDcompilePolicy=simple");
 
-            final String classpath = String.join(File.pathSeparator, rawClasspath);
+            args.add("--should-stop=ifError=FLOW"); // https://github.com/google/error-prone/issues/4595
+            args.add("-XDaddTypeAnnotationsToSymbol=true"); // https://github.com/google/error-prone/issues/5426
 
-            // Because fork=true, we can override the classpath passed to external javac
-            args.add(arg("-cp"));
-            args.add(arg(classpath));
+            // Error Prone configuration flags
+            args.add(String.format(
+                ERROR_PRONE_FLAGS_TEMPLATE,
+                errorProneConfiguration.getAnnotatedPackages(),
+                errorProneConfiguration.getExcludedPaths()
+            ));
         }
+    }
 
-        private static MojoExecutor.Element arg(final String value) {
-            return element(MojoExecutor.name("arg"), value);
-        }
+    /**
+     * Compiles an {@link AnalysisCompilation}, either by a {@link DiagnosticAnalysisCompiler} or by the {@link ForkedAnalysisCompiler}.
+     */
+    @FunctionalInterface
+    private interface UnitCompiler {
+        List<Violation> compile(AnalysisCompilation compilation) throws Exception;
     }
 }
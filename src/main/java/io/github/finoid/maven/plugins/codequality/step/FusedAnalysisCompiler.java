@@ -0,0 +1,267 @@
+package io.github.finoid.maven.plugins.codequality.step;
+
+import io.github.finoid.maven.plugins.codequality.MavenAnnotationProcessorsManager;
+import io.github.finoid.maven.plugins.codequality.compiler.AnalysisCompilation;
+import io.github.finoid.maven.plugins.codequality.compiler.AnalysisCompilerArgs;
+import io.github.finoid.maven.plugins.codequality.compiler.DiagnosticAnalysisCompiler;
+import io.github.finoid.maven.plugins.codequality.compiler.ForkedAnalysisCompiler;
+import io.github.finoid.maven.plugins.codequality.compiler.StructuredDiagnostic;
+import io.github.finoid.maven.plugins.codequality.compiler.StructuredDiagnostics;
+import io.github.finoid.maven.plugins.codequality.configuration.AnnotationProcessorPaths;
+import io.github.finoid.maven.plugins.codequality.configuration.CheckerFrameworkConfiguration;
+import io.github.finoid.maven.plugins.codequality.configuration.CodeQualityConfiguration;
+import io.github.finoid.maven.plugins.codequality.configuration.ErrorProneConfiguration;
+import io.github.finoid.maven.plugins.codequality.exceptions.CodeQualityException;
+import io.github.finoid.maven.plugins.codequality.filter.ChangedLines;
+import io.github.finoid.maven.plugins.codequality.log.ErrorProneViolationLogParser;
+import io.github.finoid.maven.plugins.codequality.log.FusedAnalysisLogSplitter;
+import io.github.finoid.maven.plugins.codequality.metrics.StageMetrics;
+import io.github.finoid.maven.plugins.codequality.report.CheckerFrameworkViolationLogParser;
+import io.github.finoid.maven.plugins.codequality.report.Violation;
+import io.github.finoid.maven.plugins.codequality.util.Precondition;
+import io.github.finoid.maven.plugins.codequality.util.PropertyUtils;
+import org.apache.maven.execution.MavenSession;
+import org.apache.maven.plugin.logging.Log;
+import org.apache.maven.project.MavenProject;
+import org.jspecify.annotations.Nullable;
+
+import javax.inject.Inject;
+import javax.inject.Singleton;
+import javax.tools.Diagnostic;
+import javax.tools.JavaFileObject;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Executes the ErrorProne and Checker Framework analyzers within a single compiler invocation, see
+ * {@link CodeQualityConfiguration#isFusedAnalysisCompile()}.
+ * <p>
+ * The ErrorProne plugin and the configured Checker Framework processors are loaded by the same javac, meaning that every source file is
+ * parsed, attributed and flowed once instead of once per analyzer. The diagnostics are split back per analyzer - by the
+ * {@link FusedAnalysisLogSplitter} for a forked compilation without structured diagnostics - resulting in one {@link StepType#ERROR_PRONE} and one
+ * {@link StepType#CHECKER_FRAMEWORK} step result.
+ * <p>
+ * When the analysis is diff scoped, see {@link DiffScope}, the compilation is narrowed down the same way as the compilations of the
+ * {@link ErrorProneStep} and the {@link CheckerFrameworkStep}.
+ */
+@Singleton
+public class FusedAnalysisCompiler {
+    static final String ANALYSIS_CLASSES_DIR = "analysis-classes";
+    static final String STAGE = "FUSED_ANALYSIS";
+
+    private final MavenSession mavenSession;
+    private final ForkedAnalysisCompiler forkedAnalysisCompiler;
+    private final List<DiagnosticAnalysisCompiler> diagnosticAnalysisCompilers;
+    private final FusedAnalysisLogSplitter fusedAnalysisLogSplitter;
+    private final ErrorProneViolationLogParser errorProneViolationLogParser;
+    private final CheckerFrameworkViolationLogParser checkerFrameworkViolationLogParser;
+    private final ViolationConverter violationConverter;
+    private final DiffScope diffScope;
+    private final StageMetrics stageMetrics;
+
+    @Inject
+    public FusedAnalysisCompiler(
+        final MavenSession mavenSession,
+        final ForkedAnalysisCompiler forkedAnalysisCompiler,
+        final List<DiagnosticAnalysisCompiler> diagnosticAnalysisCompilers,
+        final FusedAnalysisLogSplitter fusedAnalysisLogSplitter,
+        final ErrorProneViolationLogParser errorProneViolationLogParser,
+        final CheckerFrameworkViolationLogParser checkerFrameworkViolationLogParser,
+        final ViolationConverter violationConverter,
+        final DiffScope diffScope,
+        final StageMetrics stageMetrics
+    ) {
+        this.mavenSession = Precondition.nonNull(mavenSession, "MavenSession shouldn't be null");
+        this.forkedAnalysisCompiler = Precondition.nonNull(forkedAnalysisCompiler, "ForkedAnalysisCompiler shouldn't be null");
+        this.diagnosticAnalysisCompilers =
+            Precondition.nonNull(diagnosticAnalysisCompilers, "DiagnosticAnalysisCompilers shouldn't be null");
+        this.fusedAnalysisLogSplitter = Precondition.nonNull(fusedAnalysisLogSplitter, "FusedAnalysisLogSplitter shouldn't be null");
+        this.errorProneViolationLogParser = Precondition.nonNull(errorProneViolationLogParser, "ErrorProneViolationLogParser shouldn't be null");
+        this.checkerFrameworkViolationLogParser =
+            Precondition.nonNull(checkerFrameworkViolationLogParser, "CheckerFrameworkViolationLogParser shouldn't be null");
+        this.violationConverter = Precondition.nonNull(violationConverter, "ViolationConverter shouldn't be null");
+        this.diffScope = Precondition.nonNull(diffScope, "DiffScope shouldn't be null");
+        this.stageMetrics = Precondition.nonNull(stageMetrics, "StageMetrics shouldn't be null");
+    }
+
+    /**
+     * Executes the fused analysis compile.
+     *
+     * @param codeQualityConfiguration      the code quality configuration
+     * @param errorProneConfiguration       the error prone configuration
+     * @param checkerFrameworkConfiguration the checker framework configuration
+     * @param log                           the mojo logger
+     * @return the {@link StepType#ERROR_PRONE} and {@link StepType#CHECKER_FRAMEWORK} step results, in that order
+     * @throws CodeQualityException in case the compiler invocation failed
+     */
+    public List<StepResult> execute(
+        final CodeQualityConfiguration codeQualityConfiguration,
+        final ErrorProneConfiguration errorProneConfiguration,
+        final CheckerFrameworkConfiguration checkerFrameworkConfiguration,
+        final Log log
+    ) {
+        final Optional<ChangedLines> changedLines = diffScope.changedLinesOf(codeQualityConfiguration, log);
+        final Optional<List<File>> changedSourceFiles = changedLines
+            .map(it -> DiffScope.changedSourceFilesOf(mavenSession.getCurrentProject(), it));
+
+        if (changedSourceFiles.isPresent()) {
+            log.info(String.format("Diff scoped analysis (%s): compiling %d changed compilation units", changedLines.get().description(),
+                changedSourceFiles.get().size()));
+
+            if (changedSourceFiles.get().isEmpty()) {
+                return List.of(
+                    StepResult.create(StepType.ERROR_PRONE, errorProneConfiguration.isPermissive(), List.of()),
+                    StepResult.create(StepType.CHECKER_FRAMEWORK, checkerFrameworkConfiguration.isPermissive(), List.of())
+                );
+            }
+        }
+
+        final AnalysisCompilation compilation = compilationOf(codeQualityConfiguration, errorProneConfiguration, checkerFrameworkConfiguration,
+            changedSourceFiles.orElse(null));
+        final AnalysisCompilation scopedCompilation = changedSourceFiles.map(compilation::withSourceFiles)
+            .orElse(compilation);
+
+        final List<Violation> errorProneViolations;
+        final List<Violation> checkerFrameworkViolations;
+        try {
+            final Optional<DiagnosticAnalysisCompiler> diagnosticAnalysisCompiler =
+                DiagnosticAnalysisCompiler.applicableOf(diagnosticAnalysisCompilers, codeQualityConfiguration, log);
+
+            if (diagnosticAnalysisCompiler.isPresent()) {
+                final List<Diagnostic<? extends JavaFileObject>> diagnostics = stageMetrics.measure(STAGE + " compile",
+                    () -> diagnosticAnalysisCompiler.get().compile(scopedCompilation, codeQualityConfiguration));
+
+                final Map<Boolean, List<Diagnostic<? extends JavaFileObject>>> diagnosticsByErrorProne = diagnostics.stream()
+                    .collect(Collectors.partitioningBy(it -> FusedAnalysisLogSplitter.isErrorProneMessage(it.getMessage(Locale.ROOT))));
+
+                errorProneViolations = stageMetrics.measure(StepType.ERROR_PRONE + " convert", () -> diagnosticsByErrorProne.get(true).stream()
+                    .map(violationConverter::ofErrorProneDiagnostic)
+                    .flatMap(Optional::stream)
+                    .toList());
+                checkerFrameworkViolations = stageMetrics.measure(StepType.CHECKER_FRAMEWORK + " convert", () -> diagnosticsByErrorProne.get(false)
+                    .stream()
+                    .map(violationConverter::ofCheckerFrameworkDiagnostic)
+                    .flatMap(Optional::stream)
+                    .toList());
+            } else {
+                final Optional<Path> diagnosticsFile =
+                    StructuredDiagnostics.fileOf(codeQualityConfiguration, mavenSession.getCurrentProject(), "analysis");
+
+                stageMetrics.measureRun(STAGE + " fork",
+                    () -> forkedAnalysisCompiler.compile(scopedCompilation, codeQualityConfiguration, diagnosticsFile.orElse(null)));
+
+                final Optional<Path> writtenDiagnosticsFile = diagnosticsFile.filter(Files::exists);
+
+                if (writtenDiagnosticsFile.isPresent()) {
+                    final Map<Boolean, List<StructuredDiagnostic>> diagnosticsByErrorProne = stageMetrics.measure(STAGE + " read",
+                        () -> StructuredDiagnostics.read(writtenDiagnosticsFile.get()).stream()
+                            .collect(Collectors.partitioningBy(it -> FusedAnalysisLogSplitter.isErrorProneMessage(it.message()))));
+
+                    final List<Violation> allErrorProneViolations = diagnosticsByErrorProne.get(true).stream()
+                        .map(violationConverter::ofErrorProneStructuredDiagnostic)
+                        .toList();
+
+                    errorProneViolations = changedLines.map(it -> DiffScope.violationsOfChangedFiles(allErrorProneViolations, it))
+                        .orElse(allErrorProneViolations);
+                    checkerFrameworkViolations = diagnosticsByErrorProne.get(false).stream()
+                        .map(violationConverter::ofCheckerFrameworkStructuredDiagnostic)
+                        .toList();
+                } else {
+                    final FusedAnalysisLogSplitter.SplitLog splitLog = stageMetrics.measure(STAGE + " split", () -> splitLog(log));
+
+                    final List<Violation> allErrorProneViolations = stageMetrics.measure(StepType.ERROR_PRONE + " parse",
+                        () -> errorProneViolationLogParser.parse(splitLog.errorProneInputStream()));
+
+                    // The checks of the Checker Framework are restricted to the changed compilation units, whereas ErrorProne analyzes the
+                    // source files the forked javac compiles implicitly as well
+                    errorProneViolations = changedLines.map(it -> DiffScope.violationsOfChangedFiles(allErrorProneViolations, it))
+                        .orElse(allErrorProneViolations);
+                    checkerFrameworkViolations = stageMetrics.measure(StepType.CHECKER_FRAMEWORK + " parse",
+                        () -> checkerFrameworkViolationLogParser.parse(splitLog.checkerFrameworkInputStream()));
+                }
+            }
+        } catch (final Exception e) {
+            throw new CodeQualityException("Error during execution of fused ErrorProne and CheckerFramework compile", e);
+        }
+
+        return List.of(
+            StepResult.create(StepType.ERROR_PRONE, errorProneConfiguration.isPermissive(), errorProneViolations),
+            StepResult.create(StepType.CHECKER_FRAMEWORK, checkerFrameworkConfiguration.isPermissive(), checkerFrameworkViolations)
+        );
+    }
+
+    private AnalysisCompilation compilationOf(
+        final CodeQualityConfiguration codeQualityConfiguration,
+        final ErrorProneConfiguration errorProneConfiguration,
+        final CheckerFrameworkConfiguration checkerFrameworkConfiguration,
+        @Nullable final List<File> nullableChangedSourceFiles
+    ) {
+        final String javaVersion = PropertyUtils.valueOrFallback(mavenSession.getCurrentProject().getProperties(), "java.version", "21");
+
+        final MavenAnnotationProcessorsManager annotationProcessorsManager =
+            new MavenAnnotationProcessorsManager(mavenSession.getCurrentProject(), codeQualityConfiguration);
+
+        final List<AnnotationProcessorPaths> processorPaths = new ArrayList<>(annotationProcessorsManager.annotationPaths());
+        processorPaths.addAll(ErrorProneStep.analyzerAnnotationProcessorPaths(errorProneConfiguration));
+        processorPaths.add(CheckerFrameworkStep.analyzerAnnotationProcessorPath(checkerFrameworkConfiguration));
+
+        final List<String> compilerArgs = compilerArgsOf(errorProneConfiguration, checkerFrameworkConfiguration);
+        if (nullableChangedSourceFiles != null) {
+            CheckerFrameworkStep.CompilerArgsComposer.addOnlyDefs(compilerArgs, mavenSession.getCurrentProject(), nullableChangedSourceFiles);
+        }
+
+        // The ErrorProne plugin is loaded through -Xplugin, hence only the checkers needs to be declared as annotation processors
+        return new AnalysisCompilation(javaVersion, ANALYSIS_CLASSES_DIR, compilerArgs, processorPaths,
+            annotationProcessorsManager.annotationProcessors(checkerFrameworkConfiguration.getCheckers()));
+    }
+
+    private List<String> compilerArgsOf(final ErrorProneConfiguration errorProneConfiguration,
+                                        final CheckerFrameworkConfiguration checkerFrameworkConfiguration) {
+        final List<String> args = new ArrayList<>();
+
+        // caller-provided compiler args of both analyzers, without duplicates
+        final Set<String> callerArgs = new LinkedHashSet<>(errorProneConfiguration.getCompilerArgs());
+        callerArgs.addAll(checkerFrameworkConfiguration.getCompilerArgs());
+
+        AnalysisCompilerArgs.addCallerArgs(args, callerArgs);
+
+        // Classpath (ensure latest reactor outputs)
+        AnalysisCompilerArgs.addClassPath(args, mavenSession, ANALYSIS_CLASSES_DIR);
+
+        AnalysisCompilerArgs.addLint(args);
+
+        AnalysisCompilerArgs.addDiagnosticLimits(args);
+
+        ErrorProneStep.CompilerArgsComposer.addAnalyzerArgs(args, errorProneConfiguration);
+        CheckerFrameworkStep.CompilerArgsComposer.addAnalyzerArgs(args);
+
+        return args;
+    }
+
+    private FusedAnalysisLogSplitter.SplitLog splitLog(final Log log) {
+        final MavenProject project = mavenSession.getCurrentProject();
+
+        final String fusedAnalysisOutputFilePath = project.getBuild().getDirectory() + "/"
+            + String.format("analysis-%s.txt", project.getModel().getArtifactId());
+
+        try (final InputStream targetStream = new FileInputStream(fusedAnalysisOutputFilePath)) {
+            return fusedAnalysisLogSplitter.split(targetStream);
+        } catch (final IOException e) {
+            log.warn("No fused analysis file found. Please register the plugin as an extension");
+
+            return new FusedAnalysisLogSplitter.SplitLog("", "");
+        }
+    }
+}
@@ -0,0 +1,34 @@
+package io.github.finoid.maven.plugins.codequality.step;
+
+import io.github.finoid.maven.plugins.codequality.util.Precondition;
+import org.jspecify.annotations.Nullable;
+
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * The planned outcome of the steps of a module, see {@link AnalysisPlanner}.
+ *
+ * @param module     the name of the module
+ * @param skipReason the reason the whole module is skipped, or {@code null} if the module is analyzed
+ * @param stepPlans  the planned outcome of each step, in the same order as the step executions
+ */
+public record ModulePlan(String module, @Nullable String skipReason, List<StepPlan> stepPlans) {
+    public ModulePlan {
+        Precondition.nonNull(module, "Module shouldn't be null");
+        stepPlans = List.copyOf(Precondition.nonNull(stepPlans, "StepPlans shouldn't be null"));
+    }
+
+    /**
+     * Whether the whole module is skipped.
+     *
+     * @return {@code true} if skipped, {@code false} otherwise
+     */
+    public boolean isSkipped() {
+        return skipReason != null;
+    }
+
+    public Optional<String> optionalSkipReason() {
+        return Optional.ofNullable(skipReason);
+    }
+}
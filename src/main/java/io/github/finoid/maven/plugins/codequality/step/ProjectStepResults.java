@@ -47,4 +47,14 @@ public class ProjectStepResults {
     public static ProjectStepResults ofResults(final String projectName, final StepResult... results) {
         return new ProjectStepResults(projectName, Arrays.stream(results).toList());
     }
+
+    /**
+     * Creates a {@link ProjectStepResults} instance from a list of {@link StepResult} objects, preserving their order.
+     *
+     * @param results The step results to aggregate.
+     * @return A new {@link ProjectStepResults} instance containing the provided results.
+     */
+    public static ProjectStepResults ofResults(final String projectName, final List<StepResult> results) {
+        return new ProjectStepResults(projectName, List.copyOf(results));
+    }
 }
@@ -6,6 +6,9 @@ import io.github.finoid.maven.plugins.codequality.exceptions.CodeQualityExceptio
 import org.apache.maven.plugin.logging.Log;
 import org.jspecify.annotations.Nullable;
 
+import java.nio.file.Path;
+import java.util.List;
+
 public interface Step<C extends Configuration> {
     /**
      * Whether the step is enabled or disabled.
@@ -39,6 +42,17 @@ public interface Step<C extends Configuration> {
      */
     StepResult execute(final CodeQualityConfiguration codeQualityConfiguration, final C stepConfiguration, final Log log);
 
+    /**
+     * Returns the files, or directories, outside the sources and classpath of the module which the result of the step depends on, such as
+     * configuration files referenced by the step configuration.
+     *
+     * @param configuration the step specific configuration
+     * @return the additional inputs of the step
+     */
+    default List<Path> additionalInputs(final C configuration) {
+        return List.of();
+    }
+
     /**
      * Returns the {@link CleanContext} for the step.
      *
@@ -0,0 +1,22 @@
+package io.github.finoid.maven.plugins.codequality.step;
+
+import io.github.finoid.maven.plugins.codequality.configuration.Configuration;
+import io.github.finoid.maven.plugins.codequality.util.Precondition;
+
+/**
+ * A {@link Step} paired with its step specific configuration, ready to be executed by the {@link StepExecutor}.
+ *
+ * @param step          the step
+ * @param configuration the step specific configuration
+ * @param <C>           the type of the step configuration
+ */
+public record StepExecution<C extends Configuration>(Step<C> step, C configuration) {
+    public StepExecution {
+        Precondition.nonNull(step, "Step shouldn't be null");
+        Precondition.nonNull(configuration, "Configuration shouldn't be null");
+    }
+
+    public static <C extends Configuration> StepExecution<C> of(final Step<C> step, final C configuration) {
+        return new StepExecution<>(step, configuration);
+    }
+}
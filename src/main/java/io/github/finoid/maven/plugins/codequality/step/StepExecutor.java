@@ -0,0 +1,392 @@
+package io.github.finoid.maven.plugins.codequality.step;
+
+import io.github.finoid.maven.plugins.codequality.cache.StepResultCache;
+import io.github.finoid.maven.plugins.codequality.configuration.CheckerFrameworkConfiguration;
+import io.github.finoid.maven.plugins.codequality.configuration.CodeQualityConfiguration;
+import io.github.finoid.maven.plugins.codequality.configuration.Configuration;
+import io.github.finoid.maven.plugins.codequality.configuration.ErrorProneConfiguration;
+import io.github.finoid.maven.plugins.codequality.exceptions.CodeQualityException;
+import io.github.finoid.maven.plugins.codequality.exceptions.StepExecutionException;
+import io.github.finoid.maven.plugins.codequality.handlers.CleanHandler;
+import io.github.finoid.maven.plugins.codequality.metrics.StageMetrics;
+import io.github.finoid.maven.plugins.codequality.metrics.StepEvent;
+import io.github.finoid.maven.plugins.codequality.util.Precondition;
+import io.github.finoid.maven.plugins.codequality.util.ProjectScopedExecution;
+import org.apache.maven.artifact.Artifact;
+import org.apache.maven.execution.MavenSession;
+import org.apache.maven.plugin.logging.Log;
+import org.apache.maven.project.MavenProject;
+import org.jspecify.annotations.Nullable;
+
+import javax.inject.Inject;
+import javax.inject.Singleton;
+import java.io.File;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Executes the steps of a module, running up to {@link CodeQualityConfiguration#getStepParallelism()} steps concurrently.
+ * <p>
+ * The results are returned in the same order as the provided step executions, regardless of the order in which the steps complete.
+ * A failing step cancels the remaining steps and is propagated as a {@link StepExecutionException}.
+ * <p>
+ * The compiler based steps, i.e. ErrorProne and Checker Framework, are executed one after another by a single task: their compilations
+ * share the {@link MavenProject}, whose compile source roots, generated sources directory and artifact file aren't safe for concurrent
+ * mojo executions. Merely the other steps, such as Checkstyle, overlap a compilation.
+ * <p>
+ * When {@link CodeQualityConfiguration#isFusedAnalysisCompile()} is enabled and both the ErrorProne and Checker Framework steps are
+ * runnable, the two steps are executed as a single task by the {@link FusedAnalysisCompiler}.
+ * <p>
+ * When the {@link StepResultCache} is enabled, a step whose inputs are unchanged since a previous execution is replayed from the cache instead.
+ */
+@Singleton
+public class StepExecutor {
+    private static final Set<StepType> COMPILER_STEP_TYPES = EnumSet.of(StepType.ERROR_PRONE, StepType.CHECKER_FRAMEWORK);
+
+    private final CleanHandler cleanHandler;
+    private final FusedAnalysisCompiler fusedAnalysisCompiler;
+    private final StepResultCache stepResultCache;
+    private final MavenSession mavenSession;
+    private final StageMetrics stageMetrics;
+
+    @Inject
+    public StepExecutor(final CleanHandler cleanHandler, final FusedAnalysisCompiler fusedAnalysisCompiler, final StepResultCache stepResultCache,
+                        final MavenSession mavenSession, final StageMetrics stageMetrics) {
+        this.cleanHandler = Precondition.nonNull(cleanHandler, "CleanHandler shouldn't be null");
+        this.fusedAnalysisCompiler = Precondition.nonNull(fusedAnalysisCompiler, "FusedAnalysisCompiler shouldn't be null");
+        this.stepResultCache = Precondition.nonNull(stepResultCache, "StepResultCache shouldn't be null");
+        this.mavenSession = Precondition.nonNull(mavenSession, "MavenSession shouldn't be null");
+        this.stageMetrics = Precondition.nonNull(stageMetrics, "StageMetrics shouldn't be null");
+    }
+
+    /**
+     * Executes the provided steps.
+     *
+     * @param executions               the steps to execute, paired with their configuration
+     * @param codeQualityConfiguration the code quality configuration
+     * @param log                      the mojo logger
+     * @return the step results, in the same order as the provided executions
+     * @throws StepExecutionException in case any of the steps failed
+     */
+    public List<StepResult> executeAll(final List<StepExecution<?>> executions, final CodeQualityConfiguration codeQualityConfiguration,
+                                       final Log log) {
+        final List<Callable<List<StepResult>>> tasks = tasksOf(executions, codeQualityConfiguration, log);
+
+        final int parallelism = Math.min(Math.max(1, codeQualityConfiguration.getStepParallelism()), tasks.size());
+
+        if (parallelism <= 1) {
+            return inOrderOf(executions, tasks.stream()
+                .map(StepExecutor::call)
+                .toList());
+        }
+
+        log.info(String.format("Executing %d steps with a parallelism of %d", tasks.size(), parallelism));
+
+        final MavenProject project = mavenSession.getCurrentProject();
+
+        // The compiler based steps swap the artifact file of the project, restore it once all steps have completed
+        final Artifact artifact = project.getArtifact();
+        @Nullable
+        final File nullableArtifactFile = artifact.getFile();
+
+        final ExecutorService executorService = Executors.newFixedThreadPool(parallelism,
+            ProjectScopedExecution.threadFactory(mavenSession, project, "code-quality-step"));
+
+        try {
+            final List<Future<List<StepResult>>> futures = tasks.stream()
+                .map(executorService::submit)
+                .toList();
+
+            final List<List<StepResult>> results = new ArrayList<>(futures.size());
+
+            for (final Future<List<StepResult>> future : futures) {
+                results.add(await(future, futures));
+            }
+
+            return inOrderOf(executions, results);
+        } finally {
+            executorService.shutdownNow();
+
+            artifact.setFile(nullableArtifactFile);
+        }
+    }
+
+    private List<Callable<List<StepResult>>> tasksOf(final List<StepExecution<?>> executions, final CodeQualityConfiguration codeQualityConfiguration,
+                                                     final Log log) {
+        final List<Callable<List<StepResult>>> tasks = new ArrayList<>(executions.size());
+        final List<Callable<List<StepResult>>> compilerTasks = new ArrayList<>();
+
+        @Nullable
+        final FusedExecution nullableFusedExecution = fusedExecutionOrNull(executions, codeQualityConfiguration, log);
+
+        for (final StepExecution<?> execution : executions) {
+            final List<Callable<List<StepResult>>> target = COMPILER_STEP_TYPES.contains(execution.step().type()) ? compilerTasks : tasks;
+
+            if (nullableFusedExecution == null || !nullableFusedExecution.contains(execution)) {
+                target.add(() -> List.of(execute(execution, codeQualityConfiguration, log)));
+            } else if (execution == nullableFusedExecution.errorProne()) {
+                target.add(() -> executeFused(nullableFusedExecution, codeQualityConfiguration, log));
+            }
+        }
+
+        if (!compilerTasks.isEmpty()) {
+            tasks.add(0, () -> sequentially(compilerTasks));
+        }
+
+        return tasks;
+    }
+
+    private static List<StepResult> sequentially(final List<Callable<List<StepResult>>> tasks) {
+        final List<StepResult> results = new ArrayList<>();
+
+        for (final Callable<List<StepResult>> task : tasks) {
+            results.addAll(call(task));
+        }
+
+        return results;
+    }
+
+    @Nullable
+    @SuppressWarnings("unchecked")
+    private FusedExecution fusedExecutionOrNull(final List<StepExecution<?>> executions, final CodeQualityConfiguration codeQualityConfiguration,
+                                                final Log log) {
+        if (!codeQualityConfiguration.isFusedAnalysisCompile()) {
+            return null;
+        }
+
+        @Nullable
+        StepExecution<ErrorProneConfiguration> nullableErrorProne = null;
+        @Nullable
+        StepExecution<CheckerFrameworkConfiguration> nullableCheckerFramework = null;
+
+        for (final StepExecution<?> execution : executions) {
+            if (execution.step().type() == StepType.ERROR_PRONE) {
+                nullableErrorProne = (StepExecution<ErrorProneConfiguration>) execution;
+            } else if (execution.step().type() == StepType.CHECKER_FRAMEWORK) {
+                nullableCheckerFramework = (StepExecution<CheckerFrameworkConfiguration>) execution;
+            }
+        }
+
+        if (nullableErrorProne == null || nullableCheckerFramework == null || !isRunnable(nullableErrorProne) || !isRunnable(nullableCheckerFramework)) {
+            log.debug("Fused analysis compile requires both the ErrorProne and Checker Framework steps to be runnable. Executing them separately");
+
+            return null;
+        }
+
+        return new FusedExecution(nullableErrorProne, nullableCheckerFramework);
+    }
+
+    private List<StepResult> executeFused(final FusedExecution fusedExecution, final CodeQualityConfiguration codeQualityConfiguration, final Log log) {
+        try {
+            @Nullable
+            final String nullableErrorProneCacheKey = cacheKeyOrNull(fusedExecution.errorProne(), codeQualityConfiguration);
+            @Nullable
+            final String nullableCheckerFrameworkCacheKey = cacheKeyOrNull(fusedExecution.checkerFramework(), codeQualityConfiguration);
+
+            final Optional<StepResult> cachedErrorProneResult = cachedResultOf(nullableErrorProneCacheKey, fusedExecution.errorProne(),
+                codeQualityConfiguration);
+            final Optional<StepResult> cachedCheckerFrameworkResult = cachedResultOf(nullableCheckerFrameworkCacheKey,
+                fusedExecution.checkerFramework(), codeQualityConfiguration);
+
+            if (cachedErrorProneResult.isPresent() && cachedCheckerFrameworkResult.isPresent()) {
+                logReplay(cachedErrorProneResult.get(), log);
+                logReplay(cachedCheckerFrameworkResult.get(), log);
+
+                return List.of(cachedErrorProneResult.get(), cachedCheckerFrameworkResult.get());
+            }
+
+            cleanHandler.handle(fusedExecution.errorProne().step(), log);
+            cleanHandler.handle(fusedExecution.checkerFramework().step(), log);
+
+            log.info(String.format("Executing %s and %s analyzers in a fused compile", StepType.ERROR_PRONE, StepType.CHECKER_FRAMEWORK));
+
+            final StepEvent errorProneEvent = new StepEvent();
+            final StepEvent checkerFrameworkEvent = new StepEvent();
+            errorProneEvent.begin();
+            checkerFrameworkEvent.begin();
+
+            final List<StepResult> results = stageMetrics.measure(FusedAnalysisCompiler.STAGE, () -> fusedAnalysisCompiler.execute(
+                codeQualityConfiguration, fusedExecution.errorProne().configuration(), fusedExecution.checkerFramework().configuration(), log));
+
+            for (final StepResult result : results) {
+                commit(result.getType() == StepType.ERROR_PRONE ? errorProneEvent : checkerFrameworkEvent, result);
+            }
+
+            for (final StepResult result : results) {
+                store(result.getType() == StepType.ERROR_PRONE ? nullableErrorProneCacheKey : nullableCheckerFrameworkCacheKey, result,
+                    codeQualityConfiguration, log);
+            }
+
+            return results;
+        } catch (final Exception e) {
+            log.error(String.format("Error occurred during fused %s and %s analyzers. Cause: %s ", StepType.ERROR_PRONE, StepType.CHECKER_FRAMEWORK,
+                e.getMessage()));
+
+            throw new StepExecutionException(String.format("Error during execution of fused %s and %s analyzer step. Cause: %s", StepType.ERROR_PRONE,
+                StepType.CHECKER_FRAMEWORK, e.getMessage()), e);
+        }
+    }
+
+    private static <T extends Configuration> boolean isRunnable(final StepExecution<T> execution) {
+        return execution.step().isEnabled(execution.configuration())
+            && execution.step().hasPrerequisites(execution.configuration()).hasAllPrerequisites();
+    }
+
+    private <T extends Configuration> StepResult execute(final StepExecution<T> execution, final CodeQualityConfiguration codeQualityConfiguration,
+                                                         final Log log) {
+        final Step<T> step = execution.step();
+        final T configuration = execution.configuration();
+
+        try {
+            if (!step.isEnabled(configuration)) {
+                log.info(String.format("Step %s analyzer is disabled. Skipping...", step.type()));
+
+                return StepResult.create(step.type(), configuration.isPermissive(), Collections.emptyList());
+            }
+
+            final Step.PrerequisiteResult prerequisiteResult = step.hasPrerequisites(configuration);
+            if (!prerequisiteResult.hasAllPrerequisites()) {
+                log.info(String.format("Step %s is missing prerequisites to run. Cause: %s. Skipping...", step.type(), prerequisiteResult.cause()));
+
+                return StepResult.create(step.type(), configuration.isPermissive(), Collections.emptyList());
+            }
+
+            @Nullable
+            final String nullableCacheKey = cacheKeyOrNull(execution, codeQualityConfiguration);
+
+            final Optional<StepResult> cachedResult = cachedResultOf(nullableCacheKey, execution, codeQualityConfiguration);
+            if (cachedResult.isPresent()) {
+                logReplay(cachedResult.get(), log);
+
+                return cachedResult.get();
+            }
+
+            cleanHandler.handle(step, log);
+
+            log.info(String.format("Executing %s analyzer", step.type()));
+
+            final StepEvent event = new StepEvent();
+            event.begin();
+
+            final StepResult result = stageMetrics.measure(step.type().name(), () -> step.execute(codeQualityConfiguration, configuration, log));
+
+            commit(event, result);
+
+            store(nullableCacheKey, result, codeQualityConfiguration, log);
+
+            return result;
+        } catch (final Exception e) {
+            log.error(String.format("Error occurred during %s analyzer. Cause: %s ", step.type(), e.getMessage()));
+
+            throw new StepExecutionException(String.format("Error during execution of %s analyzer step. Cause: %s", step.type(), e.getMessage()), e);
+        }
+    }
+
+    @Nullable
+    private <T extends Configuration> String cacheKeyOrNull(final StepExecution<T> execution, final CodeQualityConfiguration codeQualityConfiguration) {
+        // A diff scoped result only covers the changed files of the module
+        if (!stepResultCache.isEnabled(codeQualityConfiguration) || codeQualityConfiguration.isDiffScopedAnalysis()) {
+            return null;
+        }
+
+        return stepResultCache.keyOf(execution, codeQualityConfiguration);
+    }
+
+    private <T extends Configuration> Optional<StepResult> cachedResultOf(@Nullable final String nullableCacheKey, final StepExecution<T> execution,
+                                                                          final CodeQualityConfiguration codeQualityConfiguration) {
+        if (nullableCacheKey == null) {
+            return Optional.empty();
+        }
+
+        return stepResultCache.load(nullableCacheKey, execution.step().type(), execution.configuration().isPermissive(),
+            codeQualityConfiguration.getCache());
+    }
+
+    private void store(@Nullable final String nullableCacheKey, final StepResult result, final CodeQualityConfiguration codeQualityConfiguration,
+                       final Log log) {
+        if (nullableCacheKey == null) {
+            return;
+        }
+
+        try {
+            stepResultCache.store(nullableCacheKey, result, codeQualityConfiguration.getCache());
+        } catch (final CodeQualityException e) {
+            // The step result is still valid, the next execution merely misses the cache
+            log.warn(String.format("Failed to cache the result of %s. Cause: %s", result.getType(), e.getMessage()));
+        }
+    }
+
+    private void commit(final StepEvent event, final StepResult result) {
+        event.end();
+
+        // The event is merely populated while a recording enables it
+        if (event.shouldCommit()) {
+            event.stepType = result.getType().name();
+            event.module = mavenSession.getCurrentProject().getName();
+            event.violationCount = result.getViolations().size();
+            event.commit();
+        }
+    }
+
+    private static void logReplay(final StepResult cachedResult, final Log log) {
+        log.info(String.format("Inputs of %s analyzer are unchanged. Replaying %d cached violations", cachedResult.getType(),
+            cachedResult.getViolations().size()));
+    }
+
+    private static List<StepResult> inOrderOf(final List<StepExecution<?>> executions, final List<List<StepResult>> results) {
+        final List<StepType> order = executions.stream()
+            .map(it -> it.step().type())
+            .toList();
+
+        return results.stream()
+            .flatMap(List::stream)
+            .sorted(Comparator.comparingInt(it -> order.indexOf(it.getType())))
+            .toList();
+    }
+
+    private static List<StepResult> call(final Callable<List<StepResult>> task) {
+        try {
+            return task.call();
+        } catch (final StepExecutionException e) {
+            throw e;
+        } catch (final Exception e) {
+            throw new StepExecutionException("Error during step execution. Cause: " + e.getMessage(), e);
+        }
+    }
+
+    private static List<StepResult> await(final Future<List<StepResult>> future, final List<Future<List<StepResult>>> allFutures) {
+        try {
+            return future.get();
+        } catch (final ExecutionException e) {
+            allFutures.forEach(it -> it.cancel(true));
+
+            if (e.getCause() instanceof StepExecutionException stepExecutionException) {
+                throw stepExecutionException;
+            }
+
+            throw new StepExecutionException("Error during concurrent step execution. Cause: " + e.getCause(), e.getCause());
+        } catch (final InterruptedException e) {
+            allFutures.forEach(it -> it.cancel(true));
+
+            Thread.currentThread().interrupt();
+
+            throw new StepExecutionException("Interrupted while awaiting step execution", e);
+        }
+    }
+
+    private record FusedExecution(StepExecution<ErrorProneConfiguration> errorProne, StepExecution<CheckerFrameworkConfiguration> checkerFramework) {
+        private boolean contains(final StepExecution<?> execution) {
+            return execution == errorProne || execution == checkerFramework;
+        }
+    }
+}
@@ -0,0 +1,37 @@
+package io.github.finoid.maven.plugins.codequality.step;
+
+import io.github.finoid.maven.plugins.codequality.util.Precondition;
+
+import java.util.Locale;
+
+/**
+ * The planned outcome of a step within a module, see {@link AnalysisPlanner}.
+ *
+ * @param type     the type of the step
+ * @param decision whether the step is to be run, replayed or skipped
+ */
+public record StepPlan(StepType type, Decision decision) {
+    public StepPlan {
+        Precondition.nonNull(type, "Type shouldn't be null");
+        Precondition.nonNull(decision, "Decision shouldn't be null");
+    }
+
+    public enum Decision {
+        /**
+         * The step is executed.
+         */
+        RUN,
+        /**
+         * The result of the step is replayed from the local step result cache.
+         */
+        REPLAY,
+        /**
+         * The step is skipped.
+         */
+        SKIP;
+
+        public String displayName() {
+            return name().toLowerCase(Locale.ROOT);
+        }
+    }
+}
@@ -5,6 +5,7 @@ import io.github.finoid.maven.plugins.codequality.report.Severity;
 import io.github.finoid.maven.plugins.codequality.report.Violation;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
 
@@ -16,12 +17,12 @@ public class StepResult {
 
     private StepResult(final StepType type, final List<Violation> violations, final boolean permissive) {
         this.type = type;
-        this.violations = new ArrayList<>(violations);
+        this.violations = Collections.unmodifiableList(violations);
         this.isPermissive = permissive;
     }
 
     public List<Violation> getViolations() {
-        return Collections.unmodifiableList(violations);
+        return violations;
     }
 
     public long countViolationsBySeverityThreshold(final Severity severity) {
@@ -36,7 +37,12 @@ public class StepResult {
 
     @SafeVarargs
     public static StepResult create(final StepType type, final boolean permissive, final List<Violation>... violations) {
-        final List<Violation> combinedViolations = new ArrayList<>();
+        // The violations of a single source are owned by the step result as is, rather than copied
+        if (violations.length == 1) {
+            return new StepResult(type, violations[0], permissive);
+        }
+
+        final List<Violation> combinedViolations = new ArrayList<>(Arrays.stream(violations).mapToInt(List::size).sum());
 
         for (final List<Violation> result : violations) {
             combinedViolations.addAll(result);
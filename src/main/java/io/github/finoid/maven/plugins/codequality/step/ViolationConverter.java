@@ -2,33 +2,41 @@ package io.github.finoid.maven.plugins.codequality.step;
 
 import com.puppycrawl.tools.checkstyle.api.AuditEvent;
 import com.puppycrawl.tools.checkstyle.api.SeverityLevel;
+import io.github.finoid.maven.plugins.codequality.compiler.StructuredDiagnostic;
 import io.github.finoid.maven.plugins.codequality.report.Severity;
 import io.github.finoid.maven.plugins.codequality.report.Violation;
 import io.github.finoid.maven.plugins.codequality.util.Precondition;
 import lombok.SneakyThrows;
-import org.apache.maven.project.MavenProject;
+import org.apache.maven.execution.MavenSession;
+import org.jspecify.annotations.Nullable;
 
 import javax.inject.Inject;
 import javax.inject.Singleton;
+import javax.tools.Diagnostic;
+import javax.tools.JavaFileObject;
 import javax.xml.bind.DatatypeConverter;
 import java.io.File;
 import java.nio.charset.StandardCharsets;
 import java.nio.file.Path;
 import java.security.MessageDigest;
 import java.util.Locale;
+import java.util.Optional;
 import java.util.regex.Matcher;
+import java.util.regex.Pattern;
 
 @Singleton
 public class ViolationConverter {
-    private final MavenProject project;
+    private static final Pattern DIAGNOSTIC_MESSAGE_PATTERN = Pattern.compile("^\\[(?<rule>[^\\]]+)\\] (?<description>(?s).*)$");
+
+    private final MavenSession mavenSession;
 
     @Inject
-    public ViolationConverter(final MavenProject project) {
-        this.project = Precondition.nonNull(project, "MavenProject shouldn't be null");
+    public ViolationConverter(final MavenSession mavenSession) {
+        this.mavenSession = Precondition.nonNull(mavenSession, "MavenSession shouldn't be null");
     }
 
     public Violation ofAuditEvent(final AuditEvent auditEvent) {
-        final File repositoryRoot = project.getBasedir();
+        final File repositoryRoot = repositoryRoot();
 
         return Violation.builder()
             .tool("Checkstyle")
@@ -43,48 +51,132 @@ public class ViolationConverter {
             .build();
     }
 
-    public Violation ofErrorProneViolationMatcher(final Matcher violationMatcher) {
-        final File repositoryRoot = project.getBasedir();
-
-        final String columnNumber = violationMatcher.group("column");
-        final String absoluteFilePath = violationMatcher.group("path");
-        final String description = violationMatcher.group("description");
-        final int lineNumber = Integer.parseInt(violationMatcher.group("line"));
-        final String rule = violationMatcher.group("rule");
+    /**
+     * Converts a diagnostic parsed from the compiler log of ErrorProne.
+     *
+     * @param absoluteFilePath   the path of the source file
+     * @param lineNumber         the line number
+     * @param nullableColumn     the column number as logged, or {@code null} if absent
+     * @param rule               the rule
+     * @param description        the description, spanning the continuation lines
+     * @return the violation
+     */
+    public Violation ofErrorProneViolation(final String absoluteFilePath, final int lineNumber, @Nullable final String nullableColumn,
+                                           final String rule, final String description) {
+        return violationOf("ErrorProne", absoluteFilePath, lineNumber, nullableColumn, rule, description);
+    }
 
-        final int column = columnNumber == null ? 0 : Integer.parseInt(columnNumber);
+    /**
+     * Converts a diagnostic parsed from the compiler log of the Checker Framework.
+     *
+     * @param absoluteFilePath   the path of the source file
+     * @param lineNumber         the line number
+     * @param columnNumber       the column number as logged
+     * @param rule               the rule
+     * @param description        the description, spanning the continuation lines
+     * @return the violation
+     */
+    public Violation ofCheckerFrameworkViolation(final String absoluteFilePath, final int lineNumber, final String columnNumber,
+                                                 final String rule, final String description) {
+        final File repositoryRoot = repositoryRoot();
 
         return Violation.builder()
-            .tool("ErrorProne")
+            .tool("CheckerFramework")
             .description(description)
             .fingerprint(fingerprint(repositoryRoot, absoluteFilePath, description, lineNumber, columnNumber))
             .severity(Severity.MINOR)
             .relativePath(relativePath(repositoryRoot, absoluteFilePath))
             .fullPath(absoluteFilePath.replace("\\", "/")) // Windows compatibility
             .line(lineNumber)
-            .columnNumber(column)
+            .columnNumber(Integer.valueOf(columnNumber))
             .rule(rule)
             .build();
     }
 
-    public Violation ofCheckerFrameworkViolationMatcher(final Matcher violationMatcher) {
-        final File repositoryRoot = project.getBasedir();
+    /**
+     * Converts a diagnostic reported by ErrorProne during an in-process or daemon compilation.
+     *
+     * @param diagnostic the diagnostic
+     * @return the violation, or empty if the diagnostic isn't associated with a source position and a rule
+     */
+    public Optional<Violation> ofErrorProneDiagnostic(final Diagnostic<? extends JavaFileObject> diagnostic) {
+        return ofDiagnostic("ErrorProne", diagnostic);
+    }
+
+    /**
+     * Converts a diagnostic reported by the Checker Framework, or javac lint, during an in-process or daemon compilation.
+     *
+     * @param diagnostic the diagnostic
+     * @return the violation, or empty if the diagnostic isn't associated with a source position and a rule
+     */
+    public Optional<Violation> ofCheckerFrameworkDiagnostic(final Diagnostic<? extends JavaFileObject> diagnostic) {
+        return ofDiagnostic("CheckerFramework", diagnostic);
+    }
+
+    /**
+     * Converts a diagnostic reported by ErrorProne during a forked compilation, see
+     * {@link io.github.finoid.maven.plugins.codequality.compiler.StructuredDiagnostics}.
+     *
+     * @param diagnostic the structured diagnostic
+     * @return the violation
+     */
+    public Violation ofErrorProneStructuredDiagnostic(final StructuredDiagnostic diagnostic) {
+        return ofStructuredDiagnostic("ErrorProne", diagnostic);
+    }
 
-        final String columnNumber = violationMatcher.group("column");
-        final String absoluteFilePath = violationMatcher.group("path");
-        final String description = violationMatcher.group("description");
-        final int lineNumber = Integer.parseInt(violationMatcher.group("line"));
-        final String rule = violationMatcher.group("rule");
+    /**
+     * Converts a diagnostic reported by the Checker Framework during a forked compilation, see
+     * {@link io.github.finoid.maven.plugins.codequality.compiler.StructuredDiagnostics}.
+     *
+     * @param diagnostic the structured diagnostic
+     * @return the violation
+     */
+    public Violation ofCheckerFrameworkStructuredDiagnostic(final StructuredDiagnostic diagnostic) {
+        return ofStructuredDiagnostic("CheckerFramework", diagnostic);
+    }
+
+    private File repositoryRoot() {
+        // Resolved per conversion, since the component outlives the module it was created for
+        return mavenSession.getCurrentProject().getBasedir();
+    }
+
+    private Optional<Violation> ofDiagnostic(final String tool, final Diagnostic<? extends JavaFileObject> diagnostic) {
+        if (diagnostic.getSource() == null || diagnostic.getLineNumber() == Diagnostic.NOPOS) {
+            return Optional.empty();
+        }
+
+        final Matcher messageMatcher = DIAGNOSTIC_MESSAGE_PATTERN.matcher(diagnostic.getMessage(Locale.ROOT));
+        if (!messageMatcher.find()) {
+            return Optional.empty();
+        }
+
+        // Mimic the compiler log, to retain the fingerprints of the forked compilation
+        final String absoluteFilePath = Path.of(diagnostic.getSource().toUri()).toString();
+        final String columnNumber = diagnostic.getColumnNumber() == Diagnostic.NOPOS ? null : String.valueOf(diagnostic.getColumnNumber());
+
+        return Optional.of(violationOf(tool, absoluteFilePath, (int) diagnostic.getLineNumber(), columnNumber, messageMatcher.group("rule"),
+            messageMatcher.group("description")));
+    }
+
+    private Violation ofStructuredDiagnostic(final String tool, final StructuredDiagnostic diagnostic) {
+        final String columnNumber = diagnostic.nullableColumn() == null ? null : String.valueOf(diagnostic.nullableColumn());
+
+        return violationOf(tool, diagnostic.path(), diagnostic.line(), columnNumber, diagnostic.rule(), diagnostic.message());
+    }
+
+    private Violation violationOf(final String tool, final String absoluteFilePath, final int lineNumber, @Nullable final String nullableColumn,
+                                  final String rule, final String description) {
+        final File repositoryRoot = repositoryRoot();
 
         return Violation.builder()
-            .tool("CheckerFramework")
+            .tool(tool)
             .description(description)
-            .fingerprint(fingerprint(repositoryRoot, absoluteFilePath, description, lineNumber, columnNumber))
+            .fingerprint(fingerprint(repositoryRoot, absoluteFilePath, description, lineNumber, nullableColumn))
             .severity(Severity.MINOR)
             .relativePath(relativePath(repositoryRoot, absoluteFilePath))
             .fullPath(absoluteFilePath.replace("\\", "/")) // Windows compatibility
             .line(lineNumber)
-            .columnNumber(Integer.valueOf(columnNumber))
+            .columnNumber(nullableColumn == null ? 0 : Integer.parseInt(nullableColumn))
             .rule(rule)
             .build();
     }
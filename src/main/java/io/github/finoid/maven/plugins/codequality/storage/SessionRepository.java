@@ -5,6 +5,7 @@ import org.jspecify.annotations.Nullable;
 
 import javax.inject.Inject;
 import javax.inject.Singleton;
+import java.util.function.Supplier;
 
 @Singleton
 public class SessionRepository {
@@ -27,6 +28,20 @@ public class SessionRepository {
             .set(key, value);
     }
 
+    /**
+     * Retrieves the value associated with the given key from the session's data context, or atomically stores and returns the value of the
+     * supplier if absent.
+     *
+     * @param key      the key to look up
+     * @param supplier the supplier of the value to store if absent
+     * @return the associated value
+     */
+    public Object computeIfAbsent(final String key, final Supplier<Object> supplier) {
+        return session.getRepositorySession()
+            .getData()
+            .computeIfAbsent(key, supplier);
+    }
+
     /**
      * Retrieves a value associated with the given key from the session's data context.
      *
@@ -25,6 +25,21 @@ public class MojoUtils {
                 element(name("version"), version)
             );
         }
+
+        public static MojoExecutor.Element annotationProcessorWithoutDependencies(final String groupId, final String artifactId,
+                                                                                   final String version) {
+            return element(name("path"),
+                element(name("groupId"), groupId),
+                element(name("artifactId"), artifactId),
+                element(name("version"), version),
+                element(name("exclusions"),
+                    element(name("exclusion"),
+                        element(name("groupId"), "*"),
+                        element(name("artifactId"), "*")
+                    )
+                )
+            );
+        }
     }
 
     @UtilityClass
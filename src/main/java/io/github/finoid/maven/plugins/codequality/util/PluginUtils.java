@@ -0,0 +1,66 @@
+package io.github.finoid.maven.plugins.codequality.util;
+
+import io.github.finoid.maven.plugins.codequality.exceptions.CodeQualityException;
+import lombok.experimental.UtilityClass;
+import org.jspecify.annotations.Nullable;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URISyntaxException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Optional;
+import java.util.Properties;
+
+/**
+ * Utility class for the artifact of this maven plugin.
+ */
+@UtilityClass
+public final class PluginUtils {
+    public static final String GROUP_ID = "io.github.finoid";
+    public static final String ARTIFACT_ID = "codequality-maven-plugin";
+
+    private static final String POM_PROPERTIES = "/META-INF/maven/" + GROUP_ID + "/" + ARTIFACT_ID + "/pom.properties";
+
+    @Nullable
+    private static final String NULLABLE_VERSION = versionOf(POM_PROPERTIES);
+
+    /**
+     * Returns the version of the plugin, as recorded within the packaged artifact.
+     *
+     * @return the version, or empty if unknown, i.e. when not executed from the packaged artifact
+     */
+    public static Optional<String> optionalVersion() {
+        return Optional.ofNullable(NULLABLE_VERSION);
+    }
+
+    /**
+     * Returns the location the classes of the plugin are loaded from, i.e. the artifact or else the classes directory.
+     *
+     * @return the location
+     * @throws CodeQualityException in case the location couldn't be resolved
+     */
+    public static Path location() {
+        try {
+            return Paths.get(PluginUtils.class.getProtectionDomain().getCodeSource().getLocation().toURI());
+        } catch (final URISyntaxException e) {
+            throw new CodeQualityException("Failed to locate the plugin", e);
+        }
+    }
+
+    @Nullable
+    private static String versionOf(final String pomProperties) {
+        try (final InputStream nullableInputStream = PluginUtils.class.getResourceAsStream(pomProperties)) {
+            if (nullableInputStream == null) {
+                return null;
+            }
+
+            final Properties properties = new Properties();
+            properties.load(nullableInputStream);
+
+            return properties.getProperty("version");
+        } catch (final IOException e) {
+            return null;
+        }
+    }
+}
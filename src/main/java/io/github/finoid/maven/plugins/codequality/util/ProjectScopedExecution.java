@@ -0,0 +1,102 @@
+package io.github.finoid.maven.plugins.codequality.util;
+
+import lombok.experimental.UtilityClass;
+import org.apache.maven.execution.MavenSession;
+import org.apache.maven.project.MavenProject;
+import org.jspecify.annotations.Nullable;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinWorkerThread;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Utility class for executing work of a Maven project on threads other than the thread of its mojo execution.
+ * <p>
+ * The current project of the session is thread local, which another thread would resolve to the first project of the reactor, and mojo
+ * executions - as well as Checkstyle - rely on the context class loader of the plugin realm.
+ */
+@UtilityClass
+public final class ProjectScopedExecution {
+    private static final AtomicInteger THREAD_COUNTER = new AtomicInteger();
+
+    /**
+     * Creates a factory of daemon threads which are dedicated to the given project, carrying the context class loader of the calling thread.
+     *
+     * @param mavenSession the Maven session
+     * @param project      the project of the threads
+     * @param name         the name of the threads, suffixed by a counter
+     * @return the thread factory
+     */
+    public static ThreadFactory threadFactory(final MavenSession mavenSession, final MavenProject project, final String name) {
+        Precondition.nonNull(mavenSession, "MavenSession shouldn't be null");
+        Precondition.nonNull(project, "MavenProject shouldn't be null");
+
+        @Nullable
+        final ClassLoader contextClassLoader = Thread.currentThread().getContextClassLoader();
+
+        return runnable -> {
+            final Runnable projectScopedRunnable = () -> {
+                mavenSession.setCurrentProject(project);
+
+                runnable.run();
+            };
+
+            final Thread thread = new Thread(projectScopedRunnable, name + "-" + THREAD_COUNTER.incrementAndGet());
+            thread.setDaemon(true);
+            thread.setContextClassLoader(contextClassLoader);
+
+            return thread;
+        };
+    }
+
+    /**
+     * Creates a factory of the threads of a {@link ForkJoinPool} shared across projects, carrying the context class loader of the calling
+     * thread. The tasks of such a pool are scoped by {@link #callable(MavenSession, MavenProject, Callable)} instead.
+     *
+     * @param name the name of the threads, suffixed by a counter
+     * @return the thread factory
+     */
+    public static ForkJoinPool.ForkJoinWorkerThreadFactory forkJoinThreadFactory(final String name) {
+        @Nullable
+        final ClassLoader contextClassLoader = Thread.currentThread().getContextClassLoader();
+
+        return pool -> {
+            final ForkJoinWorkerThread thread = new ForkJoinWorkerThread(pool) {
+            };
+            thread.setName(name + "-" + THREAD_COUNTER.incrementAndGet());
+            thread.setContextClassLoader(contextClassLoader);
+
+            return thread;
+        };
+    }
+
+    /**
+     * Wraps the task such that the current project of the session is the given project for the duration of the task, restoring the previous
+     * one afterward, as the thread executing the task may execute the tasks of other projects as well.
+     *
+     * @param mavenSession the Maven session
+     * @param project      the project of the task
+     * @param task         the task
+     * @param <T>          the type of the result of the task
+     * @return the project scoped task
+     */
+    public static <T> Callable<T> callable(final MavenSession mavenSession, final MavenProject project, final Callable<T> task) {
+        Precondition.nonNull(mavenSession, "MavenSession shouldn't be null");
+        Precondition.nonNull(project, "MavenProject shouldn't be null");
+        Precondition.nonNull(task, "Task shouldn't be null");
+
+        return () -> {
+            @Nullable
+            final MavenProject nullablePreviousProject = mavenSession.getCurrentProject();
+            mavenSession.setCurrentProject(project);
+
+            try {
+                return task.call();
+            } finally {
+                mavenSession.setCurrentProject(nullablePreviousProject);
+            }
+        };
+    }
+}
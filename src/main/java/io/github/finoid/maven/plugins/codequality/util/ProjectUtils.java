@@ -70,34 +70,19 @@ public final class ProjectUtils {
             .findFirst();
     }
 
-    /**
-     * Determines whether the current module is the last module in the Maven build sequence.
-     *
-     * @param mavenSession The current Maven session, which contains the project dependency graph.
-     * @return {@code true} if the current module is the last in the build order, {@code false} otherwise.
-     */
-    public static boolean isLastModule(final MavenSession mavenSession) {
-        return mavenSession.getProjectDependencyGraph()
-            .getSortedProjects()
-            .get(mavenSession.getProjectDependencyGraph().getSortedProjects().size() - 1)
-            .getArtifactId()
-            .equalsIgnoreCase(mavenSession.getCurrentProject().getArtifactId());
-    }
-
     /**
      * Resolves the configured step log level from the Maven plugin confiﬁguration or falls back
      * to a provided default if the configuration is missing or incomplete.
      *
-     * @param mavenSession the Maven session providing access to the current project
+     * @param project      the Maven project of the executing mojo
      * @param fallback     the fallback log level if the configuration is absent or invalid
      * @return the resolved step log level, or the fallback
      * @throws IllegalArgumentException if the step log level is invalid
      */
     @SuppressWarnings("introduce.eliminate")
-    public static LogLevel stepLogLevelOrFallback(final MavenSession mavenSession,
+    public static LogLevel stepLogLevelOrFallback(final MavenProject project,
                                                   final LogLevel fallback) {
-        final Plugin plugin = mavenSession.getCurrentProject()
-            .getPlugin("io.github.finoid:codequality-maven-plugin");
+        final Plugin plugin = project.getPlugin("io.github.finoid:codequality-maven-plugin");
 
         if (plugin == null || !(plugin.getConfiguration() instanceof Xpp3Dom config)) {
             return fallback;
@@ -114,9 +99,44 @@ public final class ProjectUtils {
         return LogLevel.ofStringOrThrow(stepLogLevel.getValue().trim());
     }
 
+    /**
+     * Resolves whether the whole compiler log of the analyzers should be retained, from the {@code cq.rawCompilerLog} user property or the
+     * Maven plugin configuration.
+     *
+     * @param project      the Maven project of the executing mojo
+     * @param mavenSession the Maven session
+     * @return {@code true} if the whole compiler log should be retained, {@code false} otherwise
+     */
+    public static boolean isRawCompilerLogEnabled(final MavenProject project, final MavenSession mavenSession) {
+        @Nullable
+        final String nullableUserProperty = mavenSession.getUserProperties().getProperty("cq.rawCompilerLog");
+        if (nullableUserProperty != null) {
+            return Boolean.parseBoolean(nullableUserProperty.trim());
+        }
+
+        final Plugin plugin = project.getPlugin("io.github.finoid:codequality-maven-plugin");
+
+        if (plugin == null || !(plugin.getConfiguration() instanceof Xpp3Dom config)) {
+            return false;
+        }
+
+        return Optional.ofNullable(config.getChild("codeQuality"))
+            .map(cfg -> cfg.getChild("rawCompilerLog"))
+            .map(Xpp3Dom::getValue)
+            .map(it -> Boolean.parseBoolean(it.trim()))
+            .orElse(false);
+    }
+
+    /**
+     * Resolves the build directory of the root project of the reactor.
+     *
+     * @param mavenSession the Maven session
+     * @return the build directory of the root project
+     */
     @Nullable
     public static String getProjectBuildDirectory(final MavenSession mavenSession) {
-        MavenProject project = mavenSession.getCurrentProject();
+        // The current project is absent once the session has ended, whereas the top level project is retained
+        MavenProject project = mavenSession.getTopLevelProject();
 
         while (true) {
             MavenProject parent = project.getParent();
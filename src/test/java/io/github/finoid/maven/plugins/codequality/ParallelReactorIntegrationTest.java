@@ -0,0 +1,53 @@
+package io.github.finoid.maven.plugins.codequality;
+
+import org.apache.maven.it.VerificationException;
+import org.apache.maven.it.Verifier;
+import org.apache.maven.it.util.ResourceExtractor;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+/**
+ * Executes the plugin within a parallel build of a multi-module project, which requires the plugin to be installed in the local repository.
+ */
+@Tag("IntegrationTest")
+class ParallelReactorIntegrationTest {
+    private static final List<String> MODULE_SOURCE_FILES =
+        List.of("ModuleAClassWithErrors.java", "ModuleBClassWithErrors.java", "ModuleCClassWithErrors.java", "ModuleDClassWithErrors.java");
+
+    @Test
+    void givenMultiModuleProject_whenVerifyInParallel_thenViolationsOfAllModulesReported() throws IOException, VerificationException {
+        final File projectDirectory =
+            ResourceExtractor.simpleExtractResources(getClass(), "/givenMultiModuleProject_whenVerifyInParallel_thenViolationsOfAllModulesReported");
+
+        final Verifier verifier = new Verifier(projectDirectory.getAbsolutePath());
+        verifier.setAutoclean(true);
+        verifier.addCliOption("-T");
+        verifier.addCliOption("4");
+
+        verifier.executeGoal("verify");
+
+        final List<String> logLines = verifier.loadLines(verifier.getLogFileName(), StandardCharsets.UTF_8.name());
+
+        Assertions.assertTrue(logLines.stream().noneMatch(it -> it.contains("marked as thread-safe")),
+            "The plugin should be marked as thread-safe");
+        Assertions.assertEquals(MODULE_SOURCE_FILES.size(),
+            logLines.stream().filter(it -> it.contains("Applying filter") || it.contains("No violation filters configured")).count(),
+            "The violations should be reported once per module");
+
+        final String gitLabViolations = Files.readString(Path.of(verifier.getBasedir(), "target", "gitlab-violations.json"));
+
+        for (final String moduleSourceFile : MODULE_SOURCE_FILES) {
+            Assertions.assertTrue(gitLabViolations.contains(moduleSourceFile), "Missing violations of " + moduleSourceFile);
+        }
+
+        verifier.resetStreams();
+    }
+}
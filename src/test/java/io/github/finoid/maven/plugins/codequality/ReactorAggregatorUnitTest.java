@@ -0,0 +1,154 @@
+package io.github.finoid.maven.plugins.codequality;
+
+import io.github.finoid.maven.plugins.codequality.cache.CacheStatistics;
+import io.github.finoid.maven.plugins.codequality.cache.StepResultCache;
+import io.github.finoid.maven.plugins.codequality.configuration.CodeQualityConfiguration;
+import io.github.finoid.maven.plugins.codequality.exceptions.SeverityThresholdException;
+import io.github.finoid.maven.plugins.codequality.fixtures.UnitTest;
+import io.github.finoid.maven.plugins.codequality.metrics.StageMetrics;
+import io.github.finoid.maven.plugins.codequality.report.ViolationPipeline;
+import io.github.finoid.maven.plugins.codequality.step.ProjectStepResults;
+import io.github.finoid.maven.plugins.codequality.storage.SessionRepository;
+import org.apache.maven.execution.ExecutionEvent;
+import org.apache.maven.execution.ExecutionListener;
+import org.apache.maven.execution.MavenExecutionRequest;
+import org.apache.maven.execution.MavenExecutionResult;
+import org.apache.maven.execution.MavenSession;
+import org.apache.maven.plugin.MojoExecutionException;
+import org.apache.maven.plugin.logging.Log;
+import org.apache.maven.project.MavenProject;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Supplier;
+
+import static io.github.finoid.maven.plugins.codequality.fixtures.ProjectStepResultsFaker.projectStepResults;
+
+class ReactorAggregatorUnitTest extends UnitTest {
+    @Mock
+    private SessionRepository sessionRepository;
+    @Mock
+    private ViolationPipeline violationPipeline;
+    @Mock
+    private StepResultCache stepResultCache;
+    @Mock
+    private StageMetrics stageMetrics;
+    @Mock
+    private MavenSession mavenSession;
+    @Mock
+    private MavenExecutionRequest request;
+    @Mock
+    private MavenExecutionResult result;
+    @Mock
+    private ExecutionListener executionListener;
+    @Mock
+    private ExecutionEvent event;
+    @Mock
+    private Log log;
+
+    private final Map<String, Object> sessionData = new HashMap<>();
+
+    private ReactorAggregator unit;
+
+    @BeforeEach
+    void beforeEach() {
+        Mockito.lenient().doAnswer(it -> sessionData.put(it.getArgument(0), it.getArgument(1)))
+            .when(sessionRepository).put(Mockito.anyString(), Mockito.any());
+        Mockito.lenient().when(sessionRepository.get(Mockito.anyString()))
+            .thenAnswer(it -> sessionData.get((String) it.getArgument(0)));
+        Mockito.lenient().when(sessionRepository.computeIfAbsent(Mockito.anyString(), Mockito.any()))
+            .thenAnswer(it -> sessionData.computeIfAbsent(it.getArgument(0), key -> it.<Supplier<Object>>getArgument(1).get()));
+
+        unit = new ReactorAggregator(sessionRepository, violationPipeline, stepResultCache, stageMetrics);
+    }
+
+    @Test
+    void givenModulesRegisteredOutOfReactorOrder_whenSessionEnded_thenCompletedOnceByLastModuleAndDelegated() {
+        var firstProject = Mockito.mock(MavenProject.class);
+        var lastProject = Mockito.mock(MavenProject.class);
+        var lastLog = Mockito.mock(Log.class);
+
+        Mockito.when(mavenSession.getProjects()).thenReturn(List.of(firstProject, lastProject));
+        Mockito.when(mavenSession.getRequest()).thenReturn(request);
+        Mockito.when(request.getExecutionListener()).thenReturn(executionListener);
+        Mockito.when(stepResultCache.statistics()).thenReturn(new CacheStatistics());
+
+        Mockito.when(mavenSession.getCurrentProject()).thenReturn(lastProject);
+        unit.register(mavenSession, lastLog);
+        Mockito.when(mavenSession.getCurrentProject()).thenReturn(firstProject);
+        unit.register(mavenSession, log);
+
+        givenReportedModule(0);
+
+        sessionEnded();
+
+        Mockito.verify(violationPipeline).complete(lastLog);
+        Mockito.verify(stepResultCache).evict();
+        Mockito.verify(executionListener).sessionEnded(event);
+        Mockito.verifyNoInteractions(result);
+    }
+
+    @Test
+    void givenNonPermissiveViolations_whenSessionEnded_thenExceptionAddedToSessionResult() {
+        var project = Mockito.mock(MavenProject.class);
+
+        Mockito.when(mavenSession.getProjects()).thenReturn(List.of(project));
+        Mockito.when(mavenSession.getCurrentProject()).thenReturn(project);
+        Mockito.when(mavenSession.getRequest()).thenReturn(request);
+        Mockito.when(mavenSession.getResult()).thenReturn(result);
+        Mockito.when(stepResultCache.statistics()).thenReturn(new CacheStatistics());
+
+        unit.register(mavenSession, log);
+
+        givenReportedModule(0);
+        givenReportedModule(2);
+
+        sessionEnded();
+
+        var exception = ArgumentCaptor.forClass(Throwable.class);
+        Mockito.verify(result).addException(exception.capture());
+
+        Assertions.assertInstanceOf(MojoExecutionException.class, exception.getValue());
+    }
+
+    @Test
+    void givenFailFastAndNonPermissiveViolations_whenReport_thenFailsAndStopsReactor() {
+        final ProjectStepResults projectStepResults = projectStepResults().create();
+        final CodeQualityConfiguration codeQualityConfiguration = new CodeQualityConfiguration();
+        codeQualityConfiguration.setFailFast(true);
+
+        Mockito.when(mavenSession.getRequest()).thenReturn(request);
+        Mockito.when(violationPipeline.report(projectStepResults, codeQualityConfiguration, log)).thenReturn(1L);
+
+        Assertions.assertThrows(SeverityThresholdException.class,
+            () -> unit.report(mavenSession, projectStepResults, codeQualityConfiguration, log));
+
+        Mockito.verify(request).setReactorFailureBehavior(MavenExecutionRequest.REACTOR_FAIL_FAST);
+        Assertions.assertFalse(sessionData.containsKey("codequality.nonPermissiveViolations"));
+    }
+
+    private void givenReportedModule(final long nonPermissiveViolations) {
+        final ProjectStepResults projectStepResults = projectStepResults().create();
+        final CodeQualityConfiguration codeQualityConfiguration = new CodeQualityConfiguration();
+
+        Mockito.when(violationPipeline.report(projectStepResults, codeQualityConfiguration, log)).thenReturn(nonPermissiveViolations);
+
+        unit.report(mavenSession, projectStepResults, codeQualityConfiguration, log);
+    }
+
+    private void sessionEnded() {
+        var listener = ArgumentCaptor.forClass(ExecutionListener.class);
+        Mockito.verify(request).setExecutionListener(listener.capture());
+
+        Mockito.when(event.getSession()).thenReturn(mavenSession);
+
+        listener.getValue().sessionEnded(event);
+    }
+}
@@ -0,0 +1,67 @@
+package io.github.finoid.maven.plugins.codequality.cache;
+
+import io.github.finoid.maven.plugins.codequality.fixtures.UnitTest;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import javax.tools.ToolProvider;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+class ClassFileAbiUnitTest extends UnitTest {
+    private static final String EXAMPLE = """
+        public class Example {
+            public static final String CONSTANT = "constant";
+            private int counter;
+
+            public String describe(final Object value) throws Exception {
+                return "value " + value;
+            }
+        }
+        """;
+
+    @TempDir
+    private Path directory;
+
+    @Test
+    void givenMethodBodyAndPrivateMemberEdit_whenAbiOf_thenSameAbi() throws IOException {
+        var abi = abiOf("v1", EXAMPLE);
+        var editedAbi = abiOf("v2", EXAMPLE
+            .replace("private int counter;", "private long otherCounter;\n    private void reset() {\n    }")
+            .replace("return \"value \" + value;", "final String prefix = \"other\";\n        return prefix + value + 42;"));
+
+        Assertions.assertEquals(abi, editedAbi);
+    }
+
+    @Test
+    void givenSignatureEdit_whenAbiOf_thenDifferentAbi() throws IOException {
+        var abi = abiOf("v1", EXAMPLE);
+        var editedAbi = abiOf("v2", EXAMPLE.replace("final Object value", "final String value"));
+
+        Assertions.assertNotEquals(abi, editedAbi);
+    }
+
+    @Test
+    void givenClassFileNames_whenIsAbiClassFile_thenAnonymousAndLocalClassesExcluded() {
+        Assertions.assertTrue(ClassFileAbi.isAbiClassFile("Example.class"));
+        Assertions.assertTrue(ClassFileAbi.isAbiClassFile("Example$Nested.class"));
+        Assertions.assertFalse(ClassFileAbi.isAbiClassFile("Example$1.class"));
+        Assertions.assertFalse(ClassFileAbi.isAbiClassFile("Example$1Local.class"));
+        Assertions.assertFalse(ClassFileAbi.isAbiClassFile("Example.java"));
+    }
+
+    private String abiOf(final String version, final String source) throws IOException {
+        final Path versionDirectory = Files.createDirectories(directory.resolve(version));
+        final Path sourceFile = Files.writeString(versionDirectory.resolve("Example.java"), source);
+
+        Assertions.assertEquals(0, ToolProvider.getSystemJavaCompiler()
+            .run(null, null, null, "-d", versionDirectory.toString(), sourceFile.toString()));
+
+        try (InputStream inputStream = Files.newInputStream(versionDirectory.resolve("Example.class"))) {
+            return ClassFileAbi.abiOf(inputStream);
+        }
+    }
+}
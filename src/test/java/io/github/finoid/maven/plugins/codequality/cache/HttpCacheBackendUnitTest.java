@@ -0,0 +1,97 @@
+package io.github.finoid.maven.plugins.codequality.cache;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import io.github.finoid.maven.plugins.codequality.configuration.RemoteCacheConfiguration;
+import io.github.finoid.maven.plugins.codequality.exceptions.CodeQualityException;
+import io.github.finoid.maven.plugins.codequality.fixtures.UnitTest;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+class HttpCacheBackendUnitTest extends UnitTest {
+    private static final String PATH = "/cache";
+
+    private final Map<String, byte[]> entries = new ConcurrentHashMap<>();
+    private final HttpCacheBackend unit = new HttpCacheBackend();
+
+    private HttpServer server;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        // A stand-in for a build cache server, serving GET and PUT of entries
+        server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 0);
+        server.createContext(PATH, this::handle);
+        server.start();
+    }
+
+    @AfterEach
+    void tearDown() {
+        server.stop(0);
+    }
+
+    @Test
+    void givenStoredEntry_whenLoad_thenSameEntry() {
+        var content = "[]".getBytes(StandardCharsets.UTF_8);
+
+        unit.store("ab01", content, configuration(PATH));
+
+        var result = unit.load("ab01", configuration(PATH));
+
+        Assertions.assertTrue(result.isPresent());
+        Assertions.assertArrayEquals(content, result.get());
+        Assertions.assertArrayEquals(content, entries.get(PATH + "/ab01"));
+    }
+
+    @Test
+    void givenMissingEntry_whenLoad_thenEmpty() {
+        var result = unit.load("ab01", configuration(PATH + "/"));
+
+        Assertions.assertEquals(Optional.empty(), result);
+    }
+
+    @Test
+    void givenFailingServer_whenStore_thenCodeQualityException() {
+        var content = "[]".getBytes(StandardCharsets.UTF_8);
+
+        Assertions.assertThrows(CodeQualityException.class, () -> unit.store("ab01", content, configuration("/unknown")));
+    }
+
+    private RemoteCacheConfiguration configuration(final String path) {
+        var configuration = new RemoteCacheConfiguration();
+        configuration.setBackend(HttpCacheBackend.NAME);
+        configuration.setUrl("http://" + server.getAddress().getAddress().getHostAddress() + ":" + server.getAddress().getPort() + path);
+
+        return configuration;
+    }
+
+    private void handle(final HttpExchange exchange) throws IOException {
+        final String path = exchange.getRequestURI().getPath();
+
+        if ("PUT".equals(exchange.getRequestMethod())) {
+            entries.put(path, exchange.getRequestBody().readAllBytes());
+            exchange.sendResponseHeaders(201, -1);
+        } else if (entries.containsKey(path)) {
+            final byte[] content = entries.get(path);
+
+            exchange.sendResponseHeaders(200, content.length);
+            try (OutputStream outputStream = exchange.getResponseBody()) {
+                outputStream.write(content);
+            }
+        } else {
+            exchange.sendResponseHeaders(404, -1);
+        }
+
+        exchange.close();
+    }
+}
@@ -0,0 +1,247 @@
+package io.github.finoid.maven.plugins.codequality.cache;
+
+import io.github.finoid.maven.plugins.codequality.configuration.CacheConfiguration;
+import io.github.finoid.maven.plugins.codequality.configuration.RemoteCacheConfiguration;
+import io.github.finoid.maven.plugins.codequality.fixtures.StepResultFaker;
+import io.github.finoid.maven.plugins.codequality.fixtures.UnitTest;
+import io.github.finoid.maven.plugins.codequality.fixtures.ViolationFaker;
+import io.github.finoid.maven.plugins.codequality.report.Severity;
+import io.github.finoid.maven.plugins.codequality.report.Violation;
+import io.github.finoid.maven.plugins.codequality.step.StepType;
+import io.github.finoid.maven.plugins.codequality.storage.SessionRepository;
+import org.apache.maven.execution.MavenSession;
+import org.apache.maven.project.MavenProject;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Random;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+
+class StepResultCacheUnitTest extends UnitTest {
+    @Mock
+    private ModuleInputFingerprinter moduleInputFingerprinter;
+    @Mock
+    private SessionRepository sessionRepository;
+    @Mock
+    private MavenSession mavenSession;
+    @Mock
+    private MavenProject project;
+
+    @TempDir
+    private Path cacheDirectory;
+    @TempDir
+    private Path remoteCacheDirectory;
+
+    private final Map<String, Object> sessionData = new HashMap<>();
+
+    @BeforeEach
+    void beforeEach() {
+        Mockito.lenient().when(sessionRepository.computeIfAbsent(Mockito.anyString(), Mockito.any()))
+            .thenAnswer(it -> sessionData.computeIfAbsent(it.getArgument(0), key -> it.<Supplier<Object>>getArgument(1).get()));
+
+        givenModule(Path.of("/path/to"));
+    }
+
+    @Test
+    void givenStoredStepResult_whenLoad_thenSameViolations() {
+        var unit = unit();
+        var stepResult = StepResultFaker.stepResultFaker()
+            .withIsPermissive(false)
+            .create();
+
+        unit.store("ab01", stepResult, cacheConfiguration(512));
+
+        var result = unit.load("ab01", stepResult.getType(), true, cacheConfiguration(512));
+
+        Assertions.assertTrue(result.isPresent());
+        Assertions.assertEquals(stepResult.getType(), result.get().getType());
+        Assertions.assertEquals(stepResult.getViolations(), result.get().getViolations());
+        // Replayed with the permissiveness of the current configuration
+        Assertions.assertTrue(result.get().isPermissive());
+    }
+
+    @Test
+    void givenStoredViolations_whenLoadViolations_thenSameViolationsPerKey() {
+        var unit = unit();
+        var violation = ViolationFaker.violation().create();
+
+        unit.storeViolations(Map.of("ab01", List.of(violation), "ab02", List.of()), cacheConfiguration(512));
+
+        Assertions.assertEquals(Optional.of(List.of(violation)), unit.loadViolations("ab01", cacheConfiguration(512)));
+        Assertions.assertEquals(Optional.of(List.of()), unit.loadViolations("ab02", cacheConfiguration(512)));
+    }
+
+    @Test
+    void givenMissingEntry_whenLoad_thenEmpty() {
+        var unit = unit();
+
+        var result = unit.load("ab01", StepType.CHECKSTYLE, false, cacheConfiguration(512));
+
+        Assertions.assertTrue(result.isEmpty());
+    }
+
+    @Test
+    void givenExceededCache_whenEvict_thenEvicted() throws IOException {
+        var unit = unit();
+        var stepResult = StepResultFaker.stepResultFaker(new Random(2)).create();
+
+        unit.store("aa01", stepResult, cacheConfiguration(512));
+        unit.evict();
+
+        Assertions.assertEquals(1, countEntries());
+
+        // A zero sized cache is exceeded by any entry, yet merely evicted once the build ends
+        unit.store("bb01", stepResult, cacheConfiguration(0));
+
+        Assertions.assertEquals(2, countEntries());
+
+        unit.evict();
+
+        Assertions.assertEquals(0, countEntries());
+    }
+
+    @Test
+    void givenWriteThroughRemoteCache_whenStore_thenStoredRemotely() throws IOException {
+        var stepResult = StepResultFaker.stepResultFaker().create();
+
+        unit().store("ab01", stepResult, remoteCacheConfiguration(RemoteCacheMode.WRITE_THROUGH));
+
+        Assertions.assertEquals(1, countEntries(remoteCacheDirectory));
+    }
+
+    @Test
+    void givenReadOnlyRemoteCache_whenStore_thenNotStoredRemotely() throws IOException {
+        var stepResult = StepResultFaker.stepResultFaker().create();
+
+        unit().store("ab01", stepResult, remoteCacheConfiguration(RemoteCacheMode.READ_ONLY));
+
+        Assertions.assertEquals(0, countEntries(remoteCacheDirectory));
+    }
+
+    @Test
+    void givenWriteThroughRemoteCache_whenStoreLocalViolations_thenNotStoredRemotely() throws IOException {
+        var violation = ViolationFaker.violation().create();
+
+        unit().storeLocalViolations(Map.of("ab01", List.of(violation)), remoteCacheConfiguration(RemoteCacheMode.WRITE_THROUGH));
+
+        Assertions.assertEquals(1, countEntries(cacheDirectory));
+        Assertions.assertEquals(0, countEntries(remoteCacheDirectory));
+    }
+
+    @Test
+    void givenRemoteEntry_whenLoadLocalViolations_thenEmpty() throws IOException {
+        var violation = ViolationFaker.violation().create();
+
+        unit().storeViolations(Map.of("ab01", List.of(violation)), remoteCacheConfiguration(RemoteCacheMode.WRITE_THROUGH));
+        deleteEntries(cacheDirectory);
+
+        var result = unit().loadLocalViolations("ab01", remoteCacheConfiguration(RemoteCacheMode.READ_ONLY));
+
+        Assertions.assertTrue(result.isEmpty());
+        Assertions.assertEquals(0, countEntries(cacheDirectory));
+    }
+
+    @Test
+    void givenRemoteEntry_whenLoadViolations_thenLoadedRemotelyAndStoredLocally() throws IOException {
+        var violation = ViolationFaker.violation().create();
+
+        // Another machine populated the remote cache
+        unit().storeViolations(Map.of("ab01", List.of(violation)), remoteCacheConfiguration(RemoteCacheMode.WRITE_THROUGH));
+        deleteEntries(cacheDirectory);
+
+        var unit = unit();
+        var result = unit.loadViolations("ab01", remoteCacheConfiguration(RemoteCacheMode.READ_ONLY));
+
+        Assertions.assertEquals(Optional.of(List.of(violation)), result);
+        Assertions.assertEquals(1, countEntries(cacheDirectory));
+    }
+
+    @Test
+    void givenViolationsStoredByAnotherCheckout_whenLoadViolations_thenFullPathsRelocatedToCurrentModule() {
+        var unit = unit();
+        var violation = Violation.builder()
+            .tool("Checkstyle")
+            .description("Description")
+            .fingerprint("fingerprint")
+            .severity(Severity.MINOR)
+            .relativePath("src/main/java/Main.java")
+            .fullPath("/workspace/a/module/src/main/java/Main.java")
+            .line(1)
+            .columnNumber(1)
+            .rule("Rule")
+            .build();
+
+        givenModule(Path.of("/workspace/a/module"));
+        unit.storeViolations(Map.of("ab01", List.of(violation)), cacheConfiguration(512));
+
+        givenModule(Path.of("/home/ci/b/module"));
+        var result = unit.loadViolations("ab01", cacheConfiguration(512));
+
+        Assertions.assertTrue(result.isPresent());
+        Assertions.assertEquals("/home/ci/b/module/src/main/java/Main.java", result.get().get(0).getFullPath());
+        Assertions.assertEquals(violation.getRelativePath(), result.get().get(0).getRelativePath());
+    }
+
+    private void givenModule(final Path basedir) {
+        Mockito.lenient().when(mavenSession.getCurrentProject())
+            .thenReturn(project);
+        Mockito.lenient().when(project.getBasedir())
+            .thenReturn(basedir.toFile());
+    }
+
+    private StepResultCache unit() {
+        return new StepResultCache(moduleInputFingerprinter, List.of(new FileSystemCacheBackend()), sessionRepository, mavenSession);
+    }
+
+    private long countEntries() throws IOException {
+        return countEntries(cacheDirectory);
+    }
+
+    private static void deleteEntries(final Path directory) throws IOException {
+        try (Stream<Path> paths = Files.walk(directory)) {
+            for (final Path path : paths.filter(it -> it.toString().endsWith(".json")).toList()) {
+                Files.delete(path);
+            }
+        }
+    }
+
+    private static long countEntries(final Path directory) throws IOException {
+        try (Stream<Path> paths = Files.walk(directory)) {
+            return paths.filter(it -> it.toString().endsWith(".json"))
+                .count();
+        }
+    }
+
+    private CacheConfiguration cacheConfiguration(final long maxSizeMb) {
+        var cacheConfiguration = new CacheConfiguration();
+        cacheConfiguration.setEnabled(true);
+        cacheConfiguration.setDirectory(cacheDirectory.toFile());
+        cacheConfiguration.setMaxSizeMb(maxSizeMb);
+
+        return cacheConfiguration;
+    }
+
+    private CacheConfiguration remoteCacheConfiguration(final RemoteCacheMode mode) {
+        var remoteCacheConfiguration = new RemoteCacheConfiguration();
+        remoteCacheConfiguration.setBackend(FileSystemCacheBackend.NAME);
+        remoteCacheConfiguration.setDirectory(remoteCacheDirectory.toFile());
+        remoteCacheConfiguration.setMode(mode);
+
+        var cacheConfiguration = cacheConfiguration(512);
+        cacheConfiguration.setRemote(remoteCacheConfiguration);
+
+        return cacheConfiguration;
+    }
+}
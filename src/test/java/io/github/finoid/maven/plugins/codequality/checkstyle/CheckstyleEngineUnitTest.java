@@ -0,0 +1,205 @@
+package io.github.finoid.maven.plugins.codequality.checkstyle;
+
+import com.puppycrawl.tools.checkstyle.api.AuditEvent;
+import io.github.finoid.maven.plugins.codequality.fixtures.UnitTest;
+import io.github.finoid.maven.plugins.codequality.report.Violation;
+import io.github.finoid.maven.plugins.codequality.storage.SessionRepository;
+import org.apache.maven.execution.MavenSession;
+import org.apache.maven.plugins.checkstyle.exec.CheckstyleExecutorRequest;
+import org.apache.maven.project.MavenProject;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+class CheckstyleEngineUnitTest extends UnitTest {
+    private static final String CONFIGURATION = """
+        <?xml version="1.0"?>
+        <!DOCTYPE module PUBLIC "-//Checkstyle//DTD Checkstyle Configuration 1.3//EN" "https://checkstyle.org/dtds/configuration_1_3.dtd">
+        <module name="Checker">
+            <module name="LineLength">
+                <property name="max" value="40"/>
+            </module>
+        </module>
+        """;
+    private static final String TRANSLATION_CONFIGURATION = """
+        <?xml version="1.0"?>
+        <!DOCTYPE module PUBLIC "-//Checkstyle//DTD Checkstyle Configuration 1.3//EN" "https://checkstyle.org/dtds/configuration_1_3.dtd">
+        <module name="Checker">
+            <module name="Translation"/>
+        </module>
+        """;
+
+    @Mock
+    private SessionRepository sessionRepository;
+    @Mock
+    private MavenSession mavenSession;
+
+    @TempDir
+    private Path basedir;
+
+    private final Map<String, Object> sessionData = new HashMap<>();
+
+    private CheckstyleEngine unit;
+
+    @BeforeEach
+    void beforeEach() {
+        Mockito.when(sessionRepository.computeIfAbsent(Mockito.anyString(), Mockito.any()))
+            .thenAnswer(it -> sessionData.computeIfAbsent(it.getArgument(0), key -> it.<Supplier<Object>>getArgument(1).get()));
+
+        unit = new CheckstyleEngine(sessionRepository, mavenSession);
+    }
+
+    @Test
+    void givenParallelism_whenAudit_thenSameResultsAsSequentialAudit() throws Exception {
+        final Path sourceDirectory = Files.createDirectories(basedir.resolve("src/main/java"));
+        Files.writeString(basedir.resolve("checkstyle.xml"), CONFIGURATION);
+
+        for (int i = 0; i < 16; i++) {
+            final String line = i % 2 == 0 ? "    private static final String TOO_LONG = \"%d\";%n" : "";
+
+            Files.writeString(sourceDirectory.resolve("Class" + i + ".java"), ("public class Class%d {%n" + line + "}%n").formatted(i, i));
+        }
+
+        final Map<Path, List<String>> sequential = messagesOf(unit.audit(request(basedir, sourceDirectory), 1, CheckstyleEngineUnitTest::violationOf));
+        final Map<Path, List<String>> parallel = messagesOf(unit.audit(request(basedir, sourceDirectory), 4, CheckstyleEngineUnitTest::violationOf));
+
+        Assertions.assertEquals(16, sequential.size());
+        Assertions.assertEquals(8, sequential.values().stream().filter(it -> !it.isEmpty()).count());
+        Assertions.assertEquals(List.copyOf(sequential.keySet()), List.copyOf(parallel.keySet()));
+        Assertions.assertEquals(sequential, parallel);
+    }
+
+    @Test
+    void givenSourceFiles_whenAudit_thenOnlyProvidedSourceFilesAudited() throws Exception {
+        final Path sourceDirectory = Files.createDirectories(basedir.resolve("src/main/java"));
+        Files.writeString(basedir.resolve("checkstyle.xml"), CONFIGURATION);
+
+        for (int i = 0; i < 4; i++) {
+            Files.writeString(sourceDirectory.resolve("Class" + i + ".java"), "public class Class%d {%n}%n".formatted(i));
+        }
+
+        // A comma separates the patterns of the includes of the request, hence isn't matched by an include
+        final Path commaSourceFile = Files.writeString(sourceDirectory.resolve("Comma,Class.java"), "class Comma {%n}%n".formatted());
+        final Path sourceFile = sourceDirectory.resolve("Class1.java");
+
+        final Map<Path, List<Violation>> result = unit.audit(request(basedir, sourceDirectory), List.of(sourceFile.toFile(), commaSourceFile.toFile()),
+            1, CheckstyleEngineUnitTest::violationOf);
+
+        Assertions.assertEquals(List.of(sourceFile, commaSourceFile), List.copyOf(result.keySet()));
+    }
+
+    @Test
+    void givenModulesWithIdenticalConfiguration_whenAudit_thenConfigurationLoadedOnce() throws Exception {
+        final Path moduleA = Files.createDirectories(basedir.resolve("module-a"));
+        final Path moduleB = Files.createDirectories(basedir.resolve("module-b"));
+        Files.writeString(moduleA.resolve("checkstyle.xml"), CONFIGURATION);
+        Files.writeString(moduleB.resolve("checkstyle.xml"), CONFIGURATION);
+
+        unit.audit(request(moduleA, Files.createDirectories(moduleA.resolve("src/main/java"))), 1, CheckstyleEngineUnitTest::violationOf);
+        unit.audit(request(moduleB, Files.createDirectories(moduleB.resolve("src/main/java"))), 1, CheckstyleEngineUnitTest::violationOf);
+
+        Assertions.assertEquals(1, ((Map<?, ?>) sessionData.get("codequality.checkstyleConfigurations")).size());
+    }
+
+    @Test
+    void givenCrossFileCheck_whenAuditConcurrently_thenEveryBundleComparedWithinSingleAudit() throws Exception {
+        final Path sourceDirectory = Files.createDirectories(basedir.resolve("src/main/resources"));
+        Files.writeString(basedir.resolve("checkstyle.xml"), TRANSLATION_CONFIGURATION);
+
+        for (int i = 0; i < 16; i++) {
+            Files.writeString(sourceDirectory.resolve("messages" + i + ".properties"), "greeting=Hello%nfarewell=Bye%n".formatted());
+            Files.writeString(sourceDirectory.resolve("messages" + i + "_sv.properties"), "greeting=Hej%n".formatted());
+        }
+
+        final CheckstyleExecutorRequest request = request(basedir, sourceDirectory)
+            .setIncludes("**/*.properties");
+
+        final Map<Path, List<String>> parallel = messagesOf(unit.audit(request, 4, CheckstyleEngineUnitTest::violationOf));
+
+        Assertions.assertEquals(16, parallel.values().stream().filter(it -> !it.isEmpty()).count());
+    }
+
+    @Test
+    void givenCacheFilesOfAnotherPartitioning_whenAudit_thenStaleCacheFilesDeleted() throws Exception {
+        final Path sourceDirectory = Files.createDirectories(basedir.resolve("src/main/java"));
+        Files.writeString(basedir.resolve("checkstyle.xml"), CONFIGURATION);
+        Files.writeString(sourceDirectory.resolve("Class.java"), "public class Class {%n}%n".formatted());
+
+        final Path cacheDirectory = Files.createDirectories(basedir.resolve("target/checkstyle"));
+        Files.writeString(cacheDirectory.resolve("checkstyle-cachefile"), "");
+        Files.writeString(cacheDirectory.resolve("checkstyle-cachefile-16"), "");
+        Files.writeString(cacheDirectory.resolve("checkstyle-cachefile-other"), "");
+
+        final CheckstyleExecutorRequest request = request(basedir, sourceDirectory)
+            .setCacheFile(cacheDirectory.resolve("checkstyle-cachefile").toString());
+
+        unit.audit(request, 4, CheckstyleEngineUnitTest::violationOf);
+
+        Assertions.assertFalse(Files.exists(cacheDirectory.resolve("checkstyle-cachefile")));
+        Assertions.assertFalse(Files.exists(cacheDirectory.resolve("checkstyle-cachefile-16")));
+        Assertions.assertTrue(Files.exists(cacheDirectory.resolve("checkstyle-cachefile-other")));
+    }
+
+    @Test
+    void givenAuditsSubmittedToSingleThreadedPool_whenAudit_thenPartitionsAuditedByTheSameThread() throws Exception {
+        final Path sourceDirectory = Files.createDirectories(basedir.resolve("src/main/java"));
+        Files.writeString(basedir.resolve("checkstyle.xml"), CONFIGURATION);
+
+        for (int i = 0; i < 16; i++) {
+            Files.writeString(sourceDirectory.resolve("Class" + i + ".java"), "public class Class%d {%n}%n".formatted(i));
+        }
+
+        final CheckstyleExecutorRequest main = request(basedir, sourceDirectory);
+        final CheckstyleExecutorRequest test = request(basedir, sourceDirectory);
+
+        final var futureMain = unit.submit(main.getProject(), 1, () -> unit.audit(main, 2, CheckstyleEngineUnitTest::violationOf));
+        final var futureTest = unit.submit(test.getProject(), 1, () -> unit.audit(test, 2, CheckstyleEngineUnitTest::violationOf));
+
+        Assertions.assertEquals(16, futureMain.get(30, TimeUnit.SECONDS).size());
+        Assertions.assertEquals(16, futureTest.get(30, TimeUnit.SECONDS).size());
+        Assertions.assertEquals(1, ((ForkJoinPool) sessionData.get("codequality.checkstyleExecutor")).getParallelism());
+    }
+
+    private static CheckstyleExecutorRequest request(final Path basedir, final Path sourceDirectory) {
+        final MavenProject project = new MavenProject();
+        project.setFile(basedir.resolve("pom.xml").toFile());
+
+        return new CheckstyleExecutorRequest()
+            .setProject(project)
+            .setSourceDirectories(List.of(sourceDirectory.toFile()))
+            .setIncludes("**/*.java")
+            .setConfigLocation("checkstyle.xml")
+            .setEncoding("UTF-8");
+    }
+
+    private static Violation violationOf(final AuditEvent auditEvent) {
+        return Violation.builder()
+            .tool("Checkstyle")
+            .description(auditEvent.getMessage())
+            .fullPath(auditEvent.getFileName())
+            .line(auditEvent.getLine())
+            .build();
+    }
+
+    private static Map<Path, List<String>> messagesOf(final Map<Path, List<Violation>> violationsByFile) {
+        return violationsByFile.entrySet()
+            .stream()
+            .collect(Collectors.toMap(Map.Entry::getKey,
+                it -> it.getValue().stream().map(violation -> violation.getLine() + ":" + violation.getDescription()).toList(),
+                (first, second) -> first, LinkedHashMap::new));
+    }
+}
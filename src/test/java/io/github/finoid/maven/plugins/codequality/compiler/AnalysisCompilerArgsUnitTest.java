@@ -0,0 +1,65 @@
+package io.github.finoid.maven.plugins.codequality.compiler;
+
+import io.github.finoid.maven.plugins.codequality.fixtures.UnitTest;
+import org.apache.maven.artifact.DefaultArtifact;
+import org.apache.maven.artifact.handler.DefaultArtifactHandler;
+import org.apache.maven.execution.MavenSession;
+import org.apache.maven.model.Build;
+import org.apache.maven.project.MavenProject;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+
+import java.io.File;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+
+class AnalysisCompilerArgsUnitTest extends UnitTest {
+    @Mock
+    private MavenSession mavenSession;
+    @Mock
+    private MavenProject current;
+
+    @Test
+    void givenReactorArtifactsOnClasspath_whenAddClassPath_thenSwappedForAnalysisClassesDirectory() throws Exception {
+        var upstream = reactorProject("module-a", "/build/module-a");
+        var otherUpstream = reactorProject("other-module-a", "/build/other-module-a");
+
+        Mockito.when(mavenSession.getCurrentProject())
+            .thenReturn(current);
+        Mockito.when(mavenSession.getAllProjects())
+            .thenReturn(List.of(upstream, otherUpstream));
+        Mockito.when(current.getCompileClasspathElements())
+            .thenReturn(List.of(
+                "/build/module-b/target/classes",
+                "/repository/io/github/finoid/module-a/1.0/module-a-1.0.jar",
+                "/repository/io/github/finoid/other-module-a/1.0/other-module-a-1.0.jar",
+                "/repository/io/github/finoid/library/1.0/library-1.0.jar"
+            ));
+
+        var args = new ArrayList<String>();
+
+        AnalysisCompilerArgs.addClassPath(args, mavenSession, "analysis-classes");
+
+        Assertions.assertEquals(List.of("-cp", String.join(File.pathSeparator,
+            "/build/module-b/target/classes",
+            Paths.get("/build/module-a/target", "analysis-classes").toString(),
+            Paths.get("/build/other-module-a/target", "analysis-classes").toString(),
+            "/repository/io/github/finoid/library/1.0/library-1.0.jar"
+        )), args);
+    }
+
+    private static MavenProject reactorProject(final String artifactId, final String basedir) {
+        final Build build = new Build();
+        build.setDirectory(basedir + "/target");
+        build.setFinalName(artifactId + "-1.0");
+
+        final MavenProject project = new MavenProject();
+        project.setArtifact(new DefaultArtifact("io.github.finoid", artifactId, "1.0", "compile", "jar", null, new DefaultArtifactHandler("jar")));
+        project.setBuild(build);
+
+        return project;
+    }
+}
@@ -0,0 +1,97 @@
+package io.github.finoid.maven.plugins.codequality.compiler;
+
+import io.github.finoid.maven.plugins.codequality.fixtures.ReportingJavacPlugin;
+import io.github.finoid.maven.plugins.codequality.fixtures.UnitTest;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.File;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Forks javac with the {@link StructuredDiagnosticsPlugin}, as the {@link ForkedAnalysisCompiler} does, where the analyzer is the
+ * {@link ReportingJavacPlugin}.
+ */
+class StructuredDiagnosticsPluginUnitTest extends UnitTest {
+    @TempDir
+    private Path directory;
+
+    @Test
+    void givenErrorsAtSamePosition_whenForkedCompile_thenOnlyLoggedErrorWritten() throws Exception {
+        var result = compile(List.of("-Xplugin:Reporting ERROR 3"));
+
+        Assertions.assertEquals(1, result.loggedCount());
+        Assertions.assertEquals(List.of("diagnostic 1"), result.diagnostics().stream().map(StructuredDiagnostic::message).toList());
+    }
+
+    @Test
+    void givenWarningsBeyondDefaultLimit_whenForkedCompile_thenOnlyLoggedWarningsWritten() throws Exception {
+        var result = compile(List.of("-Xplugin:Reporting WARNING 150"));
+
+        Assertions.assertEquals(100, result.loggedCount());
+        Assertions.assertEquals(100, result.diagnostics().size());
+    }
+
+    @Test
+    void givenDiagnosticLimits_whenForkedCompile_thenEveryWarningLoggedAndWritten() throws Exception {
+        var compilerArgs = new ArrayList<>(List.of("-Xplugin:Reporting WARNING 150"));
+        AnalysisCompilerArgs.addDiagnosticLimits(compilerArgs);
+
+        var result = compile(compilerArgs);
+
+        Assertions.assertEquals(150, result.loggedCount());
+        Assertions.assertEquals(150, result.diagnostics().size());
+    }
+
+    @Test
+    void givenInaccessibleCompilerInternals_whenForkedCompile_thenWarnedAndNoDiagnosticsFileWritten() throws Exception {
+        var log = fork(List.of(), List.of());
+
+        Assertions.assertTrue(log.contains("warning: " + StructuredDiagnosticsPlugin.NAME + " failed to observe the diagnostics"));
+        Assertions.assertTrue(Files.exists(directory.resolve("classes").resolve("Main.class")));
+        Assertions.assertFalse(Files.exists(directory.resolve("diagnostics.jsonl")));
+    }
+
+    private Compilation compile(final List<String> compilerArgs) throws Exception {
+        var log = fork(AnalysisCompilerArgs.jdkCompilerAccessArgs(), compilerArgs);
+
+        return new Compilation(log.lines().filter(it -> it.contains("[Reporting] diagnostic")).count(),
+            StructuredDiagnostics.read(directory.resolve("diagnostics.jsonl")));
+    }
+
+    private String fork(final List<String> accessArgs, final List<String> compilerArgs) throws Exception {
+        var source = Files.writeString(directory.resolve("Main.java"), "public class Main {\n}\n");
+        var diagnosticsFile = directory.resolve("diagnostics.jsonl");
+
+        var command = new ArrayList<String>();
+        command.add(Path.of(System.getProperty("java.home"), "bin", "javac").toString());
+        command.addAll(accessArgs);
+        command.addAll(List.of("-d", directory.resolve("classes").toString()));
+        command.addAll(List.of("-processorpath", locationOf(StructuredDiagnosticsPlugin.class) + File.pathSeparator
+            + locationOf(ReportingJavacPlugin.class)));
+        command.add(StructuredDiagnostics.pluginArg(diagnosticsFile));
+        command.addAll(compilerArgs);
+        command.add(source.toString());
+
+        var process = new ProcessBuilder(command)
+            .redirectErrorStream(true)
+            .start();
+
+        var log = new String(process.getInputStream().readAllBytes(), StandardCharsets.UTF_8);
+        process.waitFor();
+
+        return log;
+    }
+
+    private static String locationOf(final Class<?> type) throws Exception {
+        return Path.of(type.getProtectionDomain().getCodeSource().getLocation().toURI()).toString();
+    }
+
+    private record Compilation(long loggedCount, List<StructuredDiagnostic> diagnostics) {
+    }
+}
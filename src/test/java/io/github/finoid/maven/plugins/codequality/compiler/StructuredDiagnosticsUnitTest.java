@@ -0,0 +1,31 @@
+package io.github.finoid.maven.plugins.codequality.compiler;
+
+import io.github.finoid.maven.plugins.codequality.fixtures.UnitTest;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+class StructuredDiagnosticsUnitTest extends UnitTest {
+    @Test
+    void givenDiagnosticsFile_whenRead_thenExpectedDiagnostics(@TempDir final Path directory) throws Exception {
+        var file = directory.resolve("errorprone-module.jsonl");
+
+        Files.writeString(file, """
+            {"path":"/project/src/main/java/Main.java","line":19,"column":20,"rule":"MissingOverride","message":"hello implements \\"A\\"\\n    (see https://errorprone.info/bugpattern/MissingOverride)"}
+            {"path":"/project/src/main/java/Main.java","line":3,"column":null,"rule":"nullness:argument","message":"incompatible argument"}
+            """, StandardCharsets.UTF_8);
+
+        var diagnostics = StructuredDiagnostics.read(file);
+
+        Assertions.assertEquals(List.of(
+            new StructuredDiagnostic("/project/src/main/java/Main.java", 19, 20, "MissingOverride",
+                "hello implements \"A\"\n    (see https://errorprone.info/bugpattern/MissingOverride)"),
+            new StructuredDiagnostic("/project/src/main/java/Main.java", 3, null, "nullness:argument", "incompatible argument")
+        ), diagnostics);
+    }
+}
@@ -0,0 +1,59 @@
+package io.github.finoid.maven.plugins.codequality.compiler.daemon;
+
+import io.github.finoid.maven.plugins.codequality.fixtures.UnitTest;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import javax.tools.Diagnostic;
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.List;
+import java.util.Locale;
+
+class DaemonProtocolUnitTest extends UnitTest {
+    private static final Path SOURCE_FILE = Paths.get("src/main/java/io/github/finoid/Example.java")
+        .toAbsolutePath();
+
+    @Test
+    void givenResponse_whenWrittenAndRead_thenSameResponse() throws Exception {
+        var response = DaemonResponse.ofDiagnostics(List.of(
+            new DaemonDiagnostic(Diagnostic.Kind.WARNING, SOURCE_FILE.toString(), 10, 29,
+                "[MissingOverride] toString implements method in Object\n    (see https://errorprone.info/bugpattern/MissingOverride)"),
+            new DaemonDiagnostic(Diagnostic.Kind.NOTE, null, Diagnostic.NOPOS, Diagnostic.NOPOS, "Some input files use unchecked operations.")
+        ));
+
+        var writer = new StringWriter();
+        try (var bufferedWriter = new BufferedWriter(writer)) {
+            DaemonProtocol.write(bufferedWriter, response);
+        }
+
+        Assertions.assertEquals(1, writer.toString().lines().count());
+
+        var result = DaemonProtocol.read(new BufferedReader(new StringReader(writer.toString())), DaemonResponse.class);
+
+        Assertions.assertEquals(response, result);
+    }
+
+    @Test
+    void givenClosedConnection_whenRead_thenNull() throws Exception {
+        var result = DaemonProtocol.read(new BufferedReader(new StringReader("")), DaemonRequest.class);
+
+        Assertions.assertNull(result);
+    }
+
+    @Test
+    void givenDaemonDiagnostic_whenToDiagnostic_thenSameSourcePosition() {
+        var diagnostic = new DaemonDiagnostic(Diagnostic.Kind.WARNING, SOURCE_FILE.toString(), 10, 29, "[argument] incompatible argument")
+            .toDiagnostic();
+
+        Assertions.assertEquals(Diagnostic.Kind.WARNING, diagnostic.getKind());
+        Assertions.assertEquals(SOURCE_FILE, Path.of(diagnostic.getSource().toUri()));
+        Assertions.assertEquals(10, diagnostic.getLineNumber());
+        Assertions.assertEquals(29, diagnostic.getColumnNumber());
+        Assertions.assertEquals("[argument] incompatible argument", diagnostic.getMessage(Locale.ROOT));
+    }
+}
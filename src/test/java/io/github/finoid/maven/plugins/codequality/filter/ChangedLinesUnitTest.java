@@ -0,0 +1,46 @@
+package io.github.finoid.maven.plugins.codequality.filter;
+
+import io.github.finoid.maven.plugins.codequality.fixtures.UnitTest;
+import io.github.finoid.maven.plugins.codequality.report.Violation;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+class ChangedLinesUnitTest extends UnitTest {
+    private static final Path WORK_TREE = Path.of("/repository");
+
+    private final ChangedLines unit = new ChangedLines("COMMITTED_ONLY HEAD~1..HEAD", WORK_TREE,
+        Map.of("module/src/main/java/Main.java", List.of(new ChangedLines.LineRange(2, 4))),
+        Set.of("module/src/main/java/Main.java", "deleting-module/src/main/java/Deleted.java"));
+
+    @Test
+    void givenFiles_whenIsChanged_thenTrueForChangedFilesWithinWorkTree() {
+        Assertions.assertTrue(unit.isChanged(Path.of("/repository/module/src/main/java/Main.java")));
+        Assertions.assertTrue(unit.isChanged(Path.of("/repository/module/../module/src/main/java/Main.java")));
+        Assertions.assertFalse(unit.isChanged(Path.of("/other/module/src/main/java/Main.java")));
+    }
+
+    @Test
+    void givenDirectories_whenHasChangesWithin_thenTrueForAncestorsOfChangedFiles() {
+        Assertions.assertTrue(unit.hasChangesWithin(Path.of("/repository/module")));
+        Assertions.assertTrue(unit.hasChangesWithin(Path.of("/")));
+        Assertions.assertFalse(unit.hasChangesWithin(Path.of("/repository/other-module")));
+        // A directory merely sharing the prefix of a changed directory
+        Assertions.assertFalse(unit.hasChangesWithin(Path.of("/repository/mod")));
+    }
+
+    @Test
+    void givenDeletedFile_whenHasChangesWithin_thenTrueForDirectoryOfDeletedFile() {
+        Assertions.assertTrue(unit.hasChangesWithin(Path.of("/repository/deleting-module")));
+        Assertions.assertFalse(unit.contains(Violation.builder()
+            .tool("Checkstyle")
+            .description("Description")
+            .relativePath("deleting-module/src/main/java/Deleted.java")
+            .line(1)
+            .build()));
+    }
+}
@@ -0,0 +1,124 @@
+package io.github.finoid.maven.plugins.codequality.filter;
+
+import io.github.finoid.maven.plugins.codequality.fixtures.GitRepositoryFixture;
+import io.github.finoid.maven.plugins.codequality.fixtures.UnitTest;
+import io.github.finoid.maven.plugins.codequality.report.Violation;
+import io.github.finoid.maven.plugins.codequality.storage.SessionRepository;
+import org.apache.maven.execution.MavenSession;
+import org.apache.maven.plugin.logging.Log;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+
+import java.nio.file.Path;
+
+class GitDiffServiceUnitTest extends UnitTest {
+    @Mock
+    private MavenSession mavenSession;
+    @Mock
+    private SessionRepository sessionRepository;
+    @Mock
+    private Log log;
+
+    @TempDir
+    private Path workTree;
+
+    private GitDiffService unit;
+
+    @BeforeEach
+    void beforeEach() {
+        unit = new GitDiffService(mavenSession, sessionRepository);
+    }
+
+    @Test
+    void givenCommittedChange_whenChangedLinesCommittedOnly_thenChangedLinesOfTheCommit() throws Exception {
+        try (var repository = GitRepositoryFixture.init(workTree)) {
+            repository.write("src/Main.java", "a\nb\nc\n")
+                .write("src/Other.java", "a\n")
+                .commit("Initial")
+                .write("src/Main.java", "a\nB\nc\n")
+                .commit("Change");
+        }
+
+        var changedLines = unit.changedLines(workTree, log, "HEAD~1", "HEAD", GitDiffService.DiffMode.COMMITTED_ONLY);
+
+        Assertions.assertTrue(changedLines.isPresent());
+        Assertions.assertEquals("COMMITTED_ONLY HEAD~1..HEAD", changedLines.get().description());
+        Assertions.assertTrue(changedLines.get().isChanged(workTree.resolve("src/Main.java")));
+        Assertions.assertFalse(changedLines.get().isChanged(workTree.resolve("src/Other.java")));
+        Assertions.assertTrue(changedLines.get().contains(violationOf("src/Main.java", 2)));
+        Assertions.assertFalse(changedLines.get().contains(violationOf("src/Main.java", 1)));
+    }
+
+    @Test
+    void givenUncommittedChange_whenChangedLinesWorkingTreeOnly_thenChangedLinesOfTheWorkingTree() throws Exception {
+        try (var repository = GitRepositoryFixture.init(workTree)) {
+            repository.write("src/Main.java", "a\nb\nc\n")
+                .commit("Initial")
+                .write("src/Main.java", "a\nb\nc\nd\n");
+        }
+
+        var changedLines = unit.changedLines(workTree, log, "HEAD", "HEAD", GitDiffService.DiffMode.WORKING_TREE_ONLY);
+
+        Assertions.assertTrue(changedLines.isPresent());
+        Assertions.assertTrue(changedLines.get().contains(violationOf("src/Main.java", 4)));
+        Assertions.assertFalse(changedLines.get().contains(violationOf("src/Main.java", 3)));
+    }
+
+    @Test
+    void givenDeletedFileAndRemovedLines_whenChangedLinesCommittedOnly_thenTouchedWithoutChangedLines() throws Exception {
+        try (var repository = GitRepositoryFixture.init(workTree)) {
+            repository.write("module-a/src/Main.java", "a\nb\nc\n")
+                .write("module-b/src/Other.java", "a\n")
+                .commit("Initial")
+                .write("module-a/src/Main.java", "a\nc\n")
+                .delete("module-b/src/Other.java")
+                .commit("Removal");
+        }
+
+        var changedLines = unit.changedLines(workTree, log, "HEAD~1", "HEAD", GitDiffService.DiffMode.COMMITTED_ONLY);
+
+        Assertions.assertTrue(changedLines.isPresent());
+        Assertions.assertTrue(changedLines.get().isChanged(workTree.resolve("module-a/src/Main.java")));
+        Assertions.assertTrue(changedLines.get().hasChangesWithin(workTree.resolve("module-a")));
+        Assertions.assertTrue(changedLines.get().hasChangesWithin(workTree.resolve("module-b")));
+        Assertions.assertFalse(changedLines.get().contains(violationOf("module-a/src/Main.java", 2)));
+    }
+
+    @Test
+    void givenNoChanges_whenChangedLines_thenEmpty() throws Exception {
+        try (var repository = GitRepositoryFixture.init(workTree)) {
+            repository.write("src/Main.java", "a\n")
+                .commit("Initial");
+        }
+
+        var changedLines = unit.changedLines(workTree, log, "HEAD", "HEAD", GitDiffService.DiffMode.COMMITTED_PLUS_WORKING_TREE);
+
+        Assertions.assertTrue(changedLines.isEmpty());
+    }
+
+    @Test
+    void givenUnresolvableBaseRef_whenChangedLines_thenEmptyAndWarned() throws Exception {
+        try (var repository = GitRepositoryFixture.init(workTree)) {
+            repository.write("src/Main.java", "a\n")
+                .commit("Initial");
+        }
+
+        var changedLines = unit.changedLines(workTree, log, "refs/remotes/origin/HEAD", "HEAD", GitDiffService.DiffMode.COMMITTED_ONLY);
+
+        Assertions.assertTrue(changedLines.isEmpty());
+        Mockito.verify(log).warn(Mockito.contains("refs/remotes/origin/HEAD"));
+    }
+
+    private static Violation violationOf(final String relativePath, final int line) {
+        return Violation.builder()
+            .tool("Checkstyle")
+            .description("Description")
+            .relativePath(relativePath)
+            .line(line)
+            .build();
+    }
+}
@@ -0,0 +1,65 @@
+package io.github.finoid.maven.plugins.codequality.fixtures;
+
+import org.eclipse.jgit.api.Git;
+import org.eclipse.jgit.api.errors.GitAPIException;
+import org.eclipse.jgit.lib.PersonIdent;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * A Git repository within a temporary directory, for tests depending on a git diff.
+ */
+public final class GitRepositoryFixture implements AutoCloseable {
+    private static final PersonIdent AUTHOR = new PersonIdent("Author", "author@example.com");
+
+    private final Git git;
+    private final Path workTree;
+
+    private GitRepositoryFixture(final Git git, final Path workTree) {
+        this.git = git;
+        this.workTree = workTree;
+    }
+
+    public static GitRepositoryFixture init(final Path workTree) throws GitAPIException {
+        return new GitRepositoryFixture(Git.init().setDirectory(workTree.toFile()).setInitialBranch("main").call(), workTree);
+    }
+
+    public GitRepositoryFixture write(final String path, final String content) throws IOException {
+        final Path file = workTree.resolve(path);
+        Files.createDirectories(file.getParent());
+        Files.writeString(file, content);
+
+        return this;
+    }
+
+    public GitRepositoryFixture delete(final String path) throws IOException {
+        Files.delete(workTree.resolve(path));
+
+        return this;
+    }
+
+    public GitRepositoryFixture commit(final String message) throws GitAPIException {
+        git.add().addFilepattern(".").call();
+        // Stages the deleted files
+        git.add().addFilepattern(".").setUpdate(true).call();
+        git.commit()
+            .setMessage(message)
+            .setAuthor(AUTHOR)
+            .setCommitter(AUTHOR)
+            .setSign(false)
+            .call();
+
+        return this;
+    }
+
+    public Path workTree() {
+        return workTree;
+    }
+
+    @Override
+    public void close() {
+        git.close();
+    }
+}
@@ -31,6 +31,12 @@ public class ProjectStepResultsFaker implements Faker<ProjectStepResults> {
         return this;
     }
 
+    public ProjectStepResultsFaker withStepResults(final List<StepResult> results) {
+        this.results = results;
+
+        return this;
+    }
+
     public static List<ProjectStepResults> any() {
         final Random random = new Random(1);
 
@@ -0,0 +1,72 @@
+package io.github.finoid.maven.plugins.codequality.fixtures;
+
+import com.sun.source.tree.CompilationUnitTree;
+import com.sun.source.tree.Tree;
+import com.sun.source.util.JavacTask;
+import com.sun.source.util.Plugin;
+import com.sun.source.util.TaskEvent;
+import com.sun.source.util.TaskListener;
+import com.sun.source.util.Trees;
+
+import javax.tools.JavaFileObject;
+import java.lang.reflect.Method;
+
+/**
+ * A javac plugin reporting diagnostics through the {@code Log} of the compilation, like error-prone does, rather than through the public
+ * API, which bypasses the de-duplication of javac. Enabled through {@code -Xplugin:Reporting <ERROR|WARNING> <count>}, reporting the
+ * diagnostic {@code [Reporting] diagnostic <n>} the given number of times at the first type of each compilation unit.
+ */
+public class ReportingJavacPlugin implements Plugin {
+    @Override
+    public String getName() {
+        return "Reporting";
+    }
+
+    @Override
+    public void init(final JavacTask task, final String... args) {
+        final boolean error = "ERROR".equals(args[0]);
+        final int count = Integer.parseInt(args[1]);
+        final Trees trees = Trees.instance(task);
+
+        task.addTaskListener(new TaskListener() {
+            @Override
+            public void finished(final TaskEvent event) {
+                if (event.getKind() != TaskEvent.Kind.ANALYZE) {
+                    return;
+                }
+
+                final CompilationUnitTree compilationUnit = event.getCompilationUnit();
+                final Tree type = compilationUnit.getTypeDecls().get(0);
+                final int position = (int) trees.getSourcePositions().getStartPosition(compilationUnit, type);
+
+                for (int i = 1; i <= count; i++) {
+                    report(task, compilationUnit.getSourceFile(), position, error, "[Reporting] diagnostic " + i);
+                }
+            }
+        });
+    }
+
+    private static void report(final JavacTask task, final JavaFileObject source, final int position, final boolean error,
+                               final String message) {
+        try {
+            final Object context = task.getClass().getMethod("getContext").invoke(task);
+            final ClassLoader classLoader = context.getClass().getClassLoader();
+            final Class<?> logClass = Class.forName("com.sun.tools.javac.util.Log", false, classLoader);
+            final Object log = logClass.getMethod("instance", context.getClass()).invoke(null, context);
+            final Class<?> keyClass = Class.forName("com.sun.tools.javac.util.JCDiagnostic$" + (error ? "Error" : "Warning"), false, classLoader);
+            final Object key = keyClass.getConstructor(String.class, String.class, Object[].class)
+                .newInstance("compiler", "proc.messager", new Object[]{message});
+            final Method useSource = logClass.getMethod("useSource", JavaFileObject.class);
+
+            final Object previousSource = useSource.invoke(log, source);
+
+            try {
+                logClass.getMethod(error ? "error" : "warning", int.class, keyClass).invoke(log, position, key);
+            } finally {
+                useSource.invoke(log, previousSource);
+            }
+        } catch (final ReflectiveOperationException e) {
+            throw new IllegalStateException("Failed to report the diagnostic", e);
+        }
+    }
+}
@@ -34,6 +34,12 @@ public class StepResultFaker implements Faker<StepResult> {
         return this;
     }
 
+    public StepResultFaker withViolations(final List<Violation> violations) {
+        this.violations = violations;
+
+        return this;
+    }
+
     public StepResultFaker withIsPermissive(final boolean isPermissive) {
         this.isPermissive = isPermissive;
 
@@ -0,0 +1,25 @@
+package io.github.finoid.maven.plugins.codequality.log;
+
+import io.github.finoid.maven.plugins.codequality.fixtures.UnitTest;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+class CompilerDiagnosticFilterUnitTest extends UnitTest {
+    @Test
+    void givenAnalyzerDiagnostics_whenIsAnalyzerDiagnostic_thenCaptured() {
+        Assertions.assertTrue(CompilerDiagnosticFilter.isAnalyzerDiagnostic("""
+            /project/src/main/java/Example.java:[12,19] [StringEquality] String comparison using reference equality instead of value equality
+                (see https://errorprone.info/bugpattern/StringEquality)"""));
+        Assertions.assertTrue(CompilerDiagnosticFilter.isAnalyzerDiagnostic("""
+            /project/src/main/java/Example.java:[70,25] error: [required.method.not.called] @MustCall method close may not have been invoked
+              The type of object is: java.io.InputStream."""));
+    }
+
+    @Test
+    void givenLintDiagnosticsAndProgress_whenIsAnalyzerDiagnostic_thenDropped() {
+        Assertions.assertFalse(CompilerDiagnosticFilter.isAnalyzerDiagnostic(
+            "/project/src/main/java/Example.java:[67,100] [deprecation] EVERYTHING in DefaultTyping has been deprecated"));
+        Assertions.assertFalse(CompilerDiagnosticFilter.isAnalyzerDiagnostic("/project/src/main/java/Example.java:[3,8] cannot find symbol"));
+        Assertions.assertFalse(CompilerDiagnosticFilter.isAnalyzerDiagnostic("Compiling 12 source files with javac [debug release 17] to target/classes"));
+    }
+}
@@ -5,18 +5,27 @@ import io.github.finoid.maven.plugins.codequality.fixtures.ResourceUtils;
 import io.github.finoid.maven.plugins.codequality.fixtures.TemplateResourceUtils;
 import io.github.finoid.maven.plugins.codequality.fixtures.UnitTest;
 import io.github.finoid.maven.plugins.codequality.step.ViolationConverter;
+import org.apache.maven.execution.MavenSession;
 import org.apache.maven.project.MavenProject;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
 import org.mockito.Mock;
 import org.mockito.Mockito;
 
 import java.io.ByteArrayInputStream;
 import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.util.Collections;
+import java.util.List;
 
 class ErrorProneViolationLogParserUnitTest extends UnitTest {
+    @Mock
+    private MavenSession mavenSession;
     @Mock
     private MavenProject project;
 
@@ -24,7 +33,7 @@ class ErrorProneViolationLogParserUnitTest extends UnitTest {
 
     @BeforeEach
     void beforeEach() {
-        unit = new ErrorProneViolationLogParser(new ViolationConverter(project));
+        unit = new ErrorProneViolationLogParser(new ViolationConverter(mavenSession));
     }
 
     @Test
@@ -36,6 +45,9 @@ class ErrorProneViolationLogParserUnitTest extends UnitTest {
 
         var content = TemplateResourceUtils.template(logFileInputStream, projectRootPath.toString());
 
+        Mockito.when(mavenSession.getCurrentProject())
+            .thenReturn(project);
+
         Mockito.when(project.getBasedir())
             .thenReturn(projectRootPath.toFile());
 
@@ -44,6 +56,53 @@ class ErrorProneViolationLogParserUnitTest extends UnitTest {
         snapshot(result, "*..fullPath");
     }
 
+    @Test
+    void givenLogFile_whenParse_thenSameViolationsAsOfInputStream(@TempDir final Path directory) throws IOException {
+        var logFileInputStream = ResourceUtils.tryInputStreamFrom("files/errorprone-logs.template.txt");
+
+        var projectRootPath = Paths.get("")
+            .toAbsolutePath();
+
+        var content = TemplateResourceUtils.template(logFileInputStream, projectRootPath.toString());
+        var logFile = Files.writeString(directory.resolve("errorprone.txt"), content, StandardCharsets.UTF_8);
+
+        Mockito.when(mavenSession.getCurrentProject())
+            .thenReturn(project);
+
+        Mockito.when(project.getBasedir())
+            .thenReturn(projectRootPath.toFile());
+
+        Assertions.assertEquals(unit.parse(new ByteArrayInputStream(content.getBytes(StandardCharsets.UTF_8))), unit.parse(logFile));
+    }
+
+    @Test
+    void givenLogFileExceedingTheBuffer_whenParse_thenViolationsOfEveryRepetition(@TempDir final Path directory) throws IOException {
+        var logFileInputStream = ResourceUtils.tryInputStreamFrom("files/errorprone-logs.template.txt");
+
+        var projectRootPath = Paths.get("")
+            .toAbsolutePath();
+
+        var content = TemplateResourceUtils.template(logFileInputStream, projectRootPath.toString());
+        var logFile = Files.writeString(directory.resolve("errorprone.txt"), content.repeat(200), StandardCharsets.UTF_8);
+
+        Mockito.when(mavenSession.getCurrentProject())
+            .thenReturn(project);
+
+        Mockito.when(project.getBasedir())
+            .thenReturn(projectRootPath.toFile());
+
+        var violations = unit.parse(new ByteArrayInputStream(content.getBytes(StandardCharsets.UTF_8)));
+
+        Assertions.assertEquals(Collections.nCopies(200, violations).stream().flatMap(List::stream).toList(), unit.parse(logFile));
+    }
+
+    @Test
+    void givenMissingLogFile_whenParse_thenExpectedException(@TempDir final Path directory) {
+        var logFile = directory.resolve("errorprone.txt");
+
+        Assertions.assertThrows(ParseException.class, () -> unit.parse(logFile));
+    }
+
     @Test
     void givenClosedInputStream_whenParse_thenExpectedException() throws IOException {
         var logFileInputStream = ResourceUtils.tryInputStreamFrom("files/errorprone-logs.template.txt");
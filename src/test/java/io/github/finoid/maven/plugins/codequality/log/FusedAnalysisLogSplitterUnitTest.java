@@ -0,0 +1,76 @@
+package io.github.finoid.maven.plugins.codequality.log;
+
+import io.github.finoid.maven.plugins.codequality.fixtures.ResourceUtils;
+import io.github.finoid.maven.plugins.codequality.fixtures.TemplateResourceUtils;
+import io.github.finoid.maven.plugins.codequality.fixtures.UnitTest;
+import io.github.finoid.maven.plugins.codequality.report.CheckerFrameworkViolationLogParser;
+import io.github.finoid.maven.plugins.codequality.step.ViolationConverter;
+import org.apache.maven.execution.MavenSession;
+import org.apache.maven.project.MavenProject;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Paths;
+
+class FusedAnalysisLogSplitterUnitTest extends UnitTest {
+    @Mock
+    private MavenSession mavenSession;
+    @Mock
+    private MavenProject project;
+
+    private ErrorProneViolationLogParser errorProneViolationLogParser;
+    private CheckerFrameworkViolationLogParser checkerFrameworkViolationLogParser;
+
+    private FusedAnalysisLogSplitter unit;
+
+    @BeforeEach
+    void beforeEach() {
+        errorProneViolationLogParser = new ErrorProneViolationLogParser(new ViolationConverter(mavenSession));
+        checkerFrameworkViolationLogParser = new CheckerFrameworkViolationLogParser(new ViolationConverter(mavenSession));
+
+        unit = new FusedAnalysisLogSplitter();
+    }
+
+    @Test
+    void givenFusedLog_whenSplit_thenSameViolationsAsSeparateLogs() {
+        var projectRootPath = Paths.get("")
+            .toAbsolutePath();
+
+        Mockito.when(mavenSession.getCurrentProject())
+            .thenReturn(project);
+
+        Mockito.when(project.getBasedir())
+            .thenReturn(projectRootPath.toFile());
+
+        var errorProneLog = TemplateResourceUtils.template(ResourceUtils.tryInputStreamFrom("files/errorprone-logs.template.txt"),
+            projectRootPath.toString());
+        var checkerFrameworkLog = TemplateResourceUtils.template(ResourceUtils.tryInputStreamFrom("files/checkerframework-logs.template.txt"),
+            projectRootPath.toString());
+
+        var result = unit.split(inputStreamOf(checkerFrameworkLog + System.lineSeparator() + errorProneLog));
+
+        Assertions.assertEquals(errorProneViolationLogParser.parse(inputStreamOf(errorProneLog)),
+            errorProneViolationLogParser.parse(result.errorProneInputStream()));
+        Assertions.assertEquals(checkerFrameworkViolationLogParser.parse(inputStreamOf(checkerFrameworkLog)),
+            checkerFrameworkViolationLogParser.parse(result.checkerFrameworkInputStream()));
+    }
+
+    @Test
+    void givenNonDiagnosticLines_whenSplit_thenDiscarded() {
+        var result = unit.split(inputStreamOf("Recompiling the module because of changed source code."
+            + System.lineSeparator()
+            + "[path] bad path element \"/tmp/missing.jar\": no such file or directory"));
+
+        Assertions.assertEquals("", result.errorProneLog());
+        Assertions.assertEquals("", result.checkerFrameworkLog());
+    }
+
+    private static ByteArrayInputStream inputStreamOf(final String content) {
+        return new ByteArrayInputStream(content.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,89 @@
+package io.github.finoid.maven.plugins.codequality.metrics;
+
+import io.github.finoid.maven.plugins.codequality.configuration.CodeQualityConfiguration;
+import io.github.finoid.maven.plugins.codequality.fixtures.UnitTest;
+import io.github.finoid.maven.plugins.codequality.storage.SessionRepository;
+import org.apache.maven.execution.MavenSession;
+import org.apache.maven.model.Build;
+import org.apache.maven.plugin.logging.Log;
+import org.apache.maven.project.MavenProject;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.Supplier;
+
+class StageMetricsUnitTest extends UnitTest {
+    @Mock
+    private MavenSession mavenSession;
+    @Mock
+    private SessionRepository sessionRepository;
+    @Mock
+    private MavenProject project;
+    @Mock
+    private Log log;
+
+    @TempDir
+    private Path buildDirectory;
+
+    private final Map<String, Object> sessionData = new HashMap<>();
+
+    private StageMetrics unit;
+
+    @BeforeEach
+    void beforeEach() {
+        Mockito.when(sessionRepository.computeIfAbsent(Mockito.anyString(), Mockito.any()))
+            .thenAnswer(it -> sessionData.computeIfAbsent(it.getArgument(0), key -> it.<Supplier<Object>>getArgument(1).get()));
+        Mockito.lenient().when(mavenSession.getCurrentProject())
+            .thenReturn(project);
+
+        unit = new StageMetrics(mavenSession, sessionRepository);
+    }
+
+    @Test
+    void givenMetricsEnabled_whenMeasureAndReport_thenStagesWrittenAsJson() throws IOException {
+        final Build build = new Build();
+        build.setDirectory(buildDirectory.toString());
+
+        Mockito.when(mavenSession.getTopLevelProject())
+            .thenReturn(project);
+        Mockito.when(project.getBuild())
+            .thenReturn(build);
+        Mockito.when(project.getName())
+            .thenReturn("module");
+
+        unit.enable(new CodeQualityConfiguration().setMetrics(true));
+
+        var result = unit.measure("stage", () -> "result");
+
+        unit.report(log);
+
+        Assertions.assertEquals("result", result);
+
+        final String json = Files.readString(buildDirectory.resolve("code-quality-metrics.json"));
+
+        Assertions.assertTrue(json.contains("\"module\" : \"module\""));
+        Assertions.assertTrue(json.contains("\"stage\" : \"stage\""));
+        Mockito.verify(log).info(Mockito.startsWith("Stage metrics"));
+    }
+
+    @Test
+    void givenMetricsDisabled_whenMeasureAndReport_thenNothingReported() {
+        unit.enable(new CodeQualityConfiguration());
+
+        var result = unit.measure("stage", () -> "result");
+
+        unit.report(log);
+
+        Assertions.assertEquals("result", result);
+        Mockito.verifyNoInteractions(log);
+    }
+}
@@ -5,6 +5,7 @@ import io.github.finoid.maven.plugins.codequality.fixtures.ResourceUtils;
 import io.github.finoid.maven.plugins.codequality.fixtures.TemplateResourceUtils;
 import io.github.finoid.maven.plugins.codequality.fixtures.UnitTest;
 import io.github.finoid.maven.plugins.codequality.step.ViolationConverter;
+import org.apache.maven.execution.MavenSession;
 import org.apache.maven.project.MavenProject;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.BeforeEach;
@@ -17,6 +18,8 @@ import java.io.IOException;
 import java.nio.file.Paths;
 
 class CheckerFrameworkViolationLogParserUnitTest extends UnitTest {
+    @Mock
+    private MavenSession mavenSession;
     @Mock
     private MavenProject project;
 
@@ -24,7 +27,7 @@ class CheckerFrameworkViolationLogParserUnitTest extends UnitTest {
 
     @BeforeEach
     void beforeEach() {
-        unit = new CheckerFrameworkViolationLogParser(new ViolationConverter(project));
+        unit = new CheckerFrameworkViolationLogParser(new ViolationConverter(mavenSession));
     }
 
     @Test
@@ -36,6 +39,9 @@ class CheckerFrameworkViolationLogParserUnitTest extends UnitTest {
 
         var content = TemplateResourceUtils.template(logFileInputStream, projectRootPath.toString());
 
+        Mockito.when(mavenSession.getCurrentProject())
+            .thenReturn(project);
+
         Mockito.when(project.getBasedir())
             .thenReturn(projectRootPath.toFile());
 
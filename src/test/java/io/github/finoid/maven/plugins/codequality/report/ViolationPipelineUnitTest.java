@@ -0,0 +1,101 @@
+package io.github.finoid.maven.plugins.codequality.report;
+
+import io.github.finoid.maven.plugins.codequality.configuration.CodeQualityConfiguration;
+import io.github.finoid.maven.plugins.codequality.filter.ViolationsFilterService;
+import io.github.finoid.maven.plugins.codequality.fixtures.UnitTest;
+import io.github.finoid.maven.plugins.codequality.metrics.StageMetrics;
+import io.github.finoid.maven.plugins.codequality.step.ProjectStepResults;
+import io.github.finoid.maven.plugins.codequality.step.StepResult;
+import io.github.finoid.maven.plugins.codequality.step.StepType;
+import org.apache.maven.plugin.logging.Log;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.function.UnaryOperator;
+
+import static io.github.finoid.maven.plugins.codequality.fixtures.ViolationFaker.violation;
+
+class ViolationPipelineUnitTest extends UnitTest {
+    private static final String REPORTER_NAME = "FAKE";
+
+    @Mock
+    private ViolationsFilterService filterService;
+    @Mock
+    private ViolationReporter violationReporter;
+    @Mock
+    private StageMetrics stageMetrics;
+    @Mock
+    private Log log;
+
+    private final List<Violation> permissiveViolations = new ArrayList<>();
+    private final List<Violation> nonPermissiveViolations = new ArrayList<>();
+
+    private ViolationPipeline unit;
+
+    @BeforeEach
+    void beforeEach() {
+        Mockito.when(violationReporter.name()).thenReturn(REPORTER_NAME);
+        Mockito.when(violationReporter.open(log, PermissiveType.PERMISSIVE)).thenReturn(ViolationSink.collecting(permissiveViolations));
+        Mockito.when(violationReporter.open(log, PermissiveType.NON_PERMISSIVE)).thenReturn(ViolationSink.collecting(nonPermissiveViolations));
+
+        // Measures nothing, merely executes the stages
+        Mockito.lenient().when(stageMetrics.measure(Mockito.anyString(), Mockito.any(ViolationSink.class)))
+            .thenAnswer(it -> it.getArgument(1));
+        Mockito.lenient().when(stageMetrics.measureExcluding(Mockito.anyString(), Mockito.any(), Mockito.any()))
+            .thenAnswer(it -> it.<UnaryOperator<ViolationSink>>getArgument(1).apply(it.getArgument(2)));
+        Mockito.lenient().doAnswer(it -> {
+            it.getArgument(1, Runnable.class).run();
+
+            return null;
+        }).when(stageMetrics).measureSession(Mockito.anyString(), Mockito.any());
+
+        unit = new ViolationPipeline(List.of(violationReporter), filterService, stageMetrics);
+    }
+
+    @Test
+    void givenModuleViolations_whenReport_thenStreamedBySeverityAndNonPermissiveCounted() {
+        var blocker = violation().withSeverity(Severity.BLOCKER).create();
+        var minor = violation().withSeverity(Severity.MINOR).create();
+        var major = violation().withSeverity(Severity.MAJOR).create();
+        var info = violation().withSeverity(Severity.INFO).create();
+
+        var projectStepResults = ProjectStepResults.ofResults("project",
+            StepResult.create(StepType.CHECKSTYLE, true, List.of(blocker, minor)),
+            StepResult.create(StepType.ERROR_PRONE, false, List.of(major, info)));
+
+        Mockito.when(filterService.filters(Mockito.any())).thenReturn(UnaryOperator.identity());
+
+        var result = unit.report(projectStepResults, codeQualityConfiguration(), log);
+
+        Assertions.assertEquals(1, result);
+        Assertions.assertEquals(List.of(minor, blocker), permissiveViolations);
+        Assertions.assertEquals(List.of(major), nonPermissiveViolations);
+    }
+
+    @Test
+    void givenFilterRejectingViolations_whenReport_thenNoneStreamedNorCounted() {
+        var projectStepResults = ProjectStepResults.ofResults("project",
+            StepResult.create(StepType.ERROR_PRONE, false, List.of(violation().withSeverity(Severity.CRITICAL).create())));
+
+        Mockito.when(filterService.filters(Mockito.any())).thenReturn(downstream -> violation -> {
+        });
+
+        var result = unit.report(projectStepResults, codeQualityConfiguration(), log);
+
+        Assertions.assertEquals(0, result);
+        Assertions.assertTrue(nonPermissiveViolations.isEmpty());
+    }
+
+    private static CodeQualityConfiguration codeQualityConfiguration() {
+        final CodeQualityConfiguration codeQualityConfiguration = new CodeQualityConfiguration();
+        codeQualityConfiguration.setViolationReporters(Set.of(REPORTER_NAME));
+
+        return codeQualityConfiguration;
+    }
+}
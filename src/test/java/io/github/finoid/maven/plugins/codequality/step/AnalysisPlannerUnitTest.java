@@ -0,0 +1,148 @@
+package io.github.finoid.maven.plugins.codequality.step;
+
+import io.github.finoid.maven.plugins.codequality.cache.StepResultCache;
+import io.github.finoid.maven.plugins.codequality.configuration.CodeQualityConfiguration;
+import io.github.finoid.maven.plugins.codequality.configuration.ErrorProneConfiguration;
+import io.github.finoid.maven.plugins.codequality.filter.ChangedLines;
+import io.github.finoid.maven.plugins.codequality.filter.GitDiffService;
+import io.github.finoid.maven.plugins.codequality.fixtures.UnitTest;
+import io.github.finoid.maven.plugins.codequality.storage.SessionRepository;
+import org.apache.maven.execution.MavenSession;
+import org.apache.maven.execution.ProjectDependencyGraph;
+import org.apache.maven.plugin.logging.Log;
+import org.apache.maven.project.MavenProject;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+class AnalysisPlannerUnitTest extends UnitTest {
+    @Mock
+    private MavenSession mavenSession;
+    @Mock
+    private SessionRepository sessionRepository;
+    @Mock
+    private GitDiffService gitDiffService;
+    @Mock
+    private StepResultCache stepResultCache;
+    @Mock
+    private MavenProject project;
+    @Mock
+    private Step<ErrorProneConfiguration> step;
+    @Mock
+    private Log log;
+
+    @TempDir
+    private Path basedir;
+
+    private AnalysisPlanner unit;
+
+    @BeforeEach
+    void beforeEach() {
+        Mockito.when(sessionRepository.computeIfAbsent(Mockito.anyString(), Mockito.any()))
+            .thenReturn(new AtomicBoolean());
+        Mockito.when(mavenSession.getProjects())
+            .thenReturn(List.of(project));
+        Mockito.when(mavenSession.getCurrentProject())
+            .thenReturn(project);
+        Mockito.when(project.getName())
+            .thenReturn("module");
+        Mockito.when(step.type())
+            .thenReturn(StepType.ERROR_PRONE);
+
+        unit = new AnalysisPlanner(mavenSession, sessionRepository, gitDiffService, stepResultCache);
+    }
+
+    @Test
+    void givenPomPackaging_whenPlanOf_thenModuleSkippedAndPlanPrintedOnce() {
+        Mockito.when(project.getPackaging())
+            .thenReturn("pom");
+
+        var result = unit.planOf(executions(), new CodeQualityConfiguration(), log);
+
+        Assertions.assertEquals(Optional.of("pom packaging"), result.optionalSkipReason());
+        Assertions.assertEquals(List.of(new StepPlan(StepType.ERROR_PRONE, StepPlan.Decision.SKIP)), result.stepPlans());
+        Mockito.verify(log).info(Mockito.startsWith("Analysis plan:"));
+        Mockito.verifyNoInteractions(gitDiffService);
+    }
+
+    @Test
+    void givenSourcesAndCachedStepResult_whenPlanOf_thenStepReplayed() {
+        var configuration = givenCacheEnabledModule();
+        Mockito.when(stepResultCache.isCachedLocally("key", configuration.getCache()))
+            .thenReturn(true);
+
+        var result = unit.planOf(executions(), configuration, log);
+
+        Assertions.assertFalse(result.isSkipped());
+        Assertions.assertEquals(List.of(new StepPlan(StepType.ERROR_PRONE, StepPlan.Decision.REPLAY)), result.stepPlans());
+    }
+
+    @Test
+    void givenSourcesAndUncachedStepResult_whenPlanOf_thenStepRun() {
+        var configuration = givenCacheEnabledModule();
+        Mockito.when(stepResultCache.isCachedLocally("key", configuration.getCache()))
+            .thenReturn(false);
+
+        var result = unit.planOf(executions(), configuration, log);
+
+        Assertions.assertEquals(List.of(new StepPlan(StepType.ERROR_PRONE, StepPlan.Decision.RUN)), result.stepPlans());
+    }
+
+    @Test
+    void givenSkipUnchangedModulesAndNoChangesWithinModuleOrUpstream_whenPlanOf_thenModuleSkipped(@Mock final ChangedLines changedLines,
+                                                                                                   @Mock final ProjectDependencyGraph graph) {
+        givenJarModuleWithSources();
+        Mockito.when(project.getBasedir())
+            .thenReturn(basedir.toFile());
+        Mockito.when(gitDiffService.changedLines(log))
+            .thenReturn(Optional.of(changedLines));
+        Mockito.when(mavenSession.getProjectDependencyGraph())
+            .thenReturn(graph);
+        Mockito.when(graph.getUpstreamProjects(project, true))
+            .thenReturn(List.of());
+
+        var configuration = new CodeQualityConfiguration()
+            .setSkipUnchangedModules(true);
+
+        var result = unit.planOf(executions(), configuration, log);
+
+        Assertions.assertEquals(Optional.of("unchanged"), result.optionalSkipReason());
+    }
+
+    private CodeQualityConfiguration givenCacheEnabledModule() {
+        givenJarModuleWithSources();
+        Mockito.when(step.isEnabled(Mockito.any()))
+            .thenReturn(true);
+
+        var configuration = new CodeQualityConfiguration();
+        configuration.getCache().setEnabled(true);
+
+        Mockito.when(stepResultCache.isEnabled(configuration))
+            .thenReturn(true);
+        Mockito.when(stepResultCache.keyOf(Mockito.any(), Mockito.eq(configuration)))
+            .thenReturn("key");
+
+        return configuration;
+    }
+
+    private void givenJarModuleWithSources() {
+        Mockito.when(project.getPackaging())
+            .thenReturn("jar");
+        Mockito.when(project.getCompileSourceRoots())
+            .thenReturn(List.of(basedir.toString()));
+        Mockito.when(project.getTestCompileSourceRoots())
+            .thenReturn(List.of());
+    }
+
+    private List<StepExecution<?>> executions() {
+        return List.of(StepExecution.of(step, new ErrorProneConfiguration()));
+    }
+}
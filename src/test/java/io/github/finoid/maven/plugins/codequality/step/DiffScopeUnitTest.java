@@ -0,0 +1,136 @@
+package io.github.finoid.maven.plugins.codequality.step;
+
+import io.github.finoid.maven.plugins.codequality.filter.ChangedLines;
+import io.github.finoid.maven.plugins.codequality.filter.GitDiffService;
+import io.github.finoid.maven.plugins.codequality.fixtures.GitRepositoryFixture;
+import io.github.finoid.maven.plugins.codequality.fixtures.UnitTest;
+import io.github.finoid.maven.plugins.codequality.report.Violation;
+import io.github.finoid.maven.plugins.codequality.storage.SessionRepository;
+import org.apache.maven.execution.MavenSession;
+import org.apache.maven.plugin.logging.Log;
+import org.apache.maven.project.MavenProject;
+import org.jspecify.annotations.Nullable;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mock;
+
+import java.io.File;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.regex.Pattern;
+
+class DiffScopeUnitTest extends UnitTest {
+    @Mock
+    private MavenSession mavenSession;
+    @Mock
+    private SessionRepository sessionRepository;
+    @Mock
+    private Log log;
+
+    @TempDir
+    private Path basedir;
+
+    @Test
+    void givenSourceFileDeclaringSecondaryTopLevelClass_whenClassNamePatternOf_thenMatchesEveryTopLevelClass() throws Exception {
+        var project = projectOf(basedir);
+        var sourceFile = write("src/main/java/com/example/Main.java", """
+            package com.example;
+
+            public class Main {
+                static class Nested {
+                }
+            }
+
+            class Helper {
+            }
+            """);
+
+        var pattern = Pattern.compile(DiffScope.classNamePatternOf(project, List.of(sourceFile)));
+
+        Assertions.assertTrue(pattern.matcher("com.example.Main").find());
+        Assertions.assertTrue(pattern.matcher("com.example.Main.Nested").find());
+        Assertions.assertTrue(pattern.matcher("com.example.Helper").find());
+        Assertions.assertFalse(pattern.matcher("com.example.MainTest").find());
+        Assertions.assertFalse(pattern.matcher("com.example.Other").find());
+    }
+
+    @Test
+    void givenUnparsableSourceFile_whenClassNamePatternOf_thenMatchesClassNamedAfterSourceFile() throws Exception {
+        var project = projectOf(basedir);
+        var sourceFile = write("src/main/java/com/example/Main.java", "package com.example;\n\npublic class {\n");
+
+        var pattern = Pattern.compile(DiffScope.classNamePatternOf(project, List.of(sourceFile)));
+
+        Assertions.assertEquals("^(\\Qcom.example.Main\\E)($|\\.)", pattern.pattern());
+    }
+
+    @Test
+    void givenChangedSourceFile_whenChangedSourceFilesOf_thenOnlyChangedSourceFile() throws Exception {
+        var project = projectOf(basedir);
+        var changedLines = changedLinesOf(repository -> repository.write("src/main/java/com/example/Main.java", "class Main {\n  int i;\n}\n"));
+
+        var result = DiffScope.changedSourceFilesOf(project, changedLines);
+
+        Assertions.assertEquals(List.of(basedir.resolve("src/main/java/com/example/Main.java").toFile()),
+            result.stream().map(File::getAbsoluteFile).toList());
+    }
+
+    @Test
+    void givenViolationsOfChangedAndUnchangedFiles_whenViolationsOfChangedFiles_thenOnlyViolationsOfChangedFile() throws Exception {
+        var changedLines = changedLinesOf(repository -> repository.write("src/main/java/com/example/Main.java", "class Main {\n  int i;\n}\n"));
+        var changed = violationOf(basedir.resolve("src/main/java/com/example/Main.java").toString());
+        var unchanged = violationOf(basedir.resolve("src/main/java/com/example/Other.java").toString());
+        var withoutPath = violationOf(null);
+
+        var result = DiffScope.violationsOfChangedFiles(List.of(changed, unchanged, withoutPath), changedLines);
+
+        Assertions.assertEquals(List.of(changed), result);
+    }
+
+    private ChangedLines changedLinesOf(final RepositoryChange change) throws Exception {
+        try (var repository = GitRepositoryFixture.init(basedir)) {
+            repository.write("src/main/java/com/example/Main.java", "class Main {\n}\n")
+                .write("src/main/java/com/example/Other.java", "class Other {\n}\n")
+                .commit("Initial");
+
+            change.apply(repository);
+        }
+
+        return new GitDiffService(mavenSession, sessionRepository)
+            .changedLines(basedir, log, "HEAD", "HEAD", GitDiffService.DiffMode.WORKING_TREE_ONLY)
+            .orElseThrow();
+    }
+
+    private File write(final String path, final String content) throws Exception {
+        var file = basedir.resolve(path);
+        Files.createDirectories(file.getParent());
+        Files.writeString(file, content);
+
+        return file.toFile();
+    }
+
+    private static MavenProject projectOf(final Path basedir) {
+        var project = new MavenProject();
+        project.setFile(basedir.resolve("pom.xml").toFile());
+        project.getBuild().setDirectory(basedir.resolve("target").toString());
+        project.addCompileSourceRoot(basedir.resolve("src/main/java").toString());
+
+        return project;
+    }
+
+    private static Violation violationOf(@Nullable final String fullPath) {
+        return Violation.builder()
+            .tool("ErrorProne")
+            .description("Description")
+            .fullPath(fullPath)
+            .line(1)
+            .build();
+    }
+
+    @FunctionalInterface
+    private interface RepositoryChange {
+        void apply(GitRepositoryFixture repository) throws Exception;
+    }
+}
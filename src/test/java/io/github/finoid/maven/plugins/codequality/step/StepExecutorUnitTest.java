@@ -0,0 +1,233 @@
+package io.github.finoid.maven.plugins.codequality.step;
+
+import io.github.finoid.maven.plugins.codequality.cache.StepResultCache;
+import io.github.finoid.maven.plugins.codequality.configuration.CheckerFrameworkConfiguration;
+import io.github.finoid.maven.plugins.codequality.configuration.CheckstyleConfiguration;
+import io.github.finoid.maven.plugins.codequality.configuration.CodeQualityConfiguration;
+import io.github.finoid.maven.plugins.codequality.configuration.Configuration;
+import io.github.finoid.maven.plugins.codequality.configuration.ErrorProneConfiguration;
+import io.github.finoid.maven.plugins.codequality.exceptions.CodeQualityException;
+import io.github.finoid.maven.plugins.codequality.exceptions.StepExecutionException;
+import io.github.finoid.maven.plugins.codequality.fixtures.UnitTest;
+import io.github.finoid.maven.plugins.codequality.handlers.CleanHandler;
+import io.github.finoid.maven.plugins.codequality.metrics.StageMetrics;
+import org.apache.maven.artifact.Artifact;
+import org.apache.maven.execution.MavenSession;
+import org.apache.maven.plugin.logging.Log;
+import org.apache.maven.project.MavenProject;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+
+import java.io.File;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+class StepExecutorUnitTest extends UnitTest {
+    @Mock
+    private CleanHandler cleanHandler;
+    @Mock
+    private FusedAnalysisCompiler fusedAnalysisCompiler;
+    @Mock
+    private StepResultCache stepResultCache;
+    @Mock
+    private MavenSession mavenSession;
+    @Mock
+    private MavenProject project;
+    @Mock
+    private Artifact artifact;
+    @Mock
+    private StageMetrics stageMetrics;
+    @Mock
+    private Log log;
+
+    private StepExecutor unit;
+
+    @BeforeEach
+    void beforeEach() throws Exception {
+        // Measures nothing, merely executes the stages
+        Mockito.lenient().when(stageMetrics.measure(Mockito.anyString(), Mockito.any(StageMetrics.StageSupplier.class)))
+            .thenAnswer(it -> it.getArgument(1, StageMetrics.StageSupplier.class).get());
+
+        unit = new StepExecutor(cleanHandler, fusedAnalysisCompiler, stepResultCache, mavenSession, stageMetrics);
+    }
+
+    @Test
+    void givenSlowFirstStep_whenExecuteAllConcurrently_thenResultsInSubmissionOrder() {
+        givenProjectArtifact();
+
+        var secondStepCompleted = new CountDownLatch(1);
+
+        var firstStep = new FakeStep<CheckstyleConfiguration>(StepType.CHECKSTYLE, () -> awaitOrThrow(secondStepCompleted));
+        var secondStep = new FakeStep<ErrorProneConfiguration>(StepType.ERROR_PRONE, secondStepCompleted::countDown);
+
+        var result = unit.executeAll(List.of(
+            StepExecution.of(firstStep, new CheckstyleConfiguration()),
+            StepExecution.of(secondStep, new ErrorProneConfiguration())
+        ), codeQualityConfiguration(2), log);
+
+        Assertions.assertEquals(List.of(StepType.CHECKSTYLE, StepType.ERROR_PRONE), result.stream().map(StepResult::getType).toList());
+    }
+
+    @Test
+    void givenCompilerBasedSteps_whenExecuteAllConcurrently_thenExecutedOneAfterAnother() {
+        givenProjectArtifact();
+
+        var running = new AtomicInteger();
+        var maxRunning = new AtomicInteger();
+        Runnable compile = () -> {
+            maxRunning.accumulateAndGet(running.incrementAndGet(), Math::max);
+            sleep();
+            running.decrementAndGet();
+        };
+
+        var result = unit.executeAll(List.of(
+            StepExecution.of(new FakeStep<ErrorProneConfiguration>(StepType.ERROR_PRONE, compile), new ErrorProneConfiguration()),
+            StepExecution.of(new FakeStep<CheckerFrameworkConfiguration>(StepType.CHECKER_FRAMEWORK, compile), new CheckerFrameworkConfiguration()),
+            StepExecution.of(new FakeStep<CheckstyleConfiguration>(StepType.CHECKSTYLE, () -> {
+            }), new CheckstyleConfiguration())
+        ), codeQualityConfiguration(3), log);
+
+        Assertions.assertEquals(List.of(StepType.ERROR_PRONE, StepType.CHECKER_FRAMEWORK, StepType.CHECKSTYLE),
+            result.stream().map(StepResult::getType).toList());
+        Assertions.assertEquals(1, maxRunning.get());
+    }
+
+    @Test
+    void givenFailingStep_whenExecuteAllConcurrently_thenStepExecutionExceptionAndArtifactFileRestored() {
+        var artifactFile = givenProjectArtifact();
+
+        var failingStep = new FakeStep<ErrorProneConfiguration>(StepType.ERROR_PRONE, () -> {
+            throw new CodeQualityException("Failed");
+        });
+        var successfulStep = new FakeStep<CheckstyleConfiguration>(StepType.CHECKSTYLE, () -> {
+        });
+
+        var executions = List.<StepExecution<?>>of(
+            StepExecution.of(failingStep, new ErrorProneConfiguration()),
+            StepExecution.of(successfulStep, new CheckstyleConfiguration())
+        );
+        var configuration = codeQualityConfiguration(2);
+
+        var exception = Assertions.assertThrows(StepExecutionException.class, () -> unit.executeAll(executions, configuration, log));
+
+        Assertions.assertInstanceOf(CodeQualityException.class, exception.getCause());
+        Mockito.verify(artifact).setFile(artifactFile);
+    }
+
+    @Test
+    void givenParallelismOfOne_whenExecuteAll_thenExecutesSequentially() {
+        var step = new FakeStep<ErrorProneConfiguration>(StepType.ERROR_PRONE, () -> {
+        });
+
+        var result = unit.executeAll(List.of(StepExecution.of(step, new ErrorProneConfiguration())), codeQualityConfiguration(1), log);
+
+        Assertions.assertEquals(1, result.size());
+        Mockito.verifyNoInteractions(mavenSession);
+    }
+
+    @Test
+    void givenFusedAnalysisCompile_whenExecuteAll_thenErrorProneAndCheckerFrameworkExecutedByFusedCompile() {
+        var errorProneConfiguration = new ErrorProneConfiguration();
+        var checkerFrameworkConfiguration = new CheckerFrameworkConfiguration();
+        var configuration = codeQualityConfiguration(1)
+            .setFusedAnalysisCompile(true);
+
+        var checkerFrameworkStep = new FakeStep<CheckerFrameworkConfiguration>(StepType.CHECKER_FRAMEWORK, () -> {
+            throw new CodeQualityException("Shouldn't be executed separately");
+        });
+        var errorProneStep = new FakeStep<ErrorProneConfiguration>(StepType.ERROR_PRONE, () -> {
+            throw new CodeQualityException("Shouldn't be executed separately");
+        });
+
+        Mockito.when(fusedAnalysisCompiler.execute(configuration, errorProneConfiguration, checkerFrameworkConfiguration, log))
+            .thenReturn(List.of(
+                StepResult.create(StepType.ERROR_PRONE, false, Collections.emptyList()),
+                StepResult.create(StepType.CHECKER_FRAMEWORK, false, Collections.emptyList())
+            ));
+
+        var result = unit.executeAll(List.of(
+            StepExecution.of(checkerFrameworkStep, checkerFrameworkConfiguration),
+            StepExecution.of(errorProneStep, errorProneConfiguration)
+        ), configuration, log);
+
+        Assertions.assertEquals(List.of(StepType.CHECKER_FRAMEWORK, StepType.ERROR_PRONE), result.stream().map(StepResult::getType).toList());
+    }
+
+    private File givenProjectArtifact() {
+        var artifactFile = new File("target/classes");
+
+        Mockito.when(mavenSession.getCurrentProject())
+            .thenReturn(project);
+        Mockito.when(project.getArtifact())
+            .thenReturn(artifact);
+        Mockito.when(artifact.getFile())
+            .thenReturn(artifactFile);
+
+        return artifactFile;
+    }
+
+    private static CodeQualityConfiguration codeQualityConfiguration(final int stepParallelism) {
+        return new CodeQualityConfiguration()
+            .setStepParallelism(stepParallelism);
+    }
+
+    private static void sleep() {
+        try {
+            TimeUnit.MILLISECONDS.sleep(50);
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+
+            throw new CodeQualityException("Interrupted", e);
+        }
+    }
+
+    private static void awaitOrThrow(final CountDownLatch latch) {
+        try {
+            if (!latch.await(10, TimeUnit.SECONDS)) {
+                throw new CodeQualityException("Steps were not executed concurrently");
+            }
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+
+            throw new CodeQualityException("Interrupted", e);
+        }
+    }
+
+    private static class FakeStep<C extends Configuration> implements Step<C> {
+        private final StepType type;
+        private final Runnable action;
+
+        FakeStep(final StepType type, final Runnable action) {
+            this.type = type;
+            this.action = action;
+        }
+
+        @Override
+        public boolean isEnabled(final C configuration) {
+            return true;
+        }
+
+        @Override
+        public StepType type() {
+            return type;
+        }
+
+        @Override
+        public StepResult execute(final CodeQualityConfiguration codeQualityConfiguration, final C stepConfiguration, final Log log) {
+            action.run();
+
+            return StepResult.create(type, stepConfiguration.isPermissive(), Collections.emptyList());
+        }
+
+        @Override
+        public CleanContext getCleanContext() {
+            return CleanContext.DO_NOTHING;
+        }
+    }
+}
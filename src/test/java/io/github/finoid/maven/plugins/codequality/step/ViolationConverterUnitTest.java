@@ -1,23 +1,30 @@
 package io.github.finoid.maven.plugins.codequality.step;
 
+import io.github.finoid.maven.plugins.codequality.compiler.StructuredDiagnostic;
 import io.github.finoid.maven.plugins.codequality.fixtures.AuditEventFaker;
 import io.github.finoid.maven.plugins.codequality.fixtures.UnitTest;
-import io.github.finoid.maven.plugins.codequality.report.CheckerFrameworkViolationLogParser;
-import io.github.finoid.maven.plugins.codequality.log.ErrorProneViolationLogParser;
+import org.apache.maven.execution.MavenSession;
 import org.apache.maven.project.MavenProject;
+import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.Mockito;
 
+import javax.tools.Diagnostic;
+import javax.tools.JavaFileObject;
+import javax.tools.SimpleJavaFileObject;
 import java.nio.file.Path;
 import java.nio.file.Paths;
-import java.util.regex.Matcher;
+import java.util.Locale;
+import java.util.Optional;
 
 class ViolationConverterUnitTest extends UnitTest {
     private static Path WORKING_DIRECTORY = Paths.get("")
         .toAbsolutePath();
 
+    @Mock
+    private MavenSession mavenSession;
     @Mock
     private MavenProject project;
     @InjectMocks
@@ -25,6 +32,9 @@ class ViolationConverterUnitTest extends UnitTest {
 
     @Test
     void givenValidLogEntryAndMatcher_whenOfAuditEvent_thenExpectedViolation() {
+        Mockito.when(mavenSession.getCurrentProject())
+            .thenReturn(project);
+
         Mockito.when(project.getBasedir())
             .thenReturn(WORKING_DIRECTORY.toFile());
 
@@ -39,38 +49,127 @@ class ViolationConverterUnitTest extends UnitTest {
     }
 
     @Test
-    void givenValidLogEntryAndMatcher_whenOfCheckerFrameworkViolationMatcher_thenExpectedViolation() {
-        final Matcher violationMatcher = CheckerFrameworkViolationLogParser.VIOLATION_PATTERN.matcher(
-            WORKING_DIRECTORY
-            + "/src/main/java/io/github/finoid/maven/plugins/codequality/step/CheckerFrameworkStep.java:[10,29] error: [required.method.not.called] "
-            + "@MustCall method close may not have been invoked on SpringApplication.run(Application.class, args) or any of its aliases.");
+    void givenValidLogEntry_whenOfCheckerFrameworkViolation_thenExpectedViolation() {
+        Mockito.when(mavenSession.getCurrentProject())
+            .thenReturn(project);
+
         Mockito.when(project.getBasedir())
             .thenReturn(WORKING_DIRECTORY.toFile());
 
-        violationMatcher.find();
-
-        var violation = unit.ofCheckerFrameworkViolationMatcher(violationMatcher);
+        var violation = unit.ofCheckerFrameworkViolation(
+            WORKING_DIRECTORY + "/src/main/java/io/github/finoid/maven/plugins/codequality/step/CheckerFrameworkStep.java", 10, "29",
+            "required.method.not.called",
+            "@MustCall method close may not have been invoked on SpringApplication.run(Application.class, args) or any of its aliases.");
 
         snapshot(violation, "*..fullPath");
     }
 
     @Test
-    void givenValidLogEntryAndMatcher_whenOfErrorProneViolationMatcher_thenExpectedViolation() {
-        final Matcher violationMatcher = ErrorProneViolationLogParser.VIOLATION_PATTERN.matcher(
-            WORKING_DIRECTORY
-            + "/src/main/java/io/github/finoid/library/otel/OpenTelemetryUtils.java:[24,24] [StringCaseLocaleUsage] Specify a `Locale` when calling "
-            + "`String#to{Lower,Upper}Case`. (Note: there are multiple suggested fixes; the third may be most appropriate if you're dealing with "
-            + "ASCII Strings.)\n"
+    void givenValidLogEntry_whenOfErrorProneViolation_thenExpectedViolation() {
+        Mockito.when(mavenSession.getCurrentProject())
+            .thenReturn(project);
+
+        Mockito.when(project.getBasedir())
+            .thenReturn(WORKING_DIRECTORY.toFile());
+
+        var violation = unit.ofErrorProneViolation(
+            WORKING_DIRECTORY + "/src/main/java/io/github/finoid/library/otel/OpenTelemetryUtils.java", 24, "24", "StringCaseLocaleUsage",
+            "Specify a `Locale` when calling `String#to{Lower,Upper}Case`. (Note: there are multiple suggested fixes; the third may be most "
+            + "appropriate if you're dealing with ASCII Strings.)\n"
             + "    (see https://errorprone.info/bugpattern/StringCaseLocaleUsage)\n"
             + "  Did you mean '.toLowerCase(Locale.ROOT);' or '.toLowerCase(Locale.getDefault());' or "
             + "'return Ascii.toLowerCase(currentSpan.getSpanContext()'?");
+
+        snapshot(violation, "*..fullPath");
+    }
+
+    @Test
+    void givenErrorProneDiagnostic_whenOfErrorProneDiagnostic_thenSameViolationAsOfErrorProneViolation() {
+        var path = WORKING_DIRECTORY + "/src/main/java/Main.java";
+        var description = "hello implements method in A; expected @Override\n"
+                          + "    (see https://errorprone.info/bugpattern/MissingOverride)";
+
+        Mockito.when(mavenSession.getCurrentProject())
+            .thenReturn(project);
+
         Mockito.when(project.getBasedir())
             .thenReturn(WORKING_DIRECTORY.toFile());
 
-        violationMatcher.find();
+        var violation = unit.ofErrorProneDiagnostic(new FakeDiagnostic(Path.of(path), 19, 20, "[MissingOverride] " + description));
 
-        var violation = unit.ofErrorProneViolationMatcher(violationMatcher);
+        Assertions.assertEquals(Optional.of(unit.ofErrorProneViolation(path, 19, "20", "MissingOverride", description)), violation);
+    }
 
-        snapshot(violation, "*..fullPath");
+    @Test
+    void givenStructuredDiagnostic_whenOfErrorProneStructuredDiagnostic_thenSameViolationAsOfErrorProneDiagnostic() {
+        var path = WORKING_DIRECTORY + "/src/main/java/Main.java";
+        var description = "hello implements method in A; expected @Override\n"
+                          + "    (see https://errorprone.info/bugpattern/MissingOverride)";
+
+        Mockito.when(mavenSession.getCurrentProject())
+            .thenReturn(project);
+
+        Mockito.when(project.getBasedir())
+            .thenReturn(WORKING_DIRECTORY.toFile());
+
+        var violation = unit.ofErrorProneStructuredDiagnostic(new StructuredDiagnostic(path, 19, 20, "MissingOverride", description));
+
+        Assertions.assertEquals(unit.ofErrorProneDiagnostic(new FakeDiagnostic(Path.of(path), 19, 20, "[MissingOverride] " + description)),
+            Optional.of(violation));
+    }
+
+    @Test
+    void givenDiagnosticWithoutRule_whenOfCheckerFrameworkDiagnostic_thenEmpty() {
+        var violation = unit.ofCheckerFrameworkDiagnostic(new FakeDiagnostic(WORKING_DIRECTORY.resolve("Main.java"), 1, 1, "cannot find symbol"));
+
+        Assertions.assertEquals(Optional.empty(), violation);
+    }
+
+    private record FakeDiagnostic(Path path, long line, long column, String message) implements Diagnostic<JavaFileObject> {
+        @Override
+        public Kind getKind() {
+            return Kind.WARNING;
+        }
+
+        @Override
+        public JavaFileObject getSource() {
+            return new SimpleJavaFileObject(path.toUri(), JavaFileObject.Kind.SOURCE) {
+            };
+        }
+
+        @Override
+        public long getPosition() {
+            return NOPOS;
+        }
+
+        @Override
+        public long getStartPosition() {
+            return NOPOS;
+        }
+
+        @Override
+        public long getEndPosition() {
+            return NOPOS;
+        }
+
+        @Override
+        public long getLineNumber() {
+            return line;
+        }
+
+        @Override
+        public long getColumnNumber() {
+            return column;
+        }
+
+        @Override
+        public String getCode() {
+            return "compiler.warn.error.prone";
+        }
+
+        @Override
+        public String getMessage(final Locale locale) {
+            return message;
+        }
     }
-}
\ No newline at end of file
+}